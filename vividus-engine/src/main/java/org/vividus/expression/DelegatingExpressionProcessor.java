@@ -18,23 +18,26 @@ package org.vividus.expression;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 public class DelegatingExpressionProcessor<T> implements IExpressionProcessor<T>
 {
-    private final Collection<IExpressionProcessor<T>> delegates;
+    private final ExpressionProcessorRegistry<T> delegates;
 
     public DelegatingExpressionProcessor(Collection<IExpressionProcessor<T>> delegates)
     {
-        this.delegates = delegates;
+        this.delegates = new ExpressionProcessorRegistry<>(delegates);
     }
 
     @Override
     public Optional<T> execute(String expression)
     {
-        return delegates.stream()
-                .map(processor -> processor.execute(expression))
-                .filter(Optional::isPresent)
-                .findFirst()
-                .orElseGet(Optional::empty);
+        return delegates.execute(expression);
+    }
+
+    @Override
+    public Set<String> getFunctionNames()
+    {
+        return delegates.getFunctionNames();
     }
 }
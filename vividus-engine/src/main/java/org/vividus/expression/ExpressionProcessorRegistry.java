@@ -0,0 +1,174 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.expression;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Dispatches the expressions to the processors by the function name (the leading identifier of the expression, e.g.
+ * <code>toLowerCase</code> for <code>toLowerCase(VALUE)</code>). The processors declaring their function names are
+ * tried only for the expressions with these names, the processors which can't declare the names are tried for every
+ * expression. The candidate processors are tried in the order of their registration, so the result is the same as for
+ * the sequential probing of all processors.
+ *
+ * @param <T> the type of the expressions results
+ */
+public final class ExpressionProcessorRegistry<T>
+{
+    private final List<IExpressionProcessor<? extends T>> unnamedProcessors = new ArrayList<>();
+    private final Map<String, List<IExpressionProcessor<? extends T>>> processorsByFunctionName = new HashMap<>();
+    private final Set<String> functionNames;
+
+    private final LongAdder indexedLookups = new LongAdder();
+    private final LongAdder fallbackLookups = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Map<String, LongAdder> hits = new ConcurrentHashMap<>();
+
+    public ExpressionProcessorRegistry(Collection<? extends IExpressionProcessor<? extends T>> processors)
+    {
+        Set<String> allFunctionNames = new HashSet<>();
+        for (IExpressionProcessor<? extends T> processor : processors)
+        {
+            Set<String> processorFunctionNames = processor.getFunctionNames();
+            if (processorFunctionNames.isEmpty())
+            {
+                unnamedProcessors.add(processor);
+                processorsByFunctionName.values().forEach(candidates -> candidates.add(processor));
+                continue;
+            }
+            for (String functionName : processorFunctionNames)
+            {
+                String key = normalize(functionName);
+                allFunctionNames.add(key);
+                List<IExpressionProcessor<? extends T>> candidates = processorsByFunctionName.computeIfAbsent(key,
+                        k -> new ArrayList<>(unnamedProcessors));
+                if (!candidates.contains(processor))
+                {
+                    candidates.add(processor);
+                }
+            }
+        }
+        this.functionNames = unnamedProcessors.isEmpty() ? Set.copyOf(allFunctionNames) : Set.of();
+    }
+
+    /**
+     * Executes the expression using the first candidate processor supporting it
+     *
+     * @param expression the expression to execute
+     * @return the result of the expression or empty optional if no processor supports the expression
+     */
+    public Optional<T> execute(String expression)
+    {
+        List<IExpressionProcessor<? extends T>> candidates = processorsByFunctionName.get(
+                normalize(extractFunctionName(expression)));
+        if (candidates != null)
+        {
+            indexedLookups.increment();
+        }
+        else
+        {
+            fallbackLookups.increment();
+            candidates = unnamedProcessors;
+        }
+        for (IExpressionProcessor<? extends T> processor : candidates)
+        {
+            Optional<? extends T> result = processor.execute(expression);
+            if (result.isPresent())
+            {
+                hits.computeIfAbsent(getHitKey(processor, expression), k -> new LongAdder()).increment();
+                return Optional.of(result.get());
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * @return the names of the functions supported by the registered processors (in lower case) or empty set if
+     * some processors can't declare the supported functions
+     */
+    public Set<String> getFunctionNames()
+    {
+        return functionNames;
+    }
+
+    /**
+     * @return the number of the expressions dispatched by the function name
+     */
+    public long getIndexedLookups()
+    {
+        return indexedLookups.sum();
+    }
+
+    /**
+     * @return the number of the expressions with unknown function names, such expressions are probed against the
+     * processors which can't declare their function names only
+     */
+    public long getFallbackLookups()
+    {
+        return fallbackLookups.sum();
+    }
+
+    /**
+     * @return the number of the expressions not supported by any processor
+     */
+    public long getMisses()
+    {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of the successfully executed expressions per function name (for the processors declaring
+     * their function names) or per processor class name (for the rest processors)
+     */
+    public Map<String, Long> getHits()
+    {
+        return hits.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().sum()));
+    }
+
+    private String getHitKey(IExpressionProcessor<? extends T> processor, String expression)
+    {
+        return processor.getFunctionNames().isEmpty() ? processor.getClass().getName()
+                : normalize(extractFunctionName(expression));
+    }
+
+    private static String extractFunctionName(String expression)
+    {
+        int end = 0;
+        while (end < expression.length() && Character.isJavaIdentifierPart(expression.charAt(end)))
+        {
+            end++;
+        }
+        return expression.substring(0, end);
+    }
+
+    private static String normalize(String functionName)
+    {
+        return functionName.toLowerCase(Locale.ROOT);
+    }
+}
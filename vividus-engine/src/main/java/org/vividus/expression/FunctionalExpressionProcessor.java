@@ -16,6 +16,7 @@
 
 package org.vividus.expression;
 
+import java.util.Set;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -24,14 +25,22 @@ public class FunctionalExpressionProcessor<T> extends AbstractExpressionProcesso
 {
     private static final int INPUT_DATA_GROUP = 1;
 
+    private final Set<String> functionNames;
     private final Function<String, T> transformer;
 
     public FunctionalExpressionProcessor(String functionName, Function<String, T> transformer)
     {
         super(Pattern.compile("^" + functionName + "\\((.*)\\)$", Pattern.CASE_INSENSITIVE | Pattern.DOTALL));
+        this.functionNames = Set.of(functionName);
         this.transformer = transformer;
     }
 
+    @Override
+    public Set<String> getFunctionNames()
+    {
+        return functionNames;
+    }
+
     @Override
     protected T evaluateExpression(Matcher expressionMatcher)
     {
@@ -17,8 +17,22 @@
 package org.vividus.expression;
 
 import java.util.Optional;
+import java.util.Set;
 
 public interface IExpressionProcessor<T>
 {
     Optional<T> execute(String expression);
+
+    /**
+     * Returns the names of the functions supported by the processor, e.g. <code>toLowerCase</code> for the expression
+     * <code>toLowerCase(VALUE)</code>. The processor will be invoked only for the expressions starting with one of
+     * these names (the names are compared case-insensitively).
+     *
+     * @return the supported function names or empty set if the processor can't declare them, in this case the
+     * processor is invoked for any expression
+     */
+    default Set<String> getFunctionNames()
+    {
+        return Set.of();
+    }
 }
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.model;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Immutable in-memory ExamplesTable stored by columns. It is used to pass the tables between the chained table
+ * transformers without the intermediate string representation. The missing (absent) cells are stored as
+ * <code>null</code> values.
+ */
+public final class ColumnarTable
+{
+    private final List<String> headers;
+    private final List<List<String>> columns;
+    private final int rowCount;
+
+    private ColumnarTable(List<String> headers, List<List<String>> columns, int rowCount)
+    {
+        this.headers = headers;
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Creates the table from the list of the rows, the row values are matched to the headers by their positions
+     *
+     * @param headers the table headers
+     * @param rows    the table rows
+     * @return the table
+     */
+    public static ColumnarTable fromRowValues(List<String> headers, Collection<? extends List<String>> rows)
+    {
+        List<List<String>> columns = createColumns(headers.size(), rows.size());
+        for (List<String> row : rows)
+        {
+            for (int columnIndex = 0; columnIndex < headers.size(); columnIndex++)
+            {
+                columns.get(columnIndex).add(columnIndex < row.size() ? row.get(columnIndex) : null);
+            }
+        }
+        return new ColumnarTable(List.copyOf(headers), columns, rows.size());
+    }
+
+    /**
+     * Creates the table from the list of the rows, the row values are matched to the headers by their names
+     *
+     * @param headers the table headers
+     * @param rows    the table rows
+     * @return the table
+     */
+    public static ColumnarTable fromRows(List<String> headers, Collection<Map<String, String>> rows)
+    {
+        List<List<String>> columns = createColumns(headers.size(), rows.size());
+        for (Map<String, String> row : rows)
+        {
+            for (int columnIndex = 0; columnIndex < headers.size(); columnIndex++)
+            {
+                columns.get(columnIndex).add(row.get(headers.get(columnIndex)));
+            }
+        }
+        return new ColumnarTable(List.copyOf(headers), columns, rows.size());
+    }
+
+    /**
+     * Creates the table from the columns, the columns are not copied, so they can compute their values on demand
+     *
+     * @param headers the table headers
+     * @param columns the table columns, the number of the columns must be equal to the number of the headers
+     * @return the table
+     */
+    public static ColumnarTable fromColumns(List<String> headers, List<? extends List<String>> columns)
+    {
+        isTrue(headers.size() == columns.size(), "The number of columns (%d) doesn't match the number of headers (%d)",
+                columns.size(), headers.size());
+        int rowCount = columns.isEmpty() ? 0 : columns.get(0).size();
+        isTrue(columns.stream().allMatch(column -> column.size() == rowCount), "Columns are not aligned");
+        return new ColumnarTable(List.copyOf(headers), List.copyOf(columns), rowCount);
+    }
+
+    /**
+     * Creates the builder appending the rows to the table one by one
+     *
+     * @param headers the table headers
+     * @return the builder
+     */
+    public static Builder builder(List<String> headers)
+    {
+        return new Builder(headers);
+    }
+
+    private static List<List<String>> createColumns(int columnCount, int rowCount)
+    {
+        List<List<String>> columns = new ArrayList<>(columnCount);
+        for (int columnIndex = 0; columnIndex < columnCount; columnIndex++)
+        {
+            columns.add(new ArrayList<>(rowCount));
+        }
+        return columns;
+    }
+
+    public List<String> getHeaders()
+    {
+        return headers;
+    }
+
+    public int getRowCount()
+    {
+        return rowCount;
+    }
+
+    public List<String> getColumn(int columnIndex)
+    {
+        return columns.get(columnIndex);
+    }
+
+    public List<String> getColumn(String header)
+    {
+        int columnIndex = headers.indexOf(header);
+        isTrue(columnIndex >= 0, "Column '%s' is not found", header);
+        return getColumn(columnIndex);
+    }
+
+    public String getValue(int rowIndex, int columnIndex)
+    {
+        return columns.get(columnIndex).get(rowIndex);
+    }
+
+    /**
+     * Builds the mutable rows of the table, the absent cells are not included into the rows
+     *
+     * @return the rows of the table
+     */
+    public List<Map<String, String>> getRows()
+    {
+        List<Map<String, String>> rows = new ArrayList<>(rowCount);
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++)
+        {
+            Map<String, String> row = new LinkedHashMap<>(headers.size(), 1);
+            for (int columnIndex = 0; columnIndex < headers.size(); columnIndex++)
+            {
+                String value = getValue(rowIndex, columnIndex);
+                if (value != null)
+                {
+                    row.put(headers.get(columnIndex), value);
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Selects the columns with the specified headers in the specified order, the column values are shared with the
+     * current table
+     *
+     * @param selectedHeaders the headers of the columns to select
+     * @return the table containing the selected columns
+     */
+    public ColumnarTable selectColumns(List<String> selectedHeaders)
+    {
+        List<List<String>> selectedColumns = new ArrayList<>(selectedHeaders.size());
+        selectedHeaders.forEach(header -> selectedColumns.add(getColumn(header)));
+        return new ColumnarTable(List.copyOf(selectedHeaders), selectedColumns, rowCount);
+    }
+
+    /**
+     * Selects the rows with the specified indexes in the specified order, the same row may be selected several times
+     *
+     * @param rowIndexes the indexes of the rows to select
+     * @return the table containing the selected rows
+     */
+    public ColumnarTable selectRows(int... rowIndexes)
+    {
+        List<List<String>> selectedColumns = new ArrayList<>(headers.size());
+        for (List<String> column : columns)
+        {
+            List<String> selectedColumn = new ArrayList<>(rowIndexes.length);
+            for (int rowIndex : rowIndexes)
+            {
+                selectedColumn.add(column.get(rowIndex));
+            }
+            selectedColumns.add(selectedColumn);
+        }
+        return new ColumnarTable(headers, selectedColumns, rowIndexes.length);
+    }
+
+    /**
+     * Applies the mapper to the headers and to all the present cells of the table
+     *
+     * @param mapper the mapper to apply
+     * @return the table containing the mapped values
+     */
+    public ColumnarTable map(UnaryOperator<String> mapper)
+    {
+        List<String> mappedHeaders = new ArrayList<>(headers.size());
+        headers.forEach(header -> mappedHeaders.add(mapper.apply(header)));
+        List<List<String>> mappedColumns = new ArrayList<>(headers.size());
+        for (List<String> column : columns)
+        {
+            List<String> mappedColumn = new ArrayList<>(rowCount);
+            column.forEach(value -> mappedColumn.add(value != null ? mapper.apply(value) : null));
+            mappedColumns.add(mappedColumn);
+        }
+        return new ColumnarTable(mappedHeaders, mappedColumns, rowCount);
+    }
+
+    public static final class Builder
+    {
+        private final List<String> headers;
+        private final List<List<String>> columns;
+        private int rowCount;
+
+        private Builder(List<String> headers)
+        {
+            this.headers = List.copyOf(headers);
+            this.columns = createColumns(headers.size(), 0);
+        }
+
+        /**
+         * Appends the row, the row values are matched to the headers by their positions
+         *
+         * @param row the values of the row, the number of the values must be equal to the number of the headers
+         * @return the builder
+         */
+        public Builder addRow(List<String> row)
+        {
+            isTrue(row.size() == headers.size(), "The number of values (%d) doesn't match the number of headers (%d)",
+                    row.size(), headers.size());
+            for (int columnIndex = 0; columnIndex < row.size(); columnIndex++)
+            {
+                columns.get(columnIndex).add(row.get(columnIndex));
+            }
+            rowCount++;
+            return this;
+        }
+
+        public int getRowCount()
+        {
+            return rowCount;
+        }
+
+        public ColumnarTable build()
+        {
+            return new ColumnarTable(headers, columns, rowCount);
+        }
+    }
+}
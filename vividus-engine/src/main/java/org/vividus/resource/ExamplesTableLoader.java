@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.vividus.resource;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -25,10 +26,11 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
 import org.springframework.core.io.Resource;
+import org.vividus.util.ResourceDependencyTracker;
 
 public class ExamplesTableLoader
 {
-    private static final Map<String, String> TABLES_CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, LoadedTable> TABLES_CACHE = new ConcurrentHashMap<>();
     private final ITestResourceLoader testResourceLoader;
     private boolean cacheTables;
 
@@ -39,10 +41,13 @@ public class ExamplesTableLoader
 
     public String loadExamplesTable(String tablePath)
     {
-        return cacheTables ? TABLES_CACHE.computeIfAbsent(tablePath, this::loadTable) : loadTable(tablePath);
+        LoadedTable table = cacheTables ? TABLES_CACHE.computeIfAbsent(tablePath, this::loadTable)
+                : loadTable(tablePath);
+        ResourceDependencyTracker.recordUsage(table.url);
+        return table.content;
     }
 
-    private String loadTable(String exampleTablePath)
+    private LoadedTable loadTable(String exampleTablePath)
     {
         String parentDir = FilenameUtils.getFullPathNoEndSeparator(exampleTablePath);
         String fileName = FilenameUtils.getName(exampleTablePath);
@@ -57,7 +62,7 @@ public class ExamplesTableLoader
         }
         try (InputStream inputStream = resources[0].getInputStream())
         {
-            return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+            return new LoadedTable(resources[0].getURL(), IOUtils.toString(inputStream, StandardCharsets.UTF_8));
         }
         catch (IOException e)
         {
@@ -69,4 +74,16 @@ public class ExamplesTableLoader
     {
         this.cacheTables = cacheTables;
     }
+
+    private static final class LoadedTable
+    {
+        private final URL url;
+        private final String content;
+
+        LoadedTable(URL url, String content)
+        {
+            this.url = url;
+            this.content = content;
+        }
+    }
 }
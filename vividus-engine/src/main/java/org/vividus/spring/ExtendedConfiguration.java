@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -45,6 +45,7 @@ import org.vividus.batch.BatchResourceConfiguration;
 import org.vividus.converter.ResolvingPlaceholdersExamplesTableConverter;
 import org.vividus.steps.ParameterConvertersDecorator;
 import org.vividus.steps.PlaceholderResolver;
+import org.vividus.transformer.TransformedTablesCache;
 
 public class ExtendedConfiguration extends Configuration
 {
@@ -53,6 +54,7 @@ public class ExtendedConfiguration extends Configuration
     private List<ParameterConverter<?, ?>> customConverters;
     private List<StepMonitor> stepMonitors;
     private Map<String, TableTransformer> customTableTransformers;
+    private TransformedTablesCache transformedTablesCache;
     private String compositePaths;
     private StoryControls storyControls;
     private String examplesTableHeaderSeparator;
@@ -70,7 +72,9 @@ public class ExtendedConfiguration extends Configuration
                 new ResolvingPlaceholdersExamplesTableConverter(examplesTableFactory(), placeholderResolver));
         useStoryParser(new RegexStoryParser(examplesTableFactory()));
         TableTransformers transformers = tableTransformers();
-        customTableTransformers.forEach(transformers::useTransformer);
+        customTableTransformers.forEach(
+                (name, transformer) -> transformers.useTransformer(name,
+                        transformedTablesCache.decorate(name, transformer)));
         useStepMonitor(new DelegatingStepMonitor(stepMonitors));
         useStoryControls(storyControls);
     }
@@ -147,6 +151,11 @@ public class ExtendedConfiguration extends Configuration
         this.customTableTransformers = customTableTransformers;
     }
 
+    public void setTransformedTablesCache(TransformedTablesCache transformedTablesCache)
+    {
+        this.transformedTablesCache = transformedTablesCache;
+    }
+
     public void setStoryControls(StoryControls storyControls)
     {
         this.storyControls = storyControls;
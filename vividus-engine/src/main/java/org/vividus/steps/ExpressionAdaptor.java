@@ -29,6 +29,7 @@ import org.jbehave.core.embedder.StoryControls;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vividus.DryRunAwareExecutor;
+import org.vividus.expression.ExpressionProcessorRegistry;
 import org.vividus.expression.IExpressionProcessor;
 
 public class ExpressionAdaptor implements DryRunAwareExecutor
@@ -40,11 +41,9 @@ public class ExpressionAdaptor implements DryRunAwareExecutor
     private static final Pattern RELUCTANT_EXPRESSION_PATTERN = Pattern.compile(
             "#\\{((?:(?!#\\{|\\$\\{).)*?\\)|(?:(?!#\\{|\\$\\{).)*?)}", Pattern.DOTALL);
 
-    private static final String REPLACEMENT_PATTERN = "\\#\\{%s\\}";
-
     private final StoryControls storyControls;
 
-    private List<IExpressionProcessor<?>> processors;
+    private ExpressionProcessorRegistry<Object> processors;
 
     public ExpressionAdaptor(StoryControls storyControls)
     {
@@ -101,6 +100,21 @@ public class ExpressionAdaptor implements DryRunAwareExecutor
         return processExpression(expression, () -> apply(expression));
     }
 
+    /**
+     * Evaluates the expression excluding nested ones.
+     *
+     * @param expression the expression to evaluate
+     * @return the result of the evaluated expression or empty optional if the expression is not supported or the
+     * execution is dry run
+     */
+    public Optional<Object> evaluateExpression(String expression)
+    {
+        return execute(() -> {
+            Object result = processExpression(expression);
+            return expression.equals(result) ? Optional.empty() : Optional.of(result);
+        }, Optional.empty());
+    }
+
     private Object processExpression(String value, Supplier<Object> expressionResolver)
     {
         try
@@ -130,9 +144,8 @@ public class ExpressionAdaptor implements DryRunAwareExecutor
             }
             if (!expressionResult.equals(expression))
             {
-                String regex = String.format(REPLACEMENT_PATTERN, Pattern.quote(expression));
-                processedValue = processedValue.replaceFirst(regex,
-                    Matcher.quoteReplacement(String.valueOf(expressionResult)));
+                processedValue = processedValue.substring(0, expressionMatcher.start()) + expressionResult
+                        + processedValue.substring(expressionMatcher.end());
                 expressionFound = false;
                 expressionMatcher.reset(processedValue);
             }
@@ -146,21 +159,21 @@ public class ExpressionAdaptor implements DryRunAwareExecutor
 
     private Object apply(String expression)
     {
-        for (IExpressionProcessor<?> processor : processors)
-        {
-            Optional<?> optional = processor.execute(expression);
-            if (optional.isPresent())
-            {
-                return optional.get();
-            }
-        }
-        return expression;
+        return processors.execute(expression).orElse(expression);
     }
 
     @Inject
     public void setProcessors(List<IExpressionProcessor<?>> processors)
     {
-        this.processors = processors;
+        this.processors = new ExpressionProcessorRegistry<>(processors);
+    }
+
+    /**
+     * @return the registry of the expression processors exposing the processors lookup counters
+     */
+    public ExpressionProcessorRegistry<Object> getProcessors()
+    {
+        return processors;
     }
 
     @Override
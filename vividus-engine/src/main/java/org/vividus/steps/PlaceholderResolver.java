@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,13 +17,22 @@
 package org.vividus.steps;
 
 import java.lang.reflect.Type;
+import java.util.Optional;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 
 public class PlaceholderResolver
 {
     private static final int MAX_DEPTH = 16;
+    private static final int MAX_TEMPLATES = 10_000;
 
     private final VariableResolver variableResolver;
     private final ExpressionAdaptor expressionAdaptor;
+    private final LoadingCache<String, Optional<PlaceholderTemplate>> templates = CacheBuilder.newBuilder()
+            .maximumSize(MAX_TEMPLATES)
+            .build(CacheLoader.from(PlaceholderTemplate::compile));
 
     public PlaceholderResolver(VariableResolver variableResolver, ExpressionAdaptor expressionAdaptor)
     {
@@ -33,6 +42,15 @@ public class PlaceholderResolver
 
     public Object resolvePlaceholders(String value, Type type)
     {
+        if (value != null)
+        {
+            Optional<PlaceholderTemplate> template = templates.getUnchecked(value);
+            if (template.isPresent())
+            {
+                return template.get().resolve(variableResolver, expressionAdaptor, type,
+                        (unresolved, iteration) -> resolvePlaceholders(value, unresolved, type, iteration));
+            }
+        }
         return resolvePlaceholders(value, value, type, 1);
     }
 
@@ -0,0 +1,495 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Step parameter value parsed into the tree of literals, variables and (nested) expressions. The template is built
+ * once per raw value and then evaluated without scanning the value again. The expressions boundaries are calculated
+ * in the same way as {@link ExpressionAdaptor} does it for the value with the variables substituted, so the evaluation
+ * result is the same as the result of the iterative resolution. If the boundaries depend on the resolved values (the
+ * values contain placeholders, closing braces, etc.) or the template can't be evaluated completely (unknown variables
+ * or expressions, dry run), the iterative resolution is used. The iterative resolution starts from the value with
+ * the already evaluated expressions substituted, so no expression is evaluated twice, and the templates falling back
+ * after the evaluation of the expressions are resolved iteratively from then on.
+ */
+final class PlaceholderTemplate
+{
+    private static final String VARIABLE_START = "${";
+    private static final String EXPRESSION_START = "#{";
+    private static final char END = '}';
+    private static final char ARGUMENTS_END = ')';
+
+    private final String value;
+    private final List<Node> nodes;
+    private final int variablesCount;
+    private final boolean hasExpressions;
+    private final Variable singleVariable;
+    private volatile boolean resolvedIteratively;
+
+    private PlaceholderTemplate(String value, List<Node> nodes, int variablesCount, boolean hasExpressions)
+    {
+        this.value = value;
+        this.nodes = nodes;
+        this.variablesCount = variablesCount;
+        this.hasExpressions = hasExpressions;
+        this.singleVariable = findSingleVariable(nodes);
+    }
+
+    /**
+     * Parses the value into the template
+     * @param value the raw value
+     * @return the template or empty optional if the value can't be represented as a template (e.g. it contains
+     * unclosed placeholders or variables with dynamic names)
+     */
+    static Optional<PlaceholderTemplate> compile(String value)
+    {
+        Parser parser = new Parser(value);
+        List<Node> nodes = parser.parseTemplate();
+        return nodes == null ? Optional.empty()
+                : Optional.of(new PlaceholderTemplate(value, nodes, parser.variablesCount, parser.hasExpressions));
+    }
+
+    boolean isLiteral()
+    {
+        return variablesCount == 0 && !hasExpressions;
+    }
+
+    /**
+     * Resolves the template
+     * @param variableResolver the variable resolver
+     * @param expressionAdaptor the expression adaptor
+     * @param type the type of the resolved value
+     * @param iterativeResolver the iterative resolution to fall back to, it gets the value to start the resolution
+     * from and the number of the iteration the resolution starts with
+     * @return the resolved value
+     */
+    Object resolve(VariableResolver variableResolver, ExpressionAdaptor expressionAdaptor, Type type,
+            BiFunction<String, Integer, Object> iterativeResolver)
+    {
+        if (isLiteral())
+        {
+            return value;
+        }
+        if (singleVariable != null)
+        {
+            return evaluateSingleVariable(variableResolver, type).orElseGet(() -> iterativeResolver.apply(value, 1));
+        }
+        // Variables are resolved before any expression is evaluated like it's done by the iterative resolution
+        Object[] variables = new Object[variablesCount];
+        if (resolvedIteratively || !resolveVariables(nodes, variableResolver, variables))
+        {
+            return iterativeResolver.apply(value, 1);
+        }
+        Evaluation evaluation = new Evaluation(variables, expressionAdaptor);
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < nodes.size(); i++)
+        {
+            Node node = nodes.get(i);
+            Object nodeValue = evaluation.evaluate(node);
+            if (nodeValue == null)
+            {
+                return fallBack(evaluation, iterativeResolver);
+            }
+            if (!(nodeValue instanceof String))
+            {
+                if (result.length() == 0 && isEmptyTail(i + 1, evaluation))
+                {
+                    return nodeValue;
+                }
+                nodeValue = String.valueOf(nodeValue);
+            }
+            result.append((String) nodeValue);
+        }
+        String resolved = result.toString();
+        return containsPlaceholders(resolved) ? fallBack(evaluation, iterativeResolver) : resolved;
+    }
+
+    private Object fallBack(Evaluation evaluation, BiFunction<String, Integer, Object> iterativeResolver)
+    {
+        if (!evaluation.hasEvaluatedExpressions())
+        {
+            return iterativeResolver.apply(value, 1);
+        }
+        resolvedIteratively = true;
+        StringBuilder partiallyResolved = new StringBuilder();
+        nodes.forEach(node -> evaluation.render(node, partiallyResolved));
+        // The variables are resolved and the expressions are evaluated once, it's the first iteration already
+        return iterativeResolver.apply(partiallyResolved.toString(), 2);
+    }
+
+    private Optional<Object> evaluateSingleVariable(VariableResolver variableResolver, Type type)
+    {
+        Optional<Object> variable = variableResolver.findVariable(singleVariable.key);
+        if (variable.isPresent() && (type == String.class || variable.get() instanceof String))
+        {
+            String resolved = String.valueOf(variable.get());
+            return containsPlaceholders(resolved) ? Optional.empty() : Optional.of(resolved);
+        }
+        return variable;
+    }
+
+    private boolean resolveVariables(List<Node> nodes, VariableResolver variableResolver, Object[] variables)
+    {
+        for (Node node : nodes)
+        {
+            if (node instanceof Variable)
+            {
+                Variable variable = (Variable) node;
+                Optional<Object> variableValue = variableResolver.findVariable(variable.key);
+                if (variableValue.isEmpty())
+                {
+                    return false;
+                }
+                String stringValue = variableValue.get().toString();
+                if (!isSafeToInsert(stringValue))
+                {
+                    return false;
+                }
+                variables[variable.index] = stringValue;
+            }
+            else if (node instanceof Expression
+                    && !resolveVariables(((Expression) node).body, variableResolver, variables))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The expression result is returned as is only if it's the whole value at the moment of the evaluation: the
+     * preceding nodes are resolved to empty strings and the following nodes are the variables resolved to empty
+     * strings (the following expressions are not evaluated at that moment).
+     */
+    private boolean isEmptyTail(int from, Evaluation evaluation)
+    {
+        for (int i = from; i < nodes.size(); i++)
+        {
+            Node node = nodes.get(i);
+            if (!(node instanceof Variable) || !evaluation.evaluate(node).toString().isEmpty())
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isSafeToInsert(String insertedValue)
+    {
+        if (containsPlaceholders(insertedValue))
+        {
+            return false;
+        }
+        // Inserted values must not change the boundaries of the expressions
+        return !hasExpressions || insertedValue.indexOf(END) == -1 && (insertedValue.isEmpty()
+                || insertedValue.charAt(insertedValue.length() - 1) != ARGUMENTS_END);
+    }
+
+    private static boolean containsPlaceholders(String value)
+    {
+        return value.contains(VARIABLE_START) || value.contains(EXPRESSION_START);
+    }
+
+    private static Variable findSingleVariable(List<Node> nodes)
+    {
+        Variable variable = null;
+        for (Node node : nodes)
+        {
+            if (node instanceof Variable && variable == null)
+            {
+                variable = (Variable) node;
+            }
+            else if (!(node instanceof Literal) || !isLineBreaks(((Literal) node).text))
+            {
+                return null;
+            }
+        }
+        return variable;
+    }
+
+    private static boolean isLineBreaks(String text)
+    {
+        return text.chars().allMatch(c -> c == '\r' || c == '\n');
+    }
+
+    private final class Evaluation
+    {
+        private final Object[] variables;
+        private final ExpressionAdaptor expressionAdaptor;
+        private final Map<Expression, Object> expressionValues = new IdentityHashMap<>();
+
+        Evaluation(Object[] variables, ExpressionAdaptor expressionAdaptor)
+        {
+            this.variables = variables;
+            this.expressionAdaptor = expressionAdaptor;
+        }
+
+        /**
+         * @return evaluated node or <code>null</code> if the node can't be evaluated
+         */
+        Object evaluate(Node node)
+        {
+            if (node instanceof Literal)
+            {
+                return ((Literal) node).text;
+            }
+            if (node instanceof Variable)
+            {
+                return variables[((Variable) node).index];
+            }
+            StringBuilder body = new StringBuilder();
+            for (Node bodyNode : ((Expression) node).body)
+            {
+                Object bodyNodeValue = evaluate(bodyNode);
+                if (bodyNodeValue == null)
+                {
+                    return null;
+                }
+                String stringValue = String.valueOf(bodyNodeValue);
+                if (bodyNode instanceof Expression && !isSafeToInsert(stringValue))
+                {
+                    return null;
+                }
+                body.append(stringValue);
+            }
+            String expression = body.toString();
+            if (containsPlaceholders(expression))
+            {
+                return null;
+            }
+            Object expressionValue = expressionAdaptor.evaluateExpression(expression).orElse(null);
+            if (expressionValue != null)
+            {
+                expressionValues.put((Expression) node, expressionValue);
+            }
+            return expressionValue;
+        }
+
+        boolean hasEvaluatedExpressions()
+        {
+            return !expressionValues.isEmpty();
+        }
+
+        /**
+         * Renders the node with the resolved variables and the evaluated expressions substituted, the expressions
+         * which are not evaluated are rendered as is
+         */
+        void render(Node node, StringBuilder output)
+        {
+            if (node instanceof Literal)
+            {
+                output.append(((Literal) node).text);
+            }
+            else if (node instanceof Variable)
+            {
+                output.append(variables[((Variable) node).index]);
+            }
+            else if (expressionValues.containsKey(node))
+            {
+                output.append(expressionValues.get(node));
+            }
+            else
+            {
+                output.append(EXPRESSION_START);
+                ((Expression) node).body.forEach(bodyNode -> render(bodyNode, output));
+                output.append(END);
+            }
+        }
+    }
+
+    private interface Node
+    {
+    }
+
+    private static final class Literal implements Node
+    {
+        private final String text;
+
+        Literal(String text)
+        {
+            this.text = text;
+        }
+    }
+
+    private static final class Variable implements Node
+    {
+        private final String key;
+        private final int index;
+
+        Variable(String key, int index)
+        {
+            this.key = key;
+            this.index = index;
+        }
+    }
+
+    private static final class Expression implements Node
+    {
+        private final List<Node> body;
+
+        Expression(List<Node> body)
+        {
+            this.body = body;
+        }
+    }
+
+    private static final class Parser
+    {
+        private final String value;
+        private int variablesCount;
+        private boolean hasExpressions;
+        private int position;
+
+        Parser(String value)
+        {
+            this.value = value;
+        }
+
+        List<Node> parseTemplate()
+        {
+            List<Node> nodes = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            while (position < value.length())
+            {
+                Node node;
+                if (value.startsWith(VARIABLE_START, position))
+                {
+                    node = parseVariable();
+                }
+                else if (value.startsWith(EXPRESSION_START, position))
+                {
+                    node = parseExpression();
+                }
+                else
+                {
+                    literal.append(value.charAt(position));
+                    position++;
+                    continue;
+                }
+                if (node == null)
+                {
+                    return null;
+                }
+                addLiteral(nodes, literal);
+                nodes.add(node);
+            }
+            addLiteral(nodes, literal);
+            return nodes;
+        }
+
+        private Variable parseVariable()
+        {
+            int start = position + VARIABLE_START.length();
+            int end = value.indexOf(END, start);
+            if (end == -1)
+            {
+                return null;
+            }
+            String key = value.substring(start, end);
+            if (key.isEmpty() || containsPlaceholders(key))
+            {
+                return null;
+            }
+            position = end + 1;
+            return new Variable(key, variablesCount++);
+        }
+
+        /**
+         * Mirrors the reluctant expression pattern of {@link ExpressionAdaptor}: the expression ends with the first
+         * <code>)}</code>, if there is no such sequence before the next unprocessed expression, the expression ends
+         * with the first <code>}</code>. If neither is found before the next expression, this expression is considered
+         * as the nested one: it is processed first and its result becomes the part of the outer expression.
+         */
+        private Expression parseExpression()
+        {
+            hasExpressions = true;
+            position += EXPRESSION_START.length();
+            List<Node> body = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            List<Node> bodyBeforeFirstEnd = null;
+            int firstEnd = -1;
+            while (position < value.length())
+            {
+                char current = value.charAt(position);
+                if (value.startsWith(VARIABLE_START, position))
+                {
+                    Variable variable = parseVariable();
+                    if (variable == null)
+                    {
+                        return null;
+                    }
+                    addLiteral(body, literal);
+                    body.add(variable);
+                    continue;
+                }
+                if (value.startsWith(EXPRESSION_START, position))
+                {
+                    if (firstEnd != -1)
+                    {
+                        break;
+                    }
+                    Expression nested = parseExpression();
+                    if (nested == null)
+                    {
+                        return null;
+                    }
+                    addLiteral(body, literal);
+                    body.add(nested);
+                    continue;
+                }
+                if (current == ARGUMENTS_END && position + 1 < value.length() && value.charAt(position + 1) == END)
+                {
+                    literal.append(current);
+                    addLiteral(body, literal);
+                    position += 2;
+                    return new Expression(body);
+                }
+                if (current == END && firstEnd == -1)
+                {
+                    firstEnd = position;
+                    bodyBeforeFirstEnd = new ArrayList<>(body);
+                    addLiteral(bodyBeforeFirstEnd, new StringBuilder(literal));
+                }
+                literal.append(current);
+                position++;
+            }
+            if (firstEnd == -1)
+            {
+                return null;
+            }
+            position = firstEnd + 1;
+            return new Expression(bodyBeforeFirstEnd);
+        }
+
+        private static void addLiteral(List<Node> nodes, StringBuilder literal)
+        {
+            if (literal.length() > 0)
+            {
+                nodes.add(new Literal(literal.toString()));
+                literal.setLength(0);
+            }
+        }
+    }
+}
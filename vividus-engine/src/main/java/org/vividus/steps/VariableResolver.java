@@ -65,6 +65,16 @@ public class VariableResolver implements DryRunAwareExecutor
         return resolveVariables(0, value);
     }
 
+    /**
+     * Finds the value of the variable or the dynamic variable by the variable key
+     * @param variableKey the variable key (without placeholder markers)
+     * @return the variable value or empty optional if there is no variable with the given key
+     */
+    public Optional<Object> findVariable(String variableKey)
+    {
+        return Optional.ofNullable(getVariableValue(variableKey));
+    }
+
     private Object resolveVariables(int scanStartPosition, String value)
     {
         int start = -1;
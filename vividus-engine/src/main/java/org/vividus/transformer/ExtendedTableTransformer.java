@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,8 +18,12 @@ package org.vividus.transformer;
 
 import static org.apache.commons.lang3.Validate.isTrue;
 
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
@@ -53,4 +57,49 @@ public interface ExtendedTableTransformer extends TableTransformer
             return processor2.getValue().apply(propertyValue2);
         }
     }
+
+    /**
+     * Gets the names of the columns to select from the source of the table: the names are defined by the optional
+     * semicolon-separated ExamplesTable property <code>columns</code>
+     *
+     * @param tableProperties the table properties
+     * @return the list of the column names or empty list if all columns should be selected
+     */
+    default List<String> getSelectedColumns(TableProperties tableProperties)
+    {
+        return Optional.ofNullable(tableProperties.getProperties().getProperty("columns"))
+                .map(columns -> Stream.of(StringUtils.split(columns, ';'))
+                        .map(String::trim)
+                        .filter(StringUtils::isNotEmpty)
+                        .collect(Collectors.toList()))
+                .orElseGet(List::of);
+    }
+
+    /**
+     * Gets the max number of the rows to read from the source of the table: the number is defined by the optional
+     * ExamplesTable property <code>maxRows</code>
+     *
+     * @param tableProperties the table properties
+     * @return the max number of the rows or {@link Integer#MAX_VALUE} if the number of the rows is not limited
+     */
+    default int getMaxRows(TableProperties tableProperties)
+    {
+        int maxRows = Optional.ofNullable(tableProperties.getProperties().getProperty("maxRows"))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .orElse(Integer.MAX_VALUE);
+        isTrue(maxRows > 0, "ExamplesTable property 'maxRows' must be positive, but got %d", maxRows);
+        return maxRows;
+    }
+
+    /**
+     * Indicates whether the table produced by the transformer is defined completely by the input table, the table
+     * properties and the resources read by the transformer, so the table can be cached until any of them is changed
+     *
+     * @return <code>false</code> if the transformer reads the data from the external sources (DB, HTTP, etc.)
+     */
+    default boolean isFingerprintable()
+    {
+        return true;
+    }
 }
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Resources;
+
+import org.jbehave.core.model.ExamplesTable.TableProperties;
+import org.jbehave.core.model.TableParsers;
+import org.jbehave.core.model.TableTransformers.TableTransformer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.util.ResourceDependencyTracker;
+import org.vividus.util.ResourceDependencyTracker.Scope;
+
+/**
+ * Persistent cache of the tables produced by the table transformers. The cache entry is addressed by the hash of the
+ * transformer name, the input table and the table properties, while the entry itself contains the hashes of the
+ * contents of all the resources used during the transformation: the entry is reused only if none of these resources
+ * is changed. The entries are stored as separate files, so the cache directory can be shared between the JVMs.
+ */
+public class TransformedTablesCache
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransformedTablesCache.class);
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAGIC = 0x56544300 | FORMAT_VERSION;
+    private static final String ENTRY_EXTENSION = ".table.bin";
+    private static final HashFunction HASH_FUNCTION = Hashing.sha256();
+
+    private final Path directory;
+    private final Set<String> cachedTransformers;
+
+    public TransformedTablesCache(Path directory, Set<String> cachedTransformers)
+    {
+        this.directory = directory;
+        this.cachedTransformers = cachedTransformers;
+    }
+
+    /**
+     * Decorates the transformer with the caching of its results if the transformer is configured to be cached. The
+     * transformers reading the external data are never cached, since the changes of such data can't be detected.
+     *
+     * @param name        the name of the transformer
+     * @param transformer the transformer to decorate
+     * @return the caching transformer or the original transformer if its results should not be cached
+     */
+    public TableTransformer decorate(String name, TableTransformer transformer)
+    {
+        if (!cachedTransformers.contains(name))
+        {
+            return transformer;
+        }
+        if (transformer instanceof ExtendedTableTransformer
+                && !((ExtendedTableTransformer) transformer).isFingerprintable())
+        {
+            LOGGER.warn("The results of {} transformer are not cached, since they depend on the external data", name);
+            return transformer;
+        }
+        return (tableAsString, tableParsers, properties) -> transform(name, transformer, tableAsString, tableParsers,
+                properties);
+    }
+
+    private String transform(String name, TableTransformer transformer, String tableAsString,
+            TableParsers tableParsers, TableProperties properties)
+    {
+        Map<String, String> initialProperties = asSortedMap(properties.getProperties());
+        if (containsPlaceholders(tableAsString) || initialProperties.values().stream()
+                .anyMatch(TransformedTablesCache::containsPlaceholders))
+        {
+            return transformer.transform(tableAsString, tableParsers, properties);
+        }
+        HashCode key = calculateKey(name, tableAsString, properties, initialProperties);
+        Path entryPath = directory.resolve(key + ENTRY_EXTENSION);
+
+        Optional<CacheEntry> cachedEntry = readEntry(entryPath);
+        if (cachedEntry.isPresent())
+        {
+            CacheEntry entry = cachedEntry.get();
+            entry.resources.forEach(ResourceDependencyTracker::recordUsage);
+            entry.changedProperties.forEach(properties.getProperties()::setProperty);
+            return entry.table;
+        }
+
+        String table;
+        Set<String> usedResources;
+        try (Scope scope = ResourceDependencyTracker.startTracking())
+        {
+            table = transformer.transform(tableAsString, tableParsers, properties);
+            usedResources = scope.getResources();
+        }
+        Map<String, String> changedProperties = new LinkedHashMap<>();
+        asSortedMap(properties.getProperties()).forEach((property, value) -> {
+            if (!value.equals(initialProperties.get(property)))
+            {
+                changedProperties.put(property, value);
+            }
+        });
+        writeEntry(entryPath, usedResources, changedProperties, table);
+        return table;
+    }
+
+    private static boolean containsPlaceholders(String value)
+    {
+        return value.contains("${") || value.contains("#{");
+    }
+
+    private static HashCode calculateKey(String name, String tableAsString, TableProperties properties,
+            Map<String, String> sortedProperties)
+    {
+        Hasher hasher = HASH_FUNCTION.newHasher().putInt(FORMAT_VERSION);
+        putString(hasher, name);
+        putString(hasher, tableAsString);
+        putString(hasher, properties.getHeaderSeparator());
+        putString(hasher, properties.getValueSeparator());
+        putString(hasher, properties.getRowSeparator());
+        hasher.putBoolean(properties.isTrim());
+        sortedProperties.forEach((property, value) -> {
+            putString(hasher, property);
+            putString(hasher, value);
+        });
+        return hasher.hash();
+    }
+
+    private static void putString(Hasher hasher, String value)
+    {
+        hasher.putInt(value.length()).putString(value, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String> asSortedMap(Properties properties)
+    {
+        Map<String, String> sortedProperties = new TreeMap<>();
+        properties.stringPropertyNames().forEach(name -> sortedProperties.put(name, properties.getProperty(name)));
+        return sortedProperties;
+    }
+
+    private Optional<CacheEntry> readEntry(Path entryPath)
+    {
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(Files.newInputStream(entryPath)))))
+        {
+            if (input.readInt() != MAGIC)
+            {
+                LOGGER.warn("Unsupported format of the cached table {}", entryPath);
+                return Optional.empty();
+            }
+            CacheEntry entry = new CacheEntry();
+            int resourcesCount = input.readInt();
+            for (int i = 0; i < resourcesCount; i++)
+            {
+                String resource = readString(input);
+                byte[] hash = new byte[HASH_FUNCTION.bits() / Byte.SIZE];
+                input.readFully(hash);
+                if (!HashCode.fromBytes(hash).equals(hashResource(resource)))
+                {
+                    LOGGER.debug("The cached table {} is outdated, resource {} is changed", entryPath, resource);
+                    return Optional.empty();
+                }
+                entry.resources.add(resource);
+            }
+            int propertiesCount = input.readInt();
+            for (int i = 0; i < propertiesCount; i++)
+            {
+                entry.changedProperties.put(readString(input), readString(input));
+            }
+            entry.table = readString(input);
+            return Optional.of(entry);
+        }
+        catch (NoSuchFileException e)
+        {
+            return Optional.empty();
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn("Unable to read the cached table {}", entryPath, e);
+            return Optional.empty();
+        }
+    }
+
+    private void writeEntry(Path entryPath, Set<String> usedResources, Map<String, String> changedProperties,
+            String table)
+    {
+        Map<String, HashCode> resourceHashes = new LinkedHashMap<>();
+        for (String resource : usedResources)
+        {
+            HashCode hash = hashResource(resource);
+            if (hash == null)
+            {
+                LOGGER.debug("The table is not cached, since resource {} can't be read", resource);
+                return;
+            }
+            resourceHashes.put(resource, hash);
+        }
+        Path tempPath = null;
+        try
+        {
+            Files.createDirectories(directory);
+            tempPath = Files.createTempFile(directory, entryPath.getFileName().toString(), ".tmp");
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tempPath)))))
+            {
+                output.writeInt(MAGIC);
+                output.writeInt(resourceHashes.size());
+                for (Map.Entry<String, HashCode> resourceHash : resourceHashes.entrySet())
+                {
+                    writeString(output, resourceHash.getKey());
+                    output.write(resourceHash.getValue().asBytes());
+                }
+                output.writeInt(changedProperties.size());
+                for (Map.Entry<String, String> property : changedProperties.entrySet())
+                {
+                    writeString(output, property.getKey());
+                    writeString(output, property.getValue());
+                }
+                writeString(output, table);
+            }
+            moveAtomically(tempPath, entryPath);
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn("Unable to cache the table to {}", entryPath, e);
+            deleteQuietly(tempPath);
+        }
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException
+    {
+        try
+        {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (AtomicMoveNotSupportedException e)
+        {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path path)
+    {
+        if (path != null)
+        {
+            try
+            {
+                Files.deleteIfExists(path);
+            }
+            catch (IOException e)
+            {
+                LOGGER.debug("Unable to delete {}", path, e);
+            }
+        }
+    }
+
+    private static HashCode hashResource(String resource)
+    {
+        try
+        {
+            return Resources.asByteSource(new URL(resource)).hash(HASH_FUNCTION);
+        }
+        catch (IOException e)
+        {
+            return null;
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException
+    {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException
+    {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class CacheEntry
+    {
+        private final Set<String> resources = new LinkedHashSet<>();
+        private final Map<String, String> changedProperties = new LinkedHashMap<>();
+        private String table;
+    }
+}
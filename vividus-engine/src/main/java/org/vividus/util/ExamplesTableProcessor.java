@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,10 +22,14 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.jbehave.core.model.ExamplesTable.TableProperties;
+import org.jbehave.core.model.ExamplesTable.TableRows;
+import org.jbehave.core.model.TableParsers;
+import org.vividus.model.ColumnarTable;
 
 public final class ExamplesTableProcessor
 {
@@ -36,6 +40,77 @@ public final class ExamplesTableProcessor
     {
     }
 
+    /**
+     * Parse the table passed to the table transformer. If the table is built by the previous transformer in the
+     * chain, its in-memory representation is taken as is without parsing.
+     *
+     * @param tableAsString table as string
+     * @param tableParsers table parsers
+     * @param properties table properties
+     * @return parsed table
+     */
+    public static ColumnarTable parseExamplesTable(String tableAsString, TableParsers tableParsers,
+            TableProperties properties)
+    {
+        return SerializedTables.find(tableAsString, properties).orElseGet(() ->
+        {
+            TableRows tableRows = tableParsers.parseRows(tableAsString, properties);
+            return ColumnarTable.fromRows(tableRows.getHeaders(), tableRows.getRows());
+        });
+    }
+
+    /**
+     * Build a table using input in-memory <b>table</b>, the absent cells are skipped
+     *
+     * @param table table to build
+     * @param properties table properties
+     * @return examples table as string
+     */
+    public static String buildExamplesTable(ColumnarTable table, TableProperties properties)
+    {
+        return buildExamplesTable(table, properties, false);
+    }
+
+    /**
+     * Build a table using input in-memory <b>table</b>, the absent cells are skipped
+     *
+     * @param table table to build
+     * @param properties table properties
+     * @param checkForValueSeparator whether to choose the value separator not contained in the table values
+     * @return examples table as string
+     */
+    public static String buildExamplesTable(ColumnarTable table, TableProperties properties,
+            boolean checkForValueSeparator)
+    {
+        String valueSeparator = properties.getValueSeparator();
+        if (checkForValueSeparator)
+        {
+            List<List<String>> columns = IntStream.range(0, table.getHeaders().size())
+                    .mapToObj(table::getColumn)
+                    .collect(Collectors.toList());
+            valueSeparator = determineValueSeparator(columns, properties);
+        }
+        String rowSeparator = properties.getRowSeparator();
+        StringBuilder examplesTableBuilder = new StringBuilder();
+        appendRow(examplesTableBuilder, table.getHeaders(), properties.getHeaderSeparator());
+        for (int rowIndex = 0; rowIndex < table.getRowCount(); rowIndex++)
+        {
+            examplesTableBuilder.append(rowSeparator);
+            for (int columnIndex = 0; columnIndex < table.getHeaders().size(); columnIndex++)
+            {
+                String value = table.getValue(rowIndex, columnIndex);
+                if (value != null)
+                {
+                    examplesTableBuilder.append(valueSeparator).append(value);
+                }
+            }
+            examplesTableBuilder.append(valueSeparator);
+        }
+        String examplesTable = examplesTableBuilder.toString();
+        SerializedTables.register(examplesTable, table, properties, valueSeparator);
+        return examplesTable;
+    }
+
     public static String buildExamplesTableFromColumns(Collection<String> header, List<List<String>> columnsData,
             TableProperties properties)
     {
@@ -103,7 +178,14 @@ public final class ExamplesTableProcessor
             examplesTableBuilder.append(rowSeparator);
             appendRow(examplesTableBuilder, row, valueSeparator);
         });
-        return examplesTableBuilder.toString();
+        String examplesTable = examplesTableBuilder.toString();
+        if (!appendTableProperties && data.stream().allMatch(row -> row.size() == header.size()))
+        {
+            List<String> headers = header.stream().map(Objects::toString).collect(Collectors.toList());
+            SerializedTables.register(examplesTable, ColumnarTable.fromRowValues(headers, data), properties,
+                    valueSeparator);
+        }
+        return examplesTable;
     }
 
     private static void appendTableProperties(StringBuilder examplesTableBuilder, TableProperties properties,
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.util;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.jbehave.core.model.ExamplesTable.TableProperties;
+import org.vividus.model.ColumnarTable;
+
+/**
+ * Keeps the in-memory tables behind the strings built by the table transformers, so the next transformer in the
+ * chain can take the table instead of parsing the string. The strings are compared by identity and the entries are
+ * released as soon as the strings are not used anymore. Only the tables which parsing would give exactly the same
+ * headers and values are kept. The kept tables are trimmed in the same way as the parser trims the values, so
+ * the lookups return them without copying.
+ */
+final class SerializedTables
+{
+    private static final int MAX_SIZE = 32;
+    private static final String NEW_LINE = "\n";
+    private static final String CARRIAGE_RETURN = "\r";
+    private static final String IGNORABLE_SEPARATOR_KEY = "ignorableSeparator";
+    private static final String DEFAULT_IGNORABLE_SEPARATOR = "|--";
+    private static final List<String> PARSING_AFFECTING_KEYS = List.of("commentSeparator", "nullPlaceholder");
+
+    private static final Cache<String, SerializedTable> TABLES = CacheBuilder.newBuilder()
+            .weakKeys()
+            .softValues()
+            .maximumSize(MAX_SIZE)
+            .build();
+
+    private SerializedTables()
+    {
+    }
+
+    static void register(String tableAsString, ColumnarTable table, TableProperties properties, String valueSeparator)
+    {
+        String headerSeparator = properties.getHeaderSeparator();
+        String rowSeparator = properties.getRowSeparator();
+        if (isParseable(table, headerSeparator, valueSeparator, rowSeparator))
+        {
+            ColumnarTable parsedTable = isTrimmed(table) ? table : table.map(String::trim);
+            TABLES.put(tableAsString, new SerializedTable(parsedTable, headerSeparator, valueSeparator,
+                    rowSeparator));
+        }
+    }
+
+    static Optional<ColumnarTable> find(String tableAsString, TableProperties properties)
+    {
+        SerializedTable serializedTable = TABLES.getIfPresent(tableAsString);
+        if (serializedTable == null || !serializedTable.isParsedAsIs(tableAsString, properties))
+        {
+            return Optional.empty();
+        }
+        return Optional.of(serializedTable.table);
+    }
+
+    private static boolean isTrimmed(ColumnarTable table)
+    {
+        List<String> headers = table.getHeaders();
+        if (!headers.stream().allMatch(SerializedTables::isTrimmed))
+        {
+            return false;
+        }
+        for (int columnIndex = 0; columnIndex < headers.size(); columnIndex++)
+        {
+            if (!table.getColumn(columnIndex).stream().allMatch(SerializedTables::isTrimmed))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isTrimmed(String value)
+    {
+        return value.equals(value.trim());
+    }
+
+    private static boolean isParseable(ColumnarTable table, String headerSeparator, String valueSeparator,
+            String rowSeparator)
+    {
+        List<String> headers = table.getHeaders();
+        if (headers.isEmpty() || new HashSet<>(headers).size() != headers.size()
+                || !headers.stream().allMatch(header -> isParseable(header, headerSeparator, rowSeparator)))
+        {
+            return false;
+        }
+        for (int columnIndex = 0; columnIndex < headers.size(); columnIndex++)
+        {
+            for (String value : table.getColumn(columnIndex))
+            {
+                if (value == null || !isParseable(value, valueSeparator, rowSeparator))
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isParseable(String value, String separator, String rowSeparator)
+    {
+        return !value.contains(separator) && !value.contains(rowSeparator) && !value.contains(NEW_LINE)
+                && !value.contains(CARRIAGE_RETURN);
+    }
+
+    private static final class SerializedTable
+    {
+        private final ColumnarTable table;
+        private final String headerSeparator;
+        private final String valueSeparator;
+        private final String rowSeparator;
+
+        SerializedTable(ColumnarTable table, String headerSeparator, String valueSeparator, String rowSeparator)
+        {
+            this.table = table;
+            this.headerSeparator = headerSeparator;
+            this.valueSeparator = valueSeparator;
+            this.rowSeparator = rowSeparator;
+        }
+
+        boolean isParsedAsIs(String tableAsString, TableProperties properties)
+        {
+            Properties rawProperties = properties.getProperties();
+            if (!properties.isTrim() || !headerSeparator.equals(properties.getHeaderSeparator())
+                    || !valueSeparator.equals(properties.getValueSeparator())
+                    || !rowSeparator.equals(properties.getRowSeparator())
+                    || PARSING_AFFECTING_KEYS.stream().anyMatch(rawProperties::containsKey))
+            {
+                return false;
+            }
+            String ignorableSeparator = rawProperties.getProperty(IGNORABLE_SEPARATOR_KEY,
+                    DEFAULT_IGNORABLE_SEPARATOR);
+            return !tableAsString.startsWith(ignorableSeparator)
+                    && !tableAsString.contains(rowSeparator + ignorableSeparator);
+        }
+    }
+}
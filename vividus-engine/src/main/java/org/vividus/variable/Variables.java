@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,19 +16,31 @@
 
 package org.vividus.variable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.lang3.reflect.FieldUtils;
 
 public class Variables
@@ -38,6 +50,22 @@ public class Variables
     private static final int MAP_KEY_GROUP = 3;
     private static final Pattern COMPOUND_VARIABLE_PATTERN = Pattern.compile(
             "([^\\[\\].:]+):?(?:\\[(\\d+)])?:?(?:\\.([^:]+))?:?");
+    private static final int MAX_CACHED_KEYS = 10_000;
+    private static final MethodType FIELD_GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final LoadingCache<String, VariableKey> VARIABLE_KEYS = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_KEYS)
+            .build(CacheLoader.from(VariableKey::new));
+
+    // The getters are bound to the classes, so they don't keep the classes from unloading
+    private static final ClassValue<ConcurrentMap<String, Optional<MethodHandle>>> FIELD_GETTERS = new ClassValue<>()
+    {
+        @Override
+        protected ConcurrentMap<String, Optional<MethodHandle>> computeValue(Class<?> type)
+        {
+            return new ConcurrentHashMap<>();
+        }
+    };
 
     private final Map<String, Object> batchVariables;
     private final Map<String, Object> storyVariables;
@@ -49,19 +77,38 @@ public class Variables
         this.batchVariables = batchVariables;
         storyVariables = new HashMap<>();
         scenarioVariables = new HashMap<>();
-        stepVariables = new LinkedList<>();
+        stepVariables = new ArrayDeque<>();
     }
 
     public Object getVariable(String variableKey)
     {
-        VariableKey key = new VariableKey(variableKey);
-        return concatedVariables()
-                .map(scopedVariables -> getVariable(scopedVariables, key))
-                .flatMap(Optional::stream)
-                .findFirst()
-                .or(() -> key.defaultValue)
-                .or(() -> getSystemProperty(variableKey))
-                .orElseGet(() -> System.getenv(variableKey));
+        VariableKey key = VARIABLE_KEYS.getUnchecked(variableKey);
+        for (Map<String, Object> scopedVariables : stepVariables)
+        {
+            Object variable = getVariable(scopedVariables, key);
+            if (variable != null)
+            {
+                return variable;
+            }
+        }
+        Object variable = getVariable(scenarioVariables, key);
+        if (variable == null)
+        {
+            variable = getVariable(storyVariables, key);
+            if (variable == null)
+            {
+                variable = getVariable(batchVariables, key);
+            }
+        }
+        if (variable != null)
+        {
+            return variable;
+        }
+        if (key.defaultValue != null)
+        {
+            return key.defaultValue;
+        }
+        return getSystemProperty(variableKey).orElseGet(() -> System.getenv(variableKey));
     }
 
     private Stream<Map<String, Object>> concatedVariables()
@@ -76,33 +123,39 @@ public class Variables
                                   .collect(Collectors.toMap(Entry::getKey, Entry::getValue, (k1, k2) -> k2));
     }
 
-    private Optional<Object> getVariable(Map<String, Object> variables, VariableKey variableKey)
+    private Object getVariable(Map<String, Object> variables, VariableKey variableKey)
     {
-        return Optional.ofNullable(variables.get(variableKey.key))
-                .or(() -> variableKey.hasDefaultValue()
-                        ? Optional.ofNullable(variables.get(variableKey.name))
-                        : Optional.empty()
-                )
-                .or(() -> resolveAsCompound(variables, variableKey.key));
+        Object variable = variables.get(variableKey.key);
+        if (variable == null && variableKey.defaultValue != null)
+        {
+            variable = variables.get(variableKey.name);
+        }
+        if (variable == null)
+        {
+            variable = resolveAsCompound(variables, variableKey.compoundKey);
+        }
+        return variable;
     }
 
-    private Optional<Object> resolveAsCompound(Map<String, Object> variables, String key)
+    private Object resolveAsCompound(Map<String, Object> variables, CompoundKey compoundKey)
     {
-        Matcher variableMatcher = COMPOUND_VARIABLE_PATTERN.matcher(key);
-        if (!variableMatcher.find())
+        if (compoundKey == null)
         {
-            return Optional.empty();
+            return null;
+        }
+        Object variable = variables.get(compoundKey.name);
+        if (variable == null)
+        {
+            return null;
         }
-        String variableKey = variableMatcher.group(VARIABLE_NAME_GROUP);
-        return Optional.ofNullable(variables.get(variableKey))
-                       .map(v -> resolveAsListItem(variableMatcher, v))
-                       .map(v -> resolveAsMapItemOrObjectField(variableMatcher, v));
+        variable = resolveAsListItem(compoundKey, variable);
+        return variable == null ? null : resolveAsMapItemOrObjectField(compoundKey, variable);
     }
 
     @SuppressWarnings("unchecked")
-    private Object resolveAsMapItemOrObjectField(Matcher variableMatcher, Object variable)
+    private Object resolveAsMapItemOrObjectField(CompoundKey compoundKey, Object variable)
     {
-        String key = variableMatcher.group(MAP_KEY_GROUP);
+        String key = compoundKey.mapKey;
         if (key == null)
         {
             return variable;
@@ -110,33 +163,61 @@ public class Variables
         if (variable instanceof Map)
         {
             Map<String, Object> map = (Map<String, Object>) variable;
-            return Optional.ofNullable(map.get(key)).or(() -> resolveAsCompound(map, key)).orElse(null);
+            Object item = map.get(key);
+            return item != null ? item : resolveAsCompound(map, compoundKey.nestedKey);
+        }
+        Object fieldValue = readFieldSafely(variable, key);
+        return fieldValue != null ? fieldValue : variable;
+    }
+
+    @SuppressWarnings("IllegalCatchExtended")
+    private Object readFieldSafely(Object variable, String fieldName)
+    {
+        Optional<MethodHandle> getter = FIELD_GETTERS.get(variable.getClass()).computeIfAbsent(fieldName,
+                name -> findFieldGetter(variable.getClass(), name));
+        if (getter.isEmpty())
+        {
+            return null;
         }
-        else
+        try
         {
-            return Optional.ofNullable(readFieldSafely(variable, key)).orElse(variable);
+            return getter.get().invokeExact(variable);
+        }
+        // deepcode ignore dontCatch~1: API limitation
+        catch (Throwable e)
+        {
+            return null;
         }
     }
 
-    private Object readFieldSafely(Object variable, String fieldName)
+    private static Optional<MethodHandle> findFieldGetter(Class<?> clazz, String fieldName)
     {
         try
         {
-            return FieldUtils.readDeclaredField(variable, fieldName, true);
+            Field field = FieldUtils.getDeclaredField(clazz, fieldName, true);
+            if (field == null)
+            {
+                return Optional.empty();
+            }
+            MethodHandle getter = MethodHandles.lookup().unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers()))
+            {
+                getter = MethodHandles.dropArguments(getter, 0, Object.class);
+            }
+            return Optional.of(getter.asType(FIELD_GETTER_TYPE));
         }
         catch (IllegalAccessException | IllegalArgumentException e)
         {
-            return null;
+            return Optional.empty();
         }
     }
 
-    private Object resolveAsListItem(Matcher variableMatcher, Object variable)
+    private Object resolveAsListItem(CompoundKey compoundKey, Object variable)
     {
-        String listIndex = variableMatcher.group(LIST_INDEX_GROUP);
-        if (listIndex != null && variable instanceof List)
+        int elementIndex = compoundKey.listIndex;
+        if (elementIndex >= 0 && variable instanceof List)
         {
             List<?> listVariable = (List<?>) variable;
-            int elementIndex = Integer.parseInt(listIndex);
             return elementIndex < listVariable.size() ? listVariable.get(elementIndex) : null;
         }
         return variable;
@@ -188,7 +269,8 @@ public class Variables
 
         private final String key;
         private final String name;
-        private final Optional<String> defaultValue;
+        private final String defaultValue;
+        private final CompoundKey compoundKey;
 
         private VariableKey(String key)
         {
@@ -198,18 +280,47 @@ public class Variables
             if (colonIndex >= 0)
             {
                 name = key.substring(0, colonIndex);
-                defaultValue = Optional.of(key.substring(colonIndex + 1));
+                defaultValue = key.substring(colonIndex + 1);
             }
             else
             {
                 name = key;
-                defaultValue = Optional.empty();
+                defaultValue = null;
             }
+            compoundKey = CompoundKey.parse(key);
+        }
+    }
+
+    /**
+     * Parsed key of the compound variable: <code>name[index].key</code>, where the key may be compound itself.
+     */
+    private static final class CompoundKey
+    {
+        private final String name;
+        private final int listIndex;
+        private final String mapKey;
+        private final CompoundKey nestedKey;
+
+        private CompoundKey(String name, int listIndex, String mapKey)
+        {
+            this.name = name;
+            this.listIndex = listIndex;
+            this.mapKey = mapKey;
+            this.nestedKey = mapKey != null ? parse(mapKey) : null;
         }
 
-        private boolean hasDefaultValue()
+        private static CompoundKey parse(String key)
         {
-            return defaultValue.isPresent();
+            Matcher variableMatcher = COMPOUND_VARIABLE_PATTERN.matcher(key);
+            if (!variableMatcher.find())
+            {
+                return null;
+            }
+            String listIndex = variableMatcher.group(LIST_INDEX_GROUP);
+            // Too big indices can't be used to get the list items
+            int index = listIndex != null ? NumberUtils.toInt(listIndex, Integer.MAX_VALUE) : -1;
+            return new CompoundKey(variableMatcher.group(VARIABLE_NAME_GROUP), index,
+                    variableMatcher.group(MAP_KEY_GROUP));
         }
     }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ExpressionProcessorRegistryTests
+{
+    private static final String UNNAMED_EXPRESSION = "unnamed";
+    private static final String UNNAMED_RESULT = "unnamed result";
+
+    @Mock private IExpressionProcessor<String> unnamedProcessor;
+
+    @Test
+    void shouldDispatchExpressionsByFunctionName()
+    {
+        IExpressionProcessor<String> lowerCase = new UnaryExpressionProcessor("toLowerCase", StringUtils::lowerCase);
+        IExpressionProcessor<String> upperCase = new UnaryExpressionProcessor("toUpperCase", StringUtils::upperCase);
+        var registry = new ExpressionProcessorRegistry<>(List.of(lowerCase, upperCase));
+        assertEquals(Optional.of("value"), registry.execute("toLowerCase(VALUE)"));
+        assertEquals(Optional.of("VALUE"), registry.execute("TOUPPERCASE(value)"));
+        assertEquals(Optional.empty(), registry.execute("trim(value)"));
+        assertEquals(Set.of("tolowercase", "touppercase"), registry.getFunctionNames());
+        assertEquals(2, registry.getIndexedLookups());
+        assertEquals(1, registry.getFallbackLookups());
+        assertEquals(1, registry.getMisses());
+        assertEquals(Map.of("tolowercase", 1L, "touppercase", 1L), registry.getHits());
+    }
+
+    @Test
+    void shouldProbeUnnamedProcessorsInRegistrationOrder()
+    {
+        String expression = "toLowerCase(VALUE)";
+        when(unnamedProcessor.getFunctionNames()).thenReturn(Set.of());
+        when(unnamedProcessor.execute(expression)).thenReturn(Optional.of(UNNAMED_RESULT));
+        when(unnamedProcessor.execute(UNNAMED_EXPRESSION)).thenReturn(Optional.of(UNNAMED_RESULT));
+        IExpressionProcessor<String> lowerCase = new UnaryExpressionProcessor("toLowerCase", StringUtils::lowerCase);
+        var registry = new ExpressionProcessorRegistry<>(List.of(unnamedProcessor, lowerCase));
+        assertEquals(Optional.of(UNNAMED_RESULT), registry.execute(expression));
+        assertEquals(Optional.of(UNNAMED_RESULT), registry.execute(UNNAMED_EXPRESSION));
+        assertEquals(Set.of(), registry.getFunctionNames());
+        assertEquals(Map.of(unnamedProcessor.getClass().getName(), 2L), registry.getHits());
+    }
+
+    @Test
+    void shouldNotProbeNamedProcessorsForOtherFunctions()
+    {
+        IExpressionProcessor<String> processor = new DelegatingExpressionProcessor<>(List.of(
+                new UnaryExpressionProcessor("trim", StringUtils::trim)));
+        when(unnamedProcessor.getFunctionNames()).thenReturn(Set.of());
+        when(unnamedProcessor.execute(UNNAMED_EXPRESSION)).thenReturn(Optional.empty());
+        var registry = new ExpressionProcessorRegistry<>(List.of(processor, unnamedProcessor));
+        assertEquals(Optional.of("x"), registry.execute("trim( x )"));
+        assertEquals(Optional.empty(), registry.execute(UNNAMED_EXPRESSION));
+        verify(unnamedProcessor, never()).execute("trim( x )");
+        verify(unnamedProcessor).execute(anyString());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ColumnarTableTests
+{
+    private static final String KEY1 = "key1";
+    private static final String KEY2 = "key2";
+    private static final List<String> HEADERS = List.of(KEY1, KEY2);
+
+    @Test
+    void shouldCreateTableFromRows()
+    {
+        ColumnarTable table = ColumnarTable.fromRows(HEADERS, List.of(Map.of(KEY1, "1", KEY2, "2"), Map.of(KEY1, "3")));
+        assertEquals(2, table.getRowCount());
+        assertEquals(List.of("1", "3"), table.getColumn(KEY1));
+        assertNull(table.getValue(1, 1));
+        assertEquals(List.of(Map.of(KEY1, "1", KEY2, "2"), Map.of(KEY1, "3")), table.getRows());
+    }
+
+    @Test
+    void shouldSelectColumnsAndRows()
+    {
+        ColumnarTable table = ColumnarTable.fromRowValues(HEADERS, List.of(List.of("1", "2"), List.of("3", "4")));
+        ColumnarTable selected = table.selectColumns(List.of(KEY2)).selectRows(1, 0, 1);
+        assertEquals(List.of(KEY2), selected.getHeaders());
+        assertEquals(List.of("4", "2", "4"), selected.getColumn(0));
+    }
+
+    @Test
+    void shouldMapHeadersAndValues()
+    {
+        ColumnarTable table = ColumnarTable.fromRowValues(List.of(" key "), List.of(List.of(" value ")));
+        ColumnarTable mapped = table.map(String::trim);
+        assertEquals(List.of("key"), mapped.getHeaders());
+        assertEquals(List.of(Map.of("key", "value")), mapped.getRows());
+    }
+
+    @Test
+    void shouldBuildTableRowByRow()
+    {
+        ColumnarTable.Builder builder = ColumnarTable.builder(HEADERS)
+                .addRow(List.of("1", "2"))
+                .addRow(List.of("3", "4"));
+        assertEquals(2, builder.getRowCount());
+        ColumnarTable table = builder.build();
+        assertEquals(List.of("2", "4"), table.getColumn(KEY2));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> ColumnarTable.builder(HEADERS).addRow(List.of("1")));
+        assertEquals("The number of values (1) doesn't match the number of headers (2)", exception.getMessage());
+    }
+
+    @Test
+    void shouldFailToGetMissingColumn()
+    {
+        ColumnarTable table = ColumnarTable.fromRowValues(HEADERS, List.of());
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> table.getColumn("key3"));
+        assertEquals("Column 'key3' is not found", exception.getMessage());
+    }
+
+    @Test
+    void shouldFailToCreateTableFromNotAlignedColumns()
+    {
+        List<List<String>> columns = List.of(List.of("1", "2"), List.of("3"));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> ColumnarTable.fromColumns(HEADERS, columns));
+        assertEquals("Columns are not aligned", exception.getMessage());
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -32,6 +33,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.ClassRelativeResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.vividus.util.ResourceDependencyTracker;
+import org.vividus.util.ResourceDependencyTracker.Scope;
 
 @ExtendWith(MockitoExtension.class)
 class ExamplesTableLoaderTests
@@ -66,6 +69,18 @@ class ExamplesTableLoaderTests
         verify(testResourceLoader).getResources("", TABLE_FILENAME);
     }
 
+    @Test
+    void shouldRecordUsageOfExamplesTableResource() throws IOException
+    {
+        var resource = resourceLoader.getResource(TABLE_FILENAME);
+        when(testResourceLoader.getResources("", TABLE_FILENAME)).thenReturn(new Resource[] { resource });
+        try (Scope scope = ResourceDependencyTracker.startTracking())
+        {
+            examplesTableLoader.loadExamplesTable(TABLE_FILENAME);
+            assertEquals(Set.of(resource.getURL().toExternalForm()), scope.getResources());
+        }
+    }
+
     @Test
     void shouldFailWhenIOExceptionOccurred() throws IOException
     {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,12 +31,14 @@ import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.jbehave.core.configuration.Keywords;
 import org.jbehave.core.embedder.StoryControls;
@@ -63,6 +65,7 @@ import org.vividus.IPathFinder;
 import org.vividus.batch.BatchResourceConfiguration;
 import org.vividus.steps.ParameterConvertersDecorator;
 import org.vividus.steps.PlaceholderResolver;
+import org.vividus.transformer.TransformedTablesCache;
 
 @ExtendWith(MockitoExtension.class)
 class ExtendedConfigurationTests
@@ -81,6 +84,7 @@ class ExtendedConfigurationTests
     {
         configuration.setCustomConverters(List.of());
         configuration.setCustomTableTransformers(Map.of());
+        configuration.setTransformedTablesCache(new TransformedTablesCache(Path.of("cache"), Set.of()));
         configuration.setExamplesTableHeaderSeparator(SEPARATOR);
         configuration.setExamplesTableValueSeparator(SEPARATOR);
     }
@@ -28,7 +28,6 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
@@ -226,7 +225,26 @@ class ExpressionAdapterTests
         when(storyControls.dryRun()).thenReturn(true);
         expressionAdaptor.setProcessors(List.of(processor));
         assertEquals(input, expressionAdaptor.processRawExpression(input));
-        verifyNoInteractions(processor);
+        verify(processor, never()).execute(anyString());
+    }
+
+    @Test
+    void shouldEvaluateExpression()
+    {
+        when(mockedTargetProcessor.execute(EXPRESSION_KEYWORD)).thenReturn(Optional.of(EXPRESSION_RESULT));
+        when(mockedTargetProcessor.execute(UNSUPPORTED_EXPRESSION_KEYWORD)).thenReturn(Optional.empty());
+        expressionAdaptor.setProcessors(List.of(mockedTargetProcessor));
+        assertEquals(Optional.of(EXPRESSION_RESULT), expressionAdaptor.evaluateExpression(EXPRESSION_KEYWORD));
+        assertEquals(Optional.empty(), expressionAdaptor.evaluateExpression(UNSUPPORTED_EXPRESSION_KEYWORD));
+    }
+
+    @Test
+    void shouldNotEvaluateExpressionDuringDryRun()
+    {
+        when(storyControls.dryRun()).thenReturn(true);
+        expressionAdaptor.setProcessors(List.of(mockedTargetProcessor));
+        assertEquals(Optional.empty(), expressionAdaptor.evaluateExpression(EXPRESSION_KEYWORD));
+        verify(mockedTargetProcessor, never()).execute(anyString());
     }
 
     @Test
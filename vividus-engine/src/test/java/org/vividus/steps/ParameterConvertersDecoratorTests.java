@@ -22,7 +22,9 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -60,6 +62,10 @@ import org.vividus.converter.ResolvingPlaceholdersExamplesTableConverter;
 class ParameterConvertersDecoratorTests
 {
     private static final String VALUE = "42";
+    private static final String VARIABLE_KEY = "variable";
+    private static final String VARIABLE = "${variable}";
+    private static final String EXPRESSION_KEY = "expression";
+    private static final String EXPRESSION = "#{expression}";
 
     @Mock private StepMonitor stepMonitor;
     @Mock private StoryLoader storyLoader;
@@ -156,7 +162,6 @@ class ParameterConvertersDecoratorTests
         List<Integer> convertedValue = List.of();
         Type type = new TypeLiteral<List<Integer>>() { }.value;
         when(expressionAdaptor.processRawExpression(value)).thenReturn(value);
-        when(variableResolver.resolve(value)).thenReturn(value);
         List<Integer> actual = (List<Integer>) parameterConverters.convert(value, type);
         assertEquals(convertedValue, actual);
         verifyNoInteractions(stepMonitor);
@@ -169,7 +174,6 @@ class ParameterConvertersDecoratorTests
         Optional<Integer> convertedValue = Optional.empty();
         Type type = new TypeLiteral<Optional<Integer>>() { }.value;
         when(expressionAdaptor.processRawExpression(value)).thenReturn(value);
-        when(variableResolver.resolve(value)).thenReturn(value);
         Optional<Integer> actual = (Optional<Integer>) parameterConverters.convert(value, type);
         assertEquals(convertedValue, actual);
         verifyNoInteractions(stepMonitor);
@@ -182,7 +186,6 @@ class ParameterConvertersDecoratorTests
         Optional<Integer> convertedValue = Optional.of(baseConvertedValue);
         Type type = new TypeLiteral<Optional<Integer>>() { }.value;
         when(expressionAdaptor.processRawExpression(VALUE)).thenReturn(VALUE);
-        when(variableResolver.resolve(VALUE)).thenReturn(VALUE);
         Optional<Integer> actual = (Optional<Integer>) parameterConverters.convert(VALUE, type);
         assertEquals(convertedValue, actual);
         verify(stepMonitor).convertedValueOfType(VALUE, Integer.class, baseConvertedValue,
@@ -192,21 +195,70 @@ class ParameterConvertersDecoratorTests
     @Test
     void shouldConvertStringsProcessedByExpressionAdapter()
     {
-        when(variableResolver.resolve(VALUE)).thenReturn(VALUE);
+        when(expressionAdaptor.evaluateExpression(EXPRESSION_KEY)).thenReturn(Optional.of(VALUE));
         when(expressionAdaptor.processRawExpression(VALUE)).thenReturn(VALUE);
         Type type = int.class;
-        Object actual = parameterConverters.convert(VALUE, type);
+        Object actual = parameterConverters.convert(EXPRESSION, type);
         assertEquals(Integer.parseInt(VALUE), actual);
         verify(stepMonitor).convertedValueOfType(VALUE, type, actual, new LinkedList<>(List.of(NumberConverter.class)));
+        verifyNoInteractions(variableResolver);
+    }
+
+    @Test
+    void shouldResolveLiteralValuesWithoutPlaceholders()
+    {
+        when(expressionAdaptor.processRawExpression(VALUE)).thenReturn(VALUE);
+        Type type = int.class;
+        assertEquals(Integer.parseInt(VALUE), parameterConverters.convert(VALUE, type));
+        assertEquals(Integer.parseInt(VALUE), parameterConverters.convert(VALUE, type));
+        verifyNoInteractions(variableResolver);
+        verify(expressionAdaptor, times(2)).processRawExpression(VALUE);
+        verifyNoMoreInteractions(expressionAdaptor);
+    }
+
+    @Test
+    void shouldFallbackToIterativeResolutionIfVariableIsNotFound()
+    {
+        String value = "value-" + VARIABLE;
+        when(variableResolver.findVariable(VARIABLE_KEY)).thenReturn(Optional.empty());
+        when(variableResolver.resolve(value)).thenReturn(value);
+        when(expressionAdaptor.processRawExpression(value)).thenReturn(value);
+        assertEquals(value, parameterConverters.convert(value, String.class));
+    }
+
+    @Test
+    void shouldResolveTemplateWithVariablesAndNestedExpressions()
+    {
+        String value = "#{toUpperCase(#{trim( ${variable} )})} and ${variable}";
+        String variableValue = "value";
+        when(variableResolver.findVariable(VARIABLE_KEY)).thenReturn(Optional.of(variableValue));
+        when(expressionAdaptor.evaluateExpression("trim( value )")).thenReturn(Optional.of(variableValue));
+        when(expressionAdaptor.evaluateExpression("toUpperCase(value)")).thenReturn(Optional.of("VALUE"));
+        String expected = "VALUE and value";
+        when(expressionAdaptor.processRawExpression(expected)).thenReturn(expected);
+        assertEquals(expected, parameterConverters.convert(value, String.class));
+        verify(variableResolver, never()).resolve(any());
+    }
+
+    @Test
+    void shouldFallBackToOriginalValueResolutionIfPartiallyResolvedTemplateReachesMaxDepth()
+    {
+        String value = "#{expression} #{unknown}";
+        when(expressionAdaptor.evaluateExpression(EXPRESSION_KEY)).thenReturn(Optional.of(VALUE));
+        when(expressionAdaptor.evaluateExpression("unknown")).thenReturn(Optional.empty());
+        when(variableResolver.resolve(anyString())).thenAnswer(a -> a.getArgument(0) + "!");
+        when(expressionAdaptor.processRawExpression(anyString())).thenAnswer(a -> a.getArgument(0));
+        assertEquals(value + "!", parameterConverters.convert(value, String.class));
+        verify(variableResolver, times(16)).resolve(anyString());
     }
 
     @Test
     void shouldReturnNotStringsAsIsIfExpectedAndReceivedTypesMatch()
     {
         Integer number = Integer.parseInt(VALUE);
-        when(variableResolver.resolve(VALUE)).thenReturn(number);
+        when(variableResolver.findVariable(VARIABLE_KEY)).thenReturn(Optional.of(number));
         Type type = Integer.class;
-        Object actual = parameterConverters.convert(VALUE, type);
+        Object actual = parameterConverters.convert(VARIABLE, type);
         assertEquals(number, actual);
         verifyNoInteractions(expressionAdaptor);
     }
@@ -215,9 +267,9 @@ class ParameterConvertersDecoratorTests
     void shouldConvertNotStringsIfExpectedAndReceivedTypesMismatch()
     {
         Integer number = Integer.parseInt(VALUE);
-        when(variableResolver.resolve(VALUE)).thenReturn(number);
+        when(variableResolver.findVariable(VARIABLE_KEY)).thenReturn(Optional.of(number));
         Type type = Float.class;
-        Object actual = parameterConverters.convert(VALUE, type);
+        Object actual = parameterConverters.convert(VARIABLE, type);
         assertEquals(Float.parseFloat(VALUE), actual);
         verify(stepMonitor).convertedValueOfType(VALUE, type, actual, new LinkedList<>(List.of(NumberConverter.class)));
     }
@@ -225,7 +277,6 @@ class ParameterConvertersDecoratorTests
     @Test
     void shouldReturnStringsAsIsProcessedByExpressionAdapterForObjectType()
     {
-        when(variableResolver.resolve(VALUE)).thenReturn(VALUE);
         Type type = Object.class;
         when(expressionAdaptor.processRawExpression(VALUE)).thenReturn(VALUE);
         String actual = (String) parameterConverters.convert(VALUE, type);
@@ -237,8 +288,8 @@ class ParameterConvertersDecoratorTests
     {
         Type type = new TypeLiteral<List<Map<String, Object>>>() { }.value;
         List<Map<Object, Object>> adaptedValue = List.of(Map.of());
-        when(variableResolver.resolve(VALUE)).thenReturn(adaptedValue);
-        assertEquals(adaptedValue, parameterConverters.convert(VALUE, type));
+        when(variableResolver.findVariable(VARIABLE_KEY)).thenReturn(Optional.of(adaptedValue));
+        assertEquals(adaptedValue, parameterConverters.convert(VARIABLE, type));
         verifyNoInteractions(expressionAdaptor);
     }
 
@@ -255,28 +306,18 @@ class ParameterConvertersDecoratorTests
     @Test
     void shouldConvertToExamplesTableWithResolvedPlaceholders()
     {
-        String expressionKey = "expression";
-        String expression = "#{expression}";
         String expressionValue = "expressionValue";
-        String variableKey = "variable";
-        String variable = "${variable}";
         String variableValue = "variableValue";
         String pathToTable = "/table-with-expression-and-variable.table";
-        String tableAsString = String.format("|%s|%s|%n|%s|%s|", expressionKey, variableKey, expression, variable);
+        String tableAsString = String.format("|%s|%s|%n|%s|%s|", EXPRESSION_KEY, VARIABLE_KEY, EXPRESSION, VARIABLE);
         when(expressionAdaptor.processRawExpression(pathToTable)).thenReturn(pathToTable);
-        when(variableResolver.resolve(pathToTable)).thenReturn(pathToTable);
-        when(variableResolver.resolve(expression)).thenReturn(expression);
-        when(expressionAdaptor.processRawExpression(expression)).thenReturn(expressionValue);
-        when(variableResolver.resolve(expressionValue)).thenReturn(expressionValue);
-        when(expressionAdaptor.processRawExpression(expressionValue)).thenReturn(expressionValue);
-        when(variableResolver.resolve(variable)).thenReturn(variableValue);
-        when(expressionAdaptor.processRawExpression(variableValue)).thenReturn(variableValue);
-        when(variableResolver.resolve(variableValue)).thenReturn(variableValue);
+        when(expressionAdaptor.evaluateExpression(EXPRESSION_KEY)).thenReturn(Optional.of(expressionValue));
+        when(variableResolver.findVariable(VARIABLE_KEY)).thenReturn(Optional.of(variableValue));
         when(storyLoader.loadResourceAsText(pathToTable)).thenReturn(tableAsString);
         Object result = parameterConverters.convert(pathToTable, ExamplesTable.class);
         assertThat(result, instanceOf(ExamplesTable.class));
         ExamplesTable table = (ExamplesTable) result;
-        assertEquals(List.of(Map.of(expressionKey, expressionValue, variableKey, variableValue)), table.getRows());
+        assertEquals(List.of(Map.of(EXPRESSION_KEY, expressionValue, VARIABLE_KEY, variableValue)), table.getRows());
     }
 
     @Test
@@ -285,33 +326,31 @@ class ParameterConvertersDecoratorTests
         String pathToTable = "/empty-example-table.table";
         String tableAsString = "";
         when(expressionAdaptor.processRawExpression(pathToTable)).thenReturn(pathToTable);
-        when(variableResolver.resolve(pathToTable)).thenReturn(pathToTable);
         when(storyLoader.loadResourceAsText(pathToTable)).thenReturn(tableAsString);
         Object result = parameterConverters.convert(pathToTable, ExamplesTable.class);
         assertThat(result, instanceOf(ExamplesTable.class));
         ExamplesTable table = (ExamplesTable) result;
         assertTrue(table.isEmpty());
-        verifyNoMoreInteractions(expressionAdaptor, variableResolver);
+        verifyNoMoreInteractions(expressionAdaptor);
+        verifyNoInteractions(variableResolver);
     }
 
     @Test
     void shouldReturnValueAsIsIfExpressionsResolvedToNotAStringType()
     {
-        when(variableResolver.resolve(VALUE)).thenReturn(VALUE);
         Type type = Object.class;
         Integer expected = Integer.valueOf(42);
-        when(expressionAdaptor.processRawExpression(VALUE)).thenReturn(expected);
-        assertEquals(expected, parameterConverters.convert(VALUE, type));
+        when(expressionAdaptor.evaluateExpression(EXPRESSION_KEY)).thenReturn(Optional.of(expected));
+        assertEquals(expected, parameterConverters.convert(EXPRESSION, type));
     }
 
     @Test
     void shouldReturnDataWrapper()
     {
-        when(variableResolver.resolve(VALUE)).thenReturn(VALUE);
         Class<DataWrapper> dataWrapperClass = DataWrapper.class;
         byte[] expected = { 0, 1, 2 };
-        when(expressionAdaptor.processRawExpression(VALUE)).thenReturn(expected);
-        Object actual = parameterConverters.convert(VALUE, dataWrapperClass);
+        when(expressionAdaptor.evaluateExpression(EXPRESSION_KEY)).thenReturn(Optional.of(expected));
+        Object actual = parameterConverters.convert(EXPRESSION, dataWrapperClass);
         assertThat(actual, instanceOf(dataWrapperClass));
         assertArrayEquals(expected, ((DataWrapper) actual).getBytes());
     }
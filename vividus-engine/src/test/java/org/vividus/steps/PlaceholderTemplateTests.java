@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jbehave.core.embedder.StoryControls;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.context.VariableContext;
+import org.vividus.expression.FunctionalExpressionProcessor;
+import org.vividus.expression.UnaryExpressionProcessor;
+
+@ExtendWith(MockitoExtension.class)
+class PlaceholderTemplateTests
+{
+    private static final Integer NUMBER = 42;
+    private static final String ITERATIVE = "iterative:";
+
+    @Mock private VariableContext variableContext;
+    @Mock private StoryControls storyControls;
+
+    private final AtomicInteger counter = new AtomicInteger();
+    private final List<Integer> iterations = new ArrayList<>();
+    private VariableResolver variableResolver;
+    private ExpressionAdaptor expressionAdaptor;
+
+    @BeforeEach
+    void beforeEach()
+    {
+        lenient().when(variableContext.getVariable("var")).thenReturn("value");
+        lenient().when(variableContext.getVariable("braces")).thenReturn("{a}");
+        lenient().when(variableContext.getVariable("placeholder")).thenReturn("${var}");
+        lenient().when(variableContext.getVariable("number")).thenReturn(NUMBER);
+        lenient().when(variableContext.getVariable("empty")).thenReturn("");
+        variableResolver = new VariableResolver(variableContext, Map.of(), storyControls);
+        expressionAdaptor = new ExpressionAdaptor(storyControls);
+        expressionAdaptor.setProcessors(List.of(
+            new UnaryExpressionProcessor("trim",        StringUtils::trim),
+            new UnaryExpressionProcessor("toUpperCase", StringUtils::upperCase),
+            new FunctionalExpressionProcessor<>("integer", input -> NUMBER),
+            new FunctionalExpressionProcessor<>("count", input -> String.valueOf(counter.incrementAndGet()))
+        ));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "'${var}',                                  value",
+            "'\n${var}\r\n',                            value",
+            "'prefix ${var} and ${var}',                prefix value and value",
+            "'{\"key\": \"${braces}\"}',                '{\"key\": \"{a}\"}'",
+            "'#{toUpperCase(${var})}',                  VALUE",
+            "'#{toUpperCase(#{trim( ${var} )})}!',      VALUE!",
+            "'{#{toUpperCase(x)} and #{trim( y )}}',    '{X and y}'",
+            "'#{toUpperCase(a})}',                      'A}'",
+            "'#{integer()} + 1',                        42 + 1",
+            "'#{toUpperCase(#{integer()})}',            42",
+            "'#{integer()}${var}',                      42value"
+    })
+    void shouldEvaluateTemplate(String value, String expected)
+    {
+        assertEquals(expected, resolve(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "${unknown}",
+            "${placeholder}",
+            "#{unknown(x)}",
+            "#{toUpperCase(${braces})}",
+            "#{toUpperCase(#{trim(${braces})})}"
+    })
+    void shouldResolveIterativelyIfResolutionResultIsAmbiguous(String value)
+    {
+        assertEquals(ITERATIVE + value, resolve(value));
+        assertEquals(List.of(1), iterations);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "'#{count()} #{unknown(x)}',      '1 #{unknown(x)}'",
+            "'#{unknown(#{count()})} ${var}', '#{unknown(1)} value'"
+    })
+    void shouldResolveIterativelyWithoutEvaluatingExpressionsTwice(String value, String expected)
+    {
+        PlaceholderTemplate template = PlaceholderTemplate.compile(value).get();
+        assertEquals(ITERATIVE + expected, resolve(template));
+        assertEquals(ITERATIVE + value, resolve(template));
+        assertEquals(1, counter.get());
+        assertEquals(List.of(2, 1), iterations);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "${var", "#{trim(x", "${var${suffix}}", "#{trim(#{toUpperCase(x)" })
+    void shouldNotCompileValuesWithUnclosedOrDynamicPlaceholders(String value)
+    {
+        assertFalse(PlaceholderTemplate.compile(value).isPresent());
+    }
+
+    @Test
+    void shouldEvaluateLiteralWithoutResolution()
+    {
+        String value = "no placeholders {here}";
+        PlaceholderTemplate template = PlaceholderTemplate.compile(value).get();
+        assertTrue(template.isLiteral());
+        assertSame(value, template.resolve(null, null, String.class, null));
+    }
+
+    @Test
+    void shouldReturnVariableAsObjectIfNotStringIsExpected()
+    {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("${number}").get();
+        assertSame(NUMBER, template.resolve(variableResolver, expressionAdaptor, Object.class, null));
+        assertEquals("42", template.resolve(variableResolver, expressionAdaptor, String.class, null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "#{integer()}", "${empty}#{integer()}", "#{integer()}${empty}" })
+    void shouldReturnTopLevelExpressionResultAsObject(String value)
+    {
+        assertSame(NUMBER, resolve(value));
+    }
+
+    @Test
+    void shouldNotEvaluateExpressionsDuringDryRun()
+    {
+        when(storyControls.dryRun()).thenReturn(true);
+        String value = "#{trim( x )}";
+        assertEquals(ITERATIVE + value, resolve(value));
+    }
+
+    private Object resolve(String value)
+    {
+        return resolve(PlaceholderTemplate.compile(value).get());
+    }
+
+    private Object resolve(PlaceholderTemplate template)
+    {
+        return template.resolve(variableResolver, expressionAdaptor, String.class, (startValue, iteration) -> {
+            iterations.add(iteration);
+            return ITERATIVE + startValue;
+        });
+    }
+}
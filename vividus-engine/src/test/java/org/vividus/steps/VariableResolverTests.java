@@ -23,6 +23,7 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Map;
+import java.util.Optional;
 
 import org.jbehave.core.embedder.StoryControls;
 import org.junit.jupiter.api.Test;
@@ -177,6 +178,15 @@ class VariableResolverTests
         assertEquals(test1, actualValue);
     }
 
+    @Test
+    void shouldFindVariable()
+    {
+        when(variableContext.getVariable(VAR1)).thenReturn(VALUE1);
+        VariableResolver variableResolver = new VariableResolver(variableContext, Map.of(), storyControls);
+        assertEquals(Optional.of(VALUE1), variableResolver.findVariable(VAR1));
+        assertEquals(Optional.empty(), variableResolver.findVariable(VAR2));
+    }
+
     private static String asRef(String name)
     {
         return "${" + name + "}";
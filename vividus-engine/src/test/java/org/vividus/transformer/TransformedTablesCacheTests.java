@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.jbehave.core.configuration.Keywords;
+import org.jbehave.core.model.ExamplesTable.TableProperties;
+import org.jbehave.core.model.TableTransformers.TableTransformer;
+import org.jbehave.core.steps.ParameterConverters;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.vividus.util.ResourceDependencyTracker;
+import org.vividus.util.ResourceDependencyTracker.Scope;
+
+class TransformedTablesCacheTests
+{
+    private static final String NAME = "EXPENSIVE";
+    private static final String INPUT_TABLE = "";
+    private static final String PROPERTIES = "transformer=EXPENSIVE, rows=2";
+    private static final String TABLE = "|key|\n|value|";
+
+    @TempDir private Path cacheDirectory;
+
+    private final TableTransformer transformer = mock(TableTransformer.class);
+
+    @Test
+    void shouldNotDecorateNotCachedTransformer()
+    {
+        var cache = new TransformedTablesCache(cacheDirectory, Set.of());
+        assertSame(transformer, cache.decorate(NAME, transformer));
+    }
+
+    @Test
+    void shouldNotDecorateNotFingerprintableTransformer()
+    {
+        ExtendedTableTransformer externalDataTransformer = mock(ExtendedTableTransformer.class);
+        when(externalDataTransformer.isFingerprintable()).thenReturn(false);
+        var cache = new TransformedTablesCache(cacheDirectory, Set.of(NAME));
+        assertSame(externalDataTransformer, cache.decorate(NAME, externalDataTransformer));
+    }
+
+    @Test
+    void shouldReuseCachedTableAcrossCacheInstances()
+    {
+        TableProperties properties = createProperties(PROPERTIES);
+        when(transformer.transform(INPUT_TABLE, null, properties)).then(invocation -> {
+            properties.getProperties().setProperty("valueSeparator", "!");
+            return TABLE;
+        });
+        assertEquals(TABLE, createCachingTransformer().transform(INPUT_TABLE, null, properties));
+
+        TableProperties newProperties = createProperties(PROPERTIES);
+        assertEquals(TABLE, createCachingTransformer().transform(INPUT_TABLE, null, newProperties));
+        assertEquals("!", newProperties.getProperties().getProperty("valueSeparator"));
+        verify(transformer).transform(INPUT_TABLE, null, properties);
+        verifyNoMoreInteractions(transformer);
+    }
+
+    @Test
+    void shouldInvalidateCachedTableIfUsedResourceIsChanged() throws IOException
+    {
+        Path resource = Files.writeString(cacheDirectory.resolve("data.csv"), "key\nvalue\n");
+        TableProperties properties = createProperties(PROPERTIES);
+        when(transformer.transform(INPUT_TABLE, null, properties)).then(invocation -> {
+            ResourceDependencyTracker.recordUsage(resource.toUri().toURL());
+            return TABLE;
+        });
+        TableTransformer cachingTransformer = createCachingTransformer();
+        try (Scope scope = ResourceDependencyTracker.startTracking())
+        {
+            cachingTransformer.transform(INPUT_TABLE, null, properties);
+            cachingTransformer.transform(INPUT_TABLE, null, properties);
+            assertEquals(Set.of(resource.toUri().toURL().toExternalForm()), scope.getResources());
+        }
+        verify(transformer).transform(INPUT_TABLE, null, properties);
+
+        Files.writeString(resource, "key\nnew value\n", StandardCharsets.UTF_8);
+        cachingTransformer.transform(INPUT_TABLE, null, properties);
+        verify(transformer, times(2)).transform(INPUT_TABLE, null, properties);
+    }
+
+    @Test
+    void shouldNotCacheTableWithPlaceholders()
+    {
+        TableProperties properties = createProperties("transformer=EXPENSIVE, rows=${rows}");
+        when(transformer.transform(INPUT_TABLE, null, properties)).thenReturn(TABLE);
+        TableTransformer cachingTransformer = createCachingTransformer();
+        cachingTransformer.transform(INPUT_TABLE, null, properties);
+        cachingTransformer.transform(INPUT_TABLE, null, properties);
+        verify(transformer, times(2)).transform(INPUT_TABLE, null, properties);
+    }
+
+    private TableTransformer createCachingTransformer()
+    {
+        return new TransformedTablesCache(cacheDirectory, Set.of(NAME)).decorate(NAME, transformer);
+    }
+
+    private static TableProperties createProperties(String propertiesAsString)
+    {
+        return new TableProperties(propertiesAsString, new Keywords(), new ParameterConverters());
+    }
+}
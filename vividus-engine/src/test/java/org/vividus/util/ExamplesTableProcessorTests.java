@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,19 +17,26 @@
 package org.vividus.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import org.jbehave.core.configuration.Keywords;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
+import org.jbehave.core.model.TableParsers;
 import org.jbehave.core.steps.ParameterConverters;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.vividus.model.ColumnarTable;
 
 class ExamplesTableProcessorTests
 {
@@ -108,6 +115,58 @@ class ExamplesTableProcessorTests
                 ExamplesTableProcessor.buildExamplesTable(KEYS, List.of(values), tableProperties, false, true));
     }
 
+    @Test
+    void shouldTakeBuiltTableWithoutParsing()
+    {
+        TableParsers tableParsers = spy(new TableParsers(parameterConverters));
+        ColumnarTable table = ColumnarTable.fromRowValues(KEYS, List.of(List.of(" 4 ", "3"), VALUES2));
+        String tableAsString = ExamplesTableProcessor.buildExamplesTable(table, createProperties());
+        assertEquals("|key1|key2|\n| 4 |3|\n|1|0|", tableAsString);
+        ColumnarTable parsedTable = ExamplesTableProcessor.parseExamplesTable(tableAsString, tableParsers,
+                createProperties());
+        verifyNoInteractions(tableParsers);
+        assertEquals(KEYS, parsedTable.getHeaders());
+        assertEquals(List.of(Map.of("key1", "4", "key2", "3"), Map.of("key1", "1", "key2", ZERO)),
+                parsedTable.getRows());
+        assertSame(parsedTable, ExamplesTableProcessor.parseExamplesTable(tableAsString, tableParsers,
+                createProperties()));
+    }
+
+    @Test
+    void shouldTakeTableBuiltFromRowsWithoutParsing()
+    {
+        TableParsers tableParsers = spy(new TableParsers(parameterConverters));
+        TableProperties tableProperties = createProperties();
+        String tableAsString = ExamplesTableProcessor.buildExamplesTable(KEYS, List.of(VALUES1, List.of("1|", ZERO)),
+                tableProperties, true);
+        ColumnarTable parsedTable = ExamplesTableProcessor.parseExamplesTable(tableAsString, tableParsers,
+                tableProperties);
+        verifyNoInteractions(tableParsers);
+        assertEquals(List.of(Map.of("key1", "4", "key2", "3"), Map.of("key1", "1|", "key2", ZERO)),
+                parsedTable.getRows());
+    }
+
+    static Stream<Arguments> tablesToParse()
+    {
+        return Stream.of(
+            Arguments.of(List.of(List.of("v\\|a1", "val\\|2")), ""),
+            Arguments.of(List.of(VALUES1, VALUES2), "valueSeparator=!"),
+            Arguments.of(List.of(VALUES1, VALUES2), "trim=false"),
+            Arguments.of(List.of(VALUES1, List.of("--1", ZERO)), "")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("tablesToParse")
+    void shouldParseTableIfItsStructureCanBeChangedByParsing(List<List<String>> rows, String propertiesAsString)
+    {
+        TableParsers tableParsers = spy(new TableParsers(parameterConverters));
+        TableProperties tableProperties = new TableProperties(propertiesAsString, keywords, parameterConverters);
+        String tableAsString = ExamplesTableProcessor.buildExamplesTable(KEYS, rows, createProperties(), false);
+        ExamplesTableProcessor.parseExamplesTable(tableAsString, tableParsers, tableProperties);
+        verify(tableParsers).parseRows(tableAsString, tableProperties);
+    }
+
     private TableProperties createProperties()
     {
         return new TableProperties("", keywords, parameterConverters);
@@ -70,6 +70,7 @@ class VariablesTests
                 arguments(A_B,                               A_B,          VALUE,                          VALUE),
                 arguments("variableKey[0]",                  VARIABLE_KEY, List.of(Set.of(KEY)),           Set.of(KEY)),
                 arguments("variableKey[7]",                  VARIABLE_KEY, List.of(Map.of(KEY, VALUE)),    null),
+                arguments("variableKey[99999999999]",        VARIABLE_KEY, List.of(Map.of(KEY, VALUE)),    null),
                 arguments("variableKey.key",                 VARIABLE_KEY, Map.of(KEY, List.of(VALUE)),    List.of(VALUE)),
                 arguments("variableKey.key[0]",              VARIABLE_KEY, Map.of(KEY, List.of(VALUE)),    VALUE),
                 arguments("variableKey.key",                 VARIABLE_KEY, Map.of(KEY, TWO_HUNDRED),       TWO_HUNDRED),
@@ -167,6 +168,24 @@ class VariablesTests
         assertNull(variables.getVariable(VARIABLE_KEY));
     }
 
+    @Test
+    void shouldReturnVariableFromTheClosestScope()
+    {
+        String firstItem = "variableKey[0]";
+        Variables variables = new Variables(Map.of(VARIABLE_KEY, List.of(KEY1)));
+        variables.putStoryVariable(VARIABLE_KEY, List.of(KEY2));
+        assertEquals(KEY2, variables.getVariable(firstItem));
+        variables.putScenarioVariable(VARIABLE_KEY, List.of(KEY3));
+        assertEquals(KEY3, variables.getVariable(firstItem));
+        variables.initStepVariables();
+        variables.putStepVariable(VARIABLE_KEY, List.of(SCENARIO));
+        variables.initStepVariables();
+        variables.putStepVariable(VARIABLE_KEY, List.of(STEP));
+        assertEquals(STEP, variables.getVariable(firstItem));
+        variables.clearStepVariables();
+        assertEquals(SCENARIO, variables.getVariable(firstItem));
+    }
+
     @Test
     void shouldReturnMergedVariables()
     {
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.vividus.proxy;
+
+import org.littleshoot.proxy.HttpFilters;
+import org.littleshoot.proxy.HttpFiltersAdapter;
+import org.littleshoot.proxy.HttpFiltersSourceAdapter;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpRequest;
+
+/**
+ * Notifies the proxy log about the completed HTTP exchanges. The filters must be added after the HAR capture filters,
+ * so the HAR entry is fully populated by the moment of the notification.
+ */
+class ExchangeCompletionFiltersSource extends HttpFiltersSourceAdapter
+{
+    private final ProxyLog proxyLog;
+
+    ExchangeCompletionFiltersSource(ProxyLog proxyLog)
+    {
+        this.proxyLog = proxyLog;
+    }
+
+    @Override
+    public HttpFilters filterRequest(HttpRequest originalRequest, ChannelHandlerContext ctx)
+    {
+        return new HttpFiltersAdapter(originalRequest, ctx)
+        {
+            @Override
+            public void serverToProxyResponseReceived()
+            {
+                proxyLog.onExchangeCompleted();
+            }
+
+            @Override
+            public void serverToProxyResponseTimedOut()
+            {
+                proxyLog.onExchangeCompleted();
+            }
+
+            @Override
+            public void proxyToServerResolutionFailed(String hostAndPort)
+            {
+                proxyLog.onExchangeCompleted();
+            }
+
+            @Override
+            public void proxyToServerConnectionFailed()
+            {
+                proxyLog.onExchangeCompleted();
+            }
+        };
+    }
+}
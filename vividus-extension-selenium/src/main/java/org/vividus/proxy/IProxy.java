@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,6 +34,13 @@ public interface IProxy
      */
     Har getRecordedData();
 
+    /**
+     * Retrieves the index of the HTTP traffic recorded into the current HAR.
+     *
+     * @return the log of the recorded HTTP traffic
+     */
+    ProxyLog getLog();
+
     void clearRecordedData();
 
     void stopRecording();
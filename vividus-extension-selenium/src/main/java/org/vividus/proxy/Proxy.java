@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,12 +32,15 @@ public class Proxy implements IProxy
 {
     private final IProxyServerFactory proxyServerFactory;
     private final String proxyHost;
+    private final ProxyLog log;
     private BrowserUpProxyServer proxyServer;
+    private boolean exchangeCompletionFiltersAdded;
 
     public Proxy(IProxyServerFactory proxyServerFactory, String proxyHost)
     {
         this.proxyServerFactory = proxyServerFactory;
         this.proxyHost = proxyHost;
+        this.log = new ProxyLog(() -> proxyServer != null ? proxyServer.getHar() : null);
     }
 
     @Override
@@ -63,7 +66,16 @@ public class Proxy implements IProxy
     @Override
     public void startRecording()
     {
-        getIfProxyStarted(BrowserUpProxy::newHar);
+        executeIfProxyStarted(proxy -> {
+            proxy.newHar();
+            // The HAR capture filters are added on the first start of the recording, the notification filters must
+            // follow them to be invoked when the HAR entries are fully populated
+            if (!exchangeCompletionFiltersAdded)
+            {
+                proxy.addLastHttpFilterFactory(new ExchangeCompletionFiltersSource(log));
+                exchangeCompletionFiltersAdded = true;
+            }
+        });
     }
 
     @Override
@@ -85,6 +97,7 @@ public class Proxy implements IProxy
         {
             proxyServer.stop();
             proxyServer = null;
+            exchangeCompletionFiltersAdded = false;
         }
     }
 
@@ -100,6 +113,12 @@ public class Proxy implements IProxy
         return getIfProxyStarted(BrowserUpProxy::getHar);
     }
 
+    @Override
+    public ProxyLog getLog()
+    {
+        return getIfProxyStarted(proxy -> log);
+    }
+
     @Override
     public void addRequestFilter(RequestFilter requestFilter)
     {
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.proxy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.browserup.harreader.model.Har;
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HttpMethod;
+
+/**
+ * Index of the HTTP traffic recorded by the proxy into the HAR. The HAR entries are indexed by HTTP method
+ * incrementally, so the searches check only the entries with the requested methods, while the waiters are woken up
+ * on every completed exchange and check only the newly recorded entries.
+ */
+public class ProxyLog
+{
+    private final Supplier<Har> harSupplier;
+    private final Lock lock = new ReentrantLock();
+    private final Condition exchangeCompleted = lock.newCondition();
+    private final Map<HttpMethod, List<Integer>> entryIndexesByMethod = new EnumMap<>(HttpMethod.class);
+    private List<HarEntry> indexedEntries = List.of();
+    private int indexedEntriesCount;
+    private int generation;
+
+    /**
+     * Creates the log indexing the entries of the HAR
+     *
+     * @param harSupplier the supplier of the HAR which is currently recorded, may supply <code>null</code> if the
+     *                    recording has never been started
+     */
+    public ProxyLog(Supplier<Har> harSupplier)
+    {
+        this.harSupplier = harSupplier;
+    }
+
+    /**
+     * Wakes up the waiters once the HTTP exchange is completed and its HAR entry is fully populated
+     */
+    void onExchangeCompleted()
+    {
+        lock.lock();
+        try
+        {
+            exchangeCompleted.signalAll();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Finds the recorded entries with the specified HTTP methods matching the filter
+     *
+     * @param httpMethods the HTTP methods of the entries to find
+     * @param filter      the filter to match the entries
+     * @return the found entries in the order of their arrival
+     */
+    public List<HarEntry> findEntries(Set<HttpMethod> httpMethods, Predicate<HarEntry> filter)
+    {
+        lock.lock();
+        try
+        {
+            indexNewEntries();
+            List<Integer> entryIndexes = new ArrayList<>();
+            httpMethods.forEach(httpMethod -> entryIndexes.addAll(
+                    entryIndexesByMethod.getOrDefault(httpMethod, List.of())));
+            entryIndexes.sort(null);
+            List<HarEntry> foundEntries = new ArrayList<>();
+            for (int entryIndex : entryIndexes)
+            {
+                HarEntry entry = indexedEntries.get(entryIndex);
+                if (filter.test(entry))
+                {
+                    foundEntries.add(entry);
+                }
+            }
+            return foundEntries;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the entry with one of the specified HTTP methods matching the filter is recorded, every entry is
+     * checked only once
+     *
+     * @param httpMethods the HTTP methods of the entry to wait for
+     * @param filter      the filter to match the entry
+     * @param timeout     the maximum time to wait
+     * @return <code>true</code> if the matching entry is recorded, <code>false</code> if the timeout is elapsed
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public boolean waitForEntry(Set<HttpMethod> httpMethods, Predicate<HarEntry> filter, Duration timeout)
+            throws InterruptedException
+    {
+        long remainingNanos = timeout.toNanos();
+        Map<HttpMethod, Integer> checkedEntriesCounts = new EnumMap<>(HttpMethod.class);
+        lock.lock();
+        try
+        {
+            indexNewEntries();
+            int checkedGeneration = generation;
+            while (true)
+            {
+                if (checkedGeneration != generation)
+                {
+                    checkedEntriesCounts.clear();
+                    checkedGeneration = generation;
+                }
+                for (HttpMethod httpMethod : httpMethods)
+                {
+                    List<Integer> entryIndexes = entryIndexesByMethod.getOrDefault(httpMethod, List.of());
+                    int checkedEntriesCount = checkedEntriesCounts.getOrDefault(httpMethod, 0);
+                    for (int index = checkedEntriesCount; index < entryIndexes.size(); index++)
+                    {
+                        if (filter.test(indexedEntries.get(entryIndexes.get(index))))
+                        {
+                            return true;
+                        }
+                    }
+                    checkedEntriesCounts.put(httpMethod, entryIndexes.size());
+                }
+                if (remainingNanos <= 0)
+                {
+                    return false;
+                }
+                remainingNanos = exchangeCompleted.awaitNanos(remainingNanos);
+                indexNewEntries();
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private void indexNewEntries()
+    {
+        Har har = harSupplier.get();
+        List<HarEntry> entries = har != null ? har.getLog().getEntries() : List.of();
+        if (entries != indexedEntries)
+        {
+            entryIndexesByMethod.clear();
+            indexedEntries = entries;
+            indexedEntriesCount = 0;
+            generation++;
+        }
+        int entriesCount = entries.size();
+        for (; indexedEntriesCount < entriesCount; indexedEntriesCount++)
+        {
+            HttpMethod httpMethod = entries.get(indexedEntriesCount).getRequest().getMethod();
+            entryIndexesByMethod.computeIfAbsent(httpMethod, m -> new ArrayList<>()).add(indexedEntriesCount);
+        }
+    }
+}
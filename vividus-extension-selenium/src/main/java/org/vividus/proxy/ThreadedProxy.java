@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -137,6 +137,12 @@ public class ThreadedProxy implements IProxy
         return proxy().getRecordedData();
     }
 
+    @Override
+    public ProxyLog getLog()
+    {
+        return proxy().getLog();
+    }
+
     @Override
     public void addRequestFilter(RequestFilter requestFilter)
     {
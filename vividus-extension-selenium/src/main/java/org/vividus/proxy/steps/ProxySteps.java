@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,8 @@
 
 package org.vividus.proxy.steps;
 
-import static java.util.stream.Collectors.toList;
-
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -48,7 +47,6 @@ import org.vividus.softassert.ISoftAssert;
 import org.vividus.steps.ComparisonRule;
 import org.vividus.steps.DataWrapper;
 import org.vividus.steps.StringComparisonRule;
-import org.vividus.ui.action.IWaitActions;
 import org.vividus.variable.VariableScope;
 
 import io.netty.buffer.Unpooled;
@@ -71,7 +69,8 @@ public class ProxySteps
     @Inject private ISoftAssert softAssert;
     @Inject private IAttachmentPublisher attachmentPublisher;
     @Inject private VariableContext variableContext;
-    @Inject private IWaitActions waitActions;
+
+    private Duration waitTimeout;
 
     /**
      * Clears the proxy log
@@ -220,28 +219,21 @@ public class ProxySteps
      */
 
     /**
-     * Waits for appearance of HTTP request matched <b>httpMethod</b> and <b>urlPattern</b> in proxy log
+     * Waits for appearance of HTTP request matched <b>httpMethod</b> and <b>urlPattern</b> in proxy log. The wait is
+     * finished as soon as the matching request is recorded.
      * @param httpMethods The "or"-separated HTTP methods to filter by, e.g. 'GET or POST or PUT'
      * @param urlPattern  The regular expression to match HTTP request URL
+     * @throws InterruptedException If the current thread is interrupted while waiting
      */
     @When("I wait until HTTP $httpMethods request with URL pattern `$urlPattern` exists in proxy log")
-    public void waitRequestInProxyLog(Set<HttpMethod> httpMethods, Pattern urlPattern)
+    public void waitRequestInProxyLog(Set<HttpMethod> httpMethods, Pattern urlPattern) throws InterruptedException
     {
-        waitActions.wait(urlPattern, new Function<>()
+        if (!proxy.getLog().waitForEntry(httpMethods, createLogEntryFilter(urlPattern), waitTimeout))
         {
-            @Override
-            public Boolean apply(Pattern urlPattern)
-            {
-                return !getLogEntries(httpMethods, urlPattern).isEmpty();
-            }
-
-            @Override
-            public String toString()
-            {
-                return String.format("waiting for HTTP %s request with URL pattern %s",
-                        methodsToString(httpMethods, " or "), urlPattern);
-            }
-        });
+            softAssert.recordFailedAssertion(String.format(
+                    "HTTP %s request with URL pattern %s is not found in proxy log within %s",
+                    methodsToString(httpMethods, " or "), urlPattern, waitTimeout));
+        }
     }
 
     /**
@@ -374,16 +366,22 @@ public class ProxySteps
 
     private List<HarEntry> getLogEntries(Set<HttpMethod> httpMethods, Pattern urlPattern)
     {
-        return proxy.getRecordedData().getLog()
-                .findEntries(urlPattern)
-                .stream()
-                .filter(entry -> entry.getResponse().getStatus() != HttpStatus.SC_MOVED_TEMPORARILY
-                        && httpMethods.contains(entry.getRequest().getMethod()))
-                .collect(toList());
+        return proxy.getLog().findEntries(httpMethods, createLogEntryFilter(urlPattern));
+    }
+
+    private static Predicate<HarEntry> createLogEntryFilter(Pattern urlPattern)
+    {
+        return entry -> entry.getResponse().getStatus() != HttpStatus.SC_MOVED_TEMPORARILY
+                && urlPattern.matcher(entry.getRequest().getUrl()).matches();
     }
 
     private String methodsToString(Set<HttpMethod> httpMethods, String delimiter)
     {
         return httpMethods.stream().map(HttpMethod::toString).collect(Collectors.joining(delimiter));
     }
+
+    public void setWaitTimeout(Duration waitTimeout)
+    {
+        this.waitTimeout = waitTimeout;
+    }
 }
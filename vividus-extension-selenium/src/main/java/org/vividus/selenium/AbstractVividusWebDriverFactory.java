@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -53,15 +53,22 @@ public abstract class AbstractVividusWebDriverFactory implements IVividusWebDriv
 
     @Override
     public VividusWebDriver create()
+    {
+        return create(getDesiredCapabilities());
+    }
+
+    @Override
+    public VividusWebDriver create(DesiredCapabilities desiredCapabilities)
     {
         VividusWebDriver vividusWebDriver = new VividusWebDriver();
-        vividusWebDriver.setDesiredCapabilities(getDesiredCapabilities());
+        vividusWebDriver.setDesiredCapabilities(desiredCapabilities);
         vividusWebDriver.setWebDriver(createWebDriver(vividusWebDriver.getDesiredCapabilities()));
         vividusWebDriver.setRemote(remoteExecution);
         return vividusWebDriver;
     }
 
-    private DesiredCapabilities getDesiredCapabilities()
+    @Override
+    public DesiredCapabilities getDesiredCapabilities()
     {
         DesiredCapabilities desiredCapabilities = new DesiredCapabilities();
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,32 @@
 
 package org.vividus.selenium;
 
+import org.openqa.selenium.remote.DesiredCapabilities;
+
 public interface IVividusWebDriverFactory
 {
     VividusWebDriver create();
+
+    /**
+     * Builds the capabilities of the session to create for the current test context, the factories which don't
+     * separate building of the capabilities from creation of the session return empty capabilities
+     *
+     * @return the capabilities of the session
+     */
+    default DesiredCapabilities getDesiredCapabilities()
+    {
+        return new DesiredCapabilities();
+    }
+
+    /**
+     * Creates the session with the given capabilities, the factories which don't separate building of the
+     * capabilities from creation of the session ignore the given capabilities and build them on their own
+     *
+     * @param desiredCapabilities the capabilities of the session
+     * @return the created session
+     */
+    default VividusWebDriver create(DesiredCapabilities desiredCapabilities)
+    {
+        return create();
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,6 +32,7 @@ import org.vividus.testcontext.TestContext;
 public class WebDriverProvider implements IWebDriverProvider
 {
     private IVividusWebDriverFactory vividusWebDriverFactory;
+    private WebDriverSessionPool sessionPool;
     private final ConcurrentLinkedQueue<WebDriver> webDrivers = new ConcurrentLinkedQueue<>();
     @Inject private EventBus eventBus;
     private TestContext testContext;
@@ -53,7 +54,7 @@ public class WebDriverProvider implements IWebDriverProvider
         VividusWebDriver vividusWebDriver = testContext.get(VividusWebDriver.class);
         if (vividusWebDriver == null)
         {
-            vividusWebDriver = vividusWebDriverFactory.create();
+            vividusWebDriver = sessionPool.isEnabled() ? sessionPool.acquire() : vividusWebDriverFactory.create();
             testContext.put(VividusWebDriver.class, vividusWebDriver);
             WebDriver driver = vividusWebDriver.getWrappedDriver();
             webDrivers.add(driver);
@@ -73,12 +74,16 @@ public class WebDriverProvider implements IWebDriverProvider
     {
         if (isWebDriverInitialized())
         {
-            WebDriver webDriver = getVividusWebDriver().getWrappedDriver();
+            VividusWebDriver vividusWebDriver = getVividusWebDriver();
+            WebDriver webDriver = vividusWebDriver.getWrappedDriver();
             String sessionId = WebDriverUtil.unwrap(webDriver, RemoteWebDriver.class).getSessionId().toString();
             try
             {
                 eventBus.post(new BeforeWebDriverQuitEvent());
-                webDriver.quit();
+                if (!sessionPool.isEnabled() || !sessionPool.release(vividusWebDriver))
+                {
+                    webDriver.quit();
+                }
             }
             finally
             {
@@ -105,6 +110,11 @@ public class WebDriverProvider implements IWebDriverProvider
         this.vividusWebDriverFactory = vividusWebDriverFactory;
     }
 
+    public void setSessionPool(WebDriverSessionPool sessionPool)
+    {
+        this.sessionPool = sessionPool;
+    }
+
     public void setTestContext(TestContext testContext)
     {
         this.testContext = testContext;
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.selenium;
+
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Proxy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of the sessions reused across the tests: instead of quitting, the released session is reset (extra windows are
+ * closed, the web storages and the cookies of the current domain are cleared, the blank page is opened) and is given
+ * to the next test requesting the session with the same capabilities. The pool keeps the configured number of the
+ * pre-warmed sessions per capability set, the idle sessions are health-checked before reuse and the sessions are
+ * quit after the configured number of reuses. The capabilities specific to the test (e.g. the test name passed to
+ * the cloud providers) are not taken into account while matching the sessions, otherwise every test would warm up
+ * its own sessions which are never reused.
+ */
+public class WebDriverSessionPool
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebDriverSessionPool.class);
+
+    private static final String BLANK_PAGE = "about:blank";
+    private static final String CLEAR_WEB_STORAGES_SCRIPT = "try { window.localStorage.clear(); } catch (e) {}"
+            + "try { window.sessionStorage.clear(); } catch (e) {}";
+
+    private final IVividusWebDriverFactory vividusWebDriverFactory;
+    private final Map<Map<String, Object>, SessionQueue> sessionQueues = new ConcurrentHashMap<>();
+    private final Map<VividusWebDriver, PooledSession> sessions = new ConcurrentHashMap<>();
+    private final ExecutorService warmUpExecutor = Executors.newCachedThreadPool(
+            new BasicThreadFactory.Builder().namingPattern("session-warm-up-%d").daemon(true).build());
+
+    private boolean enabled;
+    private Set<String> perTestCapabilities = Set.of();
+    private int warmUpSize;
+    private int maxReuseCount;
+    private volatile boolean destroyed;
+
+    public WebDriverSessionPool(IVividusWebDriverFactory vividusWebDriverFactory)
+    {
+        this.vividusWebDriverFactory = vividusWebDriverFactory;
+    }
+
+    /**
+     * Takes the healthy idle session with the capabilities required by the current test context or creates the new
+     * one if there are no such sessions, the pool of the idle sessions is replenished asynchronously
+     *
+     * @return the session
+     */
+    public VividusWebDriver acquire()
+    {
+        DesiredCapabilities desiredCapabilities = vividusWebDriverFactory.getDesiredCapabilities();
+        SessionQueue sessionQueue = sessionQueues.computeIfAbsent(createKey(desiredCapabilities.asMap()),
+                key -> new SessionQueue());
+        DesiredCapabilities warmUpCapabilities = new DesiredCapabilities(desiredCapabilities);
+        VividusWebDriver vividusWebDriver = pollHealthySession(sessionQueue);
+        if (vividusWebDriver == null)
+        {
+            vividusWebDriver = vividusWebDriverFactory.create(desiredCapabilities);
+            sessions.put(vividusWebDriver, new PooledSession(sessionQueue));
+        }
+        sessions.get(vividusWebDriver).usageCount.incrementAndGet();
+        warmUp(sessionQueue, warmUpCapabilities);
+        return vividusWebDriver;
+    }
+
+    /**
+     * Resets the session and returns it to the pool
+     *
+     * @param vividusWebDriver the session to release
+     * @return <code>true</code> if the session is returned to the pool, <code>false</code> if the session is not
+     * managed by the pool, has reached the maximum number of reuses or can't be reset, so it must be quit by the caller
+     */
+    public boolean release(VividusWebDriver vividusWebDriver)
+    {
+        PooledSession session = sessions.get(vividusWebDriver);
+        if (session == null)
+        {
+            return false;
+        }
+        if (destroyed || session.usageCount.get() > maxReuseCount)
+        {
+            sessions.remove(vividusWebDriver);
+            return false;
+        }
+        try
+        {
+            reset(vividusWebDriver.getWrappedDriver());
+        }
+        catch (WebDriverException e)
+        {
+            LOGGER.warn("Unable to reset the session, it will be quit", e);
+            sessions.remove(vividusWebDriver);
+            return false;
+        }
+        session.sessionQueue.idleSessions.offerFirst(vividusWebDriver);
+        return true;
+    }
+
+    public void destroy()
+    {
+        destroyed = true;
+        warmUpExecutor.shutdownNow();
+        sessionQueues.values().forEach(sessionQueue -> {
+            VividusWebDriver vividusWebDriver = sessionQueue.idleSessions.poll();
+            while (vividusWebDriver != null)
+            {
+                quit(vividusWebDriver);
+                vividusWebDriver = sessionQueue.idleSessions.poll();
+            }
+        });
+    }
+
+    private VividusWebDriver pollHealthySession(SessionQueue sessionQueue)
+    {
+        VividusWebDriver vividusWebDriver = sessionQueue.idleSessions.poll();
+        while (vividusWebDriver != null)
+        {
+            try
+            {
+                vividusWebDriver.getWrappedDriver().getWindowHandles();
+                return vividusWebDriver;
+            }
+            catch (WebDriverException e)
+            {
+                LOGGER.warn("The idle session is not healthy, it will be quit", e);
+                quit(vividusWebDriver);
+            }
+            vividusWebDriver = sessionQueue.idleSessions.poll();
+        }
+        return null;
+    }
+
+    private void warmUp(SessionQueue sessionQueue, DesiredCapabilities desiredCapabilities)
+    {
+        synchronized (sessionQueue)
+        {
+            while (!destroyed && sessionQueue.idleSessions.size() + sessionQueue.warmingUpCount.get() < warmUpSize)
+            {
+                sessionQueue.warmingUpCount.incrementAndGet();
+                warmUpExecutor.execute(() -> warmUpSession(sessionQueue, desiredCapabilities));
+            }
+        }
+    }
+
+    @SuppressWarnings("IllegalCatchExtended")
+    private void warmUpSession(SessionQueue sessionQueue, DesiredCapabilities desiredCapabilities)
+    {
+        try
+        {
+            VividusWebDriver vividusWebDriver = vividusWebDriverFactory.create(
+                    new DesiredCapabilities(desiredCapabilities));
+            sessions.put(vividusWebDriver, new PooledSession(sessionQueue));
+            sessionQueue.idleSessions.offerLast(vividusWebDriver);
+            if (destroyed && sessionQueue.idleSessions.remove(vividusWebDriver))
+            {
+                quit(vividusWebDriver);
+            }
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.warn("Unable to warm up the session", e);
+        }
+        finally
+        {
+            sessionQueue.warmingUpCount.decrementAndGet();
+        }
+    }
+
+    private void quit(VividusWebDriver vividusWebDriver)
+    {
+        sessions.remove(vividusWebDriver);
+        try
+        {
+            vividusWebDriver.getWrappedDriver().quit();
+        }
+        catch (WebDriverException e)
+        {
+            LOGGER.debug("Unable to quit the session", e);
+        }
+    }
+
+    private static void reset(WebDriver webDriver)
+    {
+        Iterator<String> windowHandles = webDriver.getWindowHandles().iterator();
+        String mainWindowHandle = windowHandles.next();
+        while (windowHandles.hasNext())
+        {
+            webDriver.switchTo().window(windowHandles.next()).close();
+        }
+        webDriver.switchTo().window(mainWindowHandle);
+        if (webDriver instanceof JavascriptExecutor)
+        {
+            ((JavascriptExecutor) webDriver).executeScript(CLEAR_WEB_STORAGES_SCRIPT);
+        }
+        webDriver.manage().deleteAllCookies();
+        webDriver.navigate().to(BLANK_PAGE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> createKey(Map<String, ?> capabilities)
+    {
+        Map<String, Object> key = new HashMap<>();
+        capabilities.forEach((name, value) -> {
+            if (!perTestCapabilities.contains(name))
+            {
+                Object keyValue = value;
+                if (value instanceof Proxy)
+                {
+                    keyValue = ((Proxy) value).toJson();
+                }
+                else if (value instanceof Map)
+                {
+                    keyValue = createKey((Map<String, ?>) value);
+                }
+                key.put(name, keyValue);
+            }
+        });
+        return key;
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Sets the names of the capabilities specific to the test, such capabilities are ignored at any level of nesting
+     * while matching the sessions
+     *
+     * @param perTestCapabilities the names of the capabilities specific to the test
+     */
+    public void setPerTestCapabilities(Set<String> perTestCapabilities)
+    {
+        this.perTestCapabilities = perTestCapabilities;
+    }
+
+    public void setWarmUpSize(int warmUpSize)
+    {
+        this.warmUpSize = warmUpSize;
+    }
+
+    public void setMaxReuseCount(int maxReuseCount)
+    {
+        this.maxReuseCount = maxReuseCount;
+    }
+
+    private static final class SessionQueue
+    {
+        private final Deque<VividusWebDriver> idleSessions = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger warmingUpCount = new AtomicInteger();
+    }
+
+    private static final class PooledSession
+    {
+        private final SessionQueue sessionQueue;
+        private final AtomicInteger usageCount = new AtomicInteger();
+
+        PooledSession(SessionQueue sessionQueue)
+        {
+            this.sessionQueue = sessionQueue;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,9 @@
 
 package org.vividus.ui.action;
 
+import java.util.List;
+import java.util.Optional;
+
 import org.openqa.selenium.WebElement;
 
 public interface ElementActions
@@ -34,4 +37,16 @@ public interface ElementActions
      * @return whether or not the element is visible
      */
     boolean isElementVisible(WebElement element);
+
+    /**
+     * Determine if the elements are currently visible using a single command
+     * @param elements elements to check
+     * @return visibility flags of the elements in the same order
+     * or empty value if the bulk check is not supported
+     * @throws org.openqa.selenium.StaleElementReferenceException if any of the elements is stale
+     */
+    default Optional<List<Boolean>> areElementsVisible(List<WebElement> elements)
+    {
+        return Optional.empty();
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,9 @@
 package org.vividus.ui.action.search;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -96,27 +98,57 @@ public abstract class AbstractElementAction implements IElementAction
             boolean retry)
     {
         boolean visible = visibility == Visibility.VISIBLE;
-        return elements.stream().filter(element -> {
-            try
-            {
-                return visible == elementActions.isElementVisible(element);
-            }
-            catch (StaleElementReferenceException e)
-            {
-                if (retrySearchIfStale && !retry)
+        List<WebElement> filteredElements = filterElementsByVisibilityInBulk(elements, visible)
+                .orElseGet(() -> elements.stream().filter(element -> {
+                    try
+                    {
+                        return visible == elementActions.isElementVisible(element);
+                    }
+                    catch (StaleElementReferenceException e)
+                    {
+                        if (retrySearchIfStale && !retry)
+                        {
+                            throw e;
+                        }
+                        LOGGER.warn(e.getMessage(), e);
+                        return false;
+                    }
+                }).collect(Collectors.toList()));
+        LOGGER.atInfo().addArgument(visibility::getDescription)
+                       .addArgument(filteredElements::size)
+                       .log("Number of {} elements is {}");
+        return filteredElements;
+    }
+
+    private Optional<List<WebElement>> filterElementsByVisibilityInBulk(List<WebElement> elements, boolean visible)
+    {
+        if (elements.size() < 2)
+        {
+            return Optional.empty();
+        }
+        try
+        {
+            return elementActions.areElementsVisible(elements).map(visibilities -> {
+                LOGGER.atInfo().addArgument(elements::size)
+                               .addArgument(() -> elements.size() - 1)
+                               .log("Visibility of {} elements is checked by a single command, {} remote commands"
+                                       + " are saved");
+                List<WebElement> filteredElements = new ArrayList<>();
+                for (int index = 0; index < elements.size(); index++)
                 {
-                    throw e;
+                    if (visibilities.get(index) == visible)
+                    {
+                        filteredElements.add(elements.get(index));
+                    }
                 }
-                LOGGER.warn(e.getMessage(), e);
-                return false;
-            }
-        }).collect(Collectors.collectingAndThen(Collectors.toList(), list ->
+                return filteredElements;
+            });
+        }
+        catch (StaleElementReferenceException e)
         {
-            LOGGER.atInfo().addArgument(visibility::getDescription)
-                           .addArgument(list::size)
-                           .log("Number of {} elements is {}");
-            return list;
-        }));
+            LOGGER.debug("Some of the elements are stale, the visibility is checked element by element", e);
+            return Optional.empty();
+        }
     }
 
     private List<WebElement> waitForElement(SearchContext searchContext, By locator)
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.vividus.proxy;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.littleshoot.proxy.HttpFilters;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpRequest;
+
+@ExtendWith(MockitoExtension.class)
+class ExchangeCompletionFiltersSourceTests
+{
+    @Mock private ProxyLog proxyLog;
+
+    @Test
+    void shouldNotifyLogAboutCompletedAndFailedExchanges()
+    {
+        HttpFilters filters = new ExchangeCompletionFiltersSource(proxyLog).filterRequest(mock(HttpRequest.class),
+                mock(ChannelHandlerContext.class));
+        filters.serverToProxyResponseReceived();
+        filters.serverToProxyResponseTimedOut();
+        filters.proxyToServerResolutionFailed("example.com:443");
+        filters.proxyToServerConnectionFailed();
+        verify(proxyLog, times(4)).onExchangeCompleted();
+    }
+}
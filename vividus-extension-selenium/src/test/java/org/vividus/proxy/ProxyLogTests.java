@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.browserup.harreader.model.Har;
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HarLog;
+import com.browserup.harreader.model.HarRequest;
+import com.browserup.harreader.model.HttpMethod;
+
+import org.junit.jupiter.api.Test;
+
+class ProxyLogTests
+{
+    private static final String URL = "https://www.example.com/api";
+    private static final String OTHER_URL = "https://www.example.com/";
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private volatile Har har = createHar();
+    private final ProxyLog log = new ProxyLog(() -> har);
+
+    @Test
+    void shouldFindEntriesByMethodsInOrderOfArrival()
+    {
+        HarEntry get = createEntry(HttpMethod.GET, URL);
+        HarEntry post = createEntry(HttpMethod.POST, URL);
+        HarEntry otherGet = createEntry(HttpMethod.GET, OTHER_URL);
+        HarEntry put = createEntry(HttpMethod.PUT, URL);
+        List.of(get, post, otherGet).forEach(this::record);
+        assertEquals(List.of(get), log.findEntries(EnumSet.of(HttpMethod.PUT, HttpMethod.GET),
+                entry -> URL.equals(entry.getRequest().getUrl())));
+        record(put);
+        assertEquals(List.of(get, put), log.findEntries(EnumSet.of(HttpMethod.PUT, HttpMethod.GET),
+                entry -> URL.equals(entry.getRequest().getUrl())));
+        assertEquals(List.of(), log.findEntries(Set.of(HttpMethod.DELETE), entry -> true));
+    }
+
+    @Test
+    void shouldFindAlreadyRecordedEntryWithoutWaiting() throws InterruptedException
+    {
+        record(createEntry(HttpMethod.GET, URL));
+        assertTrue(log.waitForEntry(Set.of(HttpMethod.GET), entry -> true, Duration.ZERO));
+    }
+
+    @Test
+    void shouldWaitForEntryArrival() throws InterruptedException, ExecutionException, TimeoutException
+    {
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> {
+            try
+            {
+                return log.waitForEntry(Set.of(HttpMethod.POST), entry -> URL.equals(entry.getRequest().getUrl()),
+                        TIMEOUT);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        record(createEntry(HttpMethod.GET, URL));
+        record(createEntry(HttpMethod.POST, OTHER_URL));
+        record(createEntry(HttpMethod.POST, URL));
+        assertTrue(waiting.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldStopWaitingOnTimeout() throws InterruptedException
+    {
+        record(createEntry(HttpMethod.GET, OTHER_URL));
+        assertFalse(log.waitForEntry(Set.of(HttpMethod.GET), entry -> URL.equals(entry.getRequest().getUrl()),
+                Duration.ofMillis(50)));
+    }
+
+    @Test
+    void shouldReindexEntriesOfNewHar()
+    {
+        record(createEntry(HttpMethod.GET, URL));
+        assertEquals(1, log.findEntries(Set.of(HttpMethod.GET), entry -> true).size());
+        har = createHar();
+        HarEntry entry = createEntry(HttpMethod.GET, OTHER_URL);
+        record(entry);
+        assertEquals(List.of(entry), log.findEntries(Set.of(HttpMethod.GET), e -> true));
+    }
+
+    @Test
+    void shouldNotFindEntriesIfHarIsMissing() throws InterruptedException
+    {
+        har = null;
+        assertEquals(List.of(), log.findEntries(Set.of(HttpMethod.GET), entry -> true));
+        assertFalse(log.waitForEntry(Set.of(HttpMethod.GET), entry -> true, Duration.ZERO));
+    }
+
+    private void record(HarEntry entry)
+    {
+        har.getLog().getEntries().add(entry);
+        log.onExchangeCompleted();
+    }
+
+    private static Har createHar()
+    {
+        HarLog harLog = new HarLog();
+        harLog.setEntries(new CopyOnWriteArrayList<>());
+        Har newHar = new Har();
+        newHar.setLog(harLog);
+        return newHar;
+    }
+
+    private static HarEntry createEntry(HttpMethod method, String url)
+    {
+        HarRequest request = new HarRequest();
+        request.setMethod(method);
+        request.setUrl(url);
+        HarEntry entry = new HarEntry();
+        entry.setRequest(request);
+        return entry;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,8 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -31,6 +33,7 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -39,12 +42,18 @@ import com.browserup.bup.filters.RequestFilter;
 import com.browserup.bup.filters.RequestFilterAdapter;
 import com.browserup.bup.filters.ResponseFilter;
 import com.browserup.bup.filters.ResponseFilterAdapter;
+import com.browserup.harreader.model.Har;
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HarLog;
+import com.browserup.harreader.model.HarRequest;
+import com.browserup.harreader.model.HttpMethod;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.littleshoot.proxy.HttpFiltersSource;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -125,7 +134,12 @@ class ProxyTests
         when(proxyServerFactory.createProxyServer()).thenReturn(browserUpProxyServer);
         proxy.start();
         proxy.startRecording();
-        verify(browserUpProxyServer).newHar();
+        proxy.startRecording();
+        InOrder ordered = inOrder(browserUpProxyServer);
+        ordered.verify(browserUpProxyServer).newHar();
+        ordered.verify(browserUpProxyServer).addLastHttpFilterFactory(any(ExchangeCompletionFiltersSource.class));
+        ordered.verify(browserUpProxyServer).newHar();
+        verify(browserUpProxyServer, times(1)).addLastHttpFilterFactory(any());
     }
 
     @Test
@@ -146,6 +160,31 @@ class ProxyTests
         verify(browserUpProxyServer).getHar();
     }
 
+    @Test
+    void shouldIndexEntriesOfRecordedData()
+    {
+        when(proxyServerFactory.createProxyServer()).thenReturn(browserUpProxyServer);
+        HarRequest request = new HarRequest();
+        request.setMethod(HttpMethod.GET);
+        HarEntry entry = new HarEntry();
+        entry.setRequest(request);
+        HarLog harLog = new HarLog();
+        harLog.setEntries(List.of(entry));
+        Har har = new Har();
+        har.setLog(harLog);
+        when(browserUpProxyServer.getHar()).thenReturn(har);
+        proxy.start();
+        assertEquals(List.of(entry), proxy.getLog().findEntries(Set.of(HttpMethod.GET), e -> true));
+    }
+
+    @Test
+    void shouldNotFindEntriesIfRecordingIsNotStarted()
+    {
+        when(proxyServerFactory.createProxyServer()).thenReturn(browserUpProxyServer);
+        proxy.start();
+        assertEquals(List.of(), proxy.getLog().findEntries(Set.of(HttpMethod.GET), e -> true));
+    }
+
     @Test
     void testStopRecording()
     {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -210,6 +210,15 @@ class ThreadedProxyTests
         verify(proxy).getRecordedData();
     }
 
+    @Test
+    void testGetLog() throws UnknownHostException
+    {
+        defaultInit();
+        ProxyLog log = new ProxyLog(() -> null);
+        when(proxy.getLog()).thenReturn(log);
+        assertEquals(log, threadedProxy.getLog());
+    }
+
     @Test
     void testClearRequestFilters() throws UnknownHostException
     {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ package org.vividus.proxy.steps;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -29,11 +30,12 @@ import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
@@ -65,13 +67,13 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.context.VariableContext;
 import org.vividus.proxy.IProxy;
+import org.vividus.proxy.ProxyLog;
 import org.vividus.proxy.model.HttpMessagePart;
 import org.vividus.reporter.event.IAttachmentPublisher;
 import org.vividus.softassert.ISoftAssert;
 import org.vividus.steps.ComparisonRule;
 import org.vividus.steps.DataWrapper;
 import org.vividus.steps.StringComparisonRule;
-import org.vividus.ui.action.IWaitActions;
 import org.vividus.variable.VariableScope;
 
 import io.netty.handler.codec.http.DefaultHttpHeaders;
@@ -100,12 +102,12 @@ class ProxyStepsTests
     private static final String CONTENT_LENGTH_VALUE = "6";
     private static final DefaultHttpHeaders HEADERS = new DefaultHttpHeaders();
     private static final Pattern URL_PATTERN = Pattern.compile(URL);
+    private static final Duration WAIT_TIMEOUT = Duration.ofMinutes(1);
 
     @Mock private ISoftAssert nonFailingAssert;
     @Mock private VariableContext variableContext;
     @Mock private IProxy proxy;
     @Mock private IAttachmentPublisher attachmentPublisher;
-    @Mock private IWaitActions waitActions;
     @InjectMocks private ProxySteps proxySteps;
 
     @Test
@@ -119,7 +121,7 @@ class ProxyStepsTests
     void checkHarEntryExistenceWithHttpMethodAndUrlPattern() throws IOException
     {
         HttpMethod httpMethod = HttpMethod.POST;
-        mockHar(httpMethod, HttpStatus.SC_OK);
+        mockLog(httpMethod, HttpStatus.SC_OK);
         int callsNumber = 1;
         ComparisonRule rule = ComparisonRule.EQUAL_TO;
         String message = String.format(REQUESTS_MATCHING_URL_ASSERTION_PATTERN, "GET, POST", URL);
@@ -138,7 +140,10 @@ class ProxyStepsTests
             throws IOException
     {
         HttpMethod httpMethod = HttpMethod.POST;
-        byte[] data = mockHar(httpMethodInHar, statusCode);
+        HarEntry harEntry = mockLog(httpMethodInHar, statusCode);
+        Har har = createHar(harEntry);
+        when(proxy.getRecordedData()).thenReturn(har);
+        byte[] data = OBJECT_MAPPER.writeValueAsBytes(har);
         String message = String.format(REQUESTS_MATCHING_URL_ASSERTION_PATTERN, httpMethod, URL);
         proxySteps.captureRequestAndSaveURL(EnumSet.of(httpMethod), URL_PATTERN, HttpMessagePart.URL,
                 Set.of(VariableScope.SCENARIO), VARIABLE_NAME);
@@ -152,7 +157,7 @@ class ProxyStepsTests
     void checkCaptureQueryStringFromHarEntry() throws IOException
     {
         HttpMethod httpMethod = HttpMethod.POST;
-        mockHar(httpMethod, HttpStatus.SC_OK);
+        mockLog(httpMethod, HttpStatus.SC_OK);
         Set<VariableScope> variableScopes = Set.of(VariableScope.SCENARIO);
         proxySteps.captureRequestAndSaveURL(EnumSet.of(httpMethod), URL_PATTERN, HttpMessagePart.URL_QUERY,
                 variableScopes, VARIABLE_NAME);
@@ -168,7 +173,7 @@ class ProxyStepsTests
     void shouldSaveUrlFromCapturedHar() throws IOException
     {
         HttpMethod httpMethod = HttpMethod.POST;
-        mockHar(httpMethod, HttpStatus.SC_OK);
+        mockLog(httpMethod, HttpStatus.SC_OK);
         Set<VariableScope> variableScopes = Set.of(VariableScope.SCENARIO);
         proxySteps.captureRequestAndSaveURL(EnumSet.of(httpMethod), URL_PATTERN, HttpMessagePart.URL, variableScopes,
                 VARIABLE_NAME);
@@ -181,7 +186,7 @@ class ProxyStepsTests
     {
         HttpMethod httpMethod = HttpMethod.POST;
         int statusCode = HttpStatus.SC_OK;
-        mockHar(httpMethod, statusCode);
+        mockLog(httpMethod, statusCode);
         Set<VariableScope> variableScopes = Set.of(VariableScope.SCENARIO);
         proxySteps.captureRequestAndSaveURL(EnumSet.of(httpMethod), URL_PATTERN, HttpMessagePart.REQUEST_DATA,
                 variableScopes, VARIABLE_NAME);
@@ -218,23 +223,36 @@ class ProxyStepsTests
             "POST, true",
             "PUT, false"
     })
-    void testWaitRequestInProxyLog(HttpMethod actualHttpMethod, boolean waitSuccessful) throws IOException
+    void testWaitRequestInProxyLog(HttpMethod actualHttpMethod, boolean waitSuccessful) throws InterruptedException
     {
-        mockHar(actualHttpMethod, HttpStatus.SC_OK);
+        mockWaitForEntry(createHarEntry(actualHttpMethod, HttpStatus.SC_OK));
         proxySteps.waitRequestInProxyLog(EnumSet.of(HttpMethod.POST), URL_PATTERN);
-        verify(waitActions).wait(eq(URL_PATTERN), argThat((Function<Pattern, Boolean> e) ->
-                "waiting for HTTP POST request with URL pattern www.test.com".equals(e.toString())
-                        && e.apply(URL_PATTERN) == waitSuccessful));
+        if (waitSuccessful)
+        {
+            verifyNoInteractions(nonFailingAssert);
+        }
+        else
+        {
+            verify(nonFailingAssert).recordFailedAssertion(
+                    "HTTP POST request with URL pattern www.test.com is not found in proxy log within PT1M");
+        }
     }
 
     @Test
-    void testWaitAnyOfRequestInProxyLog() throws IOException
+    void testWaitAnyOfRequestInProxyLog() throws InterruptedException
     {
-        mockHar(HttpMethod.PUT, HttpStatus.SC_OK);
+        mockWaitForEntry(createHarEntry(HttpMethod.PUT, HttpStatus.SC_OK));
         proxySteps.waitRequestInProxyLog(EnumSet.of(HttpMethod.POST, HttpMethod.PUT), URL_PATTERN);
-        verify(waitActions).wait(eq(URL_PATTERN), argThat((Function<Pattern, Boolean> e) ->
-                "waiting for HTTP POST or PUT request with URL pattern www.test.com".equals(e.toString())
-                        && e.apply(URL_PATTERN)));
+        verifyNoInteractions(nonFailingAssert);
+    }
+
+    @Test
+    void shouldNotFindRedirectResponsesInProxyLog() throws InterruptedException
+    {
+        mockWaitForEntry(createHarEntry(HttpMethod.GET, HttpStatus.SC_MOVED_TEMPORARILY));
+        proxySteps.waitRequestInProxyLog(EnumSet.of(HttpMethod.GET), URL_PATTERN);
+        verify(nonFailingAssert).recordFailedAssertion(
+                "HTTP GET request with URL pattern www.test.com is not found in proxy log within PT1M");
     }
 
     @Test
@@ -378,10 +396,33 @@ class ProxyStepsTests
                         .equals(rule.getComparisonRule(callsNumber).toString())))).thenReturn(true);
     }
 
-    private byte[] mockHar(HttpMethod httpMethod, int statusCode) throws IOException
+    private HarEntry mockLog(HttpMethod httpMethod, int statusCode)
     {
         HarEntry harEntry = createHarEntry(httpMethod, statusCode);
+        ProxyLog log = mock(ProxyLog.class);
+        when(proxy.getLog()).thenReturn(log);
+        when(log.findEntries(any(), any())).thenAnswer(invocation -> {
+            Set<HttpMethod> httpMethods = invocation.getArgument(0);
+            Predicate<HarEntry> filter = invocation.getArgument(1);
+            return httpMethods.contains(httpMethod) && filter.test(harEntry) ? List.of(harEntry) : List.of();
+        });
+        return harEntry;
+    }
+
+    private void mockWaitForEntry(HarEntry harEntry) throws InterruptedException
+    {
+        ProxyLog log = mock(ProxyLog.class);
+        when(proxy.getLog()).thenReturn(log);
+        when(log.waitForEntry(any(), any(), eq(WAIT_TIMEOUT))).thenAnswer(invocation -> {
+            Set<HttpMethod> httpMethods = invocation.getArgument(0);
+            Predicate<HarEntry> filter = invocation.getArgument(1);
+            return httpMethods.contains(harEntry.getRequest().getMethod()) && filter.test(harEntry);
+        });
+        proxySteps.setWaitTimeout(WAIT_TIMEOUT);
+    }
 
+    private static Har createHar(HarEntry harEntry)
+    {
         HarCreatorBrowser browser = new HarCreatorBrowser();
         browser.setName("chrome");
         browser.setVersion("66");
@@ -393,8 +434,7 @@ class ProxyStepsTests
 
         Har har = new Har();
         har.setLog(harLog);
-        when(proxy.getRecordedData()).thenReturn(har);
-        return OBJECT_MAPPER.writeValueAsBytes(har);
+        return har;
     }
 
     private HarEntry createHarEntry(HttpMethod httpMethod, int statusCode)
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ package org.vividus.selenium;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
@@ -26,6 +27,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -72,6 +74,7 @@ class WebDriverProviderTests
     private RemoteWebDriver remoteWebDriver;
     @Mock private VividusWebDriver vividusWebDriver;
     @Mock private EventBus mockedEventBus;
+    @Mock private WebDriverSessionPool sessionPool;
     @InjectMocks private WebDriverProvider webDriverProvider;
 
     @Test
@@ -104,6 +107,52 @@ class WebDriverProviderTests
         bus.verify(mockedEventBus).post(argThat(e -> SESSION_ID.equals(((AfterWebDriverQuitEvent) e).getSessionId())));
     }
 
+    @Test
+    void shouldAcquireSessionFromPool()
+    {
+        when(sessionPool.isEnabled()).thenReturn(true);
+        when(sessionPool.acquire()).thenReturn(vividusWebDriver);
+        when(vividusWebDriver.getWrappedDriver()).thenReturn(remoteWebDriver);
+        assertEquals(remoteWebDriver, webDriverProvider.get());
+        verify(mockedEventBus).post(argThat(e -> ((WebDriverCreateEvent) e).getWebDriver() == remoteWebDriver));
+        verifyNoInteractions(vividusDriverFactory);
+    }
+
+    @Test
+    void shouldReleaseSessionToPool()
+    {
+        SessionId sessionId = mock(SessionId.class);
+        testContext.put(VividusWebDriver.class, vividusWebDriver);
+        when(vividusWebDriver.getWrappedDriver()).thenReturn(remoteWebDriver);
+        when(remoteWebDriver.getSessionId()).thenReturn(sessionId);
+        when(sessionId.toString()).thenReturn(SESSION_ID);
+        when(sessionPool.isEnabled()).thenReturn(true);
+        when(sessionPool.release(vividusWebDriver)).thenReturn(true);
+        InOrder ordered = inOrder(mockedEventBus, sessionPool);
+        webDriverProvider.end();
+        verify(remoteWebDriver, never()).quit();
+        ordered.verify(mockedEventBus).post(any(BeforeWebDriverQuitEvent.class));
+        ordered.verify(sessionPool).release(vividusWebDriver);
+        ordered.verify(mockedEventBus).post(
+                argThat(e -> SESSION_ID.equals(((AfterWebDriverQuitEvent) e).getSessionId())));
+        assertFalse(webDriverProvider.isWebDriverInitialized());
+    }
+
+    @Test
+    void shouldQuitSessionNotReturnedToPool()
+    {
+        SessionId sessionId = mock(SessionId.class);
+        testContext.put(VividusWebDriver.class, vividusWebDriver);
+        when(vividusWebDriver.getWrappedDriver()).thenReturn(remoteWebDriver);
+        when(remoteWebDriver.getSessionId()).thenReturn(sessionId);
+        when(sessionId.toString()).thenReturn(SESSION_ID);
+        when(sessionPool.isEnabled()).thenReturn(true);
+        when(sessionPool.release(vividusWebDriver)).thenReturn(false);
+        webDriverProvider.end();
+        verify(remoteWebDriver).quit();
+        verify(mockedEventBus).post(any(BeforeWebDriverQuitEvent.class));
+    }
+
     @Test
     void testEndNoWebDriver()
     {
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.selenium;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriver.Navigation;
+import org.openqa.selenium.WebDriver.Options;
+import org.openqa.selenium.WebDriver.TargetLocator;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.DesiredCapabilities;
+
+@ExtendWith(MockitoExtension.class)
+class WebDriverSessionPoolTests
+{
+    private static final String MAIN_WINDOW = "main";
+    private static final String BLANK_PAGE = "about:blank";
+    private static final int MAX_REUSE_COUNT = 2;
+    private static final String BROWSER_NAME = "browserName";
+    private static final String CHROME = "chrome";
+    private static final String NAME = "name";
+    private static final String SAUCE_OPTIONS = "sauce:options";
+
+    @Mock private IVividusWebDriverFactory vividusWebDriverFactory;
+
+    @Test
+    void shouldReuseResetSession()
+    {
+        DesiredCapabilities desiredCapabilities = new DesiredCapabilities(Map.of(BROWSER_NAME, CHROME));
+        when(vividusWebDriverFactory.getDesiredCapabilities()).thenReturn(desiredCapabilities);
+        WebDriver webDriver = mockWebDriver();
+        VividusWebDriver vividusWebDriver = createVividusWebDriver(webDriver);
+        when(vividusWebDriverFactory.create(desiredCapabilities)).thenReturn(vividusWebDriver);
+        TargetLocator targetLocator = mock(TargetLocator.class);
+        when(webDriver.switchTo()).thenReturn(targetLocator);
+        WebDriver popupWindow = mock(WebDriver.class);
+        when(targetLocator.window("popup")).thenReturn(popupWindow);
+        Options options = mock(Options.class);
+        when(webDriver.manage()).thenReturn(options);
+        Navigation navigation = mock(Navigation.class);
+        when(webDriver.navigate()).thenReturn(navigation);
+        when(webDriver.getWindowHandles()).thenReturn(new LinkedHashSet<>(List.of(MAIN_WINDOW, "popup")),
+                new LinkedHashSet<>(List.of(MAIN_WINDOW)));
+
+        WebDriverSessionPool sessionPool = createSessionPool(0);
+        assertSame(vividusWebDriver, sessionPool.acquire());
+        assertTrue(sessionPool.release(vividusWebDriver));
+        assertSame(vividusWebDriver, sessionPool.acquire());
+
+        InOrder ordered = Mockito.inOrder(popupWindow, targetLocator, webDriver, options, navigation);
+        ordered.verify(popupWindow).close();
+        ordered.verify(targetLocator).window(MAIN_WINDOW);
+        ordered.verify((JavascriptExecutor) webDriver).executeScript(any(String.class));
+        ordered.verify(options).deleteAllCookies();
+        ordered.verify(navigation).to(BLANK_PAGE);
+        verify(vividusWebDriverFactory).create(desiredCapabilities);
+    }
+
+    @Test
+    void shouldNotReturnSessionToPoolAfterMaxReuseCount()
+    {
+        DesiredCapabilities desiredCapabilities = new DesiredCapabilities();
+        when(vividusWebDriverFactory.getDesiredCapabilities()).thenReturn(desiredCapabilities);
+        VividusWebDriver vividusWebDriver = createVividusWebDriver(mockResettableWebDriver());
+        when(vividusWebDriverFactory.create(desiredCapabilities)).thenReturn(vividusWebDriver);
+        WebDriverSessionPool sessionPool = createSessionPool(0);
+        for (int usage = 0; usage < MAX_REUSE_COUNT; usage++)
+        {
+            assertSame(vividusWebDriver, sessionPool.acquire());
+            assertTrue(sessionPool.release(vividusWebDriver));
+        }
+        assertSame(vividusWebDriver, sessionPool.acquire());
+        assertFalse(sessionPool.release(vividusWebDriver));
+    }
+
+    @Test
+    void shouldNotReturnSessionToPoolIfResetFails()
+    {
+        DesiredCapabilities desiredCapabilities = new DesiredCapabilities();
+        when(vividusWebDriverFactory.getDesiredCapabilities()).thenReturn(desiredCapabilities);
+        WebDriver webDriver = mockWebDriver();
+        when(webDriver.getWindowHandles()).thenThrow(new WebDriverException());
+        VividusWebDriver vividusWebDriver = createVividusWebDriver(webDriver);
+        when(vividusWebDriverFactory.create(desiredCapabilities)).thenReturn(vividusWebDriver);
+        WebDriverSessionPool sessionPool = createSessionPool(0);
+        sessionPool.acquire();
+        assertFalse(sessionPool.release(vividusWebDriver));
+    }
+
+    @Test
+    void shouldNotReturnUnknownSessionToPool()
+    {
+        assertFalse(createSessionPool(0).release(new VividusWebDriver()));
+    }
+
+    @Test
+    void shouldReplaceUnhealthyIdleSession()
+    {
+        DesiredCapabilities desiredCapabilities = new DesiredCapabilities();
+        when(vividusWebDriverFactory.getDesiredCapabilities()).thenReturn(desiredCapabilities);
+        WebDriver unhealthyWebDriver = mockResettableWebDriver();
+        when(unhealthyWebDriver.getWindowHandles()).thenReturn(new LinkedHashSet<>(List.of(MAIN_WINDOW)))
+                .thenThrow(new WebDriverException());
+        VividusWebDriver unhealthySession = createVividusWebDriver(unhealthyWebDriver);
+        VividusWebDriver newSession = createVividusWebDriver(mock(WebDriver.class));
+        when(vividusWebDriverFactory.create(desiredCapabilities)).thenReturn(unhealthySession, newSession);
+        WebDriverSessionPool sessionPool = createSessionPool(0);
+        sessionPool.acquire();
+        assertTrue(sessionPool.release(unhealthySession));
+        assertSame(newSession, sessionPool.acquire());
+        verify(unhealthyWebDriver).quit();
+    }
+
+    @Test
+    void shouldNotShareSessionsBetweenDifferentCapabilities()
+    {
+        DesiredCapabilities chrome = new DesiredCapabilities(Map.of(BROWSER_NAME, CHROME));
+        DesiredCapabilities firefox = new DesiredCapabilities(Map.of(BROWSER_NAME, "firefox"));
+        when(vividusWebDriverFactory.getDesiredCapabilities()).thenReturn(chrome, firefox);
+        VividusWebDriver chromeSession = createVividusWebDriver(mockResettableWebDriver());
+        VividusWebDriver firefoxSession = createVividusWebDriver(mock(WebDriver.class));
+        when(vividusWebDriverFactory.create(chrome)).thenReturn(chromeSession);
+        when(vividusWebDriverFactory.create(firefox)).thenReturn(firefoxSession);
+        WebDriverSessionPool sessionPool = createSessionPool(0);
+        sessionPool.acquire();
+        assertTrue(sessionPool.release(chromeSession));
+        assertNotSame(chromeSession, sessionPool.acquire());
+    }
+
+    @Test
+    void shouldShareSessionsBetweenTestsWithDifferentPerTestCapabilities()
+    {
+        DesiredCapabilities firstTest = new DesiredCapabilities(Map.of(BROWSER_NAME, CHROME, NAME, "first",
+                SAUCE_OPTIONS, Map.of(NAME, "first", "screenResolution", "1280x1024")));
+        DesiredCapabilities secondTest = new DesiredCapabilities(Map.of(BROWSER_NAME, CHROME, NAME, "second",
+                SAUCE_OPTIONS, Map.of(NAME, "second", "screenResolution", "1280x1024")));
+        when(vividusWebDriverFactory.getDesiredCapabilities()).thenReturn(firstTest, secondTest);
+        VividusWebDriver vividusWebDriver = createVividusWebDriver(mockResettableWebDriver());
+        when(vividusWebDriverFactory.create(firstTest)).thenReturn(vividusWebDriver);
+        WebDriverSessionPool sessionPool = createSessionPool(0);
+        sessionPool.setPerTestCapabilities(Set.of(NAME));
+        sessionPool.acquire();
+        assertTrue(sessionPool.release(vividusWebDriver));
+        assertSame(vividusWebDriver, sessionPool.acquire());
+        verify(vividusWebDriverFactory, never()).create(secondTest);
+    }
+
+    @Test
+    void shouldWarmUpSessionsAndQuitIdleSessionsOnDestroy()
+    {
+        DesiredCapabilities desiredCapabilities = new DesiredCapabilities();
+        when(vividusWebDriverFactory.getDesiredCapabilities()).thenReturn(desiredCapabilities);
+        VividusWebDriver session = createVividusWebDriver(mock(WebDriver.class));
+        WebDriver warmedUpWebDriver = mock(WebDriver.class);
+        VividusWebDriver warmedUpSession = createVividusWebDriver(warmedUpWebDriver);
+        when(vividusWebDriverFactory.create(any(DesiredCapabilities.class))).thenReturn(session, warmedUpSession);
+        WebDriverSessionPool sessionPool = createSessionPool(1);
+        assertSame(session, sessionPool.acquire());
+        verify(vividusWebDriverFactory, timeout(5000).times(2)).create(any(DesiredCapabilities.class));
+        sessionPool.destroy();
+        verify(warmedUpWebDriver, timeout(5000)).quit();
+        verify(session.getWrappedDriver(), never()).quit();
+        verify(vividusWebDriverFactory, times(1)).getDesiredCapabilities();
+    }
+
+    private WebDriverSessionPool createSessionPool(int warmUpSize)
+    {
+        WebDriverSessionPool sessionPool = new WebDriverSessionPool(vividusWebDriverFactory);
+        sessionPool.setEnabled(true);
+        sessionPool.setWarmUpSize(warmUpSize);
+        sessionPool.setMaxReuseCount(MAX_REUSE_COUNT);
+        return sessionPool;
+    }
+
+    private static WebDriver mockWebDriver()
+    {
+        return mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+    }
+
+    private static WebDriver mockResettableWebDriver()
+    {
+        WebDriver webDriver = mockWebDriver();
+        when(webDriver.getWindowHandles()).thenReturn(new LinkedHashSet<>(List.of(MAIN_WINDOW)));
+        when(webDriver.switchTo()).thenReturn(mock(TargetLocator.class));
+        when(webDriver.manage()).thenReturn(mock(Options.class));
+        when(webDriver.navigate()).thenReturn(mock(Navigation.class));
+        return webDriver;
+    }
+
+    private static VividusWebDriver createVividusWebDriver(WebDriver webDriver)
+    {
+        VividusWebDriver vividusWebDriver = new VividusWebDriver();
+        vividusWebDriver.setWebDriver(webDriver);
+        return vividusWebDriver;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,6 +32,7 @@ import static org.mockito.Mockito.when;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import com.github.valfirst.slf4jtest.TestLogger;
@@ -149,6 +150,44 @@ class AbstractElementSearchActionTests
         )));
     }
 
+    @Test
+    void shouldFilterElementsByVisibilityInBulk()
+    {
+        WebElement element1 = mock(WebElement.class);
+        WebElement element2 = mock(WebElement.class);
+        WebElement element3 = mock(WebElement.class);
+        List<WebElement> elementsList = List.of(element1, element2, element3);
+        when(searchContext.findElements(locator)).thenReturn(elementsList);
+        when(elementActions.areElementsVisible(elementsList)).thenReturn(Optional.of(List.of(true, false, true)));
+        List<WebElement> foundElements = elementSearchAction.findElements(searchContext, locator,
+                new SearchParameters().setWaitForElement(false));
+        assertEquals(List.of(element1, element3), foundElements);
+        verify(elementActions, times(0)).isElementVisible(any());
+        assertThat(logger.getLoggingEvents(), equalTo(List.of(
+            info(TOTAL_NUMBER_OF_ELEMENTS, locator, 3),
+            info("Visibility of {} elements is checked by a single command, {} remote commands are saved", 3, 2),
+            info(NUMBER_OF_VISIBLE_ELEMENTS, Visibility.VISIBLE.getDescription(), 2)
+        )));
+    }
+
+    @Test
+    void shouldFilterElementsByVisibilityOneByOneIfAnyElementIsStale()
+    {
+        WebElement element1 = mock(WebElement.class);
+        WebElement element2 = mock(WebElement.class);
+        List<WebElement> elementsList = List.of(element1, element2);
+        when(searchContext.findElements(locator)).thenReturn(elementsList);
+        StaleElementReferenceException exception = new StaleElementReferenceException(EXCEPTION);
+        when(elementActions.areElementsVisible(elementsList)).thenThrow(exception);
+        when(elementActions.isElementVisible(element1)).thenReturn(Boolean.TRUE);
+        when(elementActions.isElementVisible(element2)).thenThrow(exception);
+        List<WebElement> foundElements = elementSearchAction.findElements(searchContext, locator,
+                new SearchParameters().setWaitForElement(false));
+        assertEquals(List.of(element1), foundElements);
+        assertThat(logger.getLoggingEvents().get(3),
+                equalTo(info(NUMBER_OF_VISIBLE_ELEMENTS, Visibility.VISIBLE.getDescription(), 1)));
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     void shouldFindAllElements()
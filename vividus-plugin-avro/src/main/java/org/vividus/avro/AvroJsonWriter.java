@@ -0,0 +1,187 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.avro;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import org.apache.avro.Schema.Field;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.IndexedRecord;
+
+/**
+ * Writes the Avro data records as JSON using the streaming generator. The bytes and fixed values are written as
+ * ISO-8859-1 strings in the same way as Avro JSON encoding does. If the field paths are specified, the records are
+ * projected to the JSON objects containing the only values found by these paths, the keys of the objects are the
+ * paths themselves, the missing values are written as <code>null</code>.
+ */
+public class AvroJsonWriter
+{
+    private static final String PATH_SEPARATOR = ".";
+
+    private final JsonGenerator generator;
+    private final List<String> fieldPaths;
+    private final List<String[]> splitFieldPaths;
+
+    public AvroJsonWriter(JsonGenerator generator, List<String> fieldPaths)
+    {
+        this.generator = generator;
+        this.fieldPaths = fieldPaths;
+        this.splitFieldPaths = new ArrayList<>(fieldPaths.size());
+        fieldPaths.forEach(path -> splitFieldPaths.add(path.split("\\" + PATH_SEPARATOR)));
+    }
+
+    public void writeRecord(Object dataRecord) throws IOException
+    {
+        if (fieldPaths.isEmpty())
+        {
+            writeValue(dataRecord);
+            return;
+        }
+        generator.writeStartObject();
+        for (int index = 0; index < fieldPaths.size(); index++)
+        {
+            generator.writeFieldName(fieldPaths.get(index));
+            writeValue(resolve(dataRecord, splitFieldPaths.get(index)));
+        }
+        generator.writeEndObject();
+    }
+
+    private static Object resolve(Object dataRecord, String[] path)
+    {
+        Object value = dataRecord;
+        for (String name : path)
+        {
+            if (value instanceof IndexedRecord)
+            {
+                IndexedRecord indexedRecord = (IndexedRecord) value;
+                Field field = indexedRecord.getSchema().getField(name);
+                value = field != null ? indexedRecord.get(field.pos()) : null;
+            }
+            else if (value instanceof Map)
+            {
+                value = getMapValue((Map<?, ?>) value, name);
+            }
+            else
+            {
+                return null;
+            }
+        }
+        return value;
+    }
+
+    private static Object getMapValue(Map<?, ?> map, String key)
+    {
+        for (Map.Entry<?, ?> entry : map.entrySet())
+        {
+            if (key.equals(String.valueOf(entry.getKey())))
+            {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private void writeValue(Object value) throws IOException
+    {
+        if (value == null)
+        {
+            generator.writeNull();
+        }
+        else if (value instanceof IndexedRecord)
+        {
+            IndexedRecord indexedRecord = (IndexedRecord) value;
+            generator.writeStartObject();
+            for (Field field : indexedRecord.getSchema().getFields())
+            {
+                generator.writeFieldName(field.name());
+                writeValue(indexedRecord.get(field.pos()));
+            }
+            generator.writeEndObject();
+        }
+        else if (value instanceof Map)
+        {
+            generator.writeStartObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+            {
+                generator.writeFieldName(String.valueOf(entry.getKey()));
+                writeValue(entry.getValue());
+            }
+            generator.writeEndObject();
+        }
+        else if (value instanceof Collection)
+        {
+            generator.writeStartArray();
+            for (Object element : (Collection<?>) value)
+            {
+                writeValue(element);
+            }
+            generator.writeEndArray();
+        }
+        else if (value instanceof ByteBuffer)
+        {
+            ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            writeBytes(bytes);
+        }
+        else if (value instanceof GenericFixed)
+        {
+            writeBytes(((GenericFixed) value).bytes());
+        }
+        else
+        {
+            writeScalar(value);
+        }
+    }
+
+    private void writeScalar(Object value) throws IOException
+    {
+        if (value instanceof Integer || value instanceof Long)
+        {
+            generator.writeNumber(((Number) value).longValue());
+        }
+        else if (value instanceof Float)
+        {
+            generator.writeNumber((Float) value);
+        }
+        else if (value instanceof Double)
+        {
+            generator.writeNumber((Double) value);
+        }
+        else if (value instanceof Boolean)
+        {
+            generator.writeBoolean((Boolean) value);
+        }
+        else
+        {
+            generator.writeString(value.toString());
+        }
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException
+    {
+        generator.writeString(new String(bytes, StandardCharsets.ISO_8859_1));
+    }
+}
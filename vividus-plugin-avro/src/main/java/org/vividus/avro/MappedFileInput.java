@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.avro;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.avro.file.SeekableInput;
+
+/**
+ * Read-only {@link SeekableInput} over the memory-mapped file. The file is mapped by segments, since a single mapping
+ * can't exceed 2GB, so the files of any size are supported without loading them into the heap. Closing the input
+ * closes the file channel only: the mappings stay alive until the input is garbage collected, so the file may remain
+ * locked (e.g. it can't be deleted on Windows) for a while after the input is closed.
+ */
+public final class MappedFileInput implements SeekableInput
+{
+    private static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final int segmentSize;
+    private final long length;
+    private long position;
+
+    public MappedFileInput(Path file) throws IOException
+    {
+        this(file, DEFAULT_SEGMENT_SIZE);
+    }
+
+    MappedFileInput(Path file, int segmentSize) throws IOException
+    {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.segmentSize = segmentSize;
+        try
+        {
+            this.length = channel.size();
+            int segmentsCount = (int) ((length + segmentSize - 1) / segmentSize);
+            this.segments = new MappedByteBuffer[segmentsCount];
+            for (int index = 0; index < segmentsCount; index++)
+            {
+                long segmentStart = (long) index * segmentSize;
+                segments[index] = channel.map(MapMode.READ_ONLY, segmentStart,
+                        Math.min(segmentSize, length - segmentStart));
+            }
+        }
+        catch (IOException e)
+        {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void seek(long position) throws IOException
+    {
+        if (position < 0 || position > length)
+        {
+            throw new IOException("Position " + position + " is out of the file bounds [0, " + length + "]");
+        }
+        this.position = position;
+    }
+
+    @Override
+    public long tell()
+    {
+        return position;
+    }
+
+    @Override
+    public long length()
+    {
+        return length;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int len)
+    {
+        if (len == 0)
+        {
+            return 0;
+        }
+        if (position >= length)
+        {
+            return -1;
+        }
+        MappedByteBuffer segment = segments[(int) (position / segmentSize)];
+        int segmentOffset = (int) (position % segmentSize);
+        int bytesToRead = Math.min(len, segment.limit() - segmentOffset);
+        segment.position(segmentOffset);
+        segment.get(buffer, offset, bytesToRead);
+        position += bytesToRead;
+        return bytesToRead;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+}
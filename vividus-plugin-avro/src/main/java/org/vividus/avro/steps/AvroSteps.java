@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,15 +17,33 @@
 package org.vividus.avro.steps;
 
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
 import org.apache.avro.file.DataFileReader;
 import org.apache.avro.file.SeekableByteArrayInput;
+import org.apache.avro.file.SeekableInput;
 import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.io.DatumReader;
+import org.apache.commons.lang3.StringUtils;
+import org.jbehave.core.annotations.AsParameters;
 import org.jbehave.core.annotations.When;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.vividus.avro.AvroJsonWriter;
+import org.vividus.avro.MappedFileInput;
 import org.vividus.context.VariableContext;
 import org.vividus.util.ResourceUtils;
 import org.vividus.variable.VariableScope;
@@ -33,6 +51,8 @@ import org.vividus.variable.VariableScope;
 public class AvroSteps
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(AvroSteps.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     private final VariableContext variableContext;
 
     public AvroSteps(VariableContext variableContext)
@@ -61,25 +81,149 @@ public class AvroSteps
     public void convertAvroDataToJson(String resourceNameOrFilePath, Set<VariableScope> scopes, String variableName)
             throws IOException
     {
-        byte[] data = ResourceUtils.loadResourceOrFileAsByteArray(resourceNameOrFilePath);
+        convertAvroDataToJson(resourceNameOrFilePath, scopes, variableName, new ConversionOptions());
+    }
+
+    /**
+     * Converts the provided resource or file in Avro format to JSON using the conversion options and saves either
+     * the resulting JSON or the path to the temporary file containing the resulting JSON to a variable. The Avro data
+     * is read and converted record by record, so the files of any size can be converted.
+     *
+     * @param resourceNameOrFilePath The resource name or the file path.
+     * @param scopes                 The set (comma separated list of scopes e.g.: STORY, NEXT_BATCHES) of the variable
+     *                               scopes.<br>
+     *                               <i>Available scopes:</i>
+     *                               <ul>
+     *                               <li><b>STEP</b> - the variable will be available only within the step,
+     *                               <li><b>SCENARIO</b> - the variable will be available only within the scenario,
+     *                               <li><b>STORY</b> - the variable will be available within the whole story,
+     *                               <li><b>NEXT_BATCHES</b> - the variable will be available starting from next batch
+     *                               </ul>
+     * @param variableName           The variable name to save resulting JSON or the path to the resulting JSON file.
+     * @param options                The conversion options:
+     *                               <ul>
+     *                               <li><b>fields</b> - the comma-separated list of the paths of the fields to include
+     *                               into the resulting JSON, the nested fields are separated with dots,
+     *                               <li><b>limit</b> - the maximum number of the records to convert,
+     *                               <li><b>output</b> - either <b>VARIABLE</b> to save the resulting JSON to the
+     *                               variable (default) or <b>FILE</b> to save the resulting JSON to the temporary file
+     *                               and the path to this file to the variable.
+     *                               </ul>
+     * @throws IOException if an I/O error occurs
+     */
+    @When("I convert Avro data from `$resourceNameOrFilePath` to JSON and save result to $scopes variable "
+            + "`$variableName` using options:$options")
+    public void convertAvroDataToJson(String resourceNameOrFilePath, Set<VariableScope> scopes, String variableName,
+            ConversionOptions options) throws IOException
+    {
+        if (options.getOutput().orElse(OutputType.VARIABLE) == OutputType.FILE)
+        {
+            Path jsonFile = ResourceUtils.createTempFile("avro-data-", ".json");
+            try (Writer writer = Files.newBufferedWriter(jsonFile, StandardCharsets.UTF_8))
+            {
+                convertAvroDataToJson(resourceNameOrFilePath, options, writer);
+            }
+            variableContext.putVariable(scopes, variableName, jsonFile.toAbsolutePath().toString());
+        }
+        else
+        {
+            StringWriter writer = new StringWriter();
+            convertAvroDataToJson(resourceNameOrFilePath, options, writer);
+            variableContext.putVariable(scopes, variableName, writer.toString());
+        }
+    }
+
+    private static void convertAvroDataToJson(String resourceNameOrFilePath, ConversionOptions options,
+            Writer writer) throws IOException
+    {
         DatumReader<Object> datumReader = new GenericDatumReader<>();
-        try (DataFileReader<Object> dataFileReader = new DataFileReader<>(new SeekableByteArrayInput(data),
-                datumReader))
+        try (SeekableInput input = openInput(resourceNameOrFilePath);
+                DataFileReader<Object> dataFileReader = new DataFileReader<>(input, datumReader);
+                JsonGenerator generator = JSON_FACTORY.createGenerator(writer))
         {
             LOGGER.atInfo()
                   .addArgument(() -> dataFileReader.getSchema().toString(false))
                   .log("Avro schema: {}");
 
-            StringBuilder json = new StringBuilder("[");
-
+            AvroJsonWriter jsonWriter = new AvroJsonWriter(generator, options.getFields().orElseGet(List::of));
+            int limit = options.getLimit().orElse(Integer.MAX_VALUE);
+            generator.writeStartArray();
             Object dataRecord = null;
-            while (dataFileReader.hasNext())
+            for (int count = 0; count < limit && dataFileReader.hasNext(); count++)
             {
                 dataRecord = dataFileReader.next(dataRecord);
-                json.append(dataRecord);
+                jsonWriter.writeRecord(dataRecord);
             }
-            json.append(']');
-            variableContext.putVariable(scopes, variableName, json.toString());
+            generator.writeEndArray();
+        }
+    }
+
+    private static SeekableInput openInput(String resourceNameOrFilePath) throws IOException
+    {
+        URL resource = AvroSteps.class.getResource(StringUtils.prependIfMissing(resourceNameOrFilePath, "/"));
+        if (resource == null)
+        {
+            Path path = Paths.get(resourceNameOrFilePath);
+            if (Files.isRegularFile(path))
+            {
+                return new MappedFileInput(path);
+            }
+        }
+        else if ("file".equals(resource.getProtocol()))
+        {
+            try
+            {
+                return new MappedFileInput(Paths.get(resource.toURI()));
+            }
+            catch (URISyntaxException e)
+            {
+                throw new IOException(e);
+            }
+        }
+        return new SeekableByteArrayInput(ResourceUtils.loadResourceOrFileAsByteArray(resourceNameOrFilePath));
+    }
+
+    public enum OutputType
+    {
+        VARIABLE,
+        FILE
+    }
+
+    @AsParameters
+    public static class ConversionOptions
+    {
+        private Optional<List<String>> fields = Optional.empty();
+        private Optional<Integer> limit = Optional.empty();
+        private Optional<OutputType> output = Optional.empty();
+
+        public Optional<List<String>> getFields()
+        {
+            return fields;
+        }
+
+        public void setFields(Optional<List<String>> fields)
+        {
+            this.fields = fields;
+        }
+
+        public Optional<Integer> getLimit()
+        {
+            return limit;
+        }
+
+        public void setLimit(Optional<Integer> limit)
+        {
+            this.limit = limit;
+        }
+
+        public Optional<OutputType> getOutput()
+        {
+            return output;
+        }
+
+        public void setOutput(Optional<OutputType> output)
+        {
+            this.output = output;
         }
     }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.avro;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedFileInputTests
+{
+    private static final String DATA = "0123456789";
+    private static final int SEGMENT_SIZE = 4;
+
+    @TempDir private Path tempDirectory;
+
+    @Test
+    void shouldReadFileAcrossSegments() throws IOException
+    {
+        try (MappedFileInput input = new MappedFileInput(createFile(DATA), SEGMENT_SIZE))
+        {
+            assertEquals(DATA.length(), input.length());
+            byte[] buffer = new byte[DATA.length()];
+            int offset = 0;
+            while (offset < buffer.length)
+            {
+                offset += input.read(buffer, offset, buffer.length - offset);
+            }
+            assertArrayEquals(DATA.getBytes(StandardCharsets.UTF_8), buffer);
+            assertEquals(DATA.length(), input.tell());
+            assertEquals(-1, input.read(buffer, 0, 1));
+        }
+    }
+
+    @Test
+    void shouldReadFromSeekPosition() throws IOException
+    {
+        try (MappedFileInput input = new MappedFileInput(createFile(DATA), SEGMENT_SIZE))
+        {
+            input.seek(3);
+            byte[] buffer = new byte[3];
+            assertEquals(1, input.read(buffer, 0, buffer.length));
+            assertEquals(2, input.read(buffer, 1, 2));
+            assertArrayEquals("345".getBytes(StandardCharsets.UTF_8), buffer);
+            assertEquals(6, input.tell());
+            assertEquals(0, input.read(buffer, 0, 0));
+        }
+    }
+
+    @Test
+    void shouldReadEmptyFile() throws IOException
+    {
+        try (MappedFileInput input = new MappedFileInput(createFile("")))
+        {
+            assertEquals(0, input.length());
+            assertEquals(-1, input.read(new byte[1], 0, 1));
+        }
+    }
+
+    @Test
+    void shouldNotSeekOutOfFileBounds() throws IOException
+    {
+        try (MappedFileInput input = new MappedFileInput(createFile(DATA), SEGMENT_SIZE))
+        {
+            IOException exception = assertThrows(IOException.class, () -> input.seek(11));
+            assertEquals("Position 11 is out of the file bounds [0, 10]", exception.getMessage());
+        }
+    }
+
+    private Path createFile(String content) throws IOException
+    {
+        return Files.writeString(tempDirectory.resolve("data.bin"), content);
+    }
+}
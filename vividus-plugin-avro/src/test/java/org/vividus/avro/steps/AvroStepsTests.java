@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,10 +19,17 @@ package org.vividus.avro.steps;
 import static com.github.valfirst.slf4jtest.LoggingEvent.info;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import com.github.valfirst.slf4jtest.TestLogger;
@@ -31,15 +38,25 @@ import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.avro.steps.AvroSteps.ConversionOptions;
+import org.vividus.avro.steps.AvroSteps.OutputType;
 import org.vividus.context.VariableContext;
 import org.vividus.variable.VariableScope;
 
 @ExtendWith({ MockitoExtension.class, TestLoggerFactoryExtension.class })
 class AvroStepsTests
 {
+    private static final String RESOURCE = "/event-message.avro";
+    private static final Set<VariableScope> SCOPES = Set.of(VariableScope.STORY);
+    private static final String VARIABLE_NAME = "varName";
+    private static final String JSON = "[{\"SequenceNumber\":0,\"Offset\":\"0\","
+            + "\"EnqueuedTimeUtc\":\"11/5/2021 1:25:22 PM\","
+            + "\"SystemProperties\":{\"x-opt-enqueued-time\":1636118722484},\"Properties\":{},\"Body\":\"my-data\"}]";
+
     @Mock private VariableContext variableContext;
     @InjectMocks private AvroSteps avroSteps;
 
@@ -48,12 +65,8 @@ class AvroStepsTests
     @Test
     void shouldConvertAvroDataToJson() throws IOException
     {
-        var scopes = Set.of(VariableScope.STORY);
-        var variableName = "varName";
-        avroSteps.convertAvroDataToJson("/event-message.avro", scopes, variableName);
-        verify(variableContext).putVariable(scopes, variableName, "[{\"SequenceNumber\": 0, \"Offset\": \"0\", "
-                + "\"EnqueuedTimeUtc\": \"11/5/2021 1:25:22 PM\", \"SystemProperties\": {\"x-opt-enqueued-time\": "
-                + "1636118722484}, \"Properties\": {}, \"Body\": \"my-data\"}]");
+        avroSteps.convertAvroDataToJson(RESOURCE, SCOPES, VARIABLE_NAME);
+        verify(variableContext).putVariable(SCOPES, VARIABLE_NAME, JSON);
         assertThat(logger.getLoggingEvents(), is(List.of(info("Avro schema: {}", "{\"type\":\"record\","
                 + "\"name\":\"EventData\",\"namespace\":\"Microsoft.ServiceBus.Messaging\","
                 + "\"fields\":[{\"name\":\"SequenceNumber\",\"type\":\"long\"},{\"name\":\"Offset\","
@@ -62,4 +75,45 @@ class AvroStepsTests
                 + "\"string\",\"bytes\"]}},{\"name\":\"Properties\",\"type\":{\"type\":\"map\",\"values\":[\"long\","
                 + "\"double\",\"string\",\"bytes\",\"null\"]}},{\"name\":\"Body\",\"type\":[\"null\",\"bytes\"]}]}"))));
     }
+
+    @Test
+    void shouldConvertAvroFileToJson() throws IOException, URISyntaxException
+    {
+        String filePath = Paths.get(getClass().getResource(RESOURCE).toURI()).toString();
+        avroSteps.convertAvroDataToJson(filePath, SCOPES, VARIABLE_NAME);
+        verify(variableContext).putVariable(SCOPES, VARIABLE_NAME, JSON);
+    }
+
+    @Test
+    void shouldConvertProjectionOfAvroDataToJson() throws IOException
+    {
+        ConversionOptions options = new ConversionOptions();
+        options.setFields(Optional.of(List.of("Body", "SystemProperties.x-opt-enqueued-time", "Offset.missing")));
+        avroSteps.convertAvroDataToJson(RESOURCE, SCOPES, VARIABLE_NAME, options);
+        verify(variableContext).putVariable(SCOPES, VARIABLE_NAME,
+                "[{\"Body\":\"my-data\",\"SystemProperties.x-opt-enqueued-time\":1636118722484,"
+                        + "\"Offset.missing\":null}]");
+    }
+
+    @Test
+    void shouldConvertLimitedNumberOfAvroRecordsToJson() throws IOException
+    {
+        ConversionOptions options = new ConversionOptions();
+        options.setLimit(Optional.of(0));
+        avroSteps.convertAvroDataToJson(RESOURCE, SCOPES, VARIABLE_NAME, options);
+        verify(variableContext).putVariable(SCOPES, VARIABLE_NAME, "[]");
+    }
+
+    @Test
+    void shouldConvertAvroDataToJsonFile() throws IOException
+    {
+        ConversionOptions options = new ConversionOptions();
+        options.setOutput(Optional.of(OutputType.FILE));
+        avroSteps.convertAvroDataToJson(RESOURCE, SCOPES, VARIABLE_NAME, options);
+        ArgumentCaptor<String> pathCaptor = ArgumentCaptor.forClass(String.class);
+        verify(variableContext).putVariable(eq(SCOPES), eq(VARIABLE_NAME), pathCaptor.capture());
+        Path jsonFile = Paths.get(pathCaptor.getValue());
+        assertEquals(JSON, Files.readString(jsonFile));
+        Files.delete(jsonFile);
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,9 +20,18 @@ import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import com.amazonaws.client.builder.AwsClientBuilder.EndpointConfiguration;
+import com.amazonaws.regions.DefaultAwsRegionProviderChain;
 import com.amazonaws.services.kinesis.AmazonKinesis;
 import com.amazonaws.services.kinesis.AmazonKinesisClientBuilder;
 import com.amazonaws.services.kinesis.model.GetRecordsRequest;
@@ -31,12 +40,18 @@ import com.amazonaws.services.kinesis.model.GetShardIteratorRequest;
 import com.amazonaws.services.kinesis.model.GetShardIteratorResult;
 import com.amazonaws.services.kinesis.model.ListShardsRequest;
 import com.amazonaws.services.kinesis.model.ListShardsResult;
+import com.amazonaws.services.kinesis.model.ProvisionedThroughputExceededException;
 import com.amazonaws.services.kinesis.model.PutRecordResult;
+import com.amazonaws.services.kinesis.model.PutRecordsRequest;
+import com.amazonaws.services.kinesis.model.PutRecordsRequestEntry;
+import com.amazonaws.services.kinesis.model.PutRecordsResult;
+import com.amazonaws.services.kinesis.model.PutRecordsResultEntry;
 import com.amazonaws.services.kinesis.model.Record;
 import com.amazonaws.services.kinesis.model.Shard;
 import com.amazonaws.services.kinesis.model.ShardIteratorType;
 
 import org.jbehave.core.annotations.When;
+import org.jbehave.core.model.ExamplesTable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vividus.context.VariableContext;
@@ -48,17 +63,39 @@ public class KinesisSteps
     private static final Logger LOGGER = LoggerFactory.getLogger(KinesisSteps.class);
     private static final Object KEY = GetShardIteratorResult.class;
 
+    private static final int MAX_RECORDS_PER_PUT_RECORDS_REQUEST = 500;
+    private static final long MAX_PUT_RECORDS_REQUEST_SIZE_IN_BYTES = 5L * 1024 * 1024;
+    private static final long INITIAL_RETRY_DELAY_IN_MILLIS = 100;
+    private static final String DATA = "data";
+    private static final String PARTITION_KEY = "partitionKey";
+
     private final AmazonKinesis amazonKinesis;
     private final TestContext testContext;
     private final VariableContext variableContext;
 
-    public KinesisSteps(TestContext testContext, VariableContext variableContext)
+    private int consumerThreads;
+    private int maxGetRecordsCallsPerSecondPerShard;
+    private int maxRetries;
+
+    public KinesisSteps(String endpoint, TestContext testContext, VariableContext variableContext)
     {
-        this.amazonKinesis = AmazonKinesisClientBuilder.defaultClient();
+        this.amazonKinesis = createClient(endpoint);
         this.testContext = testContext;
         this.variableContext = variableContext;
     }
 
+    private static AmazonKinesis createClient(String endpoint)
+    {
+        if (endpoint == null || endpoint.isBlank())
+        {
+            return AmazonKinesisClientBuilder.defaultClient();
+        }
+        String region = new DefaultAwsRegionProviderChain().getRegion();
+        return AmazonKinesisClientBuilder.standard()
+                .withEndpointConfiguration(new EndpointConfiguration(endpoint, region))
+                .build();
+    }
+
     /**
      * Writes a single data record into an Amazon Kinesis data stream.  You must specify the name of the stream that
      * captures, stores, and transports the data; a partition key; and the data blob itself.
@@ -89,6 +126,104 @@ public class KinesisSteps
                 .log("The data was placed to the shard with ID '{}' under the sequence number '{}'");
     }
 
+    /**
+     * Writes the data records into an Amazon Kinesis data stream using the minimal number of
+     * <code>PutRecords</code> requests: each request contains up to 500 records of the total size up to 5 MB. The
+     * records failed to be written (e.g. due to the exceeded throughput of the shard) are retried with the
+     * exponential backoff, the step fails if some records are not written after all the retries.
+     *
+     * @param streamName The name of the Amazon Kinesis data stream to put the data records into.
+     * @param records    The ExamplesTable with the records to put, the columns are:
+     *                   <ul>
+     *                   <li><b>data</b> - the data blob to put into the record,</li>
+     *                   <li><b>partitionKey</b> - the partition key determining which shard in the stream the data
+     *                   record is assigned to.</li>
+     *                   </ul>
+     * @throws InterruptedException If the current thread was interrupted while waiting before the retry
+     */
+    @When("I put records to Kinesis stream `$streamName`:$records")
+    public void putRecords(String streamName, ExamplesTable records) throws InterruptedException
+    {
+        List<PutRecordsRequestEntry> batch = new ArrayList<>();
+        long batchSize = 0;
+        for (Map<String, String> record : records.getRows())
+        {
+            PutRecordsRequestEntry entry = createEntry(record);
+            long entrySize = entry.getData().remaining()
+                    + entry.getPartitionKey().getBytes(StandardCharsets.UTF_8).length;
+            if (batch.size() == MAX_RECORDS_PER_PUT_RECORDS_REQUEST
+                    || batchSize + entrySize > MAX_PUT_RECORDS_REQUEST_SIZE_IN_BYTES && !batch.isEmpty())
+            {
+                putRecords(streamName, batch);
+                batch = new ArrayList<>();
+                batchSize = 0;
+            }
+            batch.add(entry);
+            batchSize += entrySize;
+        }
+        if (!batch.isEmpty())
+        {
+            putRecords(streamName, batch);
+        }
+    }
+
+    private static PutRecordsRequestEntry createEntry(Map<String, String> record)
+    {
+        String data = record.get(DATA);
+        String partitionKey = record.get(PARTITION_KEY);
+        if (data == null || partitionKey == null)
+        {
+            throw new IllegalArgumentException(
+                    String.format("The records table must contain '%s' and '%s' columns", DATA, PARTITION_KEY));
+        }
+        return new PutRecordsRequestEntry()
+                .withData(ByteBuffer.wrap(data.getBytes(StandardCharsets.UTF_8)))
+                .withPartitionKey(partitionKey);
+    }
+
+    private void putRecords(String streamName, List<PutRecordsRequestEntry> entries) throws InterruptedException
+    {
+        List<PutRecordsRequestEntry> entriesToPut = entries;
+        long retryDelay = INITIAL_RETRY_DELAY_IN_MILLIS;
+        for (int attempt = 0; ; attempt++)
+        {
+            PutRecordsResult result = amazonKinesis.putRecords(
+                    new PutRecordsRequest().withStreamName(streamName).withRecords(entriesToPut));
+            if (result.getFailedRecordCount() == null || result.getFailedRecordCount() == 0)
+            {
+                LOGGER.info("{} records are put to the stream '{}'", entriesToPut.size(), streamName);
+                return;
+            }
+            List<PutRecordsRequestEntry> failedEntries = new ArrayList<>(result.getFailedRecordCount());
+            PutRecordsResultEntry firstFailure = null;
+            List<PutRecordsResultEntry> resultEntries = result.getRecords();
+            for (int i = 0; i < resultEntries.size(); i++)
+            {
+                PutRecordsResultEntry resultEntry = resultEntries.get(i);
+                if (resultEntry.getErrorCode() != null)
+                {
+                    failedEntries.add(entriesToPut.get(i));
+                    if (firstFailure == null)
+                    {
+                        firstFailure = resultEntry;
+                    }
+                }
+            }
+            LOGGER.info("{} of {} records are not put to the stream '{}'", failedEntries.size(), entriesToPut.size(),
+                    streamName);
+            if (attempt == maxRetries)
+            {
+                throw new IllegalStateException(String.format(
+                        "%d records are not put to the stream '%s' after %d retries, the first error: %s - %s",
+                        failedEntries.size(), streamName, maxRetries, firstFailure.getErrorCode(),
+                        firstFailure.getErrorMessage()));
+            }
+            TimeUnit.MILLISECONDS.sleep(retryDelay);
+            retryDelay *= 2;
+            entriesToPut = failedEntries;
+        }
+    }
+
     /**
      * Creates Amazon Kinesis shard iterators. A shard iterator expires 5 minutes after it is returned to the requester.
      * A shard iterator specifies the shard position from which to start reading data records sequentially.
@@ -121,7 +256,9 @@ public class KinesisSteps
     }
 
     /**
-     * Gets data records from a Kinesis data stream's shard and drains the consumed records to the specified variable.
+     * Gets data records from a Kinesis data stream's shards and drains the consumed records to the specified variable.
+     * The shards are consumed concurrently, each shard iterator is followed until the consumer is caught up with the
+     * tip of the shard.
      * <p>
      * The shard iterator created at step <code>When I start consuming records from Kinesis stream `$streamName`</code>
      * specifies the position in the shard from which you want to start reading data records sequentially. If there
@@ -138,31 +275,136 @@ public class KinesisSteps
      *                     </ul>
      * @param variableName the variable name to store the records. The records are accessible via zero-based index,
      *                     e.g. `${my-var[0]}` will return the first received record.
+     * @throws InterruptedException If the current thread was interrupted while waiting for the records
      */
     @When("I drain consumed Kinesis records to $scopes variable `$variableName`")
     public void drainKinesisRecordsToVariable(Set<VariableScope> scopes, String variableName)
+            throws InterruptedException
     {
+        List<String> shardIterators = testContext.get(KEY);
         List<String> records = new ArrayList<>();
-        List<String> nextShardIterators = new ArrayList<>();
+        List<String> nextShardIterators = new ArrayList<>(shardIterators.size());
 
-        for (String shardIterator : testContext.<List<String>>get(KEY))
+        if (!shardIterators.isEmpty())
         {
-            LOGGER.info("Getting records using shard iterator '{}'", shardIterator);
+            List<Callable<ShardRecords>> shardConsumers = new ArrayList<>(shardIterators.size());
+            for (String shardIterator : shardIterators)
+            {
+                LOGGER.info("Getting records using shard iterator '{}'", shardIterator);
+                shardConsumers.add(() -> consumeShard(shardIterator));
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(consumerThreads, shardIterators.size()));
+            try
+            {
+                for (Future<ShardRecords> shardRecords : executor.invokeAll(shardConsumers))
+                {
+                    ShardRecords consumedShardRecords = getResult(shardRecords);
+                    records.addAll(consumedShardRecords.records);
+                    nextShardIterators.add(consumedShardRecords.nextShardIterator);
+                }
+            }
+            finally
+            {
+                executor.shutdownNow();
+            }
+        }
 
-            GetRecordsRequest request = new GetRecordsRequest().withShardIterator(shardIterator);
-            GetRecordsResult result = amazonKinesis.getRecords(request);
+        LOGGER.info("Next shard iterators are: {}", nextShardIterators);
+        testContext.put(KEY, nextShardIterators);
+
+        variableContext.putVariable(scopes, variableName, records);
+    }
 
-            nextShardIterators.add(result.getNextShardIterator());
-            result.getRecords().stream()
+    /**
+     * Follows the shard iterator until the consumer is caught up with the tip of the shard, the number of the
+     * <code>GetRecords</code> calls per second is limited to avoid the exceeding of the shard throughput. The pages
+     * without records do not stop the consumption while the consumer is behind the tip of the shard, since the shard
+     * may contain gaps. The throttled calls are retried with exponentially growing delay.
+     */
+    private ShardRecords consumeShard(String shardIterator) throws InterruptedException
+    {
+        long minCallIntervalNanos = TimeUnit.SECONDS.toNanos(1) / maxGetRecordsCallsPerSecondPerShard;
+        ShardRecords shardRecords = new ShardRecords();
+        String currentShardIterator = shardIterator;
+        long lastCallTime = System.nanoTime() - minCallIntervalNanos;
+        int throttledCalls = 0;
+        long retryDelay = INITIAL_RETRY_DELAY_IN_MILLIS;
+        while (true)
+        {
+            TimeUnit.NANOSECONDS.sleep(lastCallTime + minCallIntervalNanos - System.nanoTime());
+            lastCallTime = System.nanoTime();
+            GetRecordsResult result;
+            try
+            {
+                result = amazonKinesis.getRecords(new GetRecordsRequest().withShardIterator(currentShardIterator));
+            }
+            catch (ProvisionedThroughputExceededException e)
+            {
+                if (throttledCalls++ == maxRetries)
+                {
+                    throw e;
+                }
+                LOGGER.debug("Throughput of the shard is exceeded, the request will be retried in {} ms", retryDelay,
+                        e);
+                TimeUnit.MILLISECONDS.sleep(retryDelay);
+                retryDelay *= 2;
+                continue;
+            }
+            throttledCalls = 0;
+            retryDelay = INITIAL_RETRY_DELAY_IN_MILLIS;
+            List<Record> records = result.getRecords();
+            records.stream()
                     .map(Record::getData)
                     .map(ByteBuffer::array)
                     .map(data -> new String(data, StandardCharsets.UTF_8))
-                    .forEach(records::add);
+                    .forEach(shardRecords.records::add);
+            currentShardIterator = result.getNextShardIterator();
+            Long millisBehindLatest = result.getMillisBehindLatest();
+            if (currentShardIterator == null || millisBehindLatest == null || millisBehindLatest == 0)
+            {
+                shardRecords.nextShardIterator = currentShardIterator;
+                return shardRecords;
+            }
+            LOGGER.debug("The consumer is {} ms behind the tip of the shard, getting next records using shard "
+                    + "iterator '{}'", millisBehindLatest, currentShardIterator);
         }
+    }
 
-        LOGGER.info("Next shard iterators are: {}", nextShardIterators);
-        testContext.put(KEY, nextShardIterators);
+    private static ShardRecords getResult(Future<ShardRecords> shardRecords) throws InterruptedException
+    {
+        try
+        {
+            return shardRecords.get();
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
 
-        variableContext.putVariable(scopes, variableName, records);
+    public void setConsumerThreads(int consumerThreads)
+    {
+        this.consumerThreads = consumerThreads;
+    }
+
+    public void setMaxGetRecordsCallsPerSecondPerShard(int maxGetRecordsCallsPerSecondPerShard)
+    {
+        this.maxGetRecordsCallsPerSecondPerShard = maxGetRecordsCallsPerSecondPerShard;
+    }
+
+    public void setMaxRetries(int maxRetries)
+    {
+        this.maxRetries = maxRetries;
+    }
+
+    private static final class ShardRecords
+    {
+        private final List<String> records = new ArrayList<>();
+        private String nextShardIterator;
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,10 +20,14 @@ import static com.github.valfirst.slf4jtest.LoggingEvent.info;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -31,14 +35,23 @@ import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Set;
-import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import com.amazonaws.regions.DefaultAwsRegionProviderChain;
 import com.amazonaws.services.kinesis.AmazonKinesis;
 import com.amazonaws.services.kinesis.AmazonKinesisClientBuilder;
+import com.amazonaws.services.kinesis.model.GetRecordsRequest;
 import com.amazonaws.services.kinesis.model.GetRecordsResult;
 import com.amazonaws.services.kinesis.model.GetShardIteratorResult;
 import com.amazonaws.services.kinesis.model.ListShardsResult;
+import com.amazonaws.services.kinesis.model.ProvisionedThroughputExceededException;
 import com.amazonaws.services.kinesis.model.PutRecordResult;
+import com.amazonaws.services.kinesis.model.PutRecordsRequest;
+import com.amazonaws.services.kinesis.model.PutRecordsRequestEntry;
+import com.amazonaws.services.kinesis.model.PutRecordsResult;
+import com.amazonaws.services.kinesis.model.PutRecordsResultEntry;
 import com.amazonaws.services.kinesis.model.Record;
 import com.amazonaws.services.kinesis.model.Shard;
 import com.amazonaws.services.kinesis.model.ShardIteratorType;
@@ -46,12 +59,15 @@ import com.github.valfirst.slf4jtest.TestLogger;
 import com.github.valfirst.slf4jtest.TestLoggerFactory;
 import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
 
+import org.jbehave.core.model.ExamplesTable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.MockedConstruction;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.OngoingStubbing;
 import org.vividus.context.VariableContext;
 import org.vividus.testcontext.TestContext;
 import org.vividus.variable.VariableScope;
@@ -65,17 +81,47 @@ class KinesisStepsTests
     private static final String SHARD_ID = "shard-id";
     private static final String SHARD_ITERATOR = "shard-iterator";
     private static final String DATA = "data";
+    private static final String PARTITION_KEY = "partition-key-1";
     private static final Object KEY = GetShardIteratorResult.class;
+    private static final int MAX_GET_RECORDS_CALLS_PER_SECOND = 100;
+    private static final Set<VariableScope> SCOPES = Set.of(VariableScope.STEP);
+    private static final String VARIABLE_NAME = "var-name";
 
     @Mock private TestContext testContext;
     @Mock private VariableContext variableContext;
 
+    @Test
+    void shouldCreateClientForCustomEndpoint()
+    {
+        String endpoint = "http://localhost:4566";
+        String region = "us-east-1";
+        try (MockedStatic<AmazonKinesisClientBuilder> builderFactory = mockStatic(AmazonKinesisClientBuilder.class);
+                MockedConstruction<DefaultAwsRegionProviderChain> regionProvider = mockConstruction(
+                        DefaultAwsRegionProviderChain.class, (mock, context) -> when(mock.getRegion()).thenReturn(
+                                region)))
+        {
+            AmazonKinesisClientBuilder builder = mock(AmazonKinesisClientBuilder.class);
+            builderFactory.when(AmazonKinesisClientBuilder::standard).thenReturn(builder);
+            when(builder.withEndpointConfiguration(argThat(configuration -> endpoint.equals(
+                    configuration.getServiceEndpoint()) && region.equals(configuration.getSigningRegion()))))
+                    .thenReturn(builder);
+            AmazonKinesis kinesis = mock(AmazonKinesis.class);
+            when(builder.build()).thenReturn(kinesis);
+            when(kinesis.putRecord(eq(STREAM_NAME), any(ByteBuffer.class), eq(PARTITION_KEY))).thenReturn(
+                    new PutRecordResult());
+
+            createSteps(endpoint).putRecord(DATA, PARTITION_KEY, STREAM_NAME);
+
+            verify(kinesis).putRecord(eq(STREAM_NAME), any(ByteBuffer.class), eq(PARTITION_KEY));
+        }
+    }
+
     @Test
     void shouldPutRecord()
     {
         runWithKinesisClient((kinesis, steps) ->
         {
-            String partitionKey = "partition-key-1";
+            String partitionKey = PARTITION_KEY;
             ArgumentCaptor<ByteBuffer> dataCaptor = ArgumentCaptor.forClass(ByteBuffer.class);
             String sequenceNumber = "sequence-number";
             PutRecordResult result = new PutRecordResult().withShardId(SHARD_ID).withSequenceNumber(sequenceNumber);
@@ -128,13 +174,11 @@ class KinesisStepsTests
                     .withRecords(record);
             when(kinesis.getRecords(argThat(rq -> SHARD_ITERATOR.equals(rq.getShardIterator())))).thenReturn(result);
 
-            Set<VariableScope> scopes = Set.of(VariableScope.STEP);
-            String variableName = "var-name";
-            steps.drainKinesisRecordsToVariable(scopes, variableName);
+            steps.drainKinesisRecordsToVariable(SCOPES, VARIABLE_NAME);
 
             List<String> nextShardIterators = List.of(nextShardIterator);
             verify(testContext).put(KEY, nextShardIterators);
-            verify(variableContext).putVariable(scopes, variableName, List.of(DATA));
+            verify(variableContext).putVariable(SCOPES, VARIABLE_NAME, List.of(DATA));
             assertThat(LOGGER.getLoggingEvents(), equalTo(List.of(
                     info("Getting records using shard iterator '{}'", SHARD_ITERATOR),
                     info("Next shard iterators are: {}", nextShardIterators)
@@ -142,16 +186,155 @@ class KinesisStepsTests
         });
     }
 
-    void runWithKinesisClient(BiConsumer<AmazonKinesis, KinesisSteps> kinesisConsumer)
+    private KinesisSteps createSteps(String endpoint)
+    {
+        KinesisSteps steps = new KinesisSteps(endpoint, testContext, variableContext);
+        steps.setConsumerThreads(2);
+        steps.setMaxGetRecordsCallsPerSecondPerShard(MAX_GET_RECORDS_CALLS_PER_SECOND);
+        steps.setMaxRetries(1);
+        return steps;
+    }
+
+    void runWithKinesisClient(KinesisStepsConsumer kinesisConsumer)
     {
         try (MockedStatic<AmazonKinesisClientBuilder> builder = mockStatic(AmazonKinesisClientBuilder.class))
         {
             AmazonKinesis kinesis = mock(AmazonKinesis.class);
             builder.when(AmazonKinesisClientBuilder::defaultClient).thenReturn(kinesis);
 
-            KinesisSteps steps = new KinesisSteps(testContext, variableContext);
+            KinesisSteps steps = createSteps("");
 
             kinesisConsumer.accept(kinesis, steps);
         }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void shouldPutRecordsInBatchesAndRetryFailedRecords()
+    {
+        runWithKinesisClient((kinesis, steps) ->
+        {
+            StringBuilder records = new StringBuilder("|data|partitionKey|");
+            IntStream.range(0, 502).forEach(i -> records.append("\n|").append(i).append('|').append(i).append('|'));
+            PutRecordsResult partiallyFailedResult = new PutRecordsResult()
+                    .withFailedRecordCount(1)
+                    .withRecords(new PutRecordsResultEntry(), new PutRecordsResultEntry()
+                            .withErrorCode("ProvisionedThroughputExceededException"));
+            when(kinesis.putRecords(any(PutRecordsRequest.class))).thenReturn(new PutRecordsResult()
+                    .withFailedRecordCount(0), partiallyFailedResult, new PutRecordsResult().withFailedRecordCount(0));
+
+            steps.putRecords(STREAM_NAME, new ExamplesTable(records.toString()));
+
+            ArgumentCaptor<PutRecordsRequest> requestCaptor = ArgumentCaptor.forClass(PutRecordsRequest.class);
+            verify(kinesis, times(3)).putRecords(requestCaptor.capture());
+            List<PutRecordsRequest> requests = requestCaptor.getAllValues();
+            assertEquals(List.of(500, 2, 1), requests.stream().map(r -> r.getRecords().size())
+                    .collect(Collectors.toList()));
+            requests.forEach(request -> assertEquals(STREAM_NAME, request.getStreamName()));
+            PutRecordsRequestEntry retriedEntry = requests.get(2).getRecords().get(0);
+            assertEquals("501", retriedEntry.getPartitionKey());
+            assertEquals("501", new String(retriedEntry.getData().array(), StandardCharsets.UTF_8));
+        });
+    }
+
+    @Test
+    void shouldFailIfRecordsAreNotPutAfterRetries()
+    {
+        runWithKinesisClient((kinesis, steps) ->
+        {
+            PutRecordsResult failedResult = new PutRecordsResult()
+                    .withFailedRecordCount(1)
+                    .withRecords(new PutRecordsResultEntry().withErrorCode("InternalFailure")
+                            .withErrorMessage("Internal service failure"));
+            when(kinesis.putRecords(any(PutRecordsRequest.class))).thenReturn(failedResult);
+            ExamplesTable records = new ExamplesTable("|data|partitionKey|\n|value|key|");
+
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> steps.putRecords(STREAM_NAME, records));
+
+            assertEquals("1 records are not put to the stream 'stream-name' after 1 retries, the first error: "
+                    + "InternalFailure - Internal service failure", exception.getMessage());
+            verify(kinesis, times(2)).putRecords(any(PutRecordsRequest.class));
+        });
+    }
+
+    @Test
+    void shouldConsumeShardsConcurrentlyUntilCaughtUp()
+    {
+        runWithKinesisClient((kinesis, steps) ->
+        {
+            String secondShardIterator = "second-shard-iterator";
+            String followingShardIterator = "following-" + SHARD_ITERATOR;
+            String nextShardIterator = "next-" + SHARD_ITERATOR;
+            String nextSecondShardIterator = "next-" + secondShardIterator;
+            when(testContext.get(GetShardIteratorResult.class)).thenReturn(
+                    List.of(SHARD_ITERATOR, secondShardIterator));
+            mockGetRecords(kinesis, SHARD_ITERATOR, followingShardIterator, 1000L, "1");
+            mockGetRecords(kinesis, followingShardIterator, nextShardIterator, 0L, "2");
+            mockGetRecords(kinesis, secondShardIterator, nextSecondShardIterator, 0L, "3");
+
+            steps.drainKinesisRecordsToVariable(SCOPES, VARIABLE_NAME);
+
+            verify(testContext).put(KEY, List.of(nextShardIterator, nextSecondShardIterator));
+            verify(variableContext).putVariable(SCOPES, VARIABLE_NAME, List.of("1", "2", "3"));
+        });
+    }
+
+    @Test
+    void shouldContinueDrainingAfterEmptyPagesAndRetryThrottledCalls()
+    {
+        runWithKinesisClient((kinesis, steps) ->
+        {
+            String followingShardIterator = "following-" + SHARD_ITERATOR;
+            String nextShardIterator = "next-" + SHARD_ITERATOR;
+            when(testContext.get(GetShardIteratorResult.class)).thenReturn(List.of(SHARD_ITERATOR));
+            mockGetRecords(kinesis, SHARD_ITERATOR, createGetRecordsResult(followingShardIterator, 1000L));
+            mockGetRecords(kinesis, followingShardIterator, new ProvisionedThroughputExceededException("Throttled"),
+                    createGetRecordsResult(nextShardIterator, 0L, DATA));
+
+            steps.drainKinesisRecordsToVariable(SCOPES, VARIABLE_NAME);
+
+            verify(kinesis, times(3)).getRecords(any(GetRecordsRequest.class));
+            verify(testContext).put(KEY, List.of(nextShardIterator));
+            verify(variableContext).putVariable(SCOPES, VARIABLE_NAME, List.of(DATA));
+        });
+    }
+
+    private static void mockGetRecords(AmazonKinesis kinesis, String shardIterator, String nextShardIterator,
+            long millisBehindLatest, String data)
+    {
+        mockGetRecords(kinesis, shardIterator, createGetRecordsResult(nextShardIterator, millisBehindLatest, data));
+    }
+
+    private static void mockGetRecords(AmazonKinesis kinesis, String shardIterator, Object... answers)
+    {
+        OngoingStubbing<GetRecordsResult> stubbing = when(
+                kinesis.getRecords(argThat(rq -> rq != null && shardIterator.equals(rq.getShardIterator()))));
+        for (Object answer : answers)
+        {
+            stubbing = answer instanceof Throwable ? stubbing.thenThrow((Throwable) answer)
+                    : stubbing.thenReturn((GetRecordsResult) answer);
+        }
+    }
+
+    private static GetRecordsResult createGetRecordsResult(String nextShardIterator, long millisBehindLatest,
+            String... data)
+    {
+        return new GetRecordsResult()
+                .withNextShardIterator(nextShardIterator)
+                .withMillisBehindLatest(millisBehindLatest)
+                .withRecords(Stream.of(data)
+                        .map(d -> new Record().withData(ByteBuffer.wrap(d.getBytes(StandardCharsets.UTF_8))))
+                        .collect(Collectors.toList()));
+    }
+
+    @FunctionalInterface
+    private interface KinesisStepsConsumer
+    {
+        void accept(AmazonKinesis kinesis, KinesisSteps steps) throws InterruptedException;
     }
 }
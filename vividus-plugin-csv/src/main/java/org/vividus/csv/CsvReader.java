@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,6 +31,7 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 
 public class CsvReader
@@ -72,6 +73,28 @@ public class CsvReader
         }
     }
 
+    /**
+     * Opens the parser reading the CSV records one by one, the parser must be closed by the caller
+     *
+     * @param resourceUrl the URL of the CSV resource
+     * @param header      the header of the CSV, if it's empty, the header is read from the first record
+     * @return the parser of the CSV resource
+     * @throws IOException if an I/O error occurs
+     */
+    public CSVParser parseCsvFile(URL resourceUrl, String... header) throws IOException
+    {
+        Reader reader = new InputStreamReader(resourceUrl.openStream(), StandardCharsets.UTF_8);
+        try
+        {
+            return createParser(reader, header);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            reader.close();
+            throw e;
+        }
+    }
+
     private List<Map<String, String>> collectCsv(Reader reader, String... header) throws IOException
     {
         return readCsvFile(reader, header).map(CSVRecord::toMap).collect(Collectors.toList());
@@ -79,6 +102,11 @@ public class CsvReader
 
     private Stream<CSVRecord> readCsvFile(Reader reader, String... header) throws IOException
     {
-        return StreamSupport.stream(csvFormat.builder().setHeader(header).build().parse(reader).spliterator(), false);
+        return StreamSupport.stream(createParser(reader, header).spliterator(), false);
+    }
+
+    private CSVParser createParser(Reader reader, String... header) throws IOException
+    {
+        return csvFormat.builder().setHeader(header).build().parse(reader);
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,23 +16,24 @@
 
 package org.vividus.transformer;
 
-import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.Validate.isTrue;
 import static org.vividus.util.ResourceUtils.findResource;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
 import javax.inject.Named;
 
 import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.model.TableParsers;
 import org.vividus.csv.CsvReader;
+import org.vividus.model.ColumnarTable;
 import org.vividus.util.ExamplesTableProcessor;
 
 @Named("FROM_CSV")
@@ -60,11 +61,19 @@ public class CsvTableTransformer implements ExtendedTableTransformer
                     delimiter, delimiterLength);
             csvFormat = csvFormat.builder().setDelimiter(delimiter.charAt(0)).build();
         }
-        try
+        List<String> selectedColumns = getSelectedColumns(properties);
+        int maxRows = getMaxRows(properties);
+        try (CSVParser parser = new CsvReader(csvFormat).parseCsvFile(findResource(getClass(), csvPath)))
         {
-            List<CSVRecord> result = new CsvReader(csvFormat).readCsvFile(findResource(getClass(), csvPath));
-            return ExamplesTableProcessor.buildExamplesTable(result.get(0).toMap().keySet(), extractValues(result),
-                    properties, true);
+            List<String> headers = selectedColumns.isEmpty() ? parser.getHeaderNames() : selectedColumns;
+            int[] columnIndexes = getColumnIndexes(parser.getHeaderNames(), headers);
+            ColumnarTable.Builder table = ColumnarTable.builder(headers);
+            Iterator<CSVRecord> records = parser.iterator();
+            while (table.getRowCount() < maxRows && records.hasNext())
+            {
+                table.addRow(getValues(records.next(), columnIndexes));
+            }
+            return ExamplesTableProcessor.buildExamplesTable(table.build(), properties, true);
         }
         catch (IOException e)
         {
@@ -72,12 +81,26 @@ public class CsvTableTransformer implements ExtendedTableTransformer
         }
     }
 
-    private List<List<String>> extractValues(List<CSVRecord> data)
+    private static int[] getColumnIndexes(List<String> csvHeaders, List<String> selectedColumns)
     {
-        return data.stream()
-                .map(CSVRecord::toMap)
-                .map(Map::values)
-                .map(ArrayList::new)
-                .collect(toList());
+        int[] columnIndexes = new int[selectedColumns.size()];
+        for (int i = 0; i < columnIndexes.length; i++)
+        {
+            String column = selectedColumns.get(i);
+            columnIndexes[i] = csvHeaders.indexOf(column);
+            isTrue(columnIndexes[i] >= 0, "CSV file doesn't contain column '%s'", column);
+        }
+        return columnIndexes;
+    }
+
+    private static List<String> getValues(CSVRecord record, int[] columnIndexes)
+    {
+        List<String> values = new ArrayList<>(columnIndexes.length);
+        for (int columnIndex : columnIndexes)
+        {
+            // The cells missing in the short records are empty, so the values stay in their columns
+            values.add(columnIndex < record.size() ? record.get(columnIndex) : "");
+        }
+        return values;
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.junit.jupiter.api.Test;
 
@@ -85,6 +86,16 @@ class CsvReaderTests
         assertEquals(CSV_RECORDS, result.stream().map(CSVRecord::toMap).collect(Collectors.toList()));
     }
 
+    @Test
+    void testParseCsvFromUrl() throws IOException
+    {
+        try (CSVParser parser = csvReader.parseCsvFile(getCsvResource(), FIRST_HEADER, SECOND_HEADER))
+        {
+            assertEquals(List.of(FIRST_HEADER, SECOND_HEADER), parser.getHeaderNames());
+            assertEquals(CSV_RECORDS, parser.getRecords().stream().map(CSVRecord::toMap).collect(Collectors.toList()));
+        }
+    }
+
     private URL getCsvResource()
     {
         return getCsvResource("unittest.csv");
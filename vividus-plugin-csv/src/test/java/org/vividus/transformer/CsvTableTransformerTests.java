@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -66,6 +66,24 @@ class CsvTableTransformerTests
 
     @ParameterizedTest
     @CsvSource({
+        "'csvPath=test.csv, columns=ID;Country',              '|ID|Country|\\n|1|Belarus|\\n|2|USA|\\n|3|Armenia|'",
+        "'csvPath=test.csv, maxRows=1',                       '|Country|ID|Capital|Akey|\\n|Belarus|1|Minsk|11|'",
+        "'csvPath=test.csv, columns= Akey ;Country,maxRows=2', '|Akey|Country|\\n|11|Belarus|\\n|22|USA|'",
+        "'csvPath=test-with-short-records.csv, columns=Akey;Country', '|Akey|Country|\\n||Belarus|\\n||USA|'"
+    })
+    void shouldCreateExamplesTableFromCsvWithSelectedColumnsAndLimitedRows(String propertiesAsString,
+            String expectedTable)
+    {
+        var tableProperties = new TableProperties(propertiesAsString, keywords, converters);
+        var transformer = new CsvTableTransformer(CSVFormat.DEFAULT);
+        assertEquals(expectedTable.replace("\\n", "\n"),
+                transformer.transform(EMPTY_EXAMPLES_TABLE, null, tableProperties));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "'csvPath=test.csv,columns=City',     'CSV file doesn''t contain column ''City'''",
+        "'csvPath=test.csv,maxRows=0',        ExamplesTable property 'maxRows' must be positive, but got 0",
         "'',                                  'csvPath' is not set in ExamplesTable properties",
         "'csvPath= ',                         ExamplesTable property 'csvPath' is blank",
         "'csvPath=test.csv,delimiterChar=--', 'CSV delimiter must be a single char, but value ''--'' has length of 2'",
@@ -93,7 +111,7 @@ class CsvTableTransformerTests
                 (mock, context) -> {
                     assertEquals(1, context.getCount());
                     assertEquals(List.of(CSVFormat.DEFAULT), context.arguments());
-                    when(mock.readCsvFile(csvResource)).thenThrow(ioException);
+                    when(mock.parseCsvFile(csvResource)).thenThrow(ioException);
                 }))
         {
             var transformer = new CsvTableTransformer(CSVFormat.DEFAULT);
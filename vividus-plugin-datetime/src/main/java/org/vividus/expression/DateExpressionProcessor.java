@@ -19,6 +19,7 @@ package org.vividus.expression;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -47,6 +48,12 @@ public class DateExpressionProcessor extends AbstractExpressionProcessor<String>
         this.dateUtils = dateUtils;
     }
 
+    @Override
+    public Set<String> getFunctionNames()
+    {
+        return Set.of("generateDate");
+    }
+
     @Override
     protected String evaluateExpression(Matcher expressionMatcher)
     {
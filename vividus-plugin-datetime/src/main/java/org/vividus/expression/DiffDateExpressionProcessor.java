@@ -22,6 +22,7 @@ import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -53,6 +54,12 @@ public class DiffDateExpressionProcessor extends AbstractExpressionProcessor<Str
         this.dateUtils = dateUtils;
     }
 
+    @Override
+    public Set<String> getFunctionNames()
+    {
+        return Set.of("diffDate");
+    }
+
     @Override
     protected String evaluateExpression(Matcher expressionMatcher)
     {
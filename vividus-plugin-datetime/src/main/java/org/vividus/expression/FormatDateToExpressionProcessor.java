@@ -19,6 +19,7 @@ package org.vividus.expression;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -44,6 +45,12 @@ public class FormatDateToExpressionProcessor extends AbstractExpressionProcessor
         this.dateUtils = dateUtils;
     }
 
+    @Override
+    public Set<String> getFunctionNames()
+    {
+        return Set.of("formatDateTo");
+    }
+
     @Override
     protected String evaluateExpression(Matcher expressionMatcher)
     {
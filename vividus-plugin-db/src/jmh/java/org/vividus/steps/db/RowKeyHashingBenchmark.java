@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RowKeyHashingBenchmark
+{
+    private static final int COLUMNS_COUNT = 12;
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    @Param("1000000")
+    private int rowsCount;
+
+    @Param({ "", "column0,column3" })
+    private String keyColumns;
+
+    private List<Map<String, Object>> rows;
+    private Set<String> keys;
+
+    @Setup
+    public void setUp()
+    {
+        keys = keyColumns.isEmpty() ? Set.of() : Set.of(keyColumns.split(","));
+        rows = new ArrayList<>(rowsCount);
+        for (int i = 0; i < rowsCount; i++)
+        {
+            Map<String, Object> row = new LinkedCaseInsensitiveMap<>(COLUMNS_COUNT);
+            for (int column = 0; column < COLUMNS_COUNT; column++)
+            {
+                row.put("column" + column, createValue(i, column));
+            }
+            rows.add(row);
+        }
+    }
+
+    private static Object createValue(int row, int column)
+    {
+        switch (column % 4)
+        {
+            case 0:
+                return (long) row * column;
+            case 1:
+                return "value-" + row + '-' + column;
+            case 2:
+                return BigDecimal.valueOf(row, 2);
+            default:
+                return row % 10 == 0 ? null : new Timestamp(row * 1000L);
+        }
+    }
+
+    @Benchmark
+    public void joinedSortedStrings(Blackhole blackhole)
+    {
+        for (Map<String, Object> row : rows)
+        {
+            blackhole.consume(HASH_FUNCTION.hashString((keys.isEmpty() ? row.keySet() : keys)
+                    .stream()
+                    .map(row::get)
+                    .filter(Objects::nonNull)
+                    .map(Object::toString)
+                    .sorted()
+                    .collect(Collectors.joining()), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Benchmark
+    public void rowKeyHasher(Blackhole blackhole)
+    {
+        RowKeyHasher rowKeyHasher = new RowKeyHasher(HASH_FUNCTION, keys);
+        for (Map<String, Object> row : rows)
+        {
+            blackhole.consume(rowKeyHasher.hash(row));
+        }
+    }
+}
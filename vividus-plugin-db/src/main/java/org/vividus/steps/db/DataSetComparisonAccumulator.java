@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.vividus.util.comparison.ComparisonUtils.EntryComparisonResult;
+
+/**
+ * Collects the results of the row-by-row data sets comparison: only the counters and the first mismatched rows
+ * (up to the diff limit) are kept, so the memory footprint doesn't depend on the size of the compared data sets.
+ */
+final class DataSetComparisonAccumulator
+{
+    private final int diffLimit;
+    private final List<List<EntryComparisonResult>> mismatches = new ArrayList<>();
+    private long totalRows;
+    private long mismatched;
+    private long leftNoPair;
+    private long rightNoPair;
+
+    DataSetComparisonAccumulator(int diffLimit)
+    {
+        this.diffLimit = diffLimit;
+    }
+
+    void accept(Map<String, Object> left, Map<String, Object> right, List<EntryComparisonResult> result)
+    {
+        totalRows++;
+        if (right.isEmpty())
+        {
+            leftNoPair++;
+        }
+        if (left.isEmpty())
+        {
+            rightNoPair++;
+        }
+        if (!result.stream().allMatch(EntryComparisonResult::isPassed))
+        {
+            mismatched++;
+            if (mismatches.size() < diffLimit)
+            {
+                mismatches.add(result);
+            }
+        }
+    }
+
+    /**
+     * Adds the results collected by another accumulator, the mismatched rows of the other accumulator are placed
+     * after the mismatched rows of this accumulator.
+     * @param other accumulator to merge
+     */
+    void merge(DataSetComparisonAccumulator other)
+    {
+        totalRows += other.totalRows;
+        mismatched += other.mismatched;
+        leftNoPair += other.leftNoPair;
+        rightNoPair += other.rightNoPair;
+        other.mismatches.stream().limit(diffLimit - mismatches.size()).forEach(mismatches::add);
+    }
+
+    boolean isDiffLimitReached()
+    {
+        return mismatched >= diffLimit;
+    }
+
+    void fillStatistics(DataSetComparisonRule comparisonRule, DataSourceStatistics statistics)
+    {
+        comparisonRule.fillStatistics(statistics, leftNoPair, rightNoPair);
+        statistics.setMismatched(mismatched);
+        statistics.setTotalRows(totalRows);
+    }
+
+    List<List<EntryComparisonResult>> getMismatches()
+    {
+        return mismatches;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Lists;
+import com.google.common.math.IntMath;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+/**
+ * Dedicated worker pools used to retrieve and compare data sets. The data sets are retrieved by the threads of the
+ * separate pool, so the blocking JDBC calls never occupy the workers of the comparison pool. The comparison work is
+ * split into the shards of consecutive keys, the shards are processed in parallel and their results are returned in
+ * the order of the shards, so the outcome is the same as for the sequential processing.
+ */
+public class DataSetComparisonExecutor
+{
+    private static final int SHARDS_PER_THREAD = 4;
+    private static final int MIN_SHARD_SIZE = 1_000;
+
+    private final ForkJoinPool pool;
+    private final ExecutorService fetchExecutor = Executors.newCachedThreadPool(
+            new BasicThreadFactory.Builder().namingPattern("db-fetch-%d").daemon(true).build());
+
+    public DataSetComparisonExecutor(Integer threads)
+    {
+        int parallelism = threads != null ? threads : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("db-comparison-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    <T> CompletableFuture<T> fetchAsync(Supplier<T> supplier)
+    {
+        return CompletableFuture.supplyAsync(supplier, fetchExecutor);
+    }
+
+    <T, R> List<R> processInShards(List<T> items, Function<List<T>, R> shardProcessor)
+    {
+        int shardSize = Math.max(MIN_SHARD_SIZE,
+                IntMath.divide(items.size(), pool.getParallelism() * SHARDS_PER_THREAD, RoundingMode.CEILING));
+        List<List<T>> shards = Lists.partition(items, shardSize);
+        if (shards.size() <= 1)
+        {
+            return shards.stream().map(shardProcessor).collect(Collectors.toList());
+        }
+        return pool.submit(() -> shards.parallelStream().map(shardProcessor).collect(Collectors.toList())).join();
+    }
+
+    public void shutdown()
+    {
+        fetchExecutor.shutdownNow();
+        pool.shutdownNow();
+    }
+}
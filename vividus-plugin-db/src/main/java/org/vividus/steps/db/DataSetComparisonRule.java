@@ -16,14 +16,11 @@
 
 package org.vividus.steps.db;
 
-import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
 import com.google.common.collect.ListMultimap;
 
-import org.apache.commons.lang3.tuple.Pair;
-
 public enum DataSetComparisonRule
 {
     IS_EQUAL_TO("Query results are equal")
@@ -36,11 +33,10 @@ public enum DataSetComparisonRule
         }
 
         @Override
-        public void fillStatistics(DataSourceStatistics statistics,
-                List<Pair<Map<String, Object>, Map<String, Object>>> comparison)
+        public void fillStatistics(DataSourceStatistics statistics, long leftNoPair, long rightNoPair)
         {
-            statistics.getLeft().setNoPair(comparison.stream().map(Pair::getRight).filter(Map::isEmpty).count());
-            statistics.getRight().setNoPair(comparison.stream().map(Pair::getLeft).filter(Map::isEmpty).count());
+            statistics.getLeft().setNoPair(leftNoPair);
+            statistics.getRight().setNoPair(rightNoPair);
         }
     },
     CONTAINS("The left data set contains all rows from the right data set")
@@ -53,10 +49,9 @@ public enum DataSetComparisonRule
         }
 
         @Override
-        public void fillStatistics(DataSourceStatistics statistics,
-                List<Pair<Map<String, Object>, Map<String, Object>>> comparison)
+        public void fillStatistics(DataSourceStatistics statistics, long leftNoPair, long rightNoPair)
         {
-            statistics.getRight().setNoPair(comparison.stream().map(Pair::getLeft).filter(Map::isEmpty).count());
+            statistics.getRight().setNoPair(rightNoPair);
         }
     };
 
@@ -75,6 +70,5 @@ public enum DataSetComparisonRule
     abstract Stream<Object> collectComparisonKeys(ListMultimap<Object, Map<String, Object>> leftData,
             ListMultimap<Object, Map<String, Object>> rightData);
 
-    abstract void fillStatistics(DataSourceStatistics statistics,
-            List<Pair<Map<String, Object>, Map<String, Object>>> comparison);
+    abstract void fillStatistics(DataSourceStatistics statistics, long leftNoPair, long rightNoPair);
 }
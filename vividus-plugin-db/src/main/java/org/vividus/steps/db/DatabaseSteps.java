@@ -16,15 +16,15 @@
 
 package org.vividus.steps.db;
 
-import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -36,16 +36,15 @@ import java.util.stream.Stream;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimaps;
-import com.google.common.hash.HashCode;
 import com.google.common.hash.HashFunction;
 
 import org.apache.commons.lang3.Validate;
-import org.apache.commons.lang3.tuple.Pair;
 import org.jbehave.core.annotations.Then;
 import org.jbehave.core.annotations.When;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.vividus.context.VariableContext;
 import org.vividus.db.DataSourceManager;
@@ -69,6 +68,10 @@ public class DatabaseSteps
     private Duration dbQueryTimeout;
     private DuplicateKeysStrategy duplicateKeysStrategy;
     private int diffLimit;
+    private int fetchSize;
+    private int maxRowsInMemory;
+    private int spillPartitionsCount;
+    private DataSetComparisonExecutor comparisonExecutor;
 
     public DatabaseSteps(DataSourceManager dataSourceManager, VariableContext variableContext,
                          IAttachmentPublisher attachmentPublisher, ISoftAssert softAssert)
@@ -224,6 +227,12 @@ public class DatabaseSteps
      *   <li><code>NOOP</code> (by default)</li>
      *   <li><code>DISTINCT</code></li>
      * </ul>
+     * <p>
+     *   The query results are streamed from DB using the cursor with the fetch size configured via the property:
+     *   <code>db.fetch-size</code>. Once the number of rows in a data set exceeds the value of the property
+     *   <code>db.max-rows-in-memory</code>, the rows of both data sets are partitioned by keys into
+     *   <code>db.spill-partitions-count</code> temporary files and compared partition by partition.
+     * </p>
      *
      * @param leftSqlQuery   baseline SQL query
      * @param leftDbKey      key identifying the database connection for the left data set
@@ -249,18 +258,125 @@ public class DatabaseSteps
         left.setQuery(leftSqlQuery);
         QueryStatistic right = dataSourceStatistics.getRight();
         right.setQuery(rightSqlQuery);
-        CompletableFuture<ListMultimap<Object, Map<String, Object>>> leftData =
-                createCompletableRequest(leftJdbcTemplate, leftSqlQuery, keys, left);
-        CompletableFuture<ListMultimap<Object, Map<String, Object>>> rightData =
-                createCompletableRequest(rightJdbcTemplate, rightSqlQuery, keys, right);
+        CompletableFuture<SpillableDataSet> leftData = createCompletableRequest(leftJdbcTemplate, leftSqlQuery, keys,
+                left);
+        CompletableFuture<SpillableDataSet> rightData = createCompletableRequest(rightJdbcTemplate, rightSqlQuery,
+                keys, right);
 
-        List<List<EntryComparisonResult>> result = leftData.thenCombine(rightData,
-                (leftResult, rightResult) -> compareData(comparisonRule, dataSourceStatistics, leftResult, rightResult))
-                .get(dbQueryTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        CompletableFuture<List<List<EntryComparisonResult>>> comparison = leftData.thenCombine(rightData,
+                (leftResult, rightResult) -> compareData(comparisonRule, dataSourceStatistics, leftResult,
+                        rightResult));
+        // If the comparison is not performed due to the failure of any query, the other data set is closed as soon
+        // as it's built, so its spill files are deleted
+        comparison.whenComplete((comparisonResult, exception) -> {
+            if (exception != null)
+            {
+                leftData.thenAccept(SpillableDataSet::close);
+                rightData.thenAccept(SpillableDataSet::close);
+            }
+        });
+        List<List<EntryComparisonResult>> result = comparison.get(dbQueryTimeout.toMillis(), TimeUnit.MILLISECONDS);
 
         verifyComparisonResult(comparisonRule, dataSourceStatistics, result);
     }
 
+    /**
+     * Actions performed in the step:
+     * <ul>
+     *   <li>executes provided SQL queries against databases by the provided keys</li>
+     *   <li>walks both query results in lockstep and compares the rows with the same keys</li>
+     * </ul>
+     * <p>
+     *   Both queries must return the rows sorted in the ascending order by the specified key columns (e.g. using
+     *   <code>ORDER BY</code> clause with the same columns in the same order), <code>NULL</code> values are expected
+     *   to be the last ones. Numbers are compared by their values, other values are compared using their natural
+     *   order, so the DB collation for the string keys must match the binary order of the strings. Only the rows with
+     *   the current keys are kept in memory. The comparison stops as soon as the number of mismatched rows reaches the
+     *   value of the property <code>db.diff-limit</code>, in this case the data sources statistics cover only the
+     *   processed rows.
+     * </p>
+     * <p>
+     *   The properties <code>db.query-timeout</code>, <code>db.fetch-size</code> and
+     *   <code>db.duplicate-keys-strategy</code> are applied in the same way as for the comparison of unsorted data.
+     * </p>
+     *
+     * @param leftSqlQuery   baseline SQL query sorted by the keys
+     * @param leftDbKey      key identifying the database connection for the left data set
+     * @param comparisonRule The data set comparison rule: "is equal to" or "contains"
+     * @param rightSqlQuery  checkpoint SQL query sorted by the keys
+     * @param rightDbKey     key identifying the database connection for the right data set
+     * @param keys           comma-separated list of column's names the query results are sorted by
+     * @throws InterruptedException in case of thread interruption
+     * @throws ExecutionException   in case of any exception during DB query
+     * @throws TimeoutException     in case when timeout to execute DB query expires
+     */
+    @Then("data from `$leftSqlQuery` executed against `$leftDbKey` $comparisonRule data from `$rightSqlQuery` executed"
+            + " against `$rightDbKey` matching rows sorted by keys:$keys")
+    public void compareSortedData(String leftSqlQuery, String leftDbKey, DataSetComparisonRule comparisonRule,
+            String rightSqlQuery, String rightDbKey, List<String> keys)
+            throws InterruptedException, ExecutionException, TimeoutException
+    {
+        Validate.isTrue(!keys.isEmpty(), "At least one key column must be specified to compare sorted data");
+        JdbcTemplate leftJdbcTemplate = dataSourceManager.getJdbcTemplate(leftDbKey);
+        JdbcTemplate rightJdbcTemplate = dataSourceManager.getJdbcTemplate(rightDbKey);
+        DataSourceStatistics dataSourceStatistics = new DataSourceStatistics(leftJdbcTemplate, rightJdbcTemplate);
+        QueryStatistic left = dataSourceStatistics.getLeft();
+        left.setQuery(leftSqlQuery);
+        QueryStatistic right = dataSourceStatistics.getRight();
+        right.setQuery(rightSqlQuery);
+
+        List<List<EntryComparisonResult>> result = comparisonExecutor.fetchAsync(() -> {
+            left.start();
+            right.start();
+            try (Stream<Map<String, Object>> leftRows = queryForStream(leftJdbcTemplate, leftSqlQuery);
+                    Stream<Map<String, Object>> rightRows = queryForStream(rightJdbcTemplate, rightSqlQuery))
+            {
+                SortedRowGroups leftGroups = new SortedRowGroups(leftRows.iterator(), keys, "left");
+                SortedRowGroups rightGroups = new SortedRowGroups(rightRows.iterator(), keys, "right");
+                DataSetComparisonAccumulator accumulator = mergeSortedData(comparisonRule, leftGroups, rightGroups);
+                left.end();
+                right.end();
+                left.setRowsQuantity(leftGroups.getRowsCount());
+                right.setRowsQuantity(rightGroups.getRowsCount());
+                accumulator.fillStatistics(comparisonRule, dataSourceStatistics);
+                return accumulator.getMismatches();
+            }
+        }).get(dbQueryTimeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        verifyComparisonResult(comparisonRule, dataSourceStatistics, result);
+    }
+
+    private DataSetComparisonAccumulator mergeSortedData(DataSetComparisonRule comparisonRule,
+            SortedRowGroups leftGroups, SortedRowGroups rightGroups)
+    {
+        DataSetComparisonAccumulator accumulator = new DataSetComparisonAccumulator(diffLimit);
+        while ((leftGroups.hasNext() || rightGroups.hasNext()) && !accumulator.isDiffLimitReached())
+        {
+            int order;
+            if (!leftGroups.hasNext())
+            {
+                order = 1;
+            }
+            else if (!rightGroups.hasNext())
+            {
+                order = -1;
+            }
+            else
+            {
+                order = SortedRowGroups.KEY_COMPARATOR.compare(leftGroups.peekKey(), rightGroups.peekKey());
+            }
+            List<Map<String, Object>> leftGroup = order <= 0 ? leftGroups.nextGroup() : List.of();
+            List<Map<String, Object>> rightGroup = order >= 0 ? rightGroups.nextGroup() : List.of();
+            // The same keys are compared as for the unsorted data: all keys for "is equal to" and the keys of the
+            // right data only for "contains"
+            if (!rightGroup.isEmpty() || comparisonRule == DataSetComparisonRule.IS_EQUAL_TO)
+            {
+                compareGroups(comparisonRule, leftGroup, rightGroup, accumulator);
+            }
+        }
+        return accumulator;
+    }
+
     /**
      * The step waits until the <code>leftSqlQuery</code> returns the data which matches to the right examples table
      * rows according the specified comparison rule
@@ -359,33 +475,72 @@ public class DatabaseSteps
     }
 
     private List<List<EntryComparisonResult>> compareData(DataSetComparisonRule comparisonRule,
-            DataSourceStatistics dataSourceStatistics, ListMultimap<Object, Map<String, Object>> leftData,
-            ListMultimap<Object, Map<String, Object>> rightData)
+            DataSourceStatistics dataSourceStatistics, SpillableDataSet leftData, SpillableDataSet rightData)
     {
-        List<Pair<Map<String, Object>, Map<String, Object>>> comparison = new ArrayList<>();
-        comparisonRule.collectComparisonKeys(leftData, rightData).forEach(key ->
+        try (leftData; rightData)
         {
-            List<Map<String, Object>> left = leftData.get(key);
-            List<Map<String, Object>> right = rightData.get(key);
-            int leftSize = left.size();
-            int rightSize = right.size();
-            int size = duplicateKeysStrategy.getTargetSize(comparisonRule, leftSize, rightSize);
-            for (int i = 0; i < size; i++)
+            DataSetComparisonAccumulator accumulator = new DataSetComparisonAccumulator(diffLimit);
+            if (leftData.isSpilled() || rightData.isSpilled())
             {
-                Map<String, Object> leftValue = i < leftSize ? left.get(i) : Map.of();
-                Map<String, Object> rightValue = i < rightSize ? right.get(i) : Map.of();
-                comparison.add(Pair.of(leftValue, rightValue));
+                leftData.spill();
+                rightData.spill();
+                for (int partition = 0; partition < leftData.getPartitionsCount(); partition++)
+                {
+                    compareData(comparisonRule, leftData.readPartition(partition),
+                            rightData.readPartition(partition), accumulator);
+                }
             }
-        });
-        comparisonRule.fillStatistics(dataSourceStatistics, comparison);
-        List<List<EntryComparisonResult>> comparisonResult = comparison.stream()
-                .parallel()
-                .map(p -> ComparisonUtils.compareMaps(p.getLeft(), p.getRight()))
-                .collect(Collectors.toList());
-        List<List<EntryComparisonResult>> mismatchedRows = filterPassedChecks(comparisonResult);
-        dataSourceStatistics.setMismatched(mismatchedRows.size());
-        dataSourceStatistics.setTotalRows(comparisonResult.size());
-        return mismatchedRows.size() > diffLimit ? mismatchedRows.subList(0, diffLimit) : mismatchedRows;
+            else
+            {
+                compareData(comparisonRule, leftData.getInMemoryData(), rightData.getInMemoryData(), accumulator);
+            }
+            accumulator.fillStatistics(comparisonRule, dataSourceStatistics);
+            return accumulator.getMismatches();
+        }
+    }
+
+    private List<List<EntryComparisonResult>> compareData(DataSetComparisonRule comparisonRule,
+            DataSourceStatistics dataSourceStatistics, ListMultimap<Object, Map<String, Object>> leftData,
+            ListMultimap<Object, Map<String, Object>> rightData)
+    {
+        DataSetComparisonAccumulator accumulator = new DataSetComparisonAccumulator(diffLimit);
+        compareData(comparisonRule, leftData, rightData, accumulator);
+        accumulator.fillStatistics(comparisonRule, dataSourceStatistics);
+        return accumulator.getMismatches();
+    }
+
+    private void compareData(DataSetComparisonRule comparisonRule, ListMultimap<Object, Map<String, Object>> leftData,
+            ListMultimap<Object, Map<String, Object>> rightData, DataSetComparisonAccumulator accumulator)
+    {
+        List<Object> keys = comparisonRule.collectComparisonKeys(leftData, rightData).collect(Collectors.toList());
+        comparisonExecutor.processInShards(keys, shard -> compareShard(comparisonRule, leftData, rightData, shard))
+                .forEach(accumulator::merge);
+    }
+
+    private DataSetComparisonAccumulator compareShard(DataSetComparisonRule comparisonRule,
+            ListMultimap<Object, Map<String, Object>> leftData, ListMultimap<Object, Map<String, Object>> rightData,
+            List<Object> keys)
+    {
+        DataSetComparisonAccumulator accumulator = new DataSetComparisonAccumulator(diffLimit);
+        for (Object key : keys)
+        {
+            compareGroups(comparisonRule, leftData.get(key), rightData.get(key), accumulator);
+        }
+        return accumulator;
+    }
+
+    private void compareGroups(DataSetComparisonRule comparisonRule, List<Map<String, Object>> left,
+            List<Map<String, Object>> right, DataSetComparisonAccumulator accumulator)
+    {
+        int leftSize = left.size();
+        int rightSize = right.size();
+        int size = duplicateKeysStrategy.getTargetSize(comparisonRule, leftSize, rightSize);
+        for (int i = 0; i < size; i++)
+        {
+            Map<String, Object> leftValue = i < leftSize ? left.get(i) : Map.of();
+            Map<String, Object> rightValue = i < rightSize ? right.get(i) : Map.of();
+            accumulator.accept(leftValue, rightValue, ComparisonUtils.compareMaps(leftValue, rightValue));
+        }
     }
 
     private List<List<EntryComparisonResult>> filterPassedChecks(List<List<EntryComparisonResult>> comparisonResult)
@@ -395,17 +550,40 @@ public class DatabaseSteps
                         .collect(Collectors.toList());
     }
 
-    private CompletableFuture<ListMultimap<Object, Map<String, Object>>> createCompletableRequest(
-            JdbcTemplate jdbcTemplate, String sqlRequest, Set<String> keys, QueryStatistic statistics)
+    private CompletableFuture<SpillableDataSet> createCompletableRequest(JdbcTemplate jdbcTemplate, String sqlRequest,
+            Set<String> keys, QueryStatistic statistics)
     {
-        return CompletableFuture.supplyAsync(() -> {
+        return comparisonExecutor.fetchAsync(() -> {
+            SpillableDataSet dataSet = new SpillableDataSet(maxRowsInMemory, spillPartitionsCount);
+            RowKeyHasher rowKeyHasher = new RowKeyHasher(hashFunction, keys);
             statistics.start();
-            List<Map<String, Object>> result = jdbcTemplate.queryForList(sqlRequest);
+            try (Stream<Map<String, Object>> rows = queryForStream(jdbcTemplate, sqlRequest))
+            {
+                rows.forEach(row -> dataSet.add(rowKeyHasher.hash(row), row));
+            }
+            catch (RuntimeException e)
+            {
+                dataSet.close();
+                throw e;
+            }
             statistics.end();
-            statistics.setRowsQuantity(result.size());
-            return result;
-        })
-                .thenApplyAsync(r -> hashMap(keys, r));
+            statistics.setRowsQuantity(dataSet.size());
+            return dataSet;
+        });
+    }
+
+    private Stream<Map<String, Object>> queryForStream(JdbcTemplate jdbcTemplate, String sqlRequest)
+    {
+        return jdbcTemplate.queryForStream(connection -> prepareStreamingStatement(connection, sqlRequest),
+                new ColumnMapRowMapper());
+    }
+
+    private PreparedStatement prepareStreamingStatement(Connection connection, String sqlRequest) throws SQLException
+    {
+        PreparedStatement statement = connection.prepareStatement(sqlRequest, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(fetchSize);
+        return statement;
     }
 
     private Map<String, Object> convertValuesToString(Map<String, Object> map)
@@ -423,18 +601,8 @@ public class DatabaseSteps
 
     private ListMultimap<Object, Map<String, Object>> hashMap(Set<String> keys, Stream<Map<String, Object>> data)
     {
-        return data.collect(Multimaps.toMultimap(row -> hash(keys, row), row -> row, ArrayListMultimap::create));
-    }
-
-    private HashCode hash(Set<String> keys, Map<String, Object> map)
-    {
-        return hashFunction.hashString((keys.isEmpty() ? map.keySet() : keys)
-                           .stream()
-                           .map(map::get)
-                           .filter(Objects::nonNull)
-                           .map(Object::toString)
-                           .sorted()
-                           .collect(Collectors.joining()), StandardCharsets.UTF_8);
+        RowKeyHasher rowKeyHasher = new RowKeyHasher(hashFunction, keys);
+        return data.collect(Multimaps.toMultimap(rowKeyHasher::hash, row -> row, ArrayListMultimap::create));
     }
 
     private void logSqlQuery(String sqlQuery)
@@ -461,4 +629,24 @@ public class DatabaseSteps
     {
         this.diffLimit = diffLimit;
     }
+
+    public void setFetchSize(int fetchSize)
+    {
+        this.fetchSize = fetchSize;
+    }
+
+    public void setMaxRowsInMemory(int maxRowsInMemory)
+    {
+        this.maxRowsInMemory = maxRowsInMemory;
+    }
+
+    public void setSpillPartitionsCount(int spillPartitionsCount)
+    {
+        this.spillPartitionsCount = spillPartitionsCount;
+    }
+
+    public void setComparisonExecutor(DataSetComparisonExecutor comparisonExecutor)
+    {
+        this.comparisonExecutor = comparisonExecutor;
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+
+/**
+ * Calculates hashes of the row keys. The hash is calculated for the concatenation of the sorted string
+ * representations of the non-null values of the key columns or of all columns if no key columns are specified.
+ * The values are fed into {@link Hasher} one by one, so the concatenated string is not built, while the produced hash
+ * is the same as the hash of the concatenated string.
+ */
+final class RowKeyHasher
+{
+    private final HashFunction hashFunction;
+    private final Set<String> keys;
+
+    RowKeyHasher(HashFunction hashFunction, Set<String> keys)
+    {
+        this.hashFunction = hashFunction;
+        this.keys = keys;
+    }
+
+    HashCode hash(Map<String, Object> row)
+    {
+        Collection<String> columns = keys.isEmpty() ? row.keySet() : keys;
+        String[] values = new String[columns.size()];
+        int valuesCount = 0;
+        for (String column : columns)
+        {
+            Object value = row.get(column);
+            if (value != null)
+            {
+                values[valuesCount] = value.toString();
+                valuesCount++;
+            }
+        }
+        Arrays.sort(values, 0, valuesCount);
+        Hasher hasher = hashFunction.newHasher();
+        for (int i = 0; i < valuesCount; i++)
+        {
+            hasher.putString(values[i], StandardCharsets.UTF_8);
+        }
+        return hasher.hash();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits the rows sorted by the key columns into the groups of consecutive rows having the same key. Only the
+ * current group and the first row of the next group are kept in memory.
+ */
+final class SortedRowGroups
+{
+    static final Comparator<List<Object>> KEY_COMPARATOR = (left, right) ->
+    {
+        for (int i = 0; i < left.size(); i++)
+        {
+            int result = compareValues(left.get(i), right.get(i));
+            if (result != 0)
+            {
+                return result;
+            }
+        }
+        return 0;
+    };
+
+    private final Iterator<Map<String, Object>> rows;
+    private final List<String> keys;
+    private final String description;
+    private Map<String, Object> nextRow;
+    private List<Object> nextKey;
+    private long rowsCount;
+
+    SortedRowGroups(Iterator<Map<String, Object>> rows, List<String> keys, String description)
+    {
+        this.rows = rows;
+        this.keys = keys;
+        this.description = description;
+        advance();
+    }
+
+    boolean hasNext()
+    {
+        return nextRow != null;
+    }
+
+    List<Object> peekKey()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException();
+        }
+        return nextKey;
+    }
+
+    List<Map<String, Object>> nextGroup()
+    {
+        List<Object> key = peekKey();
+        List<Map<String, Object>> group = new ArrayList<>();
+        while (nextRow != null && KEY_COMPARATOR.compare(key, nextKey) == 0)
+        {
+            group.add(nextRow);
+            advance();
+        }
+        if (nextRow != null && KEY_COMPARATOR.compare(key, nextKey) > 0)
+        {
+            throw new IllegalStateException(String.format(
+                    "The %s data set is not sorted by the keys %s: the row with the key %s follows the row with the key"
+                            + " %s", description, keys, nextKey, key));
+        }
+        return group;
+    }
+
+    long getRowsCount()
+    {
+        return rowsCount;
+    }
+
+    private void advance()
+    {
+        if (rows.hasNext())
+        {
+            nextRow = rows.next();
+            nextKey = new ArrayList<>(keys.size());
+            keys.forEach(k -> nextKey.add(nextRow.get(k)));
+            rowsCount++;
+        }
+        else
+        {
+            nextRow = null;
+            nextKey = null;
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compareValues(Object left, Object right)
+    {
+        // NULL values are sorted last like the most of DBs do for the ascending order
+        if (left == null)
+        {
+            return right == null ? 0 : 1;
+        }
+        if (right == null)
+        {
+            return -1;
+        }
+        if (left instanceof Number && right instanceof Number)
+        {
+            return compareNumbers((Number) left, (Number) right);
+        }
+        if (left instanceof Comparable && left.getClass() == right.getClass())
+        {
+            return ((Comparable) left).compareTo(right);
+        }
+        return left.toString().compareTo(right.toString());
+    }
+
+    private static int compareNumbers(Number left, Number right)
+    {
+        // Floating-point values may be NaN or infinite, which have no decimal representation
+        if (isFloatingPoint(left) || isFloatingPoint(right))
+        {
+            return Double.compare(left.doubleValue(), right.doubleValue());
+        }
+        return toBigDecimal(left).compareTo(toBigDecimal(right));
+    }
+
+    private static boolean isFloatingPoint(Number number)
+    {
+        return number instanceof Double || number instanceof Float;
+    }
+
+    private static BigDecimal toBigDecimal(Number number)
+    {
+        if (number instanceof BigDecimal)
+        {
+            return (BigDecimal) number;
+        }
+        if (number instanceof BigInteger)
+        {
+            return new BigDecimal((BigInteger) number);
+        }
+        if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte)
+        {
+            return BigDecimal.valueOf(number.longValue());
+        }
+        return new BigDecimal(number.toString());
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+/**
+ * Data set indexed by row key hashes which keeps rows in memory until the configured number of rows is reached and
+ * then spills all rows into hash-partitioned files on disk. Rows with the same key always end up in the same
+ * partition, so two data sets with the same number of partitions can be compared partition by partition. The values
+ * which are not serializable are converted to strings on adding regardless of whether the data set is spilled, so the
+ * same data is compared in the same way in memory and on disk.
+ */
+final class SpillableDataSet implements AutoCloseable
+{
+    private static final int ROWS_PER_STREAM_RESET = 1000;
+
+    private final int maxRowsInMemory;
+    private final int partitionsCount;
+    private ListMultimap<Object, Map<String, Object>> inMemoryData = ArrayListMultimap.create();
+    private Path spillDirectory;
+    private ObjectOutputStream[] partitionWriters;
+    private long[] partitionSizes;
+    private long size;
+    private boolean closed;
+
+    SpillableDataSet(int maxRowsInMemory, int partitionsCount)
+    {
+        this.maxRowsInMemory = maxRowsInMemory;
+        this.partitionsCount = partitionsCount;
+    }
+
+    void add(HashCode key, Map<String, Object> row)
+    {
+        Map<String, Object> serializableRow = toSerializableRow(row);
+        size++;
+        if (isSpilled())
+        {
+            write(key, serializableRow);
+            return;
+        }
+        inMemoryData.put(key, serializableRow);
+        if (inMemoryData.size() > maxRowsInMemory)
+        {
+            spill();
+        }
+    }
+
+    /**
+     * Moves all rows kept in memory to the partition files, all the rows added afterwards are written directly to
+     * the partition files.
+     */
+    void spill()
+    {
+        if (isSpilled())
+        {
+            return;
+        }
+        try
+        {
+            spillDirectory = Files.createTempDirectory("vividus-db-comparison-");
+            partitionWriters = new ObjectOutputStream[partitionsCount];
+            partitionSizes = new long[partitionsCount];
+            for (int i = 0; i < partitionsCount; i++)
+            {
+                partitionWriters[i] = new ObjectOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(getPartitionPath(i))));
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        inMemoryData.entries().forEach(e -> write((HashCode) e.getKey(), e.getValue()));
+        inMemoryData = null;
+    }
+
+    boolean isSpilled()
+    {
+        return spillDirectory != null;
+    }
+
+    long size()
+    {
+        return size;
+    }
+
+    int getPartitionsCount()
+    {
+        return partitionsCount;
+    }
+
+    ListMultimap<Object, Map<String, Object>> getInMemoryData()
+    {
+        return inMemoryData;
+    }
+
+    /**
+     * Reads all rows of the partition with the specified index into memory
+     * @param index index of the partition
+     * @return rows of the partition indexed by row key hashes
+     */
+    @SuppressWarnings("unchecked")
+    ListMultimap<Object, Map<String, Object>> readPartition(int index)
+    {
+        ListMultimap<Object, Map<String, Object>> partition = ArrayListMultimap.create();
+        try
+        {
+            partitionWriters[index].flush();
+            try (ObjectInputStream input = new ObjectInputStream(
+                    new BufferedInputStream(Files.newInputStream(getPartitionPath(index)))))
+            {
+                for (long i = 0; i < partitionSizes[index]; i++)
+                {
+                    HashCode key = HashCode.fromBytes((byte[]) input.readObject());
+                    Map<String, Object> row = new LinkedCaseInsensitiveMap<>();
+                    row.putAll((Map<String, Object>) input.readObject());
+                    partition.put(key, row);
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        catch (ClassNotFoundException e)
+        {
+            throw new IllegalStateException(e);
+        }
+        return partition;
+    }
+
+    private static Map<String, Object> toSerializableRow(Map<String, Object> row)
+    {
+        if (row instanceof Serializable && row.values().stream().allMatch(SpillableDataSet::isSerializable))
+        {
+            return row;
+        }
+        Map<String, Object> serializableRow = new LinkedCaseInsensitiveMap<>(row.size());
+        row.forEach((column, value) -> serializableRow.put(column, isSerializable(value) ? value : value.toString()));
+        return serializableRow;
+    }
+
+    private static boolean isSerializable(Object value)
+    {
+        return value == null || value instanceof Serializable;
+    }
+
+    private void write(HashCode key, Map<String, Object> row)
+    {
+        int index = Hashing.consistentHash(key, partitionsCount);
+        ObjectOutputStream writer = partitionWriters[index];
+        try
+        {
+            writer.writeObject(key.asBytes());
+            writer.writeObject(row);
+            partitionSizes[index]++;
+            // Stream handles are not needed between rows, periodic resetting prevents them from piling up in memory,
+            // while the class descriptors are re-serialized only once per reset
+            if (partitionSizes[index] % ROWS_PER_STREAM_RESET == 0)
+            {
+                writer.reset();
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path getPartitionPath(int index)
+    {
+        return spillDirectory.resolve("partition-" + index);
+    }
+
+    @Override
+    public void close()
+    {
+        if (!isSpilled() || closed)
+        {
+            return;
+        }
+        closed = true;
+        try
+        {
+            for (ObjectOutputStream writer : partitionWriters)
+            {
+                writer.close();
+            }
+            try (Stream<Path> paths = Files.walk(spillDirectory))
+            {
+                for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator)
+                {
+                    Files.delete(path);
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
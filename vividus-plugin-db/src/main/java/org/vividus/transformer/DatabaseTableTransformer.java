@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,15 @@
 
 package org.vividus.transformer;
 
-import static java.util.stream.Collectors.toList;
+import static org.apache.commons.lang3.Validate.isTrue;
 
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import javax.inject.Named;
@@ -29,7 +32,12 @@ import javax.inject.Named;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.model.TableParsers;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.util.LinkedCaseInsensitiveMap;
 import org.vividus.db.DataSourceManager;
+import org.vividus.model.ColumnarTable;
 import org.vividus.util.ExamplesTableProcessor;
 
 @Named("FROM_DB")
@@ -42,6 +50,12 @@ public class DatabaseTableTransformer implements ExtendedTableTransformer
         this.dataSourceManager = dataSourceManager;
     }
 
+    @Override
+    public boolean isFingerprintable()
+    {
+        return false;
+    }
+
     @Override
     public String transform(String tableAsString, TableParsers tableParsers, TableProperties properties)
     {
@@ -49,26 +63,64 @@ public class DatabaseTableTransformer implements ExtendedTableTransformer
         String dbKey = properties.getMandatoryNonBlankProperty("dbKey", String.class);
         String sqlQuery = properties.getMandatoryNonBlankProperty("sqlQuery", String.class);
         String nullReplacement = properties.getProperties().getProperty("nullReplacement");
+        List<String> selectedColumns = getSelectedColumns(properties);
+        int maxRows = getMaxRows(properties);
+        Optional<Integer> fetchSize = Optional.ofNullable(properties.getProperties().getProperty("fetchSize"))
+                .map(String::trim)
+                .map(Integer::valueOf);
 
-        List<Map<String, Object>> result = dataSourceManager.getJdbcTemplate(dbKey).queryForList(sqlQuery);
-        if (result.isEmpty())
+        PreparedStatementSetter statementSetter = statement ->
+        {
+            if (maxRows != Integer.MAX_VALUE)
+            {
+                statement.setMaxRows(maxRows);
+            }
+            if (fetchSize.isPresent())
+            {
+                statement.setFetchSize(fetchSize.get());
+            }
+        };
+        ResultSetExtractor<ColumnarTable> resultSetExtractor = resultSet -> extractTable(resultSet, selectedColumns,
+                maxRows, nullReplacement);
+        ColumnarTable table = dataSourceManager.getJdbcTemplate(dbKey).query(sqlQuery, statementSetter,
+                resultSetExtractor);
+        if (table.getRowCount() == 0)
         {
             throw new EmptyResultDataAccessException("Result was expected to have at least one row", 1);
         }
-        return ExamplesTableProcessor.buildExamplesTable(
-                result.get(0).keySet(),
-                result.stream()
-                        .map(map -> map
-                                .entrySet()
-                                .stream()
-                                .collect(LinkedHashMap<String, String>::new,
-                                        (m, v) -> m.put(
-                                                v.getKey(),
-                                                Optional.ofNullable(v.getValue()).map(Object::toString)
-                                                        .orElse(nullReplacement)),
-                                        LinkedHashMap::putAll
-                                ).values()
-                        ).map(ArrayList::new).collect(toList()),
-                properties, true);
+        return ExamplesTableProcessor.buildExamplesTable(table, properties, true);
+    }
+
+    private static ColumnarTable extractTable(ResultSet resultSet, List<String> selectedColumns, int maxRows,
+            String nullReplacement) throws SQLException
+    {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        // Column names are case-insensitive, the last column wins in case of duplicates like in the column map rows
+        Map<String, Integer> columnIndexes = new LinkedCaseInsensitiveMap<>(metaData.getColumnCount());
+        for (int columnIndex = 1; columnIndex <= metaData.getColumnCount(); columnIndex++)
+        {
+            columnIndexes.put(JdbcUtils.lookupColumnName(metaData, columnIndex), columnIndex);
+        }
+        List<String> headers = selectedColumns.isEmpty() ? new ArrayList<>(columnIndexes.keySet()) : selectedColumns;
+        int[] indexes = new int[headers.size()];
+        for (int i = 0; i < indexes.length; i++)
+        {
+            Integer columnIndex = columnIndexes.get(headers.get(i));
+            isTrue(columnIndex != null, "Query result doesn't contain column '%s'", headers.get(i));
+            indexes[i] = columnIndex;
+        }
+
+        ColumnarTable.Builder table = ColumnarTable.builder(headers);
+        while (table.getRowCount() < maxRows && resultSet.next())
+        {
+            List<String> row = new ArrayList<>(indexes.length);
+            for (int columnIndex : indexes)
+            {
+                Object value = JdbcUtils.getResultSetValue(resultSet, columnIndex);
+                row.add(value != null ? value.toString() : Objects.toString(nullReplacement));
+            }
+            table.addRow(row);
+        }
+        return table.build();
     }
 }
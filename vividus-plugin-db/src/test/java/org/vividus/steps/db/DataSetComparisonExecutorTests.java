@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class DataSetComparisonExecutorTests
+{
+    private final DataSetComparisonExecutor executor = new DataSetComparisonExecutor(4);
+
+    @AfterEach
+    void afterEach()
+    {
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldProcessShardsInParallelAndReturnResultsInShardsOrder()
+    {
+        List<Integer> items = IntStream.range(0, 20_000).boxed().collect(Collectors.toList());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<List<Integer>> shards = executor.processInShards(items, shard -> {
+            threads.add(Thread.currentThread().getName());
+            return shard;
+        });
+        assertEquals(16, shards.size());
+        assertEquals(items, shards.stream().flatMap(List::stream).collect(Collectors.toList()));
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("db-comparison-")), threads::toString);
+    }
+
+    @Test
+    void shouldProcessSmallInputInCallerThread()
+    {
+        String callerThread = Thread.currentThread().getName();
+        List<String> threads = executor.processInShards(List.of(1, 2, 3), shard -> Thread.currentThread().getName());
+        assertEquals(List.of(callerThread), threads);
+    }
+
+    @Test
+    void shouldFetchAsyncOutsideComparisonPool() throws InterruptedException, ExecutionException
+    {
+        assertTrue(executor.fetchAsync(() -> Thread.currentThread().getName()).get().startsWith("db-fetch-"));
+    }
+
+    @Test
+    void shouldProcessShardsInComparisonPoolWhenCalledFromFetchThread() throws InterruptedException, ExecutionException
+    {
+        List<Integer> items = IntStream.range(0, 20_000).boxed().collect(Collectors.toList());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        executor.fetchAsync(() -> executor.processInShards(items, shard -> {
+            threads.add(Thread.currentThread().getName());
+            return shard;
+        })).get();
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("db-comparison-")), threads::toString);
+    }
+}
@@ -27,7 +27,6 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
@@ -35,10 +34,13 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.util.Collections;
@@ -53,24 +55,26 @@ import java.util.stream.Stream;
 import com.github.valfirst.slf4jtest.TestLogger;
 import com.github.valfirst.slf4jtest.TestLoggerFactory;
 import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
-import com.google.common.hash.HashCode;
 import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
-import org.mockito.ArgumentMatcher;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.mockito.stubbing.Answer;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.vividus.context.VariableContext;
 import org.vividus.db.DataSourceManager;
@@ -87,6 +91,8 @@ class DatabaseStepsTests
 {
     private static final Duration TWO_SECONDS = Duration.ofSeconds(2);
 
+    private static final int FETCH_SIZE = 50;
+
     private static final String ADMIN = "admin";
 
     private static final String DB_KEY = "dbKey";
@@ -121,12 +127,6 @@ class DatabaseStepsTests
     private static final String QUERY2 = "select col1 from table2";
     private static final Set<String> KEYS = Set.of(COL1);
 
-    private static final HashCode HASH1 = Hashing.murmur3_128().hashString(VAL1, StandardCharsets.UTF_8);
-
-    private static final HashCode HASH2 = Hashing.murmur3_128().hashString(VAL2, StandardCharsets.UTF_8);
-
-    private static final HashCode HASH3 = Hashing.murmur3_128().hashString(VAL3, StandardCharsets.UTF_8);
-
     private static final String LOG_EXECUTING_SQL_QUERY = "Executing SQL query: {}";
 
     private static final TestLogger LOGGER = TestLoggerFactory.getTestLogger(DatabaseSteps.class);
@@ -141,7 +141,10 @@ class DatabaseStepsTests
 
     private final DataSourceManager dataSourceManager = mock(DataSourceManager.class);
 
+    private final DataSetComparisonExecutor comparisonExecutor = new DataSetComparisonExecutor(2);
+
     @Mock private HashFunction hashFunction;
+    @Mock private Hasher hasher;
     @InjectMocks private final DatabaseSteps databaseSteps = new DatabaseSteps(dataSourceManager, variableContext,
             attachmentPublisher, softAssert);
 
@@ -149,6 +152,17 @@ class DatabaseStepsTests
     void beforeEach()
     {
         databaseSteps.setDiffLimit(3);
+        databaseSteps.setFetchSize(FETCH_SIZE);
+        databaseSteps.setMaxRowsInMemory(100);
+        databaseSteps.setSpillPartitionsCount(4);
+        lenient().when(hashFunction.newHasher()).thenReturn(hasher);
+        databaseSteps.setComparisonExecutor(comparisonExecutor);
+    }
+
+    @AfterEach
+    void afterEach()
+    {
+        comparisonExecutor.shutdown();
     }
 
     @Test
@@ -185,15 +199,15 @@ class DatabaseStepsTests
             List<Map<String, Object>> leftResult, List<Map<String, Object>> rightResult)
             throws InterruptedException, ExecutionException, TimeoutException
     {
-        mockQueryForList(QUERY, DB_KEY, leftResult);
-        mockQueryForList(QUERY, DB_KEY2, rightResult);
+        mockQueryForStream(QUERY, DB_KEY, leftResult);
+        mockQueryForStream(QUERY, DB_KEY2, rightResult);
         when(softAssert.assertTrue(comparisonRule.getAssertionDescription(), true)).thenReturn(true);
         configureTimeout();
         databaseSteps.setDuplicateKeysStrategy(DuplicateKeysStrategy.NOOP);
         databaseSteps.compareData(QUERY, DB_KEY, comparisonRule, QUERY, DB_KEY2, KEYS);
         verify(attachmentPublisher).publishAttachment(eq(DATA_SOURCES_STATISTICS_FTL), any(Map.class),
                 eq(DATA_SOURCES_STATISTICS_TITLE));
-        verify(hashFunction, times(2)).hashString(any(), eq(StandardCharsets.UTF_8));
+        verify(hashFunction, times(2)).newHasher();
     }
 
     @Test
@@ -210,21 +224,19 @@ class DatabaseStepsTests
         secondResult.put(COL2, null);
         secondResult.put(COL3, VAL3);
 
-        mockQueryForList(QUERY, DB_KEY, List.of(firstResult));
-        mockQueryForList(QUERY, DB_KEY2, List.of(secondResult));
+        mockQueryForStream(QUERY, DB_KEY, List.of(firstResult));
+        mockQueryForStream(QUERY, DB_KEY2, List.of(secondResult));
         when(softAssert.assertTrue(QUERY_RESULTS_ARE_EQUAL, true)).thenReturn(true);
-        ArgumentMatcher<CharSequence> matcher = s ->
-        {
-            String toHash = s.toString();
-            return toHash.contains(VAL1) && toHash.contains(VAL3) && !toHash.contains(VAL2);
-        };
-        when(hashFunction.hashString(argThat(matcher), eq(StandardCharsets.UTF_8))).thenReturn(HASH1);
         configureTimeout();
         databaseSteps.setDuplicateKeysStrategy(DuplicateKeysStrategy.NOOP);
         databaseSteps.compareData(QUERY, DB_KEY, DataSetComparisonRule.IS_EQUAL_TO, QUERY, DB_KEY2, Set.of());
         verify(attachmentPublisher).publishAttachment(eq(DATA_SOURCES_STATISTICS_FTL),
                 any(Map.class), eq(DATA_SOURCES_STATISTICS_TITLE));
-        verify(hashFunction, times(2)).hashString(argThat(matcher), eq(StandardCharsets.UTF_8));
+        verify(hashFunction, times(2)).newHasher();
+        verify(hasher, times(2)).putString(VAL1, StandardCharsets.UTF_8);
+        verify(hasher, times(2)).putString(VAL3, StandardCharsets.UTF_8);
+        verify(hasher, times(2)).hash();
+        verifyNoMoreInteractions(hasher);
     }
 
     @Test
@@ -289,13 +301,15 @@ class DatabaseStepsTests
     }
 
     @SuppressWarnings("unchecked")
-    @Test
-    void shouldCompareQueriesResponsesAndPostDiffTable() throws InterruptedException,
+    @ParameterizedTest
+    @ValueSource(ints = { 100, 1 })
+    void shouldCompareQueriesResponsesAndPostDiffTable(int maxRowsInMemory) throws InterruptedException,
             ExecutionException, TimeoutException
     {
+        databaseSteps.setMaxRowsInMemory(maxRowsInMemory);
         List<Map<String, Object>> result = List.of(Map.of(COL1, VAL1), Map.of(COL1, VAL1), Map.of(COL1, VAL3));
-        mockQueryForList(QUERY, DB_KEY, result);
-        mockQueryForList(QUERY2, DB_KEY2, List.of(Map.of(COL1, VAL2)));
+        mockQueryForStream(QUERY, DB_KEY, result);
+        mockQueryForStream(QUERY2, DB_KEY2, List.of(Map.of(COL1, VAL2)));
         when(softAssert.assertTrue(QUERY_RESULTS_ARE_EQUAL, false)).thenReturn(false);
         mockHashing();
         configureTimeout();
@@ -327,18 +341,7 @@ class DatabaseStepsTests
 
     private void mockHashing()
     {
-        doAnswer((Answer<HashCode>) invocation -> {
-            Object argument = invocation.getArgument(0);
-            if (VAL1.equals(argument))
-            {
-                return HASH1;
-            }
-            else if (VAL2.equals(argument))
-            {
-                return HASH2;
-            }
-            return HASH3;
-        }).when(hashFunction).hashString(any(), eq(StandardCharsets.UTF_8));
+        when(hashFunction.newHasher()).thenAnswer(a -> Hashing.murmur3_128().newHasher());
     }
 
     @SuppressWarnings("unchecked")
@@ -348,8 +351,8 @@ class DatabaseStepsTests
         databaseSteps.setDiffLimit(1);
         databaseSteps.setDuplicateKeysStrategy(DuplicateKeysStrategy.NOOP);
         List<Map<String, Object>> result = List.of(Map.of(COL1, VAL1), Map.of(COL1, VAL3));
-        mockQueryForList(QUERY, DB_KEY, result);
-        mockQueryForList(QUERY, DB_KEY2, List.of(Map.of(COL1, VAL2)));
+        mockQueryForStream(QUERY, DB_KEY, result);
+        mockQueryForStream(QUERY, DB_KEY2, List.of(Map.of(COL1, VAL2)));
         when(softAssert.assertTrue(QUERY_RESULTS_ARE_EQUAL, false)).thenReturn(false);
         mockHashing();
         configureTimeout();
@@ -359,6 +362,78 @@ class DatabaseStepsTests
                 eq(DATA_SETS_COMPARISON_TITLE));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    void shouldCompareSortedDataAndStopOnceDiffLimitIsReached() throws InterruptedException, ExecutionException,
+            TimeoutException
+    {
+        databaseSteps.setDiffLimit(2);
+        databaseSteps.setDuplicateKeysStrategy(DuplicateKeysStrategy.NOOP);
+        mockQueryForStream(QUERY, DB_KEY, List.of(Map.of(COL1, 1, COL2, VAL1), Map.of(COL1, 2, COL2, VAL2),
+                Map.of(COL1, 3, COL2, VAL3)));
+        mockQueryForStream(QUERY2, DB_KEY2, List.of(Map.of(COL1, 1L, COL2, VAL1), Map.of(COL1, 3L, COL2, VAL1),
+                Map.of(COL1, 4L, COL2, VAL3)));
+        when(softAssert.assertTrue(QUERY_RESULTS_ARE_EQUAL, false)).thenReturn(false);
+        configureTimeout();
+        databaseSteps.compareSortedData(QUERY, DB_KEY, DataSetComparisonRule.IS_EQUAL_TO, QUERY2, DB_KEY2,
+                List.of(COL1));
+        verify(attachmentPublisher).publishAttachment(eq(DATA_SOURCES_STATISTICS_FTL),
+                argThat(r -> {
+                    DataSourceStatistics statistics = ((Map<String, DataSourceStatistics>) r).get(STATISTICS);
+                    QueryStatistic right = statistics.getRight();
+                    QueryStatistic left = statistics.getLeft();
+                    return 2 == statistics.getMismatched()
+                            && 3 == statistics.getTotalRows()
+                            && 1 == statistics.getMatched()
+                            && 3 == left.getRowsQuantity()
+                            && 3 == right.getRowsQuantity()
+                            && 1 == left.getNoPair()
+                            && 0 == right.getNoPair();
+                }), eq(DATA_SOURCES_STATISTICS_TITLE));
+        verifyNoInteractions(hashFunction);
+        var resultsCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(attachmentPublisher).publishAttachment(eq(DATA_SET_COMPARISON_FTL), resultsCaptor.capture(),
+                eq(DATA_SETS_COMPARISON_TITLE));
+        List<List<EntryComparisonResult>> results = (List<List<EntryComparisonResult>>) ((Map<?, ?>) resultsCaptor
+                .getValue()).get(RESULTS);
+        assertEquals(2, results.size());
+        EntryComparisonResult result = results.get(1).stream().filter(r -> COL2.equals(r.getKey())).findFirst().get();
+        assertEquals(VAL3, result.getLeft());
+        assertEquals(VAL1, result.getRight());
+    }
+
+    @Test
+    void shouldSkipLeftOnlyRowsWhileCheckingSortedDataContainsRows() throws InterruptedException,
+            ExecutionException, TimeoutException
+    {
+        databaseSteps.setDuplicateKeysStrategy(DuplicateKeysStrategy.DISTINCT);
+        mockQueryForStream(QUERY, DB_KEY, List.of(Map.of(COL1, 1, COL2, VAL1), Map.of(COL1, 2, COL2, VAL2)));
+        mockQueryForStream(QUERY2, DB_KEY2, List.of(Map.of(COL1, 2L, COL2, VAL2)));
+        String assertionDescription = DataSetComparisonRule.CONTAINS.getAssertionDescription();
+        when(softAssert.assertTrue(assertionDescription, true)).thenReturn(true);
+        configureTimeout();
+        databaseSteps.compareSortedData(QUERY, DB_KEY, DataSetComparisonRule.CONTAINS, QUERY2, DB_KEY2,
+                List.of(COL1));
+        verify(softAssert).assertTrue(assertionDescription, true);
+        verify(attachmentPublisher, never()).publishAttachment(eq(DATA_SET_COMPARISON_FTL), any(), any());
+    }
+
+    @Test
+    void shouldFailSortedDataComparisonIfDataIsNotSorted()
+    {
+        mockQueryForStream(QUERY, DB_KEY, List.of(Map.of(COL1, VAL2), Map.of(COL1, VAL1)));
+        mockQueryForStream(QUERY2, DB_KEY2, List.of(Map.of(COL1, VAL1)));
+        configureTimeout();
+        databaseSteps.setDuplicateKeysStrategy(DuplicateKeysStrategy.NOOP);
+        List<String> keys = List.of(COL1);
+        ExecutionException exception = assertThrows(ExecutionException.class,
+            () -> databaseSteps.compareSortedData(QUERY, DB_KEY, DataSetComparisonRule.IS_EQUAL_TO, QUERY2, DB_KEY2,
+                    keys));
+        assertEquals("The left data set is not sorted by the keys [col1]: the row with the key [val1] follows the row"
+                + " with the key [val2]", exception.getCause().getMessage());
+        verifyNoInteractions(attachmentPublisher, softAssert);
+    }
+
     @Test
     void shouldThrowTimeoutExceptionIfQueryTakesTooMuchTime()
     {
@@ -625,6 +700,26 @@ class DatabaseStepsTests
         when(jdbcTemplate.queryForList(query)).thenReturn(result);
     }
 
+    private void mockQueryForStream(String query, String dbKey, List<Map<String, Object>> result)
+    {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(dataSourceManager.getJdbcTemplate(dbKey)).thenReturn(jdbcTemplate);
+        DriverManagerDataSource dataSource = mock(DriverManagerDataSource.class);
+        lenient().when(jdbcTemplate.getDataSource()).thenReturn(dataSource);
+        lenient().when(dataSource.getUrl()).thenReturn(DB_URL);
+        when(jdbcTemplate.queryForStream(any(PreparedStatementCreator.class), any(ColumnMapRowMapper.class)))
+                .thenAnswer(a -> {
+                    PreparedStatementCreator statementCreator = a.getArgument(0);
+                    Connection connection = mock(Connection.class);
+                    PreparedStatement statement = mock(PreparedStatement.class);
+                    when(connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY))
+                            .thenReturn(statement);
+                    assertEquals(statement, statementCreator.createPreparedStatement(connection));
+                    verify(statement).setFetchSize(FETCH_SIZE);
+                    return result.stream();
+                });
+    }
+
     private void configureTimeout()
     {
         databaseSteps.setDbQueryTimeout(Duration.ofSeconds(20));
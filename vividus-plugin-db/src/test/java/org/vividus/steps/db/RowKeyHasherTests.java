@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class RowKeyHasherTests
+{
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String VALUE = "value";
+
+    @ParameterizedTest
+    @ValueSource(longs = { 0, 7, -7, 10, 1_234_567_890_123L, Long.MAX_VALUE, Long.MIN_VALUE })
+    void shouldHashIntegralNumbersAsTheirStringRepresentations(long number)
+    {
+        Set<String> keys = Set.of(ID);
+        assertEquals(hash(keys, Map.of(ID, String.valueOf(number))), hash(keys, Map.of(ID, number)));
+    }
+
+    @Test
+    void shouldHashNumbersOfDifferentTypesEqually()
+    {
+        Set<String> keys = Set.of(ID);
+        assertEquals(hash(keys, Map.of(ID, 42L)), hash(keys, Map.of(ID, 42)));
+        assertEquals(hash(keys, Map.of(ID, (short) 42)), hash(keys, Map.of(ID, (byte) 42)));
+        assertEquals(hash(keys, Map.of(ID, "1.50")), hash(keys, Map.of(ID, new BigDecimal("1.50"))));
+    }
+
+    @Test
+    void shouldHashOnlyKeyColumns()
+    {
+        Set<String> keys = Set.of(ID);
+        assertEquals(hash(keys, Map.of(ID, 1, NAME, VALUE)), hash(keys, Map.of(ID, 1, NAME, "another")));
+        assertNotEquals(hash(keys, Map.of(ID, 1, NAME, VALUE)), hash(keys, Map.of(ID, 2, NAME, VALUE)));
+    }
+
+    @Test
+    void shouldHashConcatenationOfSortedValues()
+    {
+        assertEquals(HASH_FUNCTION.hashString("1value", StandardCharsets.UTF_8),
+                hash(Set.of(), Map.of(NAME, VALUE, ID, 1)));
+        assertEquals(HASH_FUNCTION.hashString("1value", StandardCharsets.UTF_8),
+                hash(Set.of(ID, NAME), Map.of(NAME, VALUE, ID, 1)));
+    }
+
+    @Test
+    void shouldUseAllColumnsIfKeysAreNotSpecified()
+    {
+        assertEquals(hash(Set.of(), Map.of(ID, "a", NAME, "b")), hash(Set.of(), Map.of(ID, "b", NAME, "a")));
+        assertNotEquals(hash(Set.of(), Map.of(ID, "a", NAME, "b")), hash(Set.of(), Map.of(ID, "a", NAME, "c")));
+    }
+
+    @Test
+    void shouldIgnoreNulls()
+    {
+        Map<String, Object> rowWithNull = new HashMap<>();
+        rowWithNull.put(ID, null);
+        rowWithNull.put(NAME, VALUE);
+        assertEquals(hash(Set.of(), Map.of(NAME, VALUE)), hash(Set.of(), rowWithNull));
+        assertEquals(hash(Set.of(ID, NAME), Map.of(NAME, VALUE)), hash(Set.of(ID, NAME), rowWithNull));
+    }
+
+    @Test
+    void shouldLookUpKeyColumnsAsIs()
+    {
+        Set<String> keys = Set.of(ID);
+        assertEquals(hash(keys, Map.of()), hash(keys, Map.of("ID", 1)));
+    }
+
+    private static Object hash(Set<String> keys, Map<String, Object> row)
+    {
+        return new RowKeyHasher(HASH_FUNCTION, keys).hash(row);
+    }
+}
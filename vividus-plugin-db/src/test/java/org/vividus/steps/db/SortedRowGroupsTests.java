@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.vividus.steps.db;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class SortedRowGroupsTests
+{
+    static List<Arguments> orderedValues()
+    {
+        return List.of(
+            Arguments.of(1, 2L),
+            Arguments.of(new BigInteger("9223372036854775808"), new BigDecimal("9223372036854775808.5")),
+            Arguments.of(new BigDecimal("1.5"), 2),
+            Arguments.of(1.5d, new BigDecimal("2")),
+            Arguments.of(Double.NEGATIVE_INFINITY, 1),
+            Arguments.of(1, Double.POSITIVE_INFINITY),
+            Arguments.of(Double.POSITIVE_INFINITY, Double.NaN),
+            Arguments.of(1.5f, Float.NaN),
+            Arguments.of("value", null)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("orderedValues")
+    void shouldCompareKeys(Object lesser, Object greater)
+    {
+        List<Object> lesserKey = Arrays.asList(lesser);
+        List<Object> greaterKey = Arrays.asList(greater);
+        assertThat(SortedRowGroups.KEY_COMPARATOR.compare(lesserKey, greaterKey), lessThan(0));
+        assertThat(SortedRowGroups.KEY_COMPARATOR.compare(greaterKey, lesserKey), greaterThan(0));
+        assertEquals(0, SortedRowGroups.KEY_COMPARATOR.compare(greaterKey, Arrays.asList(greater)));
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ListMultimap;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+
+import org.junit.jupiter.api.Test;
+
+class SpillableDataSetTests
+{
+    private static final String COLUMN = "column";
+    private static final HashCode KEY1 = hash("key1");
+    private static final HashCode KEY2 = hash("key2");
+    private static final Map<String, Object> ROW1 = Map.of(COLUMN, "value1");
+    private static final Map<String, Object> ROW2 = Map.of(COLUMN, 2);
+    private static final Map<String, Object> ROW3 = Map.of(COLUMN, new Object()
+    {
+        @Override
+        public String toString()
+        {
+            return "value3";
+        }
+    });
+
+    @Test
+    void shouldKeepRowsInMemoryWhileLimitIsNotExceeded()
+    {
+        try (SpillableDataSet dataSet = new SpillableDataSet(2, 2))
+        {
+            dataSet.add(KEY1, ROW1);
+            dataSet.add(KEY1, ROW2);
+            assertFalse(dataSet.isSpilled());
+            assertEquals(2, dataSet.size());
+            assertEquals(List.of(ROW1, ROW2), dataSet.getInMemoryData().get(KEY1));
+        }
+    }
+
+    @Test
+    void shouldConvertNotSerializableValuesToStringsInMemory()
+    {
+        try (SpillableDataSet dataSet = new SpillableDataSet(2, 2))
+        {
+            dataSet.add(KEY1, ROW3);
+            assertEquals(List.of(Map.of(COLUMN, "value3")), dataSet.getInMemoryData().get(KEY1));
+        }
+    }
+
+    @Test
+    void shouldAllowClosingSpilledDataSetTwice()
+    {
+        SpillableDataSet dataSet = new SpillableDataSet(0, 2);
+        dataSet.add(KEY1, ROW1);
+        assertTrue(dataSet.isSpilled());
+        dataSet.close();
+        dataSet.close();
+    }
+
+    @Test
+    void shouldSpillRowsToPartitionsOnceLimitIsExceeded()
+    {
+        try (SpillableDataSet dataSet = new SpillableDataSet(1, 2))
+        {
+            dataSet.add(KEY1, ROW1);
+            dataSet.add(KEY2, ROW2);
+            dataSet.add(KEY1, ROW3);
+            assertTrue(dataSet.isSpilled());
+            assertEquals(3, dataSet.size());
+            ListMultimap<Object, Map<String, Object>> key1Partition = readPartitionWithKey(dataSet, KEY1);
+            assertEquals(List.of(ROW1, Map.of(COLUMN, "value3")), key1Partition.get(KEY1));
+            ListMultimap<Object, Map<String, Object>> key2Partition = readPartitionWithKey(dataSet, KEY2);
+            assertEquals(List.of(ROW2), key2Partition.get(KEY2));
+        }
+    }
+
+    private static ListMultimap<Object, Map<String, Object>> readPartitionWithKey(SpillableDataSet dataSet,
+            HashCode key)
+    {
+        int partition = Hashing.consistentHash(key, dataSet.getPartitionsCount());
+        return dataSet.readPartition(partition);
+    }
+
+    private static HashCode hash(String value)
+    {
+        return Hashing.murmur3_128().hashString(value, StandardCharsets.UTF_8);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,17 +16,23 @@
 
 package org.vividus.transformer;
 
-import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.matchesPattern;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
-import java.util.HashMap;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Stream;
 
 import org.jbehave.core.configuration.Keywords;
@@ -42,6 +48,8 @@ import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.vividus.db.DataSourceManager;
 
 @ExtendWith(MockitoExtension.class)
@@ -51,6 +59,7 @@ class DatabaseTableTransformerTests
     private static final String DB_KEY = "testdb";
     private static final String QUERY = "select * from table";
     private static final String COLUMN = "column";
+    private static final String COLUMN_2 = "column2";
     private static final String TABLE_PROPERTIES = "dbKey=testdb, sqlQuery=";
     private static final String VALUE = "value";
     private static final String VALUE_2 = "value2";
@@ -59,44 +68,54 @@ class DatabaseTableTransformerTests
     private final ParameterConverters converters = new ParameterConverters();
 
     private final DataSourceManager dataSourceManager = mock(DataSourceManager.class);
+    private final PreparedStatement statement = mock(PreparedStatement.class);
 
     @InjectMocks private final DatabaseTableTransformer transformer = new DatabaseTableTransformer(dataSourceManager);
 
     static Stream<Arguments> matchingResultToTable()
     {
-        Map<String, Object> row = new HashMap<>();
-        row.put(COLUMN, null);
         return Stream.of(
-                arguments(
-                        List.of(Map.of(COLUMN, VALUE)),
-                        "\\|column\\|\n\\|value\\|"
-                ),
-                arguments(
-                        List.of(row),
-                        "\\|column\\|\n\\|null\\|"
-                ),
-                arguments(
-                        List.of(Map.of(COLUMN, VALUE, "column2", VALUE_2)),
-                        "(\\|column2\\|column\\|\\n\\|value2\\|value\\|)"
-                                + "|(\\|column\\|column2\\|\\n\\|value\\|value2\\|)"
-                ),
-                arguments(
-                        List.of(Map.of(COLUMN, VALUE), Map.of(COLUMN, VALUE_2)),
-                        "\\|column\\|\n\\|value\\|\n\\|value2\\|"
-                )
+                arguments(List.of(COLUMN), List.of(List.of(VALUE)), "|column|\n|value|"),
+                arguments(List.of(COLUMN), List.of(Arrays.asList((Object) null)), "|column|\n|null|"),
+                arguments(List.of(COLUMN, COLUMN_2), List.of(List.of(VALUE, VALUE_2)),
+                        "|column|column2|\n|value|value2|"),
+                arguments(List.of(COLUMN), List.of(List.of(VALUE), List.of(VALUE_2)), "|column|\n|value|\n|value2|"),
+                arguments(List.of(COLUMN), List.of(List.of(1), List.of(true)), "|column|\n|1|\n|true|")
         );
     }
 
     @ParameterizedTest
     @MethodSource("matchingResultToTable")
-    void shouldCreateExamplesTableFromDb(List<Map<String, Object>> result, String expectedTablePattern)
+    void shouldCreateExamplesTableFromDb(List<String> columns, List<List<Object>> rows, String expectedTable)
+            throws SQLException
     {
-        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
-        when(dataSourceManager.getJdbcTemplate(DB_KEY)).thenReturn(jdbcTemplate);
-        when(jdbcTemplate.queryForList(QUERY)).thenReturn(result);
+        mockQuery(columns, rows, rows.size());
         var tableProperties = new TableProperties(TABLE_PROPERTIES + QUERY, keywords, converters);
         String actual = transformer.transform(EMPTY_EXAMPLES_TABLE, null, tableProperties);
-        assertThat(actual, matchesPattern(expectedTablePattern));
+        assertEquals(expectedTable, actual);
+        verifyNoInteractions(statement);
+    }
+
+    @Test
+    void shouldCreateExamplesTableFromDbWithSelectedColumnsAndLimitedRows() throws SQLException
+    {
+        mockQuery(List.of(COLUMN, COLUMN_2), List.of(List.of(VALUE, VALUE_2), List.of("value3", "value4")), 1);
+        var tableProperties = new TableProperties(
+                TABLE_PROPERTIES + QUERY + ", columns=COLUMN2;column, maxRows=1, fetchSize=100", keywords, converters);
+        String actual = transformer.transform(EMPTY_EXAMPLES_TABLE, null, tableProperties);
+        assertEquals("|COLUMN2|column|\n|value2|value|", actual);
+        verify(statement).setMaxRows(1);
+        verify(statement).setFetchSize(100);
+    }
+
+    @Test
+    void shouldFailIfSelectedColumnIsMissing() throws SQLException
+    {
+        mockQuery(mockResultSet(List.of(COLUMN)));
+        var tableProperties = new TableProperties(TABLE_PROPERTIES + QUERY + ", columns=id", keywords, converters);
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> transformer.transform(EMPTY_EXAMPLES_TABLE, null, tableProperties));
+        assertEquals("Query result doesn't contain column 'id'", exception.getMessage());
     }
 
     @ParameterizedTest
@@ -115,10 +134,9 @@ class DatabaseTableTransformerTests
     }
 
     @Test
-    void shouldEmptyThrowResultDataException()
+    void shouldEmptyThrowResultDataException() throws SQLException
     {
-        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
-        when(dataSourceManager.getJdbcTemplate(DB_KEY)).thenReturn(jdbcTemplate);
+        mockQuery(List.of(COLUMN), List.of(), 0);
         var tableProperties = new TableProperties(TABLE_PROPERTIES + QUERY, keywords, converters);
         var exception = assertThrows(EmptyResultDataAccessException.class,
                 () -> transformer.transform(EMPTY_EXAMPLES_TABLE, null, tableProperties));
@@ -126,17 +144,59 @@ class DatabaseTableTransformerTests
     }
 
     @Test
-    void shouldCreateExamplesTableFromDbWithNullReplacement()
+    void shouldCreateExamplesTableFromDbWithNullReplacement() throws SQLException
     {
-        Map<String, Object> row = new HashMap<>();
-        row.put(COLUMN, null);
-
-        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
-        when(dataSourceManager.getJdbcTemplate(DB_KEY)).thenReturn(jdbcTemplate);
-        when(jdbcTemplate.queryForList(QUERY)).thenReturn(List.of(row));
+        mockQuery(List.of(COLUMN), List.of(Arrays.asList((Object) null)), 1);
         var tableProperties = new TableProperties(TABLE_PROPERTIES + QUERY + ", nullReplacement=\"\"",
                 keywords, converters);
         String actual = transformer.transform(EMPTY_EXAMPLES_TABLE, null, tableProperties);
-        assertEquals(actual, "|column|\n|\"\"|");
+        assertEquals("|column|\n|\"\"|", actual);
+    }
+
+    private void mockQuery(List<String> columns, List<List<Object>> rows, int rowsToRead) throws SQLException
+    {
+        ResultSet resultSet = mockResultSet(columns);
+        List<Boolean> hasNext = new ArrayList<>();
+        for (int rowIndex = 0; rowIndex < rowsToRead; rowIndex++)
+        {
+            hasNext.add(true);
+        }
+        if (rowsToRead == rows.size())
+        {
+            hasNext.add(false);
+        }
+        when(resultSet.next()).thenReturn(hasNext.get(0), hasNext.subList(1, hasNext.size()).toArray(Boolean[]::new));
+        for (int columnIndex = 1; rowsToRead > 0 && columnIndex <= columns.size(); columnIndex++)
+        {
+            int valueIndex = columnIndex - 1;
+            Object[] values = rows.stream().limit(rowsToRead).map(row -> row.get(valueIndex)).toArray();
+            when(resultSet.getObject(columnIndex)).thenReturn(values[0], Arrays.copyOfRange(values, 1, values.length));
+        }
+        mockQuery(resultSet);
+    }
+
+    private ResultSet mockResultSet(List<String> columns) throws SQLException
+    {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(columns.size());
+        for (int columnIndex = 1; columnIndex <= columns.size(); columnIndex++)
+        {
+            when(metaData.getColumnLabel(columnIndex)).thenReturn(columns.get(columnIndex - 1));
+        }
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        return resultSet;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockQuery(ResultSet resultSet)
+    {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(dataSourceManager.getJdbcTemplate(DB_KEY)).thenReturn(jdbcTemplate);
+        when(jdbcTemplate.query(eq(QUERY), any(PreparedStatementSetter.class), any(ResultSetExtractor.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(1, PreparedStatementSetter.class).setValues(statement);
+                    return invocation.getArgument(2, ResultSetExtractor.class).extractData(resultSet);
+                });
     }
 }
@@ -0,0 +1,379 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.excel;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.EncryptedDocumentException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFReader.SheetIterator;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.vividus.util.ResourceUtils;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Reads the single sheet of the workbook. The <code>.xlsx</code> workbooks are read in the streaming mode: only the
+ * XML of the requested sheet is parsed and only the cells from the requested ranges are loaded into memory, while
+ * the reading stops right after the last requested row. The <code>.xls</code> workbooks are read entirely.
+ */
+public final class ExcelSheetReader
+{
+    private ExcelSheetReader()
+    {
+    }
+
+    /**
+     * Reads the sheet with the specified name from the workbook
+     *
+     * @param workbook  the workbook content
+     * @param sheetName the name of the sheet to read
+     * @param ranges    the ranges of the cells to read (e.g. "A1:C5", "B3"), all cells are read if the list is empty
+     * @return the sheet or empty optional if the sheet with the specified name doesn't exist
+     * @throws WorkbookParsingException if the workbook can't be parsed
+     */
+    public static Optional<Sheet> readSheet(byte[] workbook, String sheetName, List<String> ranges)
+            throws WorkbookParsingException
+    {
+        return readSheet(workbook, (index, name) -> sheetName.equals(name), ranges);
+    }
+
+    /**
+     * Reads the sheet with the specified index from the workbook
+     *
+     * @param workbook   the workbook content
+     * @param sheetIndex the index of the sheet to read (0-based)
+     * @param ranges     the ranges of the cells to read (e.g. "A1:C5", "B3"), all cells are read if the list is empty
+     * @return the sheet or empty optional if the sheet with the specified index doesn't exist
+     * @throws WorkbookParsingException if the workbook can't be parsed
+     */
+    public static Optional<Sheet> readSheet(byte[] workbook, int sheetIndex, List<String> ranges)
+            throws WorkbookParsingException
+    {
+        return readSheet(workbook, (index, name) -> index == sheetIndex, ranges);
+    }
+
+    /**
+     * Reads the sheet with the specified name from the workbook located at the specified resource path
+     *
+     * @param path      the path to the workbook resource
+     * @param sheetName the name of the sheet to read
+     * @param ranges    the ranges of the cells to read (e.g. "A1:C5", "B3"), all cells are read if the list is empty
+     * @return the sheet or empty optional if the sheet with the specified name doesn't exist
+     * @throws WorkbookParsingException if the workbook can't be parsed
+     */
+    public static Optional<Sheet> readSheet(String path, String sheetName, List<String> ranges)
+            throws WorkbookParsingException
+    {
+        BiPredicate<Integer, String> sheetSelector = (index, name) -> sheetName.equals(name);
+        File file = ResourceUtils.loadFile(ExcelSheetReader.class, StringUtils.prependIfMissing(path, "/"));
+        try
+        {
+            if (FileMagic.valueOf(file) == FileMagic.OOXML)
+            {
+                return readXlsxSheet(OPCPackage.open(file, PackageAccess.READ), sheetSelector, ranges);
+            }
+            try (Workbook workbook = WorkbookFactory.create(file))
+            {
+                return findSheet(workbook, sheetSelector);
+            }
+        }
+        catch (EncryptedDocumentException | IOException | OpenXML4JException | SAXException
+                | ParserConfigurationException e)
+        {
+            throw new WorkbookParsingException(e);
+        }
+    }
+
+    private static Optional<Sheet> readSheet(byte[] workbookContent, BiPredicate<Integer, String> sheetSelector,
+            List<String> ranges) throws WorkbookParsingException
+    {
+        try
+        {
+            if (FileMagic.valueOf(workbookContent) == FileMagic.OOXML)
+            {
+                return readXlsxSheet(OPCPackage.open(new ByteArrayInputStream(workbookContent)), sheetSelector,
+                        ranges);
+            }
+            try (Workbook workbook = WorkbookFactory.create(new ByteArrayInputStream(workbookContent)))
+            {
+                return findSheet(workbook, sheetSelector);
+            }
+        }
+        catch (EncryptedDocumentException | IOException | OpenXML4JException | SAXException
+                | ParserConfigurationException e)
+        {
+            throw new WorkbookParsingException(e);
+        }
+    }
+
+    private static Optional<Sheet> findSheet(Workbook workbook, BiPredicate<Integer, String> sheetSelector)
+    {
+        return IntStream.range(0, workbook.getNumberOfSheets())
+                .filter(index -> sheetSelector.test(index, workbook.getSheetName(index)))
+                .mapToObj(workbook::getSheetAt)
+                .findFirst();
+    }
+
+    private static Optional<Sheet> readXlsxSheet(OPCPackage xlsxPackage, BiPredicate<Integer, String> sheetSelector,
+            List<String> ranges) throws IOException, OpenXML4JException, SAXException, ParserConfigurationException
+    {
+        try
+        {
+            SheetIterator sheets = (SheetIterator) new XSSFReader(xlsxPackage).getSheetsData();
+            for (int index = 0; sheets.hasNext(); index++)
+            {
+                try (InputStream sheetData = sheets.next())
+                {
+                    String sheetName = sheets.getSheetName();
+                    if (sheetSelector.test(index, sheetName))
+                    {
+                        Sheet sheet = new XSSFWorkbook().createSheet(sheetName);
+                        List<CellRangeAddress> cellRanges = ranges.stream()
+                                .map(CellRangeAddress::valueOf)
+                                .collect(Collectors.toList());
+                        SheetHandler handler = new SheetHandler(sheet, new ReadOnlySharedStringsTable(xlsxPackage),
+                                cellRanges);
+                        XMLReader sheetParser = XMLHelper.newXMLReader();
+                        sheetParser.setContentHandler(handler);
+                        try
+                        {
+                            sheetParser.parse(new InputSource(sheetData));
+                        }
+                        catch (StopParsingException e)
+                        {
+                            // All requested rows are read
+                        }
+                        return Optional.of(sheet);
+                    }
+                }
+            }
+            return Optional.empty();
+        }
+        finally
+        {
+            xlsxPackage.revert();
+        }
+    }
+
+    /**
+     * Copies the cells of the sheet XML into the in-memory sheet preserving the cell types, so the cells are
+     * interpreted in the same way as the cells of the fully loaded workbook.
+     */
+    private static final class SheetHandler extends DefaultHandler
+    {
+        private static final String VALUE = "v";
+        private static final String TEXT = "t";
+        private static final String INLINE_STRING = "is";
+        private static final String PHONETIC_RUN = "rPh";
+        private static final String REFERENCE = "r";
+
+        private final Sheet sheet;
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final List<CellRangeAddress> ranges;
+        private final int lastRowIndex;
+
+        private Row row;
+        private int rowIndex = -1;
+        private int columnIndex;
+        private boolean cellSelected;
+        private String cellType;
+        private boolean cellHasValue;
+        private boolean readingValue;
+        private boolean insideInlineString;
+        private boolean insidePhoneticRun;
+        private final StringBuilder cellValue = new StringBuilder();
+
+        SheetHandler(Sheet sheet, ReadOnlySharedStringsTable sharedStrings, List<CellRangeAddress> ranges)
+        {
+            this.sheet = sheet;
+            this.sharedStrings = sharedStrings;
+            this.ranges = ranges;
+            this.lastRowIndex = ranges.isEmpty() ? Integer.MAX_VALUE
+                    : ranges.stream().mapToInt(CellRangeAddress::getLastRow).max().getAsInt();
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes)
+                throws SAXException
+        {
+            switch (localName)
+            {
+                case "row":
+                    String rowNumber = attributes.getValue(REFERENCE);
+                    rowIndex = rowNumber != null ? Integer.parseInt(rowNumber) - 1 : rowIndex + 1;
+                    if (rowIndex > lastRowIndex)
+                    {
+                        throw new StopParsingException();
+                    }
+                    columnIndex = -1;
+                    row = isRowSelected() ? sheet.createRow(rowIndex) : null;
+                    break;
+                case "c":
+                    String cellReference = attributes.getValue(REFERENCE);
+                    columnIndex = cellReference != null ? new CellReference(cellReference).getCol() : columnIndex + 1;
+                    cellType = attributes.getValue(TEXT);
+                    cellSelected = row != null && isCellSelected();
+                    cellHasValue = false;
+                    cellValue.setLength(0);
+                    break;
+                case VALUE:
+                    startReadingValue();
+                    break;
+                case TEXT:
+                    if (insideInlineString && !insidePhoneticRun)
+                    {
+                        startReadingValue();
+                    }
+                    break;
+                case INLINE_STRING:
+                    insideInlineString = true;
+                    break;
+                case PHONETIC_RUN:
+                    insidePhoneticRun = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void startReadingValue()
+        {
+            readingValue = cellSelected;
+            cellHasValue |= cellSelected;
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName)
+        {
+            switch (localName)
+            {
+                case VALUE:
+                case TEXT:
+                    readingValue = false;
+                    break;
+                case INLINE_STRING:
+                    insideInlineString = false;
+                    break;
+                case PHONETIC_RUN:
+                    insidePhoneticRun = false;
+                    break;
+                case "c":
+                    if (cellSelected)
+                    {
+                        createCell();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length)
+        {
+            if (readingValue)
+            {
+                cellValue.append(ch, start, length);
+            }
+        }
+
+        private boolean isRowSelected()
+        {
+            return ranges.isEmpty() || ranges.stream()
+                    .anyMatch(range -> range.getFirstRow() <= rowIndex && rowIndex <= range.getLastRow());
+        }
+
+        private boolean isCellSelected()
+        {
+            return ranges.isEmpty() || ranges.stream().anyMatch(range -> range.isInRange(rowIndex, columnIndex));
+        }
+
+        private void createCell()
+        {
+            Cell cell = row.createCell(columnIndex);
+            String value = cellValue.toString();
+            if (!cellHasValue || value.isEmpty() && !"inlineStr".equals(cellType) && !"str".equals(cellType))
+            {
+                return;
+            }
+            switch (cellType == null ? "n" : cellType)
+            {
+                case "n":
+                    cell.setCellValue(Double.parseDouble(value));
+                    break;
+                case "s":
+                    cell.setCellValue(sharedStrings.getItemAt(Integer.parseInt(value)).getString());
+                    break;
+                case "b":
+                    cell.setCellValue("1".equals(value));
+                    break;
+                case "e":
+                    setErrorValue(cell, value);
+                    break;
+                default:
+                    cell.setCellValue(value);
+                    break;
+            }
+        }
+
+        private static void setErrorValue(Cell cell, String error)
+        {
+            try
+            {
+                cell.setCellErrorValue(FormulaError.forString(error).getCode());
+            }
+            catch (IllegalArgumentException e)
+            {
+                // Unknown errors are kept as blank cells, both are represented as empty strings
+            }
+        }
+    }
+
+    private static final class StopParsingException extends SAXException
+    {
+        private static final long serialVersionUID = -2415377914683405962L;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,7 +22,6 @@ import static java.util.Map.entry;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -34,9 +33,8 @@ import org.hamcrest.Matchers;
 import org.hamcrest.core.IsNull;
 import org.jbehave.core.annotations.Then;
 import org.vividus.excel.ExcelSheetParser;
-import org.vividus.excel.ExcelSheetsExtractor;
+import org.vividus.excel.ExcelSheetReader;
 import org.vividus.excel.IExcelSheetParser;
-import org.vividus.excel.IExcelSheetsExtractor;
 import org.vividus.excel.WorkbookParsingException;
 import org.vividus.http.HttpTestContext;
 import org.vividus.model.CellRecord;
@@ -74,7 +72,7 @@ public class ExcelResponseValidationSteps
     @Then("response contains excel sheet with index `$index` and records:$records")
     public void excelSheetWithIndexHasRecords(int index, List<CellRecord> records)
     {
-        checkRecords(records, e -> e.getSheet(index), "index " + index);
+        checkRecords(records, (body, ranges) -> ExcelSheetReader.readSheet(body, index, ranges), "index " + index);
     }
 
     /**
@@ -97,13 +95,12 @@ public class ExcelResponseValidationSteps
     @Then("response contains excel sheet with name `$name` and records:$records")
     public void excelSheetWithNameHasRecords(String name, List<CellRecord> records)
     {
-        checkRecords(records, e -> e.getSheet(name), "name " + name);
+        checkRecords(records, (body, ranges) -> ExcelSheetReader.readSheet(body, name, ranges), "name " + name);
     }
 
-    private void checkRecords(List<CellRecord> records, Function<IExcelSheetsExtractor, Optional<Sheet>> sheetMapper,
-            String errorKey)
+    private void checkRecords(List<CellRecord> records, SheetReader sheetReader, String errorKey)
     {
-        sheetMapper.apply(getExtractor()).ifPresentOrElse(s ->
+        readSheet(sheetReader, records).ifPresentOrElse(s ->
         {
             IExcelSheetParser parser = new ExcelSheetParser(s);
             records.stream()
@@ -136,11 +133,12 @@ public class ExcelResponseValidationSteps
         });
     }
 
-    private IExcelSheetsExtractor getExtractor()
+    private Optional<Sheet> readSheet(SheetReader sheetReader, List<CellRecord> records)
     {
+        List<String> ranges = records.stream().map(CellRecord::getCellsRange).collect(Collectors.toList());
         try
         {
-            return new ExcelSheetsExtractor(httpTestContext.getResponse().getResponseBody());
+            return sheetReader.read(httpTestContext.getResponse().getResponseBody(), ranges);
         }
         catch (WorkbookParsingException e)
         {
@@ -161,4 +159,10 @@ public class ExcelResponseValidationSteps
             return pattern.isPresent() || cellValue.getValue() != null;
         };
     }
+
+    @FunctionalInterface
+    private interface SheetReader
+    {
+        Optional<Sheet> read(byte[] workbook, List<String> ranges) throws WorkbookParsingException;
+    }
 }
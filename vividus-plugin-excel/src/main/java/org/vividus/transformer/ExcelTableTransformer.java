@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -33,9 +33,8 @@ import org.apache.poi.ss.usermodel.Sheet;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.model.TableParsers;
 import org.vividus.excel.ExcelSheetParser;
-import org.vividus.excel.ExcelSheetsExtractor;
+import org.vividus.excel.ExcelSheetReader;
 import org.vividus.excel.IExcelSheetParser;
-import org.vividus.excel.IExcelSheetsExtractor;
 import org.vividus.excel.WorkbookParsingException;
 import org.vividus.model.CellValue;
 import org.vividus.util.ExamplesTableProcessor;
@@ -44,6 +43,8 @@ import org.vividus.util.ExamplesTableProcessor;
 public class ExcelTableTransformer implements ExtendedTableTransformer
 {
     private static final String RANGE = "range";
+    private static final String ADDRESSES = "addresses";
+    private static final String ADDRESSES_SEPARATOR = ";";
 
     @Override
     public String transform(String tableAsString, TableParsers tableParsers, TableProperties properties)
@@ -51,26 +52,35 @@ public class ExcelTableTransformer implements ExtendedTableTransformer
         checkTableEmptiness(tableAsString);
         String path = properties.getMandatoryNonBlankProperty("path", String.class);
         String sheetName = properties.getMandatoryNonBlankProperty("sheet", String.class);
+        String column = properties.getProperties().getProperty("column");
+        List<String> ranges;
+        if (column != null)
+        {
+            notBlank(column, "Table property 'column' is blank");
+            ranges = processCompetingMandatoryProperties(properties,
+                    entry(RANGE, range -> List.of(range)),
+                    entry(ADDRESSES, addresses -> List.of(addresses.split(ADDRESSES_SEPARATOR))));
+        }
+        else
+        {
+            ranges = List.of(properties.getMandatoryNonBlankProperty(RANGE, String.class));
+        }
         try
         {
-            IExcelSheetsExtractor excelSheetsExtractor = new ExcelSheetsExtractor(path);
-            Optional<Sheet> sheet = excelSheetsExtractor.getSheet(sheetName);
+            Optional<Sheet> sheet = ExcelSheetReader.readSheet(path, sheetName, ranges);
             if (sheet.isEmpty())
             {
                 throw new IllegalArgumentException("Sheet with name '" + sheetName + "' does not exist");
             }
             IExcelSheetParser excelSheetParser = new ExcelSheetParser(sheet.get());
-            String column = properties.getProperties().getProperty("column");
             if (column != null)
             {
-                notBlank(column, "Table property 'column' is blank");
                 String joinValues = properties.getProperties().getProperty("joinValues");
                 List<String> result = extractData(excelSheetParser, properties);
                 List<String> data = Boolean.parseBoolean(joinValues) ? List.of(String.join(" ", result)) : result;
                 return build(List.of(column), List.of(data), properties);
             }
-            String range = properties.getMandatoryNonBlankProperty(RANGE, String.class);
-            Map<String, List<String>> exactDataTable = excelSheetParser.getDataAsTable(range);
+            Map<String, List<String>> exactDataTable = excelSheetParser.getDataAsTable(ranges.get(0));
             return build(exactDataTable.keySet(), exactDataTable.values(), properties);
         }
         catch (WorkbookParsingException e)
@@ -83,7 +93,7 @@ public class ExcelTableTransformer implements ExtendedTableTransformer
     {
         return processCompetingMandatoryProperties(properties,
                 entry(RANGE, range -> extractDataFromRange(sheetParser, properties, range)),
-                entry("addresses", addresses -> extractDataFromAddresses(sheetParser, addresses)));
+                entry(ADDRESSES, addresses -> extractDataFromAddresses(sheetParser, addresses)));
     }
 
     private List<String> extractDataFromRange(IExcelSheetParser sheetParser, TableProperties properties, String range)
@@ -107,7 +117,8 @@ public class ExcelTableTransformer implements ExtendedTableTransformer
 
     private List<String> extractDataFromAddresses(IExcelSheetParser sheetParser, String addresses)
     {
-        return Stream.of(addresses.split(";")).map(sheetParser::getDataFromCell).collect(Collectors.toList());
+        return Stream.of(addresses.split(ADDRESSES_SEPARATOR)).map(sheetParser::getDataFromCell)
+                .collect(Collectors.toList());
     }
 
     private String build(Collection<String> headers, Collection<List<String>> data, TableProperties properties)
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.excel;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.vividus.util.ResourceUtils;
+
+class ExcelSheetReaderTests
+{
+    private static final String TEMPLATE_PATH = "/TestTemplate.xlsx";
+    private static final String REPEATING_DATA = "RepeatingData";
+
+    @ParameterizedTest
+    @ValueSource(strings = { "Mapping", "AsString", REPEATING_DATA })
+    void shouldReadSameDataAsFullyLoadedWorkbook(String sheetName) throws WorkbookParsingException
+    {
+        Sheet expectedSheet = new ExcelSheetsExtractor(TEMPLATE_PATH).getSheet(sheetName).get();
+        Sheet actualSheet = ExcelSheetReader.readSheet(TEMPLATE_PATH, sheetName, List.of()).get();
+        assertEquals(sheetName, actualSheet.getSheetName());
+        assertEquals(new ExcelSheetParser(expectedSheet).getData(), new ExcelSheetParser(actualSheet).getData());
+    }
+
+    @Test
+    void shouldReadOnlyRequestedRanges() throws WorkbookParsingException
+    {
+        Sheet sheet = ExcelSheetReader.readSheet(TEMPLATE_PATH, REPEATING_DATA, List.of("B4:B5", "A6")).get();
+        assertNull(sheet.getRow(0));
+        assertEquals(5, sheet.getLastRowNum());
+        ExcelSheetParser parser = new ExcelSheetParser(sheet);
+        assertNull(parser.getDataFromCell("A4"));
+        assertEquals("OPEN", parser.getDataFromCell("B4"));
+        assertEquals("PENDING", parser.getDataFromCell("B5"));
+        assertEquals("Fifth", parser.getDataFromCell("A6"));
+        assertNull(parser.getDataFromCell("B6"));
+    }
+
+    @Test
+    void shouldReadSheetByIndexFromBytes() throws WorkbookParsingException, IOException
+    {
+        Optional<Sheet> sheet = ExcelSheetReader.readSheet(readTemplate(), 2, List.of("A1"));
+        assertTrue(sheet.isPresent());
+        assertEquals(REPEATING_DATA, sheet.get().getSheetName());
+        assertEquals("name", new ExcelSheetParser(sheet.get()).getDataFromCell("A1"));
+    }
+
+    @Test
+    void shouldReturnEmptyOptionalForMissingSheet() throws WorkbookParsingException, IOException
+    {
+        assertFalse(ExcelSheetReader.readSheet(TEMPLATE_PATH, "Taxonomies", List.of()).isPresent());
+        assertFalse(ExcelSheetReader.readSheet(readTemplate(), 3, List.of()).isPresent());
+    }
+
+    @Test
+    void shouldReadXlsWorkbook() throws WorkbookParsingException, IOException
+    {
+        String sheetName = "xls";
+        try (Workbook workbook = new HSSFWorkbook(); ByteArrayOutputStream output = new ByteArrayOutputStream())
+        {
+            workbook.createSheet(sheetName).createRow(0).createCell(0).setCellValue(sheetName);
+            workbook.write(output);
+            Sheet sheet = ExcelSheetReader.readSheet(output.toByteArray(), sheetName, List.of()).get();
+            assertEquals(sheetName, new ExcelSheetParser(sheet).getDataFromCell("A1"));
+        }
+    }
+
+    @Test
+    void shouldWrapParsingErrors()
+    {
+        byte[] workbook = "not a workbook".getBytes(StandardCharsets.UTF_8);
+        WorkbookParsingException exception = assertThrows(WorkbookParsingException.class,
+            () -> ExcelSheetReader.readSheet(workbook, 0, List.of()));
+        assertEquals("Unable to parse workbook", exception.getMessage());
+        assertThat(exception.getCause(), instanceOf(IOException.class));
+    }
+
+    private byte[] readTemplate() throws IOException
+    {
+        File excelFile = ResourceUtils.loadFile(getClass(), TEMPLATE_PATH);
+        return Files.readAllBytes(excelFile.toPath());
+    }
+}
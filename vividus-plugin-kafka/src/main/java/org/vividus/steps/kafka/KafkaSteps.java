@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,35 +16,46 @@
 
 package org.vividus.steps.kafka;
 
+import static java.lang.String.format;
 import static java.util.Map.entry;
 import static java.util.stream.Collectors.collectingAndThen;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.mapping;
+import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
 import static org.apache.commons.lang3.StringUtils.substringAfter;
 import static org.apache.commons.lang3.StringUtils.substringBefore;
+import static org.apache.commons.lang3.Validate.isTrue;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.hamcrest.Matcher;
 import org.jbehave.core.annotations.AfterStory;
 import org.jbehave.core.annotations.When;
+import org.jbehave.core.model.ExamplesTable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
@@ -55,11 +66,11 @@ import org.springframework.kafka.listener.GenericMessageListenerContainer;
 import org.springframework.kafka.listener.KafkaMessageListenerContainer;
 import org.springframework.kafka.listener.MessageListener;
 import org.vividus.context.VariableContext;
+import org.vividus.reporter.event.IAttachmentPublisher;
 import org.vividus.softassert.SoftAssert;
 import org.vividus.steps.ComparisonRule;
 import org.vividus.testcontext.TestContext;
 import org.vividus.util.property.IPropertyParser;
-import org.vividus.util.wait.DurationBasedWaiter;
 import org.vividus.variable.VariableScope;
 
 public class KafkaSteps
@@ -73,15 +84,22 @@ public class KafkaSteps
     private static final Class<?> LISTENER_KEY = GenericMessageListenerContainer.class;
     private static final Class<?> MESSAGES_KEY = ConsumerRecord.class;
 
+    private static final String KEY = "key";
+    private static final String VALUE = "value";
+    private static final String HEADER_PREFIX = "header.";
+
     private final Map<String, KafkaTemplate<String, String>> kafkaTemplates;
     private final Map<String, DefaultKafkaConsumerFactory<Object, Object>> consumerFactories;
 
     private final TestContext testContext;
     private final VariableContext variableContext;
     private final SoftAssert softAssert;
+    private final IAttachmentPublisher attachmentPublisher;
+
+    private int maxMessagesInMemory;
 
     public KafkaSteps(IPropertyParser propertyParser, TestContext testContext, VariableContext variableContext,
-            SoftAssert softAssert)
+            SoftAssert softAssert, IAttachmentPublisher attachmentPublisher)
     {
         this.kafkaTemplates = convert("kafka.producer.", propertyParser, config -> {
             config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
@@ -98,6 +116,7 @@ public class KafkaSteps
         this.testContext = testContext;
         this.variableContext = variableContext;
         this.softAssert = softAssert;
+        this.attachmentPublisher = attachmentPublisher;
     }
 
     private <T> Map<String, T> convert(String propertiesPrefix, IPropertyParser propertyParser,
@@ -128,6 +147,82 @@ public class KafkaSteps
         kafkaTemplates.get(producerKey).send(topic, data).get(WAIT_TIMEOUT_IN_MINUTES, TimeUnit.MINUTES);
     }
 
+    /**
+     * Sends the records to the provided topic. The records are not sent one by one: all of them are passed to the
+     * producer at once, so they are batched and pipelined according to the producer configuration (e.g.
+     * <code>linger.ms</code>, <code>batch.size</code>, <code>max.in.flight.requests.per.connection</code>), while
+     * the step waits for the acknowledgements of all the records only once. The throughput and the latency
+     * percentiles are published as an attachment.
+     * @param producerKey The key of the producer configuration
+     * @param topic       The topic name
+     * @param records     The ExamplesTable with the records to send, it may contain the columns:
+     *                    <ul>
+     *                    <li><b>value</b> - the record value (mandatory),</li>
+     *                    <li><b>key</b> - the record key, the record is sent with no key if the key is empty,</li>
+     *                    <li><b>header.&lt;name&gt;</b> - the record header with the specified name</li>
+     *                    </ul>
+     * @throws InterruptedException If the current thread was interrupted while waiting
+     * @throws TimeoutException     If the wait timed out
+     */
+    @When("I send records to `$producerKey` Kafka topic `$topic`:$records")
+    public void sendRecords(String producerKey, String topic, ExamplesTable records)
+            throws InterruptedException, TimeoutException
+    {
+        KafkaTemplate<String, String> kafkaTemplate = kafkaTemplates.get(producerKey);
+        List<Map<String, String>> rows = records.getRows();
+        int recordsCount = rows.size();
+        long[] latencies = new long[recordsCount];
+        AtomicInteger failedRecordsCount = new AtomicInteger();
+        AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+        CountDownLatch acknowledgements = new CountDownLatch(recordsCount);
+        long start = System.nanoTime();
+        for (int index = 0; index < recordsCount; index++)
+        {
+            int recordIndex = index;
+            long sendingTime = System.nanoTime();
+            kafkaTemplate.send(createRecord(topic, rows.get(index))).addCallback(
+                result -> {
+                    latencies[recordIndex] = System.nanoTime() - sendingTime;
+                    acknowledgements.countDown();
+                },
+                failure -> {
+                    latencies[recordIndex] = -1;
+                    failedRecordsCount.incrementAndGet();
+                    firstFailure.compareAndSet(null, failure);
+                    acknowledgements.countDown();
+                });
+        }
+        kafkaTemplate.flush();
+        if (!acknowledgements.await(WAIT_TIMEOUT_IN_MINUTES, TimeUnit.MINUTES))
+        {
+            throw new TimeoutException(format("%d of %d records are not acknowledged in %d minutes",
+                    acknowledgements.getCount(), recordsCount, WAIT_TIMEOUT_IN_MINUTES));
+        }
+        ProducerStatistics statistics = new ProducerStatistics(recordsCount, failedRecordsCount.get(),
+                System.nanoTime() - start, LongStream.of(latencies).filter(latency -> latency >= 0).toArray());
+        attachmentPublisher.publishAttachment("/org/vividus/steps/kafka/producer-statistics.ftl",
+                Map.of("statistics", statistics), "Kafka producer statistics");
+        if (statistics.getFailedRecordsCount() > 0)
+        {
+            softAssert.recordFailedAssertion(format("%d of %d records are not sent to Kafka topic '%s'",
+                    statistics.getFailedRecordsCount(), recordsCount, topic), firstFailure.get());
+        }
+    }
+
+    private static ProducerRecord<String, String> createRecord(String topic, Map<String, String> row)
+    {
+        isTrue(row.containsKey(VALUE), "The records table must contain '%s' column", VALUE);
+        Headers headers = new RecordHeaders();
+        row.forEach((column, value) -> {
+            if (column.startsWith(HEADER_PREFIX))
+            {
+                headers.add(column.substring(HEADER_PREFIX.length()), value.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        String key = defaultIfEmpty(row.get(KEY), null);
+        return new ProducerRecord<>(topic, null, key, row.get(VALUE), headers);
+    }
+
     /**
      * Starts the Kafka consumer with the provided configuration to listen the specified topics. The consumer must be
      * stopped when it's not needed.
@@ -137,13 +232,41 @@ public class KafkaSteps
      */
     @When("I start consuming messages from `$consumerKey` Kafka topics `$topics`")
     public void startKafkaListener(String consumerKey, Set<String> topics)
+    {
+        startKafkaListener(consumerKey, topics, message -> true);
+    }
+
+    /**
+     * Starts the Kafka consumer with the provided configuration to listen the specified topics. Only the messages
+     * matching the filter are kept, the rest of the consumed messages are discarded right on arrival. The consumer
+     * must be stopped when it's not needed.
+     *
+     * @param filterType  The type of the filter, one of:
+     *                    <ul>
+     *                    <li><b>regex</b> - the message must match the regular expression,</li>
+     *                    <li><b>JSON path</b> - the message must be JSON containing the element found by the JSON
+     *                    path (e.g. <code>$.items[?(@.type == 'order')]</code>)</li>
+     *                    </ul>
+     * @param filter      The regular expression or the JSON path to filter the messages with
+     * @param consumerKey The key of the producer configuration
+     * @param topics      The comma-separated set of topics to listen
+     */
+    @When("I start consuming messages matching $filterType `$filter` from `$consumerKey` Kafka topics `$topics`")
+    public void startKafkaListener(MessageFilterType filterType, String filter, String consumerKey,
+            Set<String> topics)
+    {
+        startKafkaListener(consumerKey, topics, filterType.createFilter(filter));
+    }
+
+    private void startKafkaListener(String consumerKey, Set<String> topics, Predicate<String> filter)
     {
         stopListener(getListeners().remove(consumerKey), false);
-        BlockingQueue<String> messageQueue = new LinkedBlockingDeque<>();
-        testContext.get(MESSAGES_KEY, HashMap::new).put(consumerKey, messageQueue);
+        SpillableMessageBuffer messageBuffer = new SpillableMessageBuffer(maxMessagesInMemory, filter);
+        Optional.ofNullable(testContext.get(MESSAGES_KEY, HashMap::new).put(consumerKey, messageBuffer))
+                .ifPresent(SpillableMessageBuffer::close);
         ContainerProperties containerProperties = new ContainerProperties(topics.toArray(new String[0]));
         containerProperties.setMessageListener(
-                (MessageListener<String, String>) data -> messageQueue.add(data.value()));
+                (MessageListener<String, String>) data -> messageBuffer.add(data.value()));
         GenericMessageListenerContainer<String, String> container = new KafkaMessageListenerContainer<>(
                 consumerFactories.get(consumerKey), containerProperties);
         container.start();
@@ -154,7 +277,8 @@ public class KafkaSteps
 
     /**
      * Waits until the count of the consumed messaged (from the consumer start or after the last draining operation)
-     * matches to the rule or until the timeout is exceeded.
+     * matches to the rule or until the timeout is exceeded. The count is checked on each message arrival, only the
+     * messages matching the consumer filter are counted.
      *
      * @param timeout        The maximum time to wait for the messages in ISO-8601 format
      * @param consumerKey    The key of the producer configuration
@@ -168,22 +292,21 @@ public class KafkaSteps
      *                       <li>not equal to (!=)</li>
      *                       </ul>
      * @param expectedCount  The expected count of the messages to be matched by the rule
+     * @throws InterruptedException If the current thread was interrupted while waiting
      */
     @When("I wait with `$timeout` timeout until count of consumed `$consumerKey` Kafka messages is $comparisonRule"
             + " `$expectedCount`")
     public void waitForKafkaMessages(Duration timeout, String consumerKey, ComparisonRule comparisonRule,
-            int expectedCount)
+            int expectedCount) throws InterruptedException
     {
         Matcher<Integer> countMatcher = comparisonRule.getComparisonRule(expectedCount);
-        Integer result = new DurationBasedWaiter(timeout, Duration.ofSeconds(1)).wait(
-                () -> getMessagesBy(consumerKey).size(),
-                countMatcher::matches);
+        int result = getMessagesBy(consumerKey).awaitSize(countMatcher::matches, timeout);
         softAssert.assertThat("Total count of consumed Kafka messages", result, countMatcher);
     }
 
-    private BlockingQueue<String> getMessagesBy(String key)
+    private SpillableMessageBuffer getMessagesBy(String key)
     {
-        return testContext.<Map<String, BlockingQueue<String>>>get(MESSAGES_KEY).get(key);
+        return testContext.<Map<String, SpillableMessageBuffer>>get(MESSAGES_KEY).get(key);
     }
 
     /**
@@ -234,6 +357,11 @@ public class KafkaSteps
         Map<String, GenericMessageListenerContainer<String, String>> listeners = getListeners();
         listeners.values().forEach(k -> stopListener(k, false));
         listeners.clear();
+        Map<String, SpillableMessageBuffer> messageBuffers = testContext.get(MESSAGES_KEY);
+        if (messageBuffers != null)
+        {
+            messageBuffers.values().forEach(SpillableMessageBuffer::close);
+        }
     }
 
     private void stopListener(GenericMessageListenerContainer<String, String> container,
@@ -256,27 +384,30 @@ public class KafkaSteps
         return testContext.get(LISTENER_KEY, HashMap::new);
     }
 
+    public void setMaxMessagesInMemory(int maxMessagesInMemory)
+    {
+        this.maxMessagesInMemory = maxMessagesInMemory;
+    }
+
     protected enum QueueOperation
     {
         PEEK
         {
             @Override
-            List<String> performOn(BlockingQueue<String> messagesQueue)
+            List<String> performOn(SpillableMessageBuffer messageBuffer)
             {
-                return new ArrayList<>(messagesQueue);
+                return messageBuffer.peek();
             }
         },
         DRAIN
         {
             @Override
-            List<String> performOn(BlockingQueue<String> messagesQueue)
+            List<String> performOn(SpillableMessageBuffer messageBuffer)
             {
-                List<String> messages = new ArrayList<>();
-                messagesQueue.drainTo(messages);
-                return messages;
+                return messageBuffer.drain();
             }
         };
 
-        abstract List<String> performOn(BlockingQueue<String> messagesQueue);
+        abstract List<String> performOn(SpillableMessageBuffer messageBuffer);
     }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.kafka;
+
+import java.util.Collection;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import com.jayway.jsonpath.JsonPathException;
+
+import org.vividus.util.json.JsonPathUtils;
+
+public enum MessageFilterType
+{
+    REGEX
+    {
+        @Override
+        public Predicate<String> createFilter(String filter)
+        {
+            return Pattern.compile(filter, Pattern.DOTALL).asMatchPredicate();
+        }
+    },
+    JSON_PATH
+    {
+        @Override
+        public Predicate<String> createFilter(String filter)
+        {
+            return message -> {
+                try
+                {
+                    Object data = JsonPathUtils.getData(message, filter);
+                    return !(data instanceof Collection) || !((Collection<?>) data).isEmpty();
+                }
+                catch (JsonPathException e)
+                {
+                    return false;
+                }
+            };
+        }
+    };
+
+    public abstract Predicate<String> createFilter(String filter);
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.kafka;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The statistics of the records sent by the Kafka producer: the overall throughput and the percentiles of the
+ * latencies between the sending of the records and the receiving of the acknowledgements from the broker.
+ */
+public class ProducerStatistics
+{
+    private static final int[] PERCENTILES = { 50, 90, 95, 99 };
+    private static final double PERCENT = 100;
+    private static final double MILLIS_IN_SECOND = 1000;
+    private static final double NANOS_IN_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final int recordsCount;
+    private final int failedRecordsCount;
+    private final Duration duration;
+    private final Map<String, Double> latencyPercentiles;
+
+    /**
+     * Creates the statistics
+     *
+     * @param recordsCount       the total number of the sent records
+     * @param failedRecordsCount the number of the records failed to be sent
+     * @param durationNanos      the time elapsed from the sending of the first record until the acknowledgement of
+     *                           the last one
+     * @param latenciesNanos     the latencies of the successfully sent records, the array is sorted in place
+     */
+    public ProducerStatistics(int recordsCount, int failedRecordsCount, long durationNanos, long... latenciesNanos)
+    {
+        this.recordsCount = recordsCount;
+        this.failedRecordsCount = failedRecordsCount;
+        this.duration = Duration.ofNanos(durationNanos);
+        Arrays.sort(latenciesNanos);
+        this.latencyPercentiles = new LinkedHashMap<>();
+        if (latenciesNanos.length > 0)
+        {
+            for (int percentile : PERCENTILES)
+            {
+                int index = (int) Math.ceil(percentile * latenciesNanos.length / PERCENT) - 1;
+                latencyPercentiles.put("p" + percentile, latenciesNanos[Math.max(index, 0)] / NANOS_IN_MILLI);
+            }
+            latencyPercentiles.put("max", latenciesNanos[latenciesNanos.length - 1] / NANOS_IN_MILLI);
+        }
+    }
+
+    public int getRecordsCount()
+    {
+        return recordsCount;
+    }
+
+    public int getFailedRecordsCount()
+    {
+        return failedRecordsCount;
+    }
+
+    public long getDurationMillis()
+    {
+        return duration.toMillis();
+    }
+
+    /**
+     * Gets the number of the successfully sent records per second
+     *
+     * @return the throughput
+     */
+    public double getThroughput()
+    {
+        long durationMillis = Math.max(duration.toMillis(), 1);
+        return (recordsCount - failedRecordsCount) * MILLIS_IN_SECOND / durationMillis;
+    }
+
+    /**
+     * Gets the latencies in milliseconds by the percentile names: <code>p50</code>, <code>p90</code>,
+     * <code>p95</code>, <code>p99</code> and <code>max</code>
+     *
+     * @return the latency percentiles
+     */
+    public Map<String, Double> getLatencyPercentiles()
+    {
+        return latencyPercentiles;
+    }
+}
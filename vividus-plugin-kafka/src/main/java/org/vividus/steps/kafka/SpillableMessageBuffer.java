@@ -0,0 +1,239 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.kafka;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Buffer of the consumed messages which keeps the messages in memory until the configured number of messages is
+ * reached and then appends all the messages arriving afterwards to the file on disk. Only the messages matching the
+ * filter are retained. The threads waiting for the messages are signalled on each message arrival.
+ */
+final class SpillableMessageBuffer implements AutoCloseable
+{
+    private final int maxMessagesInMemory;
+    private final Predicate<String> filter;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition sizeChanged = lock.newCondition();
+
+    private final List<String> inMemoryMessages = new ArrayList<>();
+    private Path spillFile;
+    private DataOutputStream spillWriter;
+    private int spilledMessagesCount;
+
+    SpillableMessageBuffer(int maxMessagesInMemory, Predicate<String> filter)
+    {
+        this.maxMessagesInMemory = maxMessagesInMemory;
+        this.filter = filter;
+    }
+
+    void add(String message)
+    {
+        if (!filter.test(message))
+        {
+            return;
+        }
+        lock.lock();
+        try
+        {
+            if (spillWriter == null && inMemoryMessages.size() < maxMessagesInMemory)
+            {
+                inMemoryMessages.add(message);
+            }
+            else
+            {
+                spill(message);
+            }
+            sizeChanged.signalAll();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    int size()
+    {
+        lock.lock();
+        try
+        {
+            return inMemoryMessages.size() + spilledMessagesCount;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the number of the buffered messages matches the condition or until the timeout is exceeded
+     * @param condition the condition to match the number of the messages against
+     * @param timeout   the maximum time to wait
+     * @return the number of the buffered messages at the end of the wait
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    int awaitSize(Predicate<Integer> condition, Duration timeout) throws InterruptedException
+    {
+        long remainingNanos = timeout.toNanos();
+        lock.lock();
+        try
+        {
+            int size = size();
+            while (!condition.test(size) && remainingNanos > 0)
+            {
+                remainingNanos = sizeChanged.awaitNanos(remainingNanos);
+                size = size();
+            }
+            return size;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets all the buffered messages keeping them in the buffer
+     * @return the buffered messages in the order of their arrival
+     */
+    List<String> peek()
+    {
+        lock.lock();
+        try
+        {
+            List<String> messages = new ArrayList<>(size());
+            messages.addAll(inMemoryMessages);
+            if (spillWriter != null)
+            {
+                readSpilledMessages(messages);
+            }
+            return messages;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets all the buffered messages and removes them from the buffer
+     * @return the buffered messages in the order of their arrival
+     */
+    List<String> drain()
+    {
+        lock.lock();
+        try
+        {
+            List<String> messages = peek();
+            inMemoryMessages.clear();
+            close();
+            sizeChanged.signalAll();
+            return messages;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private void spill(String message)
+    {
+        try
+        {
+            if (spillWriter == null)
+            {
+                spillFile = Files.createTempFile("vividus-kafka-messages-", ".bin");
+                spillWriter = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(spillFile)));
+            }
+            byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+            spillWriter.writeInt(bytes.length);
+            spillWriter.write(bytes);
+            spilledMessagesCount++;
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readSpilledMessages(List<String> messages)
+    {
+        try
+        {
+            spillWriter.flush();
+            try (DataInputStream input = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(spillFile))))
+            {
+                for (int i = 0; i < spilledMessagesCount; i++)
+                {
+                    byte[] bytes = new byte[input.readInt()];
+                    input.readFully(bytes);
+                    messages.add(new String(bytes, StandardCharsets.UTF_8));
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Removes the spilled messages from the disk, the messages kept in memory are retained
+     */
+    @Override
+    public void close()
+    {
+        lock.lock();
+        try
+        {
+            if (spillWriter == null)
+            {
+                return;
+            }
+            spillWriter.close();
+            Files.deleteIfExists(spillFile);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        finally
+        {
+            spillWriter = null;
+            spillFile = null;
+            spilledMessagesCount = 0;
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+<!doctype html>
+<html lang="en">
+<head>
+    <meta charset="utf-8">
+    <title>Kafka producer statistics</title>
+    <link rel="stylesheet" href="../../styles.css"/>
+    <link rel="stylesheet" href="../../webjars/bootstrap/3.3.6/css/bootstrap.min.css"/>
+</head>
+<body>
+    <div class="panel panel-default">
+        <div class="panel-body">
+            <table class="table table-bordered table-stripped table-hover">
+                <thead>
+                    <tr>
+                        <th>Parameter</th>
+                        <th>Value</th>
+                    </tr>
+                </thead>
+                <tbody>
+                    <tr>
+                        <td>Records</td>
+                        <td>${statistics.recordsCount?c}</td>
+                    </tr>
+                    <tr>
+                        <td>Failed records</td>
+                        <td>${statistics.failedRecordsCount?c}</td>
+                    </tr>
+                    <tr>
+                        <td>Duration, ms</td>
+                        <td>${statistics.durationMillis?c}</td>
+                    </tr>
+                    <tr>
+                        <td>Throughput, records/s</td>
+                        <td>${statistics.throughput?string["0.##"]}</td>
+                    </tr>
+                    <#list statistics.latencyPercentiles as percentile, latency>
+                    <tr>
+                        <td>Latency ${percentile}, ms</td>
+                        <td>${latency?string["0.###"]}</td>
+                    </tr>
+                    </#list>
+                </tbody>
+            </table>
+        </div>
+    </div>
+</body>
+</html>
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,8 +20,10 @@ import static com.github.valfirst.slf4jtest.LoggingEvent.info;
 import static java.util.stream.Collectors.toMap;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -40,7 +42,9 @@ import com.github.valfirst.slf4jtest.TestLoggerFactory;
 import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.jbehave.core.model.ExamplesTable;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -55,6 +59,7 @@ import org.springframework.kafka.test.context.EmbeddedKafka;
 import org.springframework.kafka.test.utils.KafkaTestUtils;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.vividus.context.VariableContext;
+import org.vividus.reporter.event.IAttachmentPublisher;
 import org.vividus.softassert.SoftAssert;
 import org.vividus.steps.ComparisonRule;
 import org.vividus.steps.kafka.KafkaSteps.QueueOperation;
@@ -62,11 +67,12 @@ import org.vividus.testcontext.SimpleTestContext;
 import org.vividus.util.property.IPropertyParser;
 import org.vividus.variable.VariableScope;
 
-@EmbeddedKafka(topics = KafkaStepsIntegrationTests.TOPIC)
+@EmbeddedKafka(topics = { KafkaStepsIntegrationTests.TOPIC, KafkaStepsIntegrationTests.BULK_TOPIC })
 @ExtendWith({ MockitoExtension.class, SpringExtension.class, TestLoggerFactoryExtension.class })
 class KafkaStepsIntegrationTests
 {
     static final String TOPIC = "test-topic";
+    static final String BULK_TOPIC = "bulk-test-topic";
 
     private static final String DOT = ".";
 
@@ -88,6 +94,7 @@ class KafkaStepsIntegrationTests
     @Mock private IPropertyParser propertyParser;
     @Mock private VariableContext variableContext;
     @Mock private SoftAssert softAssert;
+    @Mock private IAttachmentPublisher attachmentPublisher;
     private KafkaSteps kafkaSteps;
 
     @BeforeEach
@@ -106,7 +113,9 @@ class KafkaStepsIntegrationTests
 
         when(propertyParser.getPropertyValuesByPrefix("kafka.producer.")).thenReturn(producerConfigs);
         when(propertyParser.getPropertyValuesByPrefix("kafka.consumer.")).thenReturn(consumerConfigs);
-        kafkaSteps = new KafkaSteps(propertyParser, new SimpleTestContext(), variableContext, softAssert);
+        kafkaSteps = new KafkaSteps(propertyParser, new SimpleTestContext(), variableContext, softAssert,
+                attachmentPublisher);
+        kafkaSteps.setMaxMessagesInMemory(1);
     }
 
     static Stream<Arguments> kafkaOperations()
@@ -146,4 +155,22 @@ class KafkaStepsIntegrationTests
 
         test.accept(kafkaSteps, variableContext);
     }
+
+    @Test
+    void shouldSendRecordsInBulk() throws InterruptedException, TimeoutException
+    {
+        kafkaSteps.startKafkaListener(CONSUMER, Set.of(BULK_TOPIC));
+
+        kafkaSteps.sendRecords(PRODUCER, BULK_TOPIC,
+                new ExamplesTable("|key|value|\n|1|first|\n|2|second|\n||third|"));
+
+        kafkaSteps.waitForKafkaMessages(Duration.ofSeconds(10), CONSUMER, ComparisonRule.EQUAL_TO, 3);
+        kafkaSteps.stopKafkaListener(CONSUMER);
+        verify(softAssert).assertThat(eq("Total count of consumed Kafka messages"), eq(3),
+                argThat(matcher -> "a value equal to <3>".equals(matcher.toString())));
+        verify(attachmentPublisher).publishAttachment(eq("/org/vividus/steps/kafka/producer-statistics.ftl"),
+                argThat(model -> ((Map<?, ?>) model).get("statistics") instanceof ProducerStatistics),
+                eq("Kafka producer statistics"));
+        verify(softAssert, never()).recordFailedAssertion(any(String.class), any(Throwable.class));
+    }
 }
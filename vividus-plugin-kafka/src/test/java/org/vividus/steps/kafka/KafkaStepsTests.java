@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,20 +21,24 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 
 import com.github.valfirst.slf4jtest.TestLogger;
@@ -42,16 +46,24 @@ import com.github.valfirst.slf4jtest.TestLoggerFactory;
 import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.jbehave.core.model.ExamplesTable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedConstruction;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.listener.GenericMessageListenerContainer;
 import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.util.concurrent.SettableListenableFuture;
 import org.vividus.context.VariableContext;
+import org.vividus.reporter.event.IAttachmentPublisher;
 import org.vividus.softassert.SoftAssert;
 import org.vividus.testcontext.TestContext;
 import org.vividus.util.property.IPropertyParser;
@@ -59,6 +71,7 @@ import org.vividus.util.property.IPropertyParser;
 @ExtendWith({ MockitoExtension.class, TestLoggerFactoryExtension.class })
 class KafkaStepsTests
 {
+    private static final String KEY = "key";
     private static final String KEY2 = "key2";
 
     private static final Class<?> LISTENER_KEY = GenericMessageListenerContainer.class;
@@ -71,6 +84,7 @@ class KafkaStepsTests
     @Mock private TestContext testContext;
     @Mock private VariableContext variableContext;
     @Mock private SoftAssert softAssert;
+    @Mock private IAttachmentPublisher attachmentPublisher;
     private KafkaSteps kafkaSteps;
 
     @BeforeEach
@@ -81,7 +95,8 @@ class KafkaStepsTests
 
         when(propertyParser.getPropertyValuesByPrefix("kafka.producer.")).thenReturn(producerConfigs);
         when(propertyParser.getPropertyValuesByPrefix("kafka.consumer.")).thenReturn(consumerConfigs);
-        kafkaSteps = new KafkaSteps(propertyParser, testContext, variableContext, softAssert);
+        kafkaSteps = new KafkaSteps(propertyParser, testContext, variableContext, softAssert,
+                attachmentPublisher);
     }
 
     @Test
@@ -122,6 +137,7 @@ class KafkaStepsTests
         Map<String, GenericMessageListenerContainer<String, String>> listeners = new HashMap<>();
         mockListeners(listeners);
         kafkaSteps.cleanUp();
+        verify(testContext).get(ConsumerRecord.class);
         verifyNoMoreInteractions(testContext);
         assertThat(logger.getLoggingEvents(), is(List.of()));
     }
@@ -158,4 +174,45 @@ class KafkaStepsTests
                                info(listenerIsStarted))));
         }
     }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    void shouldSendRecordsAndRecordFailedAssertionForNotSentRecords() throws InterruptedException, TimeoutException
+    {
+        try (MockedConstruction<KafkaTemplate> construction = Mockito.mockConstruction(KafkaTemplate.class))
+        {
+            kafkaSteps = new KafkaSteps(propertyParser, testContext, variableContext, softAssert, attachmentPublisher);
+            KafkaTemplate<String, String> kafkaTemplate = construction.constructed().get(0);
+            SettableListenableFuture<SendResult<String, String>> sent = new SettableListenableFuture<>();
+            sent.set(null);
+            SettableListenableFuture<SendResult<String, String>> notSent = new SettableListenableFuture<>();
+            KafkaException exception = new KafkaException("Broker is not available");
+            notSent.setException(exception);
+            when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(sent, notSent);
+            String topic = "topic";
+
+            kafkaSteps.sendRecords(KEY, topic,
+                    new ExamplesTable("|key|value|header.type|\n|1|first|a|\n||second|b|"));
+
+            ArgumentCaptor<ProducerRecord<String, String>> recordCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
+            verify(kafkaTemplate, times(2)).send(recordCaptor.capture());
+            verify(kafkaTemplate).flush();
+            ProducerRecord<String, String> first = recordCaptor.getAllValues().get(0);
+            assertEquals(topic, first.topic());
+            assertEquals("1", first.key());
+            assertEquals("first", first.value());
+            assertEquals("a", new String(first.headers().lastHeader("type").value(), StandardCharsets.UTF_8));
+            ProducerRecord<String, String> second = recordCaptor.getAllValues().get(1);
+            assertNull(second.key());
+            assertEquals("second", second.value());
+
+            ArgumentCaptor<Map<String, ProducerStatistics>> statisticsCaptor = ArgumentCaptor.forClass(Map.class);
+            verify(attachmentPublisher).publishAttachment(eq("/org/vividus/steps/kafka/producer-statistics.ftl"),
+                    statisticsCaptor.capture(), eq("Kafka producer statistics"));
+            ProducerStatistics statistics = statisticsCaptor.getValue().get("statistics");
+            assertEquals(2, statistics.getRecordsCount());
+            assertEquals(1, statistics.getFailedRecordsCount());
+            verify(softAssert).recordFailedAssertion("1 of 2 records are not sent to Kafka topic 'topic'", exception);
+        }
+    }
 }
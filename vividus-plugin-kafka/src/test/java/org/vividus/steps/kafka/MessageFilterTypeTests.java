@@ -0,0 +1,40 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class MessageFilterTypeTests
+{
+    @ParameterizedTest
+    @CsvSource({
+            "REGEX,     id-\\d+,                      id-42,                            true",
+            "REGEX,     id-\\d+,                      id-42 and more,                   false",
+            "JSON_PATH, $.id,                         '{\"id\": 42}',                   true",
+            "JSON_PATH, $.id,                         '{\"name\": \"value\"}',          false",
+            "JSON_PATH, '$.items[?(@.type == ''a'')]', '{\"items\": [{\"type\": \"a\"}]}', true",
+            "JSON_PATH, '$.items[?(@.type == ''a'')]', '{\"items\": [{\"type\": \"b\"}]}', false",
+            "JSON_PATH, $.id,                         not json,                         false"
+    })
+    void shouldFilterMessages(MessageFilterType filterType, String filter, String message, boolean expected)
+    {
+        assertEquals(expected, filterType.createFilter(filter).test(message));
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+class ProducerStatisticsTests
+{
+    @Test
+    void shouldCalculateStatistics()
+    {
+        long[] latencies = LongStream.rangeClosed(1, 100).map(TimeUnit.MILLISECONDS::toNanos).toArray();
+        ProducerStatistics statistics = new ProducerStatistics(101, 1, TimeUnit.SECONDS.toNanos(2), latencies);
+        assertEquals(101, statistics.getRecordsCount());
+        assertEquals(1, statistics.getFailedRecordsCount());
+        assertEquals(2000, statistics.getDurationMillis());
+        assertEquals(50, statistics.getThroughput());
+        assertEquals(Map.of("p50", 50.0, "p90", 90.0, "p95", 95.0, "p99", 99.0, "max", 100.0),
+                statistics.getLatencyPercentiles());
+    }
+
+    @Test
+    void shouldNotCalculateLatencyPercentilesIfNoRecordsAreSent()
+    {
+        ProducerStatistics statistics = new ProducerStatistics(0, 0, 0);
+        assertEquals(0, statistics.getThroughput());
+        assertEquals(Map.of(), statistics.getLatencyPercentiles());
+    }
+}
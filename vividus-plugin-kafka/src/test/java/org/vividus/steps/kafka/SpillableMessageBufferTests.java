@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+class SpillableMessageBufferTests
+{
+    private static final String FIRST = "first";
+    private static final String SECOND = "second";
+    private static final String THIRD = "third";
+
+    @Test
+    void shouldKeepMessagesOrderWhenMessagesAreSpilled()
+    {
+        try (SpillableMessageBuffer buffer = new SpillableMessageBuffer(1, message -> true))
+        {
+            buffer.add(FIRST);
+            buffer.add(SECOND);
+            buffer.add(THIRD);
+            assertEquals(3, buffer.size());
+            assertEquals(List.of(FIRST, SECOND, THIRD), buffer.peek());
+            assertEquals(List.of(FIRST, SECOND, THIRD), buffer.drain());
+            assertEquals(0, buffer.size());
+            assertEquals(List.of(), buffer.peek());
+            buffer.add(FIRST);
+            buffer.add(SECOND);
+            assertEquals(List.of(FIRST, SECOND), buffer.drain());
+        }
+    }
+
+    @Test
+    void shouldRetainOnlyMatchingMessages()
+    {
+        try (SpillableMessageBuffer buffer = new SpillableMessageBuffer(0, message -> message.startsWith("s")))
+        {
+            buffer.add(FIRST);
+            buffer.add(SECOND);
+            assertEquals(List.of(SECOND), buffer.peek());
+        }
+    }
+
+    @Test
+    void shouldSignalWaitingThreadOnMessageArrival() throws InterruptedException, ExecutionException
+    {
+        try (SpillableMessageBuffer buffer = new SpillableMessageBuffer(2, message -> true))
+        {
+            CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+                buffer.add(FIRST);
+                buffer.add(SECOND);
+            });
+            assertEquals(2, buffer.awaitSize(size -> size == 2, Duration.ofMinutes(1)));
+            producer.get();
+        }
+    }
+
+    @Test
+    void shouldStopWaitingOnTimeout() throws InterruptedException
+    {
+        try (SpillableMessageBuffer buffer = new SpillableMessageBuffer(2, message -> true))
+        {
+            buffer.add(FIRST);
+            assertEquals(1, buffer.awaitSize(size -> size > 1, Duration.ofMillis(10)));
+        }
+    }
+}
@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -54,6 +55,12 @@ public class ConvertCsvToParquetFileExpressionProcessor extends AbstractExpressi
         this.csvReader = csvReader;
     }
 
+    @Override
+    public Set<String> getFunctionNames()
+    {
+        return Set.of("convertCsvToParquetFile");
+    }
+
     @Override
     protected String evaluateExpression(Matcher expressionMatcher)
     {
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.validation;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores the results of the successful resource validations between the runs. The results are loaded from the file
+ * on the store creation and saved to the file on the store shutdown. Each result is valid during the configured
+ * time-to-live, the expired results are ignored and are not saved. If no file location is configured, the store
+ * keeps nothing.
+ */
+public class ResourceValidationResultsStore
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourceValidationResultsStore.class);
+
+    private static final String SEPARATOR = "\t";
+    private static final int URI_INDEX = 0;
+    private static final int STATUS_CODE_INDEX = 1;
+    private static final int CHECK_TIME_INDEX = 2;
+    private static final int FIELDS_COUNT = 3;
+
+    private final Path location;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<URI, StoredResult> results = new ConcurrentHashMap<>();
+
+    public ResourceValidationResultsStore(String location, Duration ttl)
+    {
+        this(location, ttl, Clock.systemUTC());
+    }
+
+    ResourceValidationResultsStore(String location, Duration ttl, Clock clock)
+    {
+        this.location = StringUtils.isBlank(location) ? null : Paths.get(location);
+        this.ttl = ttl;
+        this.clock = clock;
+        load();
+    }
+
+    /**
+     * Finds the status code of the successful validation of the resource performed within the time-to-live
+     *
+     * @param uri the resource URI
+     * @return the status code or empty optional if there is no valid result for the resource
+     */
+    public OptionalInt findStatusCode(URI uri)
+    {
+        StoredResult result = results.get(uri);
+        return result != null && isValid(result) ? OptionalInt.of(result.statusCode) : OptionalInt.empty();
+    }
+
+    public void put(URI uri, int statusCode)
+    {
+        if (location != null)
+        {
+            results.put(uri, new StoredResult(statusCode, clock.instant()));
+        }
+    }
+
+    public void save()
+    {
+        if (location == null)
+        {
+            return;
+        }
+        try
+        {
+            Path parent = location.toAbsolutePath().getParent();
+            if (parent != null)
+            {
+                Files.createDirectories(parent);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(location, UTF_8))
+            {
+                for (Map.Entry<URI, StoredResult> entry : results.entrySet())
+                {
+                    StoredResult result = entry.getValue();
+                    if (isValid(result))
+                    {
+                        writer.write(String.join(SEPARATOR, entry.getKey().toString(),
+                                String.valueOf(result.statusCode), String.valueOf(result.checkTime.toEpochMilli())));
+                        writer.newLine();
+                    }
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void load()
+    {
+        if (location == null || !Files.exists(location))
+        {
+            return;
+        }
+        try (Stream<String> lines = Files.lines(location, UTF_8))
+        {
+            lines.forEach(this::loadResult);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void loadResult(String line)
+    {
+        String[] fields = line.split(SEPARATOR);
+        if (fields.length != FIELDS_COUNT)
+        {
+            LOGGER.warn("Skipping malformed resource validation result: {}", line);
+            return;
+        }
+        try
+        {
+            StoredResult result = new StoredResult(Integer.parseInt(fields[STATUS_CODE_INDEX]),
+                    Instant.ofEpochMilli(Long.parseLong(fields[CHECK_TIME_INDEX])));
+            if (isValid(result))
+            {
+                results.put(URI.create(fields[URI_INDEX]), result);
+            }
+        }
+        catch (IllegalArgumentException e)
+        {
+            LOGGER.warn("Skipping malformed resource validation result: {}", line);
+        }
+    }
+
+    private boolean isValid(StoredResult result)
+    {
+        return result.checkTime.plus(ttl).isAfter(clock.instant());
+    }
+
+    private static final class StoredResult
+    {
+        private final int statusCode;
+        private final Instant checkTime;
+
+        StoredResult(int statusCode, Instant checkTime)
+        {
+            this.statusCode = statusCode;
+            this.checkTime = checkTime;
+        }
+    }
+}
@@ -21,10 +21,12 @@ import static org.hamcrest.Matchers.oneOf;
 
 import java.io.IOException;
 import java.net.URI;
-import java.util.Map;
-import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.HttpRequestBase;
@@ -49,7 +51,9 @@ public class ResourceValidator<T extends AbstractResourceValidation<T>>
                                                                   HttpStatus.SC_NOT_FOUND,
                                                                   HttpStatus.SC_NOT_IMPLEMENTED);
 
-    private final Map<URI, T> cache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<URI, CompletableFuture<T>> cache = new ConcurrentHashMap<>();
+
+    private ResourceValidationResultsStore resultsStore;
 
     public ResourceValidator(IHttpClient httpClient, SoftAssert softAssert)
     {
@@ -57,33 +61,81 @@ public class ResourceValidator<T extends AbstractResourceValidation<T>>
         this.softAssert = softAssert;
     }
 
+    /**
+     * Validates the resource. The resource is validated only once: concurrent validations of the same resource wait
+     * for the single in-flight validation, and all subsequent validations get the copy of its result with
+     * {@link CheckStatus#SKIPPED} status. The validations of different resources never block each other.
+     *
+     * @param resourceValidation the resource to validate
+     * @return the validation result
+     */
     public T perform(T resourceValidation)
     {
-        return cache.compute(resourceValidation.getUri(), (u, rv) -> {
-            return Optional.ofNullable(rv).map(r -> {
-                T cachedResult = r.copy();
+        URI uri = resourceValidation.getUri();
+        CompletableFuture<T> validation = new CompletableFuture<>();
+        CompletableFuture<T> existingValidation = cache.putIfAbsent(uri, validation);
+        if (existingValidation != null)
+        {
+            try
+            {
+                T cachedResult = existingValidation.join().copy();
                 cachedResult.setCheckStatus(CheckStatus.SKIPPED);
                 return cachedResult;
-            }).orElseGet(() -> {
-                try
-                {
-                    HttpClientContext httpClientContext = HttpClientContext.create();
-                    int statusCode = checkResource(u, httpClientContext, HttpMethod.HEAD);
-                    resourceValidation.setStatusCode(statusCode);
-                    String message = String.format("Status code for %s is %d. expected one of %s", u,
-                            statusCode, allowedStatusCodes);
-                    Matcher<Object> oneOf = is(oneOf(allowedStatusCodes.toArray()));
-                    resourceValidation.setCheckStatus(CheckStatus.get(oneOf.matches(statusCode)));
-                    softAssert.assertThat(message, statusCode, oneOf);
-                }
-                catch (IOException e)
-                {
-                    softAssert.recordFailedAssertion("Exception occured during check of: " + u, e);
-                    resourceValidation.setCheckStatus(CheckStatus.BROKEN);
-                }
+            }
+            catch (CompletionException e)
+            {
+                // The in-flight validation has failed unexpectedly and has been evicted, so it must be repeated
+                return perform(resourceValidation);
+            }
+        }
+        try
+        {
+            T result = validate(uri, resourceValidation);
+            validation.complete(result);
+            return result;
+        }
+        catch (RuntimeException e)
+        {
+            cache.remove(uri, validation);
+            validation.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private T validate(URI uri, T resourceValidation)
+    {
+        if (resultsStore != null)
+        {
+            OptionalInt storedStatusCode = resultsStore.findStatusCode(uri);
+            if (storedStatusCode.isPresent())
+            {
+                resourceValidation.setStatusCode(storedStatusCode.getAsInt());
+                resourceValidation.setCheckStatus(CheckStatus.SKIPPED);
                 return resourceValidation;
-            });
-        });
+            }
+        }
+        try
+        {
+            HttpClientContext httpClientContext = HttpClientContext.create();
+            int statusCode = checkResource(uri, httpClientContext, HttpMethod.HEAD);
+            resourceValidation.setStatusCode(statusCode);
+            String message = String.format("Status code for %s is %d. expected one of %s", uri, statusCode,
+                    allowedStatusCodes);
+            Matcher<Object> oneOf = is(oneOf(allowedStatusCodes.toArray()));
+            boolean passed = oneOf.matches(statusCode);
+            resourceValidation.setCheckStatus(CheckStatus.get(passed));
+            softAssert.assertThat(message, statusCode, oneOf);
+            if (passed && resultsStore != null)
+            {
+                resultsStore.put(uri, statusCode);
+            }
+        }
+        catch (IOException e)
+        {
+            softAssert.recordFailedAssertion("Exception occured during check of: " + uri, e);
+            resourceValidation.setCheckStatus(CheckStatus.BROKEN);
+        }
+        return resourceValidation;
     }
 
     private int checkResource(URI uri, HttpClientContext httpClientContext, HttpMethod httpMethod)
@@ -104,4 +156,9 @@ public class ResourceValidator<T extends AbstractResourceValidation<T>>
         HttpRequestBase request = httpMethod.createRequest(uri);
         return httpClient.execute(request, httpClientContext);
     }
+
+    public void setResultsStore(ResourceValidationResultsStore resultsStore)
+    {
+        this.resultsStore = resultsStore;
+    }
 }
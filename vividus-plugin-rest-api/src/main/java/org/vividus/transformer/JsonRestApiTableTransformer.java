@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -43,6 +43,12 @@ public class JsonRestApiTableTransformer implements ExtendedTableTransformer
     private IHttpClient httpClient;
 
     @SuppressWarnings("unchecked")
+    @Override
+    public boolean isFingerprintable()
+    {
+        return false;
+    }
+
     @Override
     public String transform(String tableAsString, TableParsers tableParsers, TableProperties properties)
     {
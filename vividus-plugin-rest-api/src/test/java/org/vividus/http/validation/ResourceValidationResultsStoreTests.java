@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.OptionalInt;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResourceValidationResultsStoreTests
+{
+    private static final URI URI_1 = URI.create("https://vividus.org/1.js");
+    private static final URI URI_2 = URI.create("https://vividus.org/2.js");
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final Instant NOW = Instant.parse("2022-01-01T12:00:00Z");
+    private static final int OK = 200;
+
+    @Test
+    void shouldSaveAndLoadValidResults(@TempDir Path tempDir) throws IOException
+    {
+        Path location = tempDir.resolve("results.tsv");
+        Files.write(location, List.of(
+                URI_2 + "\t200\t" + NOW.minus(TTL).toEpochMilli(),
+                "malformed line"));
+        ResourceValidationResultsStore store = createStore(location, NOW);
+        assertFalse(store.findStatusCode(URI_2).isPresent());
+        store.put(URI_1, OK);
+        assertEquals(OptionalInt.of(OK), store.findStatusCode(URI_1));
+        store.save();
+        assertEquals(List.of(URI_1 + "\t200\t" + NOW.toEpochMilli()), Files.readAllLines(location));
+
+        ResourceValidationResultsStore nextRunStore = createStore(location, NOW.plus(TTL.minusMinutes(1)));
+        assertEquals(OptionalInt.of(OK), nextRunStore.findStatusCode(URI_1));
+        ResourceValidationResultsStore expiredStore = createStore(location, NOW.plus(TTL));
+        assertFalse(expiredStore.findStatusCode(URI_1).isPresent());
+    }
+
+    @Test
+    void shouldNotStoreResultsIfLocationIsNotSet()
+    {
+        ResourceValidationResultsStore store = new ResourceValidationResultsStore("", TTL);
+        store.put(URI_1, OK);
+        assertFalse(store.findStatusCode(URI_1).isPresent());
+        store.save();
+    }
+
+    private static ResourceValidationResultsStore createStore(Path location, Instant now)
+    {
+        return new ResourceValidationResultsStore(location.toString(), TTL, Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
@@ -20,16 +20,29 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.protocol.HttpContext;
@@ -60,6 +73,7 @@ class ResourceValidatorTests
     @Mock private IHttpClient httpClient;
     @Mock private SoftAssert softAssert;
     @Mock private HttpResponse httpResponse;
+    @Mock private ResourceValidationResultsStore resultsStore;
     @InjectMocks private ResourceValidator<ResourceValidation> resourceValidator;
 
     @Test
@@ -137,4 +151,86 @@ class ResourceValidatorTests
         verify(httpClient).execute(any(HttpUriRequest.class), any(HttpContext.class));
         verify(softAssert).recordFailedAssertion("Exception occured during check of: https://vividus.org", ioException);
     }
+
+    @Test
+    void shouldShareInFlightValidationBetweenConcurrentCallers() throws Exception
+    {
+        CountDownLatch requestStarted = new CountDownLatch(1);
+        CompletableFuture<HttpResponse> response = new CompletableFuture<>();
+        when(httpClient.execute(argThat(r -> HEAD.equals(r.getMethod())), any(HttpContext.class))).thenAnswer(a -> {
+            requestStarted.countDown();
+            return response.get();
+        });
+        when(httpResponse.getStatusCode()).thenReturn(OK);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            Future<ResourceValidation> first = executor.submit(
+                    () -> resourceValidator.perform(new ResourceValidation(FIRST)));
+            requestStarted.await(1, TimeUnit.MINUTES);
+            CompletableFuture<ResourceValidation> second = CompletableFuture.supplyAsync(
+                    () -> resourceValidator.perform(new ResourceValidation(FIRST)));
+            response.complete(httpResponse);
+            assertEquals(CheckStatus.PASSED, first.get().getCheckStatus());
+            assertEquals(CheckStatus.SKIPPED, second.get().getCheckStatus());
+            assertEquals(OK, second.get().getStatusCode());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        verify(httpClient).execute(any(HttpUriRequest.class), any(HttpContext.class));
+    }
+
+    @Test
+    void shouldRepeatValidationIfPreviousValidationFailedUnexpectedly() throws IOException
+    {
+        when(httpClient.execute(argThat(r -> HEAD.equals(r.getMethod())), any(HttpContext.class)))
+            .thenReturn(httpResponse);
+        when(httpResponse.getStatusCode()).thenReturn(OK);
+        IllegalStateException exception = new IllegalStateException();
+        doThrow(exception).doReturn(true).when(softAssert).assertThat(eq(PASSED_CHECK_MESSAGE), eq(OK),
+                argThat(MATCHER));
+        assertSame(exception, assertThrows(IllegalStateException.class,
+            () -> resourceValidator.perform(new ResourceValidation(FIRST))));
+        ResourceValidation result = resourceValidator.perform(new ResourceValidation(FIRST));
+        assertEquals(CheckStatus.PASSED, result.getCheckStatus());
+        verify(httpClient, times(2)).execute(any(HttpUriRequest.class), any(HttpContext.class));
+    }
+
+    @Test
+    void shouldSkipResourceValidatedInPreviousRuns()
+    {
+        resourceValidator.setResultsStore(resultsStore);
+        when(resultsStore.findStatusCode(FIRST)).thenReturn(OptionalInt.of(OK));
+        ResourceValidation result = resourceValidator.perform(new ResourceValidation(FIRST));
+        assertEquals(CheckStatus.SKIPPED, result.getCheckStatus());
+        assertEquals(OK, result.getStatusCode());
+        verifyNoInteractions(httpClient, softAssert);
+    }
+
+    @Test
+    void shouldStoreSuccessfulValidationResult() throws IOException
+    {
+        resourceValidator.setResultsStore(resultsStore);
+        when(resultsStore.findStatusCode(FIRST)).thenReturn(OptionalInt.empty());
+        when(httpClient.execute(argThat(r -> HEAD.equals(r.getMethod())), any(HttpContext.class)))
+            .thenReturn(httpResponse);
+        when(httpResponse.getStatusCode()).thenReturn(OK);
+        ResourceValidation result = resourceValidator.perform(new ResourceValidation(FIRST));
+        assertEquals(CheckStatus.PASSED, result.getCheckStatus());
+        verify(resultsStore).put(FIRST, OK);
+    }
+
+    @Test
+    void shouldNotStoreFailedValidationResult() throws IOException
+    {
+        resourceValidator.setResultsStore(resultsStore);
+        when(resultsStore.findStatusCode(FIRST)).thenReturn(OptionalInt.empty());
+        when(httpClient.execute(argThat(r -> HEAD.equals(r.getMethod())), any(HttpContext.class)))
+            .thenThrow(new IOException());
+        ResourceValidation result = resourceValidator.perform(new ResourceValidation(FIRST));
+        assertEquals(CheckStatus.BROKEN, result.getCheckStatus());
+        verify(resultsStore, never()).put(any(), anyInt());
+    }
 }
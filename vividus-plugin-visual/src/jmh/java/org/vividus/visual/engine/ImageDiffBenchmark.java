@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.vividus.visual.engine;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.yandex.qatools.ashot.Screenshot;
+import ru.yandex.qatools.ashot.comparison.ImageDiff;
+import ru.yandex.qatools.ashot.comparison.ImageDiffer;
+import ru.yandex.qatools.ashot.comparison.PointsMarkupPolicy;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ImageDiffBenchmark
+{
+    private static final int WIDTH = 1920;
+    private static final int CHANGED_AREA_SIZE = 100;
+    private static final Color DIFF_COLOR = Color.MAGENTA;
+
+    @Param("20000")
+    private int height;
+
+    private BufferedImage expected;
+    private BufferedImage actual;
+
+    @Setup
+    public void setUp()
+    {
+        expected = createImage();
+        actual = createImage();
+        for (int y = 0; y < CHANGED_AREA_SIZE; y++)
+        {
+            for (int x = 0; x < CHANGED_AREA_SIZE; x++)
+            {
+                actual.setRGB(x, height / 2 + y, ~actual.getRGB(x, height / 2 + y));
+            }
+        }
+    }
+
+    private BufferedImage createImage()
+    {
+        BufferedImage image = new BufferedImage(WIDTH, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++)
+        {
+            for (int x = 0; x < WIDTH; x++)
+            {
+                image.setRGB(x, y, x * y);
+            }
+        }
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage ashotImageDiffer()
+    {
+        ImageDiff diff = new ImageDiffer().withDiffMarkupPolicy(new PointsMarkupPolicy().withDiffColor(DIFF_COLOR))
+                .makeDiff(new Screenshot(expected), new Screenshot(actual));
+        return diff.getMarkedImage();
+    }
+
+    @Benchmark
+    public BufferedImage parallelImageDiffer()
+    {
+        return new ParallelImageDiffer().makeDiff(expected, actual).createMarkedImage(DIFF_COLOR);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.visual.engine;
+
+import java.util.Optional;
+
+import ru.yandex.qatools.ashot.Screenshot;
+
+/**
+ * Baseline found in the repository: either the decoded baseline screenshot or the content of the baseline in PNG
+ * format, if the checkpoint is known to be identical to the baseline or too different from it and the decoding is not
+ * needed.
+ */
+public final class Baseline
+{
+    private final Screenshot screenshot;
+    private final byte[] identicalContent;
+    private final byte[] distantContent;
+
+    public Baseline(Screenshot screenshot)
+    {
+        this(screenshot, null, null);
+    }
+
+    private Baseline(Screenshot screenshot, byte[] identicalContent, byte[] distantContent)
+    {
+        this.screenshot = screenshot;
+        this.identicalContent = identicalContent;
+        this.distantContent = distantContent;
+    }
+
+    /**
+     * Creates the baseline which is identical to the checkpoint pixel by pixel
+     *
+     * @param content the content of the baseline in PNG format
+     * @return the baseline
+     */
+    public static Baseline identicalToCheckpoint(byte[] content)
+    {
+        return new Baseline(null, content, null);
+    }
+
+    /**
+     * Creates the baseline which is too different from the checkpoint to compare them pixel by pixel
+     *
+     * @param content the content of the baseline in PNG format
+     * @return the baseline
+     */
+    public static Baseline distantFromCheckpoint(byte[] content)
+    {
+        return new Baseline(null, null, content);
+    }
+
+    /**
+     * Gets the decoded baseline screenshot
+     *
+     * @return the baseline screenshot or <code>null</code> if the baseline is identical to the checkpoint or too
+     * different from it
+     */
+    public Screenshot getScreenshot()
+    {
+        return screenshot;
+    }
+
+    public Optional<byte[]> getIdenticalContent()
+    {
+        return Optional.ofNullable(identicalContent);
+    }
+
+    public Optional<byte[]> getDistantContent()
+    {
+        return Optional.ofNullable(distantContent);
+    }
+}
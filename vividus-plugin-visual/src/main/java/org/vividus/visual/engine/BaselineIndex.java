@@ -0,0 +1,305 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.visual.engine;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the baselines storing the dimensions, the hash of the pixels and the perceptual hash of each baseline along
+ * with the hash of the baseline file content. The index allows to find out whether the screenshot is identical to the
+ * baseline or is too different from it without decoding of the baseline image, the index entry is used only if the
+ * baseline file is not changed since the entry creation. The perceptual hash is the 64-bit difference hash: the image
+ * is reduced to 9x8 cells of the average luminance and each bit tells whether the cell is darker than its right
+ * neighbour, so the number of the different bits grows with the visible difference of the images. The index is loaded
+ * from the file on the index creation and saved to the file on the index shutdown. If no file location is configured,
+ * the index keeps nothing.
+ */
+public class BaselineIndex
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(BaselineIndex.class);
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+    private static final String SEPARATOR = "\t";
+    private static final int NAME_INDEX = 0;
+    private static final int CONTENT_HASH_INDEX = 1;
+    private static final int WIDTH_INDEX = 2;
+    private static final int HEIGHT_INDEX = 3;
+    private static final int PIXELS_HASH_INDEX = 4;
+    private static final int PERCEPTUAL_HASH_INDEX = 5;
+    private static final int FIELDS_COUNT = 6;
+    private static final int HEX_RADIX = 16;
+    private static final int PERCEPTUAL_HASH_COLUMNS = 9;
+    private static final int PERCEPTUAL_HASH_ROWS = 8;
+    private static final int CHANNEL_MASK = 0xFF;
+    private static final int RED_SHIFT = 16;
+    private static final int GREEN_SHIFT = 8;
+    private static final int RED_WEIGHT = 299;
+    private static final int GREEN_WEIGHT = 587;
+    private static final int BLUE_WEIGHT = 114;
+
+    private final Path location;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public BaselineIndex(String location)
+    {
+        this.location = StringUtils.isBlank(location) ? null : Paths.get(location);
+        load();
+    }
+
+    public boolean isEnabled()
+    {
+        return location != null;
+    }
+
+    /**
+     * Matches the image against the indexed baseline
+     *
+     * @param baselineName              the name of the baseline
+     * @param baselineContent           the content of the baseline file
+     * @param image                     the image to match
+     * @param maxPerceptualHashDistance the max number of the different bits of the perceptual hashes of the image and
+     *                                  the baseline to treat the image as similar to the baseline
+     * @return {@link Match#IDENTICAL} if the image is identical to the baseline pixel by pixel, {@link Match#DISTANT}
+     * if the image is too different from the baseline, {@link Match#UNKNOWN} if the image is similar to the baseline
+     * or if the baseline is not indexed yet
+     */
+    public Match match(String baselineName, byte[] baselineContent, BufferedImage image, int maxPerceptualHashDistance)
+    {
+        Entry entry = entries.get(baselineName);
+        if (entry == null || !entry.contentHash.equals(hashContent(baselineContent)))
+        {
+            return Match.UNKNOWN;
+        }
+        ImageHashes imageHashes = hashImage(image);
+        if (entry.width == image.getWidth() && entry.height == image.getHeight()
+                && entry.pixelsHash.equals(imageHashes.pixelsHash))
+        {
+            return Match.IDENTICAL;
+        }
+        return Long.bitCount(entry.perceptualHash ^ imageHashes.perceptualHash) > maxPerceptualHashDistance
+                ? Match.DISTANT : Match.UNKNOWN;
+    }
+
+    /**
+     * Indexes the baseline if its file is changed since the last indexing
+     *
+     * @param baselineName    the name of the baseline
+     * @param baselineContent the content of the baseline file
+     * @param baselineImage   the decoded baseline image
+     */
+    public void put(String baselineName, byte[] baselineContent, BufferedImage baselineImage)
+    {
+        if (location == null)
+        {
+            return;
+        }
+        HashCode contentHash = hashContent(baselineContent);
+        Entry entry = entries.get(baselineName);
+        if (entry == null || !entry.contentHash.equals(contentHash))
+        {
+            ImageHashes imageHashes = hashImage(baselineImage);
+            entries.put(baselineName, new Entry(contentHash, baselineImage.getWidth(), baselineImage.getHeight(),
+                    imageHashes.pixelsHash, imageHashes.perceptualHash));
+        }
+    }
+
+    public void save()
+    {
+        if (location == null)
+        {
+            return;
+        }
+        try
+        {
+            Path parent = location.toAbsolutePath().getParent();
+            if (parent != null)
+            {
+                Files.createDirectories(parent);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(location, UTF_8))
+            {
+                for (Map.Entry<String, Entry> indexEntry : entries.entrySet())
+                {
+                    Entry entry = indexEntry.getValue();
+                    writer.write(String.join(SEPARATOR, indexEntry.getKey(), entry.contentHash.toString(),
+                            String.valueOf(entry.width), String.valueOf(entry.height), entry.pixelsHash.toString(),
+                            Long.toHexString(entry.perceptualHash)));
+                    writer.newLine();
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void load()
+    {
+        if (location == null || !Files.exists(location))
+        {
+            return;
+        }
+        try (Stream<String> lines = Files.lines(location, UTF_8))
+        {
+            lines.forEach(this::loadEntry);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void loadEntry(String line)
+    {
+        String[] fields = line.split(SEPARATOR);
+        if (fields.length != FIELDS_COUNT)
+        {
+            LOGGER.warn("Skipping malformed baseline index entry: {}", line);
+            return;
+        }
+        try
+        {
+            entries.put(fields[NAME_INDEX], new Entry(HashCode.fromString(fields[CONTENT_HASH_INDEX]),
+                    Integer.parseInt(fields[WIDTH_INDEX]), Integer.parseInt(fields[HEIGHT_INDEX]),
+                    HashCode.fromString(fields[PIXELS_HASH_INDEX]),
+                    Long.parseUnsignedLong(fields[PERCEPTUAL_HASH_INDEX], HEX_RADIX)));
+        }
+        catch (IllegalArgumentException e)
+        {
+            LOGGER.warn("Skipping malformed baseline index entry: {}", line);
+        }
+    }
+
+    private static HashCode hashContent(byte[] content)
+    {
+        return HASH_FUNCTION.hashBytes(content);
+    }
+
+    /**
+     * Calculates the hash of the pixels and the perceptual hash of the image reading the pixels only once
+     */
+    private static ImageHashes hashImage(BufferedImage image)
+    {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] row = new int[width];
+        ByteBuffer rowBytes = ByteBuffer.allocate(width * Integer.BYTES);
+        Hasher hasher = HASH_FUNCTION.newHasher();
+        long[] luminanceSums = new long[PERCEPTUAL_HASH_COLUMNS * PERCEPTUAL_HASH_ROWS];
+        long[] pixelCounts = new long[luminanceSums.length];
+        for (int y = 0; y < height; y++)
+        {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            rowBytes.clear();
+            rowBytes.asIntBuffer().put(row);
+            hasher.putBytes(rowBytes.array());
+            int cellsOffset = (int) ((long) y * PERCEPTUAL_HASH_ROWS / height) * PERCEPTUAL_HASH_COLUMNS;
+            for (int x = 0; x < width; x++)
+            {
+                int cell = cellsOffset + (int) ((long) x * PERCEPTUAL_HASH_COLUMNS / width);
+                luminanceSums[cell] += getLuminance(row[x]);
+                pixelCounts[cell]++;
+            }
+        }
+        return new ImageHashes(hasher.hash(), calculatePerceptualHash(luminanceSums, pixelCounts));
+    }
+
+    private static long calculatePerceptualHash(long[] luminanceSums, long[] pixelCounts)
+    {
+        double[] averageLuminances = new double[luminanceSums.length];
+        for (int cell = 0; cell < luminanceSums.length; cell++)
+        {
+            // The cells of the images smaller than the grid may have no pixels
+            averageLuminances[cell] = pixelCounts[cell] == 0 ? 0 : (double) luminanceSums[cell] / pixelCounts[cell];
+        }
+        long perceptualHash = 0;
+        for (int cellRow = 0; cellRow < PERCEPTUAL_HASH_ROWS; cellRow++)
+        {
+            for (int column = 0; column < PERCEPTUAL_HASH_COLUMNS - 1; column++)
+            {
+                int cell = cellRow * PERCEPTUAL_HASH_COLUMNS + column;
+                perceptualHash = perceptualHash << 1 | (averageLuminances[cell] < averageLuminances[cell + 1] ? 1 : 0);
+            }
+        }
+        return perceptualHash;
+    }
+
+    private static int getLuminance(int rgb)
+    {
+        return (rgb >> RED_SHIFT & CHANNEL_MASK) * RED_WEIGHT + (rgb >> GREEN_SHIFT & CHANNEL_MASK) * GREEN_WEIGHT
+                + (rgb & CHANNEL_MASK) * BLUE_WEIGHT;
+    }
+
+    public enum Match
+    {
+        IDENTICAL,
+        DISTANT,
+        UNKNOWN
+    }
+
+    private static final class ImageHashes
+    {
+        private final HashCode pixelsHash;
+        private final long perceptualHash;
+
+        ImageHashes(HashCode pixelsHash, long perceptualHash)
+        {
+            this.pixelsHash = pixelsHash;
+            this.perceptualHash = perceptualHash;
+        }
+    }
+
+    private static final class Entry
+    {
+        private final HashCode contentHash;
+        private final int width;
+        private final int height;
+        private final HashCode pixelsHash;
+        private final long perceptualHash;
+
+        Entry(HashCode contentHash, int width, int height, HashCode pixelsHash, long perceptualHash)
+        {
+            this.contentHash = contentHash;
+            this.width = width;
+            this.height = height;
+            this.pixelsHash = pixelsHash;
+            this.perceptualHash = perceptualHash;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,8 +17,10 @@
 package org.vividus.visual.engine;
 
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -32,6 +34,7 @@ import org.slf4j.LoggerFactory;
 import org.vividus.resource.ResourceLoadException;
 import org.vividus.ui.util.ImageUtils;
 import org.vividus.util.ResourceUtils;
+import org.vividus.visual.engine.BaselineIndex.Match;
 
 import ru.yandex.qatools.ashot.Screenshot;
 
@@ -40,6 +43,7 @@ public class FileSystemBaselineRepository implements IBaselineRepository
     private static final Logger LOGGER = LoggerFactory.getLogger(FileSystemBaselineRepository.class);
 
     private File baselinesFolder;
+    private BaselineIndex baselineIndex = new BaselineIndex(null);
 
     private final Supplier<File> baselineFolderResolver = Suppliers.memoize(() -> {
         if (!baselinesFolder.isAbsolute())
@@ -54,19 +58,64 @@ public class FileSystemBaselineRepository implements IBaselineRepository
     @Override
     public Optional<Screenshot> getBaseline(String baselineName) throws IOException
     {
-        File baselineFile = new File(baselineFolderResolver.get(), appendExtension(baselineName));
+        File baselineFile = getBaselineFile(baselineName);
+        Optional<byte[]> baselineContent = readBaseline(baselineFile);
+        if (baselineContent.isEmpty())
+        {
+            return Optional.empty();
+        }
+        return Optional.of(decodeBaseline(baselineName, baselineFile, baselineContent.get()));
+    }
+
+    @Override
+    public Optional<Baseline> findBaseline(Screenshot checkpoint, String baselineName, int maxPerceptualHashDistance)
+            throws IOException
+    {
+        File baselineFile = getBaselineFile(baselineName);
+        Optional<byte[]> baselineContent = readBaseline(baselineFile);
+        if (baselineContent.isEmpty())
+        {
+            return Optional.empty();
+        }
+        byte[] content = baselineContent.get();
+        Match match = baselineIndex.match(baselineName, content, checkpoint.getImage(), maxPerceptualHashDistance);
+        if (match == Match.IDENTICAL)
+        {
+            return Optional.of(Baseline.identicalToCheckpoint(content));
+        }
+        if (match == Match.DISTANT)
+        {
+            return Optional.of(Baseline.distantFromCheckpoint(content));
+        }
+        return Optional.of(new Baseline(decodeBaseline(baselineName, baselineFile, content)));
+    }
+
+    private Optional<byte[]> readBaseline(File baselineFile) throws IOException
+    {
         if (!baselineFile.exists())
         {
             LOGGER.warn("Unable to find a baseline at the path: {}", baselineFile);
             return Optional.empty();
         }
-        BufferedImage baselineImage = ImageIO.read(baselineFile);
+        return Optional.of(Files.readAllBytes(baselineFile.toPath()));
+    }
+
+    private Screenshot decodeBaseline(String baselineName, File baselineFile, byte[] baselineContent)
+            throws IOException
+    {
+        BufferedImage baselineImage = ImageIO.read(new ByteArrayInputStream(baselineContent));
         if (baselineImage == null)
         {
             throw new ResourceLoadException(
                     "The baseline at the path '" + baselineFile + "' is broken or has unsupported format");
         }
-        return Optional.of(new Screenshot(baselineImage));
+        baselineIndex.put(baselineName, baselineContent, baselineImage);
+        return new Screenshot(baselineImage);
+    }
+
+    private File getBaselineFile(String baselineName)
+    {
+        return new File(baselineFolderResolver.get(), appendExtension(baselineName));
     }
 
     private String appendExtension(String baselineName)
@@ -80,10 +129,20 @@ public class FileSystemBaselineRepository implements IBaselineRepository
         File baselineToSave = new File(baselineFolderResolver.get(), baselineName);
         ImageUtils.writeAsPng(toSave.getImage(), baselineToSave);
         LOGGER.info("Baseline saved to: {}", appendExtension(baselineToSave.getAbsolutePath()));
+        if (baselineIndex.isEnabled())
+        {
+            baselineIndex.put(baselineName, Files.readAllBytes(getBaselineFile(baselineName).toPath()),
+                    toSave.getImage());
+        }
     }
 
     public void setBaselinesFolder(File baselinesFolder)
     {
         this.baselinesFolder = baselinesFolder;
     }
+
+    public void setBaselineIndex(BaselineIndex baselineIndex)
+    {
+        this.baselineIndex = baselineIndex;
+    }
 }
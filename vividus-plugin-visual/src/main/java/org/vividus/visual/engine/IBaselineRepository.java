@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,4 +26,21 @@ public interface IBaselineRepository
     Optional<Screenshot> getBaseline(String baselineName) throws IOException;
 
     void saveBaseline(Screenshot screenshot, String baselineName) throws IOException;
+
+    /**
+     * Finds the baseline to compare the checkpoint against, the repository may check whether the checkpoint is
+     * identical to the baseline pixel by pixel or too different from it without decoding of the baseline image
+     *
+     * @param checkpoint                the checkpoint to compare against the baseline
+     * @param baselineName              the name of the baseline
+     * @param maxPerceptualHashDistance the max number of the different bits of the perceptual hashes of the
+     *                                  checkpoint and the baseline to decode the baseline for the comparison
+     * @return the baseline or empty optional if the baseline is missing
+     * @throws IOException if an I/O error occurs
+     */
+    default Optional<Baseline> findBaseline(Screenshot checkpoint, String baselineName, int maxPerceptualHashDistance)
+            throws IOException
+    {
+        return getBaseline(baselineName).map(Baseline::new);
+    }
 }
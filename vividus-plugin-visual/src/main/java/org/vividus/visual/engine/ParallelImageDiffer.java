@@ -0,0 +1,242 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.visual.engine;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Compares the images pixel by pixel. The images are split into the horizontal bands, which are compared in parallel
+ * using the bulk access to the pixels. The pixels are treated as equal if none of their color channels differ by more
+ * than the color distortion (the same as the default one used by AShot), the pixels lying outside of any of the
+ * images are treated as different.
+ */
+public class ParallelImageDiffer
+{
+    private static final int BAND_HEIGHT = 64;
+    private static final int OPAQUE_ALPHA = 0xFF000000;
+    private static final int COLOR_DISTORTION = 15;
+    private static final int CHANNEL_MASK = 0xFF;
+    private static final int RED_SHIFT = 16;
+    private static final int GREEN_SHIFT = 8;
+
+    public PixelDiff makeDiff(BufferedImage expected, BufferedImage actual)
+    {
+        return makeDiff(expected, actual, Long.MAX_VALUE);
+    }
+
+    /**
+     * Compares the images until the number of the different pixels exceeds the diff size trigger: once it's
+     * exceeded, the bands which are not compared yet are skipped, since the comparison outcome is known already.
+     *
+     * @param expected        the expected image
+     * @param actual          the actual image
+     * @param diffSizeTrigger the number of the different pixels to stop the comparison after
+     * @return the difference of the images, it's incomplete if the comparison is stopped
+     */
+    public PixelDiff makeDiff(BufferedImage expected, BufferedImage actual, long diffSizeTrigger)
+    {
+        int width = Math.max(expected.getWidth(), actual.getWidth());
+        int height = Math.max(expected.getHeight(), actual.getHeight());
+        BitSet[] bandDiffs = new BitSet[(height + BAND_HEIGHT - 1) / BAND_HEIGHT];
+        AtomicLong diffSize = new AtomicLong();
+        IntStream.range(0, bandDiffs.length).parallel().forEach(band -> {
+            if (diffSize.get() <= diffSizeTrigger)
+            {
+                BitSet bandDiff = compareBand(expected, actual, width, getBandHeight(band, height),
+                        band * BAND_HEIGHT);
+                bandDiffs[band] = bandDiff;
+                diffSize.addAndGet(bandDiff.cardinality());
+            }
+        });
+        return new PixelDiff(expected, width, height, bandDiffs, diffSize.get());
+    }
+
+    private static BitSet compareBand(BufferedImage expected, BufferedImage actual, int width, int bandHeight,
+            int startY)
+    {
+        int[] expectedPixels = readPixels(expected, startY, bandHeight);
+        int[] actualPixels = readPixels(actual, startY, bandHeight);
+        int commonWidth = Math.min(expected.getWidth(), actual.getWidth());
+        BitSet bandDiff = new BitSet(width * bandHeight);
+        for (int row = 0; row < bandHeight; row++)
+        {
+            int y = startY + row;
+            int offset = row * width;
+            if (y < expected.getHeight() && y < actual.getHeight())
+            {
+                int expectedOffset = row * expected.getWidth();
+                int actualOffset = row * actual.getWidth();
+                for (int x = 0; x < commonWidth; x++)
+                {
+                    if (!areColorsSimilar(expectedPixels[expectedOffset + x], actualPixels[actualOffset + x]))
+                    {
+                        bandDiff.set(offset + x);
+                    }
+                }
+                bandDiff.set(offset + commonWidth, offset + width);
+            }
+            else
+            {
+                bandDiff.set(offset, offset + width);
+            }
+        }
+        return bandDiff;
+    }
+
+    private static boolean areColorsSimilar(int expectedRgb, int actualRgb)
+    {
+        return expectedRgb == actualRgb || isChannelSimilar(expectedRgb, actualRgb, RED_SHIFT)
+                && isChannelSimilar(expectedRgb, actualRgb, GREEN_SHIFT) && isChannelSimilar(expectedRgb, actualRgb, 0);
+    }
+
+    private static boolean isChannelSimilar(int expectedRgb, int actualRgb, int shift)
+    {
+        int expectedChannel = expectedRgb >> shift & CHANNEL_MASK;
+        int actualChannel = actualRgb >> shift & CHANNEL_MASK;
+        return Math.abs(expectedChannel - actualChannel) <= COLOR_DISTORTION;
+    }
+
+    private static int getBandHeight(int band, int height)
+    {
+        return Math.min(BAND_HEIGHT, height - band * BAND_HEIGHT);
+    }
+
+    /**
+     * Reads the ARGB pixels of the image rows, the rows lying outside of the image are not read. The data of the
+     * images with the integer pixels is copied directly, while the pixels of other images are converted by the color
+     * model.
+     */
+    private static int[] readPixels(BufferedImage image, int startY, int bandHeight)
+    {
+        int width = image.getWidth();
+        int rows = Math.max(0, Math.min(bandHeight, image.getHeight() - startY));
+        int[] pixels = new int[width * rows];
+        if (rows == 0)
+        {
+            return pixels;
+        }
+        int type = image.getType();
+        WritableRaster raster = image.getRaster();
+        DataBuffer dataBuffer = raster.getDataBuffer();
+        if ((type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_INT_ARGB)
+                && dataBuffer instanceof DataBufferInt && dataBuffer.getOffset() == 0 && raster.getParent() == null
+                && ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride() == width)
+        {
+            int[] data = ((DataBufferInt) dataBuffer).getData();
+            int alpha = type == BufferedImage.TYPE_INT_RGB ? OPAQUE_ALPHA : 0;
+            int dataOffset = startY * width;
+            for (int index = 0; index < pixels.length; index++)
+            {
+                pixels[index] = data[dataOffset + index] | alpha;
+            }
+            return pixels;
+        }
+        return image.getRGB(0, startY, width, rows, pixels, 0, width);
+    }
+
+    public static final class PixelDiff
+    {
+        private final BufferedImage expected;
+        private final int width;
+        private final int height;
+        private final BitSet[] bandDiffs;
+        private final long diffSize;
+
+        private PixelDiff(BufferedImage expected, int width, int height, BitSet[] bandDiffs, long diffSize)
+        {
+            this.expected = expected;
+            this.width = width;
+            this.height = height;
+            this.bandDiffs = bandDiffs;
+            this.diffSize = diffSize;
+        }
+
+        /**
+         * Gets the number of the different pixels, if the comparison is stopped, it's the number of the different
+         * pixels found before the stop
+         *
+         * @return the number of the different pixels
+         */
+        public long getDiffSize()
+        {
+            return diffSize;
+        }
+
+        /**
+         * Checks whether all the pixels of the images are compared
+         *
+         * @return <code>false</code> if the comparison is stopped once the diff size trigger is exceeded
+         */
+        public boolean isComplete()
+        {
+            return Arrays.stream(bandDiffs).allMatch(Objects::nonNull);
+        }
+
+        public boolean hasDiff()
+        {
+            return diffSize > 0;
+        }
+
+        /**
+         * Creates the image containing the pixels of the expected image with the different pixels painted using the
+         * diff color
+         *
+         * @param diffColor the color to mark the different pixels
+         * @return the marked image
+         * @throws IllegalStateException if the comparison is stopped before all the pixels are compared
+         */
+        public BufferedImage createMarkedImage(Color diffColor)
+        {
+            Validate.validState(isComplete(), "The marked image can't be created for the incomplete diff");
+            int expectedType = expected.getType();
+            int type = expectedType == BufferedImage.TYPE_CUSTOM ? BufferedImage.TYPE_INT_ARGB : expectedType;
+            BufferedImage markedImage = new BufferedImage(width, height, type);
+            int expectedWidth = expected.getWidth();
+            int diffRgb = diffColor.getRGB();
+            IntStream.range(0, bandDiffs.length).parallel().forEach(band -> {
+                int startY = band * BAND_HEIGHT;
+                int bandHeight = getBandHeight(band, height);
+                int[] expectedPixels = readPixels(expected, startY, bandHeight);
+                int[] pixels = new int[width * bandHeight];
+                int expectedRows = expectedPixels.length / expectedWidth;
+                for (int row = 0; row < expectedRows; row++)
+                {
+                    System.arraycopy(expectedPixels, row * expectedWidth, pixels, row * width, expectedWidth);
+                }
+                BitSet bandDiff = bandDiffs[band];
+                for (int index = bandDiff.nextSetBit(0); index >= 0; index = bandDiff.nextSetBit(index + 1))
+                {
+                    pixels[index] = diffRgb;
+                }
+                markedImage.setRGB(0, startY, width, bandHeight, pixels, 0, width);
+            });
+            return markedImage;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,15 +24,13 @@ import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.vividus.visual.engine.ParallelImageDiffer.PixelDiff;
 import org.vividus.visual.model.VisualActionType;
 import org.vividus.visual.model.VisualCheck;
 import org.vividus.visual.model.VisualCheckResult;
 import org.vividus.visual.screenshot.ScreenshotProvider;
 
 import ru.yandex.qatools.ashot.Screenshot;
-import ru.yandex.qatools.ashot.comparison.ImageDiff;
-import ru.yandex.qatools.ashot.comparison.ImageDiffer;
-import ru.yandex.qatools.ashot.comparison.PointsMarkupPolicy;
 import ru.yandex.qatools.ashot.util.ImageTool;
 
 @SuppressWarnings("MagicNumber")
@@ -46,10 +44,13 @@ public class VisualTestingEngine implements IVisualTestingEngine
 
     private final ScreenshotProvider screenshotProvider;
     private final IBaselineRepository baselineRepository;
+    private final ParallelImageDiffer imageDiffer = new ParallelImageDiffer();
 
     private int acceptableDiffPercentage;
     private int requiredDiffPercentage;
     private boolean overrideBaselines;
+    private boolean publishDiffImage = true;
+    private Integer perceptualHashDistanceThreshold;
 
     public VisualTestingEngine(ScreenshotProvider screenshotProvider,
             IBaselineRepository baselineRepository)
@@ -79,7 +80,56 @@ public class VisualTestingEngine implements IVisualTestingEngine
         VisualCheckResult comparisonResult = new VisualCheckResult(visualCheck);
         Screenshot checkpoint = getCheckpointScreenshot(visualCheck);
         comparisonResult.setCheckpoint(imageToBase64(checkpoint.getImage()));
-        Optional<Screenshot> baseline = baselineRepository.getBaseline(visualCheck.getBaselineName());
+        boolean inequalityCheck = visualCheck.getAction() == VisualActionType.CHECK_INEQUALITY_AGAINST;
+        int diffPercentage = calculateDiffPercentage(visualCheck, inequalityCheck);
+        // The checkpoint too different from the baseline is known to fail the comparison, but the check of the
+        // inequality is never passed without the pixel comparison
+        int maxPerceptualHashDistance = perceptualHashDistanceThreshold != null && !publishDiffImage
+                && !inequalityCheck ? perceptualHashDistanceThreshold : Integer.MAX_VALUE;
+        Optional<Baseline> baseline = baselineRepository.findBaseline(checkpoint, visualCheck.getBaselineName(),
+                maxPerceptualHashDistance);
+        Optional<byte[]> identicalBaselineContent = baseline.flatMap(Baseline::getIdenticalContent);
+        Optional<byte[]> distantBaselineContent = baseline.flatMap(Baseline::getDistantContent);
+        if (identicalBaselineContent.isPresent())
+        {
+            String baselineBase64 = Base64.getEncoder().encodeToString(identicalBaselineContent.get());
+            comparisonResult.setBaseline(baselineBase64);
+            comparisonResult.setDiff(baselineBase64);
+            comparisonResult.setPassed(true);
+            logDiffPercentage(inequalityCheck, diffPercentage, 0);
+        }
+        else if (distantBaselineContent.isPresent())
+        {
+            comparisonResult.setBaseline(Base64.getEncoder().encodeToString(distantBaselineContent.get()));
+            comparisonResult.setPassed(false);
+            LOGGER.info("The checkpoint is not compared against the baseline pixel by pixel, since the distance"
+                    + " between their perceptual hashes exceeds {}", perceptualHashDistanceThreshold);
+        }
+        else
+        {
+            double actualDiffPercentage = compare(baseline.map(Baseline::getScreenshot), checkpoint, diffPercentage,
+                    comparisonResult);
+            logDiffPercentage(inequalityCheck, diffPercentage, actualDiffPercentage);
+        }
+        if (overrideBaselines)
+        {
+            baselineRepository.saveBaseline(checkpoint, visualCheck.getBaselineName());
+        }
+        return comparisonResult;
+    }
+
+    private static void logDiffPercentage(boolean inequalityCheck, int diffPercentage, double actualDiffPercentage)
+    {
+        LOGGER.atInfo()
+                       .addArgument(() -> inequalityCheck ? "required" : "acceptable")
+                       .addArgument((double) diffPercentage)
+                       .addArgument(actualDiffPercentage)
+                       .log("The {} visual difference percentage is {}% , but actual was {}%");
+    }
+
+    private double compare(Optional<Screenshot> baseline, Screenshot checkpoint, int diffPercentage,
+            VisualCheckResult comparisonResult) throws IOException
+    {
         Screenshot baselineScreenshot;
         if (baseline.isPresent())
         {
@@ -91,22 +141,23 @@ public class VisualTestingEngine implements IVisualTestingEngine
             baselineScreenshot = EMPTY_SCREENSHOT;
         }
 
-        boolean inequalityCheck = visualCheck.getAction() == VisualActionType.CHECK_INEQUALITY_AGAINST;
-        int diffPercentage = calculateDiffPercentage(visualCheck, inequalityCheck);
         int comparisonImageSize = calculateComparisonImageSize(baselineScreenshot, checkpoint);
-        ImageDiff diff = findImageDiff(baselineScreenshot, checkpoint, comparisonImageSize, diffPercentage);
-        comparisonResult.setPassed(!diff.hasDiff());
-        comparisonResult.setDiff(imageToBase64(diff.getMarkedImage()));
-        LOGGER.atInfo()
-                       .addArgument(() -> inequalityCheck ? "required" : "acceptable")
-                       .addArgument((double) diffPercentage)
-                       .addArgument(() -> Math.ceil((double) (diff.getDiffSize() * 100) / (double) comparisonImageSize))
-                       .log("The {} visual difference percentage is {}% , but actual was {}%");
-        if (overrideBaselines)
+        int diffSizeTrigger = (int) (comparisonImageSize * diffPercentage * 0.01);
+        PixelDiff diff;
+        if (publishDiffImage)
         {
-            baselineRepository.saveBaseline(checkpoint, visualCheck.getBaselineName());
+            diff = imageDiffer.makeDiff(baselineScreenshot.getImage(), checkpoint.getImage());
+            // The image without differences is the baseline itself, so there is no need to encode it once again
+            comparisonResult.setDiff(diff.hasDiff() || comparisonResult.getBaseline() == null
+                    ? imageToBase64(diff.createMarkedImage(DIFF_COLOR)) : comparisonResult.getBaseline());
         }
-        return comparisonResult;
+        else
+        {
+            // Once the trigger is exceeded, the outcome of the check is known, so the rest pixels are not compared
+            diff = imageDiffer.makeDiff(baselineScreenshot.getImage(), checkpoint.getImage(), diffSizeTrigger);
+        }
+        comparisonResult.setPassed(diff.getDiffSize() <= diffSizeTrigger);
+        return Math.ceil((double) (diff.getDiffSize() * 100) / (double) comparisonImageSize);
     }
 
     private int calculateDiffPercentage(VisualCheck visualCheck, boolean inequalityCheck)
@@ -118,15 +169,6 @@ public class VisualTestingEngine implements IVisualTestingEngine
         return visualCheck.getAcceptableDiffPercentage().orElse(this.acceptableDiffPercentage);
     }
 
-    private ImageDiff findImageDiff(Screenshot expected, Screenshot actual, int comparisonImageSize,
-            int diffPercentage)
-    {
-        PointsMarkupPolicy pointsMarkupPolicy = new PointsMarkupPolicy();
-        pointsMarkupPolicy.setDiffSizeTrigger((int) (comparisonImageSize * diffPercentage * 0.01));
-        ImageDiffer differ = new ImageDiffer().withDiffMarkupPolicy(pointsMarkupPolicy.withDiffColor(DIFF_COLOR));
-        return differ.makeDiff(expected, actual);
-    }
-
     private int calculateComparisonImageSize(Screenshot expected, Screenshot actual)
     {
         int width = Math.max(expected.getImage().getWidth(), actual.getImage().getWidth());
@@ -144,6 +186,16 @@ public class VisualTestingEngine implements IVisualTestingEngine
         this.overrideBaselines = overrideBaselines;
     }
 
+    public void setPublishDiffImage(boolean publishDiffImage)
+    {
+        this.publishDiffImage = publishDiffImage;
+    }
+
+    public void setPerceptualHashDistanceThreshold(Integer perceptualHashDistanceThreshold)
+    {
+        this.perceptualHashDistanceThreshold = perceptualHashDistanceThreshold;
+    }
+
     public void setAcceptableDiffPercentage(int acceptableDiffPercentage)
     {
         this.acceptableDiffPercentage = acceptableDiffPercentage;
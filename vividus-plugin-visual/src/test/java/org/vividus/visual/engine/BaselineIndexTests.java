@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.visual.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.vividus.visual.engine.BaselineIndex.Match;
+
+class BaselineIndexTests
+{
+    private static final String BASELINE = "baseline";
+    private static final byte[] CONTENT = "content".getBytes(StandardCharsets.UTF_8);
+    private static final int SIZE = 3;
+    private static final int WHITE = 0xFFFFFF;
+    private static final int STRIPE_WIDTH = 2;
+    private static final int STRIPES_COUNT = 9;
+    private static final int STRIPE_HEIGHT = 16;
+
+    @Test
+    void shouldSaveAndLoadIndex(@TempDir Path tempDir) throws IOException
+    {
+        Path location = tempDir.resolve("baselines.idx");
+        Files.write(location, List.of("malformed line", "other\t00\t1\tone\t00"));
+        BaselineIndex index = new BaselineIndex(location.toString());
+        BufferedImage image = createImage(BufferedImage.TYPE_INT_RGB, 0x123456);
+        assertEquals(Match.UNKNOWN, index.match(BASELINE, CONTENT, image, 0));
+        index.put(BASELINE, CONTENT, image);
+        index.save();
+        assertEquals(1, Files.readAllLines(location).size());
+
+        BaselineIndex nextRunIndex = new BaselineIndex(location.toString());
+        assertEquals(Match.IDENTICAL,
+                nextRunIndex.match(BASELINE, CONTENT, createImage(BufferedImage.TYPE_3BYTE_BGR, 0x123456), 0));
+        assertEquals(Match.UNKNOWN,
+                nextRunIndex.match(BASELINE, CONTENT, createImage(BufferedImage.TYPE_INT_RGB, 0x123457), 0));
+        assertEquals(Match.UNKNOWN, nextRunIndex.match(BASELINE, "changed".getBytes(StandardCharsets.UTF_8), image, 0));
+        assertEquals(Match.UNKNOWN, nextRunIndex.match(BASELINE, CONTENT, new BufferedImage(SIZE, SIZE + 1,
+                BufferedImage.TYPE_INT_RGB), 0));
+    }
+
+    @Test
+    void shouldMatchImagesByPerceptualHashDistance(@TempDir Path tempDir)
+    {
+        BaselineIndex index = new BaselineIndex(tempDir.resolve("baselines.idx").toString());
+        index.put(BASELINE, CONTENT, createStripedImage(0, 0));
+        BufferedImage similarImage = createStripedImage(0x010101, 0x010101);
+        assertEquals(Match.UNKNOWN, index.match(BASELINE, CONTENT, similarImage, 0));
+        // Each of 8 rows of the perceptual hash grid has 4 dark cells followed by the light ones
+        BufferedImage distantImage = createStripedImage(WHITE, 0);
+        assertEquals(Match.DISTANT, index.match(BASELINE, CONTENT, distantImage, 31));
+        assertEquals(Match.UNKNOWN, index.match(BASELINE, CONTENT, distantImage, 32));
+        assertEquals(Match.UNKNOWN, index.match(BASELINE, CONTENT, distantImage, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void shouldNotIndexBaselinesIfLocationIsNotSet()
+    {
+        BaselineIndex index = new BaselineIndex("");
+        assertFalse(index.isEnabled());
+        BufferedImage image = createImage(BufferedImage.TYPE_INT_RGB, 0);
+        index.put(BASELINE, CONTENT, image);
+        assertEquals(Match.UNKNOWN, index.match(BASELINE, CONTENT, image, 0));
+        index.save();
+    }
+
+    private static BufferedImage createImage(int type, int rgb)
+    {
+        BufferedImage image = new BufferedImage(SIZE, SIZE, type);
+        image.setRGB(1, 1, rgb);
+        return image;
+    }
+
+    private static BufferedImage createStripedImage(int evenStripeRgb, int oddStripeRgb)
+    {
+        BufferedImage image = new BufferedImage(STRIPE_WIDTH * STRIPES_COUNT, STRIPE_HEIGHT,
+                BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++)
+        {
+            for (int x = 0; x < image.getWidth(); x++)
+            {
+                image.setRGB(x, y, x / STRIPE_WIDTH % 2 == 0 ? evenStripeRgb : oddStripeRgb);
+            }
+        }
+        return image;
+    }
+}
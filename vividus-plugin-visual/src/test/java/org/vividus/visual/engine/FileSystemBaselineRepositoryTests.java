@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,7 +20,9 @@ import static com.github.valfirst.slf4jtest.LoggingEvent.info;
 import static com.github.valfirst.slf4jtest.LoggingEvent.warn;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -29,6 +31,7 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.Optional;
 
@@ -109,6 +112,43 @@ class FileSystemBaselineRepositoryTests
         assertThat(ImageIO.read(baselineFile), ImageTool.equalImage(baseline));
     }
 
+    @Test
+    void shouldFindBaselineUsingIndex(@TempDir File folder) throws IOException
+    {
+        fileSystemBaselineRepository.setBaselinesFolder(folder);
+        fileSystemBaselineRepository.setBaselineIndex(new BaselineIndex(new File(folder, "index").toString()));
+        Screenshot screenshot = new Screenshot(loadBaseline());
+        assertEquals(Optional.empty(), fileSystemBaselineRepository.findBaseline(screenshot, BASELINE,
+                Integer.MAX_VALUE));
+        fileSystemBaselineRepository.saveBaseline(screenshot, BASELINE);
+        byte[] baselineContent = Files.readAllBytes(new File(folder, BASELINE + DEFAULT_EXTENSION).toPath());
+        Baseline identicalBaseline = fileSystemBaselineRepository.findBaseline(screenshot, BASELINE, 0).get();
+        assertArrayEquals(baselineContent, identicalBaseline.getIdenticalContent().get());
+        assertNull(identicalBaseline.getScreenshot());
+        BufferedImage checkpointImage = ImageIO.read(
+                ResourceUtils.loadFile(FileSystemBaselineRepositoryTests.class, "/baselines/checkpoint.png"));
+        Screenshot checkpoint = new Screenshot(checkpointImage);
+        Baseline baseline = fileSystemBaselineRepository.findBaseline(checkpoint, BASELINE, Integer.MAX_VALUE).get();
+        assertEquals(Optional.empty(), baseline.getIdenticalContent());
+        assertEquals(Optional.empty(), baseline.getDistantContent());
+        assertThat(baseline.getScreenshot().getImage(), ImageTool.equalImage(screenshot.getImage()));
+        Baseline distantBaseline = fileSystemBaselineRepository.findBaseline(checkpoint, BASELINE, 6).get();
+        assertArrayEquals(baselineContent, distantBaseline.getDistantContent().get());
+        assertEquals(Optional.empty(), distantBaseline.getIdenticalContent());
+        assertNull(distantBaseline.getScreenshot());
+    }
+
+    @Test
+    void shouldFindBaselineWithoutIndex() throws IOException
+    {
+        fileSystemBaselineRepository.setBaselinesFolder(BASELINES_FOLDER);
+        BufferedImage baselineImage = loadBaseline();
+        Baseline baseline = fileSystemBaselineRepository.findBaseline(new Screenshot(baselineImage), BASELINE, 0)
+                .get();
+        assertEquals(Optional.empty(), baseline.getIdenticalContent());
+        assertThat(baseline.getScreenshot().getImage(), ImageTool.equalImage(baselineImage));
+    }
+
     private BufferedImage loadBaseline()
     {
         try
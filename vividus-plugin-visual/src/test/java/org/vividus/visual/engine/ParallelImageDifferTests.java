@@ -0,0 +1,132 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.visual.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.vividus.visual.engine.ParallelImageDiffer.PixelDiff;
+
+class ParallelImageDifferTests
+{
+    private static final int WIDTH = 30;
+    private static final int HEIGHT = 150;
+    private static final int DIFF_RGB = Color.MAGENTA.getRGB();
+
+    private final ParallelImageDiffer imageDiffer = new ParallelImageDiffer();
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, 1",
+        "1, 5",
+        "5, 2",
+        "2, 4"
+    })
+    void shouldNotFindDiffBetweenSameImagesOfDifferentTypes(int expectedType, int actualType)
+    {
+        PixelDiff diff = imageDiffer.makeDiff(createImage(expectedType, WIDTH, HEIGHT),
+                createImage(actualType, WIDTH, HEIGHT));
+        assertFalse(diff.hasDiff());
+        assertEquals(0, diff.getDiffSize());
+    }
+
+    @Test
+    void shouldFindAndMarkDifferentPixels()
+    {
+        BufferedImage expected = createImage(BufferedImage.TYPE_INT_RGB, WIDTH, HEIGHT);
+        BufferedImage actual = createImage(BufferedImage.TYPE_3BYTE_BGR, WIDTH, HEIGHT);
+        actual.setRGB(3, 7, Color.RED.getRGB());
+        actual.setRGB(WIDTH - 1, HEIGHT - 1, Color.RED.getRGB());
+        PixelDiff diff = imageDiffer.makeDiff(expected, actual);
+        assertTrue(diff.hasDiff());
+        assertEquals(2, diff.getDiffSize());
+        BufferedImage markedImage = diff.createMarkedImage(Color.MAGENTA);
+        assertEquals(BufferedImage.TYPE_INT_RGB, markedImage.getType());
+        assertEquals(DIFF_RGB, markedImage.getRGB(3, 7));
+        assertEquals(DIFF_RGB, markedImage.getRGB(WIDTH - 1, HEIGHT - 1));
+        assertEquals(expected.getRGB(4, 100), markedImage.getRGB(4, 100));
+    }
+
+    @Test
+    void shouldTreatPixelsOutsideOfImagesAsDifferent()
+    {
+        BufferedImage expected = createImage(BufferedImage.TYPE_INT_RGB, WIDTH, HEIGHT - 10);
+        BufferedImage actual = createImage(BufferedImage.TYPE_INT_RGB, WIDTH - 10, HEIGHT);
+        PixelDiff diff = imageDiffer.makeDiff(expected, actual);
+        assertEquals(WIDTH * HEIGHT - (WIDTH - 10) * (HEIGHT - 10), diff.getDiffSize());
+        BufferedImage markedImage = diff.createMarkedImage(Color.MAGENTA);
+        assertEquals(WIDTH, markedImage.getWidth());
+        assertEquals(HEIGHT, markedImage.getHeight());
+        assertEquals(DIFF_RGB, markedImage.getRGB(WIDTH - 1, 0));
+        assertEquals(DIFF_RGB, markedImage.getRGB(0, HEIGHT - 1));
+        assertEquals(DIFF_RGB, markedImage.getRGB(WIDTH - 1, HEIGHT - 1));
+        assertEquals(expected.getRGB(0, 0), markedImage.getRGB(0, 0));
+    }
+
+    @Test
+    void shouldStopComparisonOnceDiffSizeTriggerIsExceeded()
+    {
+        int height = 16_384;
+        BufferedImage expected = new BufferedImage(WIDTH, height, BufferedImage.TYPE_INT_RGB);
+        BufferedImage actual = new BufferedImage(WIDTH, height, BufferedImage.TYPE_INT_RGB);
+        actual.setRGB(0, 0, Color.RED.getRGB());
+        actual.setRGB(0, height - 1, Color.RED.getRGB());
+        PixelDiff completeDiff = imageDiffer.makeDiff(expected, actual, 2);
+        assertTrue(completeDiff.isComplete());
+        assertEquals(2, completeDiff.getDiffSize());
+
+        BufferedImage differentImage = createImage(BufferedImage.TYPE_INT_RGB, WIDTH, height);
+        PixelDiff diff = imageDiffer.makeDiff(expected, differentImage, 0);
+        assertTrue(diff.getDiffSize() > 0);
+        assertTrue(diff.getDiffSize() < (long) WIDTH * height);
+        assertFalse(diff.isComplete());
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> diff.createMarkedImage(Color.MAGENTA));
+        assertEquals("The marked image can't be created for the incomplete diff", exception.getMessage());
+    }
+
+    @Test
+    void shouldIgnoreColorDistortion()
+    {
+        BufferedImage expected = createImage(BufferedImage.TYPE_INT_RGB, WIDTH, HEIGHT);
+        BufferedImage actual = createImage(BufferedImage.TYPE_INT_RGB, WIDTH, HEIGHT);
+        actual.setRGB(0, 0, new Color(15, 15, 15).getRGB());
+        actual.setRGB(0, 1, new Color(0, 17, 1).getRGB());
+        assertEquals(1, imageDiffer.makeDiff(expected, actual).getDiffSize());
+    }
+
+    private static BufferedImage createImage(int type, int width, int height)
+    {
+        BufferedImage image = new BufferedImage(width, height, type);
+        for (int y = 0; y < height; y++)
+        {
+            for (int x = 0; x < width; x++)
+            {
+                image.setRGB(x, y, new Color(x * 8 % 256, y % 256, (x + y) % 256).getRGB());
+            }
+        }
+        return image;
+    }
+}
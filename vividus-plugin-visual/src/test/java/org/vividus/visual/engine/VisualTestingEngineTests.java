@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -33,6 +33,7 @@ import static org.mockito.Mockito.when;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -138,7 +139,7 @@ class VisualTestingEngineTests
     void shouldReturnVisualCheckResultWithDiffBaselineAndCheckpointDiffSensitivity(
         int acceptableDiffPercentage, boolean status) throws IOException
     {
-        when(baselineRepository.getBaseline(BASELINE)).thenReturn(Optional.of(new Screenshot(loadImage(BASELINE))));
+        mockFindBaseline();
         VisualCheck visualCheck = createVisualCheck(VisualActionType.COMPARE_AGAINST);
         visualCheck.setAcceptableDiffPercentage(OptionalInt.of(acceptableDiffPercentage));
         mockGetCheckpointScreenshot(visualCheck);
@@ -160,7 +161,7 @@ class VisualTestingEngineTests
     void shouldCompateImagesUsingRequiredDiffPercentageForTheInequalComparison(
         int requiredDiffPercentage, boolean status) throws IOException
     {
-        when(baselineRepository.getBaseline(BASELINE)).thenReturn(Optional.of(new Screenshot(loadImage(BASELINE))));
+        mockFindBaseline();
         VisualCheck visualCheck = createVisualCheck(VisualActionType.CHECK_INEQUALITY_AGAINST);
         visualCheck.setRequiredDiffPercentage(OptionalInt.of(requiredDiffPercentage));
         mockGetCheckpointScreenshot(visualCheck);
@@ -180,7 +181,7 @@ class VisualTestingEngineTests
     @Test
     void shouldReturnVisualCheckResultWithBaselineAndCheckpointUsingAcceptableDiffPercentage() throws IOException
     {
-        when(baselineRepository.getBaseline(BASELINE)).thenReturn(Optional.of(new Screenshot(loadImage(BASELINE))));
+        mockFindBaseline();
         VisualCheck visualCheck = FACTORY.create(BASELINE, VisualActionType.COMPARE_AGAINST);
         visualCheck.setAcceptableDiffPercentage(OptionalInt.of(50));
         mockGetCheckpointScreenshot(visualCheck);
@@ -199,7 +200,7 @@ class VisualTestingEngineTests
     @Test
     void shouldReturnVisualCheckResultWithBaselineAndCheckpoint() throws IOException
     {
-        when(baselineRepository.getBaseline(BASELINE)).thenReturn(Optional.of(new Screenshot(loadImage(BASELINE))));
+        mockFindBaseline();
         VisualCheck visualCheck = createVisualCheck(VisualActionType.COMPARE_AGAINST);
         mockGetCheckpointScreenshot(visualCheck, BASELINE);
         VisualCheckResult checkResult = visualTestingEngine.compareAgainst(visualCheck);
@@ -214,11 +215,29 @@ class VisualTestingEngineTests
         assertThat(testLogger.getLoggingEvents(), is(List.of(info(LOG_MESSAGE, ACCEPTABLE, 0.0, 0.0))));
     }
 
+    @ParameterizedTest
+    @CsvSource({"0, false", "50, true"})
+    void shouldCompareImagesWithoutPublishingDiffImage(int acceptableDiffPercentage, boolean status)
+            throws IOException
+    {
+        visualTestingEngine.setPublishDiffImage(false);
+        mockFindBaseline();
+        VisualCheck visualCheck = createVisualCheck(VisualActionType.COMPARE_AGAINST);
+        visualCheck.setAcceptableDiffPercentage(OptionalInt.of(acceptableDiffPercentage));
+        mockGetCheckpointScreenshot(visualCheck);
+        VisualCheckResult checkResult = visualTestingEngine.compareAgainst(visualCheck);
+        Assertions.assertAll(
+            () -> assertEquals(BASELINE_BASE64, checkResult.getBaseline()),
+            () -> assertEquals(CHECKPOINT_BASE64, checkResult.getCheckpoint()),
+            () -> assertNull(checkResult.getDiff()),
+            () -> assertEquals(status, checkResult.isPassed()));
+    }
+
     @Test
     void shouldOverrideBaselinesIfPropertySet() throws IOException
     {
         visualTestingEngine.setOverrideBaselines(true);
-        when(baselineRepository.getBaseline(BASELINE)).thenReturn(Optional.of(new Screenshot(loadImage(BASELINE))));
+        mockFindBaseline();
         VisualCheck visualCheck = createVisualCheck(VisualActionType.COMPARE_AGAINST);
         BufferedImage finalImage = mockGetCheckpointScreenshot(visualCheck);
         visualTestingEngine.compareAgainst(visualCheck);
@@ -229,7 +248,7 @@ class VisualTestingEngineTests
     @Test
     void shouldReturnVisualCheckResultWithDiffAgainstEmptyImageAndCheckpoint() throws IOException
     {
-        when(baselineRepository.getBaseline(BASELINE)).thenReturn(Optional.empty());
+        when(baselineRepository.findBaseline(any(), eq(BASELINE), eq(Integer.MAX_VALUE))).thenReturn(Optional.empty());
         VisualCheck visualCheck = createVisualCheck(VisualActionType.COMPARE_AGAINST);
         mockGetCheckpointScreenshot(visualCheck);
         VisualCheckResult checkResult = visualTestingEngine.compareAgainst(visualCheck);
@@ -243,6 +262,69 @@ class VisualTestingEngineTests
         assertThat(testLogger.getLoggingEvents(), is(List.of(info(LOG_MESSAGE, ACCEPTABLE, 0.0, 96.0))));
     }
 
+    @Test
+    void shouldNotCompareCheckpointIdenticalToBaseline() throws IOException
+    {
+        VisualCheck visualCheck = createVisualCheck(VisualActionType.COMPARE_AGAINST);
+        BufferedImage finalImage = mockGetCheckpointScreenshot(visualCheck);
+        when(baselineRepository.findBaseline(argThat(s -> finalImage.equals(s.getImage())), eq(BASELINE),
+                eq(Integer.MAX_VALUE)))
+                .thenReturn(Optional.of(Baseline.identicalToCheckpoint(Base64.getDecoder().decode(CHECKPOINT_BASE64))));
+        VisualCheckResult checkResult = visualTestingEngine.compareAgainst(visualCheck);
+        Assertions.assertAll(
+            () -> assertEquals(CHECKPOINT_BASE64, checkResult.getBaseline()),
+            () -> assertEquals(CHECKPOINT_BASE64, checkResult.getCheckpoint()),
+            () -> assertEquals(CHECKPOINT_BASE64, checkResult.getDiff()),
+            () -> assertTrue(checkResult.isPassed()));
+        assertThat(testLogger.getLoggingEvents(), is(List.of(info(LOG_MESSAGE, ACCEPTABLE, 0.0, 0.0))));
+    }
+
+    @Test
+    void shouldNotCompareCheckpointDistantFromBaseline() throws IOException
+    {
+        int perceptualHashDistanceThreshold = 10;
+        visualTestingEngine.setPublishDiffImage(false);
+        visualTestingEngine.setPerceptualHashDistanceThreshold(perceptualHashDistanceThreshold);
+        visualTestingEngine.setOverrideBaselines(true);
+        VisualCheck visualCheck = createVisualCheck(VisualActionType.COMPARE_AGAINST);
+        BufferedImage finalImage = mockGetCheckpointScreenshot(visualCheck);
+        when(baselineRepository.findBaseline(argThat(s -> finalImage.equals(s.getImage())), eq(BASELINE),
+                eq(perceptualHashDistanceThreshold)))
+                .thenReturn(Optional.of(Baseline.distantFromCheckpoint(Base64.getDecoder().decode(BASELINE_BASE64))));
+        VisualCheckResult checkResult = visualTestingEngine.compareAgainst(visualCheck);
+        Assertions.assertAll(
+            () -> assertEquals(BASELINE_BASE64, checkResult.getBaseline()),
+            () -> assertEquals(CHECKPOINT_BASE64, checkResult.getCheckpoint()),
+            () -> assertNull(checkResult.getDiff()),
+            () -> assertFalse(checkResult.isPassed()));
+        verify(baselineRepository).saveBaseline(argThat(s -> finalImage.equals(s.getImage())), eq(BASELINE));
+        assertThat(testLogger.getLoggingEvents(), is(List.of(info("The checkpoint is not compared against the"
+                + " baseline pixel by pixel, since the distance between their perceptual hashes exceeds {}",
+                perceptualHashDistanceThreshold))));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"true, COMPARE_AGAINST", "false, CHECK_INEQUALITY_AGAINST"})
+    void shouldNotApplyPerceptualHashDistanceThreshold(boolean publishDiffImage, VisualActionType actionType)
+            throws IOException
+    {
+        visualTestingEngine.setPublishDiffImage(publishDiffImage);
+        visualTestingEngine.setPerceptualHashDistanceThreshold(10);
+        mockFindBaseline();
+        VisualCheck visualCheck = createVisualCheck(actionType);
+        mockGetCheckpointScreenshot(visualCheck);
+        VisualCheckResult checkResult = visualTestingEngine.compareAgainst(visualCheck);
+        assertEquals(BASELINE_BASE64, checkResult.getBaseline());
+        verify(baselineRepository).findBaseline(any(), eq(BASELINE), eq(Integer.MAX_VALUE));
+    }
+
+    private void mockFindBaseline() throws IOException
+    {
+        Baseline baseline = new Baseline(new Screenshot(loadImage(BASELINE)));
+        when(baselineRepository.findBaseline(any(), eq(BASELINE), eq(Integer.MAX_VALUE)))
+                .thenReturn(Optional.of(baseline));
+    }
+
     private BufferedImage mockGetCheckpointScreenshot(VisualCheck visualCheck, String imageName) throws IOException
     {
         BufferedImage image = loadImage(imageName);
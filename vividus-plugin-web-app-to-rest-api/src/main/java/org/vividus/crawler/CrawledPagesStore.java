@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.crawler;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.vividus.util.json.JsonUtils;
+
+/**
+ * Stores the pages crawled during the previous runs: their URLs, the validators (ETag and Last-Modified headers)
+ * and the links found on them. If no file location is configured, the store keeps nothing.
+ */
+public class CrawledPagesStore
+{
+    private final Path location;
+    private final JsonUtils jsonUtils = new JsonUtils();
+
+    public CrawledPagesStore(String location)
+    {
+        this.location = StringUtils.isBlank(location) ? null : Paths.get(location);
+    }
+
+    public boolean isEnabled()
+    {
+        return location != null;
+    }
+
+    /**
+     * Loads the pages crawled during the previous run
+     *
+     * @return the crawled pages by their URLs, empty map if the store is disabled or there is no previous run
+     */
+    public Map<String, CrawledPage> load()
+    {
+        if (!isEnabled() || !Files.exists(location))
+        {
+            return Map.of();
+        }
+        try (InputStream json = Files.newInputStream(location))
+        {
+            return jsonUtils.toObjectList(json, CrawledPage.class).stream().collect(
+                    Collectors.toMap(CrawledPage::getUrl, Function.identity(), (p1, p2) -> p2, LinkedHashMap::new));
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void save(Collection<CrawledPage> crawledPages)
+    {
+        if (!isEnabled())
+        {
+            return;
+        }
+        try
+        {
+            Path parent = location.toAbsolutePath().getParent();
+            if (parent != null)
+            {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(location, jsonUtils.toJson(crawledPages), UTF_8);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.crawler;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpHead;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.http.client.HttpResponse;
+import org.vividus.http.client.IHttpClient;
+
+/**
+ * Detects the pages not changed since the previous crawling using the conditional HEAD requests based on the stored
+ * ETag and Last-Modified headers. The pages without the stored headers and the pages which can't be checked are
+ * considered as changed.
+ */
+public class PageChangeDetector
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(PageChangeDetector.class);
+
+    private IHttpClient httpClient;
+
+    /**
+     * Finds the pages not changed since the previous crawling
+     *
+     * @param crawledPages the pages crawled previously
+     * @param threads      the number of the concurrent requests
+     * @return the URLs of the unchanged pages
+     */
+    public Set<String> findUnchangedPages(Collection<CrawledPage> crawledPages, int threads)
+    {
+        Set<String> unchangedPages = ConcurrentHashMap.newKeySet();
+        if (crawledPages.isEmpty())
+        {
+            return unchangedPages;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, crawledPages.size()));
+        try
+        {
+            List<Future<?>> checks = new ArrayList<>(crawledPages.size());
+            for (CrawledPage crawledPage : crawledPages)
+            {
+                checks.add(executor.submit(() -> {
+                    if (isUnchanged(crawledPage))
+                    {
+                        unchangedPages.add(crawledPage.getUrl());
+                    }
+                }));
+            }
+            for (Future<?> check : checks)
+            {
+                check.get();
+            }
+            return unchangedPages;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new IllegalStateException(e.getCause());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean isUnchanged(CrawledPage crawledPage)
+    {
+        if (crawledPage.getETag() == null && crawledPage.getLastModified() == null)
+        {
+            return false;
+        }
+        HttpHead request = new HttpHead(URI.create(crawledPage.getUrl()));
+        if (crawledPage.getETag() != null)
+        {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, crawledPage.getETag());
+        }
+        if (crawledPage.getLastModified() != null)
+        {
+            request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, crawledPage.getLastModified());
+        }
+        try
+        {
+            HttpResponse response = httpClient.execute(request);
+            if (response.getStatusCode() == HttpStatus.SC_NOT_MODIFIED)
+            {
+                return true;
+            }
+            // Some servers ignore the conditional headers, so the validators are compared explicitly
+            return response.getStatusCode() == HttpStatus.SC_OK
+                    && isSameValue(response, HttpHeaders.ETAG, crawledPage.getETag())
+                    && isSameValue(response, HttpHeaders.LAST_MODIFIED, crawledPage.getLastModified());
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn("Unable to check whether the page {} is changed", crawledPage.getUrl(), e);
+            return false;
+        }
+    }
+
+    private static boolean isSameValue(HttpResponse response, String headerName, String expectedValue)
+    {
+        return expectedValue == null || Stream.of(response.getResponseHeaders())
+                .filter(header -> headerName.equalsIgnoreCase(header.getName()))
+                .map(Header::getValue)
+                .anyMatch(expectedValue::equals);
+    }
+
+    public void setHttpClient(IHttpClient httpClient)
+    {
+        this.httpClient = httpClient;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.vividus.testcontext.ContextCopyingExecutor;
+
+/**
+ * Reusable pool of the threads performing the blocking HTTP calls on behalf of the resource checks. The number of the
+ * concurrent calls to the same host and the overall rate of the calls are limited. Every call is executed with the
+ * copy of the test context of the thread submitted the calls.
+ */
+public class ResourceCheckExecutor
+{
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ContextCopyingExecutor contextCopyingExecutor;
+    private final int maxRequestsPerHost;
+    private final long requestIntervalNanos;
+    private final ExecutorService executorService;
+
+    private long nextRequestNanos = System.nanoTime();
+
+    public ResourceCheckExecutor(ContextCopyingExecutor contextCopyingExecutor, int threads, int maxRequestsPerHost,
+            int maxRequestsPerSecond)
+    {
+        this.contextCopyingExecutor = contextCopyingExecutor;
+        this.maxRequestsPerHost = maxRequestsPerHost > 0 ? maxRequestsPerHost : Integer.MAX_VALUE;
+        this.requestIntervalNanos = maxRequestsPerSecond > 0 ? NANOS_PER_SECOND / maxRequestsPerSecond : 0;
+        this.executorService = Executors.newFixedThreadPool(threads,
+                new BasicThreadFactory.Builder().namingPattern("resource-check-%d").daemon(true).build());
+    }
+
+    /**
+     * Applies the action to every item using the pool threads. The items are grouped by the hosts of their URIs, the
+     * items of the same host are processed by at most the configured number of threads at once.
+     *
+     * @param <T>         the type of the items
+     * @param <R>         the type of the results
+     * @param items       the items to process
+     * @param uriProvider the function providing the URI the action is going to call for the item, the URI may be
+     *                    <code>null</code> or relative
+     * @param action      the action to apply to every item
+     * @param handler     the handler to report the exceptions thrown by the action, the items the action failed for
+     *                    are skipped and the rest items are still processed
+     * @return the results of the action in the order of the items, the results of the failed items are omitted
+     * @throws InterruptedException when the thread is interrupted while waiting for the results
+     * @throws ExecutionException   when the processing fails not because of the action
+     */
+    public <T, R> List<R> execute(List<T> items, Function<T, URI> uriProvider, Function<T, R> action,
+            UncaughtExceptionHandler handler) throws InterruptedException, ExecutionException
+    {
+        List<R> results = new ArrayList<>(Collections.nCopies(items.size(), null));
+        Set<Integer> failedIndices = ConcurrentHashMap.newKeySet();
+        Map<String, Queue<Integer>> indicesByHost = new LinkedHashMap<>();
+        for (int index = 0; index < items.size(); index++)
+        {
+            indicesByHost.computeIfAbsent(getHost(uriProvider.apply(items.get(index))),
+                    h -> new ConcurrentLinkedQueue<>()).add(index);
+        }
+        List<Future<Void>> lanes = new ArrayList<>();
+        try
+        {
+            for (Queue<Integer> indices : indicesByHost.values())
+            {
+                for (int lane = Math.min(maxRequestsPerHost, indices.size()); lane > 0; lane--)
+                {
+                    lanes.add(executorService.submit(contextCopyingExecutor.wrap(() -> {
+                        Integer index;
+                        while ((index = indices.poll()) != null)
+                        {
+                            awaitRequestPermit();
+                            try
+                            {
+                                results.set(index, action.apply(items.get(index)));
+                            }
+                            catch (RuntimeException e)
+                            {
+                                failedIndices.add(index);
+                                handler.uncaughtException(Thread.currentThread(), e);
+                            }
+                        }
+                        return null;
+                    })));
+                }
+            }
+            for (Future<Void> lane : lanes)
+            {
+                lane.get();
+            }
+            if (failedIndices.isEmpty())
+            {
+                return results;
+            }
+            List<R> completedResults = new ArrayList<>(items.size() - failedIndices.size());
+            for (int index = 0; index < results.size(); index++)
+            {
+                if (!failedIndices.contains(index))
+                {
+                    completedResults.add(results.get(index));
+                }
+            }
+            return completedResults;
+        }
+        finally
+        {
+            lanes.forEach(lane -> lane.cancel(true));
+        }
+    }
+
+    private void awaitRequestPermit() throws InterruptedException
+    {
+        if (requestIntervalNanos == 0)
+        {
+            return;
+        }
+        long requestNanos;
+        synchronized (this)
+        {
+            requestNanos = Math.max(nextRequestNanos, System.nanoTime());
+            nextRequestNanos = requestNanos + requestIntervalNanos;
+        }
+        TimeUnit.NANOSECONDS.sleep(requestNanos - System.nanoTime());
+    }
+
+    private static String getHost(URI uri)
+    {
+        return uri != null && uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : "";
+    }
+
+    public void shutdown()
+    {
+        executorService.shutdownNow();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,7 +21,9 @@ import static org.vividus.util.UriUtils.buildNewUrl;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -30,7 +32,6 @@ import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.jbehave.core.annotations.Then;
@@ -40,11 +41,11 @@ import org.jsoup.select.Selector.SelectorParseException;
 import org.vividus.http.HttpMethod;
 import org.vividus.http.HttpRequestExecutor;
 import org.vividus.http.HttpTestContext;
+import org.vividus.http.ResourceCheckExecutor;
 import org.vividus.http.validation.ResourceValidator;
 import org.vividus.http.validation.model.CheckStatus;
 import org.vividus.reporter.event.AttachmentPublisher;
 import org.vividus.softassert.SoftAssert;
-import org.vividus.testcontext.ContextCopyingExecutor;
 import org.vividus.ui.web.configuration.WebApplicationConfiguration;
 import org.vividus.validator.model.WebPageResourceValidation;
 
@@ -59,7 +60,7 @@ public class ResourceCheckSteps
     private final HttpRequestExecutor httpRequestExecutor;
     private final SoftAssert softAssert;
     private final WebApplicationConfiguration webApplicationConfiguration;
-    private final ContextCopyingExecutor executor;
+    private final ResourceCheckExecutor executor;
     private final HttpTestContext httpTestContext;
     private Pattern excludeHrefsPattern;
 
@@ -67,7 +68,7 @@ public class ResourceCheckSteps
 
     public ResourceCheckSteps(ResourceValidator<WebPageResourceValidation> resourceValidator,
             AttachmentPublisher attachmentPublisher, HttpRequestExecutor httpRequestExecutor, SoftAssert softAssert,
-            WebApplicationConfiguration webApplicationConfiguration, ContextCopyingExecutor executor,
+            WebApplicationConfiguration webApplicationConfiguration, ResourceCheckExecutor executor,
             HttpTestContext httpTestContext)
     {
         this.resourceValidator = resourceValidator;
@@ -102,34 +103,39 @@ public class ResourceCheckSteps
     @Then("all resources by selector `$cssSelector` from $html are valid")
     public void checkResources(String cssSelector, String html) throws InterruptedException, ExecutionException
     {
-        execute(() -> {
-            Collection<Element> resourcesToValidate = getElements(html, cssSelector);
-            Stream<WebPageResourceValidation> validations = createResourceValidations(resourcesToValidate,
-                p -> createResourceValidation(p.getLeft(), p.getRight()));
-            validateResources(validations);
-        });
+        Collection<Element> resourcesToValidate = getElements(html, cssSelector);
+        List<WebPageResourceValidation> validations = createResourceValidations(resourcesToValidate,
+            p -> createResourceValidation(p.getLeft(), p.getRight()));
+        validateResources(validations);
     }
 
-    private void validateResources(Stream<WebPageResourceValidation> resourceValidation)
+    private void validateResources(List<WebPageResourceValidation> resourceValidations)
+            throws InterruptedException, ExecutionException
     {
-        Set<WebPageResourceValidation> results = resourceValidation
-               .map(this::validate)
-               .collect(Collectors.toCollection(TreeSet::new));
+        Set<WebPageResourceValidation> results = new TreeSet<>();
+        List<WebPageResourceValidation> validationsToPerform = new ArrayList<>();
+        for (WebPageResourceValidation resourceValidation : resourceValidations)
+        {
+            if (CheckStatus.BROKEN == resourceValidation.getCheckStatus()
+                    || CheckStatus.FILTERED == resourceValidation.getCheckStatus())
+            {
+                results.add(resourceValidation);
+            }
+            else
+            {
+                validationsToPerform.add(resourceValidation);
+            }
+        }
+        results.addAll(executor.execute(validationsToPerform, WebPageResourceValidation::getUri,
+                resourceValidator::perform, this::reportException));
         attachmentPublisher.publishAttachment("resources-validation-result.ftl", Map.of("results", results),
                 "Resource validation results");
     }
 
-    private WebPageResourceValidation validate(WebPageResourceValidation r)
-    {
-        return CheckStatus.BROKEN == r.getCheckStatus() || CheckStatus.FILTERED == r.getCheckStatus()
-                ? r
-                : resourceValidator.perform(r);
-    }
-
-    private Stream<WebPageResourceValidation> createResourceValidations(Collection<Element> elements,
+    private List<WebPageResourceValidation> createResourceValidations(Collection<Element> elements,
             Function<Pair<URI, String>, WebPageResourceValidation> resourceValidationFactory)
     {
-        return elements.parallelStream().map(e ->
+        return elements.stream().map(e ->
             Pair.of(getHrefAttribute(e).orElseGet(() -> e.attr("src")).trim(), getSelector(e)))
                        .filter(p -> !p.getKey().isEmpty() || softAssert.recordFailedAssertion(
                         "Element by selector " + p.getValue() + " doesn't contain href/src attributes"))
@@ -142,7 +148,8 @@ public class ResourceCheckSteps
                            {
                                rv.setCheckStatus(CheckStatus.FILTERED);
                            }
-                       });
+                       })
+                       .collect(Collectors.toList());
     }
 
     private static boolean isSchemaAllowed(URI uri)
@@ -220,42 +227,45 @@ public class ResourceCheckSteps
     @Then("all resources by selector `$cssSelector` are valid on:$pages")
     public void checkResources(String cssSelector, ExamplesTable pages) throws InterruptedException, ExecutionException
     {
-        execute(() -> {
-            Stream<WebPageResourceValidation> resourcesToValidate =
-                pages.getRows()
-                     .parallelStream()
-                     .map(m -> m.get("pages"))
-                     .map(this::createUri)
-                     .flatMap(uri ->
-                     {
-                         String pageUrl = uri.toString();
-                         if (!isAbsolute(uri))
-                         {
-                             return Stream.of(createUnresolvablePageValidation(pageUrl));
-                         }
+        List<URI> pageUris = pages.getRows()
+                                  .stream()
+                                  .map(m -> m.get("pages"))
+                                  .map(this::createUri)
+                                  .collect(Collectors.toList());
+        List<WebPageResourceValidation> resourcesToValidate = executor.execute(pageUris, Function.identity(),
+                uri -> collectResourceValidations(uri, cssSelector), this::reportException)
+                .stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+        validateResources(resourcesToValidate);
+    }
 
-                         try
-                         {
-                             httpRequestExecutor.executeHttpRequest(HttpMethod.GET, pageUrl, Optional.empty());
-                             return Optional.ofNullable(httpTestContext.getResponse().getResponseBodyAsString())
-                                            .map(response -> getElements(pageUrl, response, cssSelector))
-                                            .map(elements -> createResourceValidations(elements,
-                                                p -> new WebPageResourceValidation(p.getLeft(), p.getRight(), pageUrl)))
-                                            .orElseGet(() -> Stream.of(createMissingPageBodyValidation(pageUrl)));
-                         }
-                         catch (IOException toReport)
-                         {
-                             return Stream.of(createUnreachablePageValidation(pageUrl, toReport));
-                         }
-                     });
-            validateResources(resourcesToValidate);
-        });
+    private void reportException(Thread thread, Throwable throwable)
+    {
+        softAssert.recordFailedAssertion("Exception occured in thread with name: " + thread.getName(), throwable);
     }
 
-    private void execute(Runnable executable) throws InterruptedException, ExecutionException
+    private List<WebPageResourceValidation> collectResourceValidations(URI uri, String cssSelector)
     {
-        executor.execute(executable,
-            (t, e) -> softAssert.recordFailedAssertion("Exception occured in thread with name: " + t.getName(), e));
+        String pageUrl = uri.toString();
+        if (!isAbsolute(uri))
+        {
+            return List.of(createUnresolvablePageValidation(pageUrl));
+        }
+
+        try
+        {
+            httpRequestExecutor.executeHttpRequest(HttpMethod.GET, pageUrl, Optional.empty());
+            return Optional.ofNullable(httpTestContext.getResponse().getResponseBodyAsString())
+                           .map(response -> getElements(pageUrl, response, cssSelector))
+                           .map(elements -> createResourceValidations(elements,
+                               p -> new WebPageResourceValidation(p.getLeft(), p.getRight(), pageUrl)))
+                           .orElseGet(() -> List.of(createMissingPageBodyValidation(pageUrl)));
+        }
+        catch (IOException toReport)
+        {
+            return List.of(createUnreachablePageValidation(pageUrl, toReport));
+        }
     }
 
     private WebPageResourceValidation createResourceValidation(URI uriToCheck, String cssSelector)
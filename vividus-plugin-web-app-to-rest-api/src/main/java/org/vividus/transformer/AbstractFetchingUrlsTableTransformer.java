@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -42,6 +42,12 @@ public abstract class AbstractFetchingUrlsTableTransformer implements ExtendedTa
     private HttpRedirectsProvider httpRedirectsProvider;
     private boolean filterRedirects;
 
+    @Override
+    public boolean isFingerprintable()
+    {
+        return false;
+    }
+
     @Override
     public String transform(String tableAsString, TableParsers tableParsers, TableProperties properties)
     {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,16 +17,32 @@
 package org.vividus.transformer;
 
 import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Queue;
 import java.util.Set;
-import java.util.function.Supplier;
-
-import com.google.common.base.Suppliers;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
+import org.vividus.crawler.CrawledPage;
+import org.vividus.crawler.CrawledPagesStore;
 import org.vividus.crawler.ICrawlControllerFactory;
+import org.vividus.crawler.LinkCrawler;
 import org.vividus.crawler.LinkCrawlerData;
 import org.vividus.crawler.LinkCrawlerFactory;
+import org.vividus.crawler.PageChangeDetector;
 import org.vividus.util.UriUtils;
 
 import edu.uci.ics.crawler4j.crawler.CrawlController;
@@ -34,31 +50,85 @@ import edu.uci.ics.crawler4j.crawler.CrawlController;
 public class HeadlessCrawlerTableTransformer extends AbstractFetchingUrlsTableTransformer
 {
     private static final String FORWARD_SLASH = "/";
-    private static final int NUMBER_OF_CRAWLERS = 50;
+    private static final String CRAWLERS_KEY = "crawlers";
+    private static final String POLITENESS_DELAY_KEY = "politenessDelay";
 
     private ICrawlControllerFactory crawlControllerFactory;
+    private CrawledPagesStore crawledPagesStore;
+    private PageChangeDetector pageChangeDetector;
 
     private Set<String> seedRelativeUrls;
+    private int numberOfCrawlers;
+    private Duration politenessDelay;
+
+    private final ConcurrentMap<String, CompletableFuture<Set<String>>> crawlingResults = new ConcurrentHashMap<>();
 
-    private final Supplier<Set<String>> urlsProvider = Suppliers.memoize(() ->
+    /**
+     * Crawls the site starting from the seeds. If the crawled pages store is enabled, the pages not changed since
+     * the previous crawling are not fetched: the links stored for them are used instead, and only the changed and
+     * the new pages are crawled.
+     */
+    private Set<String> crawl(int crawlers, Duration delay)
     {
         URI mainApplicationPage = getMainApplicationPageUri();
-        CrawlController controller = crawlControllerFactory.createCrawlController(mainApplicationPage);
+        Map<String, CrawledPage> previousPages = crawledPagesStore.load();
+        Set<String> unchangedPageUrls = pageChangeDetector.findUnchangedPages(previousPages.values(), crawlers);
 
-        addSeeds(mainApplicationPage, controller);
-
-        LinkCrawlerData linkCrawlerData = new LinkCrawlerData();
-        controller.start(new LinkCrawlerFactory(linkCrawlerData), NUMBER_OF_CRAWLERS);
-        Set<String> absoluteUrls = linkCrawlerData.getAbsoluteUrls();
+        Map<String, CrawledPage> crawledPages = new LinkedHashMap<>();
+        Set<String> absoluteUrls = new LinkedHashSet<>();
+        Set<String> seededUrls = new HashSet<>();
+        Queue<String> urlsToExpand = new ArrayDeque<>(getSeeds(mainApplicationPage));
+        while (!urlsToExpand.isEmpty())
+        {
+            List<String> seeds = new ArrayList<>();
+            while (!urlsToExpand.isEmpty())
+            {
+                String url = urlsToExpand.poll();
+                if (crawledPages.containsKey(url))
+                {
+                    continue;
+                }
+                if (unchangedPageUrls.contains(url))
+                {
+                    CrawledPage unchangedPage = previousPages.get(url);
+                    crawledPages.put(url, unchangedPage);
+                    unchangedPage.getLinks().stream().map(LinkCrawler::toAbsoluteUrl).forEach(absoluteUrls::add);
+                    urlsToExpand.addAll(unchangedPage.getLinks());
+                }
+                else if (seededUrls.add(url))
+                {
+                    seeds.add(url);
+                }
+            }
+            if (seeds.isEmpty())
+            {
+                break;
+            }
+            Set<String> excludedUrls = new HashSet<>(unchangedPageUrls);
+            excludedUrls.addAll(crawledPages.keySet());
+            LinkCrawlerData linkCrawlerData = new LinkCrawlerData(excludedUrls);
+            CrawlController controller = crawlControllerFactory.createCrawlController(mainApplicationPage, delay);
+            seeds.forEach(controller::addSeed);
+            controller.start(new LinkCrawlerFactory(linkCrawlerData), crawlers);
+            absoluteUrls.addAll(linkCrawlerData.getAbsoluteUrls());
+            crawledPages.putAll(linkCrawlerData.getCrawledPages());
+            // The unchanged pages linked from the crawled pages are skipped by the crawler, so they are expanded here
+            linkCrawlerData.getCrawledPages().values().stream()
+                    .flatMap(page -> page.getLinks().stream())
+                    .filter(unchangedPageUrls::contains)
+                    .forEach(urlsToExpand::add);
+        }
+        crawledPagesStore.save(crawledPages.values());
         return filterResults(absoluteUrls.stream());
-    });
+    }
 
-    private void addSeeds(URI mainApplicationPage, CrawlController controller)
+    private List<String> getSeeds(URI mainApplicationPage)
     {
-        controller.addSeed(mainApplicationPage.toString());
+        List<String> seeds = new ArrayList<>();
+        seeds.add(mainApplicationPage.toString());
         if (this.seedRelativeUrls == null)
         {
-            return;
+            return seeds;
         }
         String mainApplicationPagePath = StringUtils.appendIfMissing(mainApplicationPage.getPath(), FORWARD_SLASH);
         this.seedRelativeUrls.stream()
@@ -66,13 +136,55 @@ public class HeadlessCrawlerTableTransformer extends AbstractFetchingUrlsTableTr
                 .map(mainApplicationPagePath::concat)
                 .map(relativeUrl -> UriUtils.buildNewUrl(mainApplicationPage, relativeUrl))
                 .map(URI::toString)
-                .forEach(controller::addSeed);
+                .forEach(seeds::add);
+        return seeds;
     }
 
     @Override
     protected Set<String> fetchUrls(TableProperties properties)
     {
-        return urlsProvider.get();
+        Properties tableProperties = properties.getProperties();
+        int crawlers = Optional.ofNullable(tableProperties.getProperty(CRAWLERS_KEY)).map(Integer::valueOf)
+                .orElse(numberOfCrawlers);
+        Duration delay = Optional.ofNullable(tableProperties.getProperty(POLITENESS_DELAY_KEY)).map(Duration::parse)
+                .orElse(politenessDelay);
+        return getCrawlingResult(crawlers, delay);
+    }
+
+    /**
+     * Gets the result of the crawling with the given parameters. The crawling is performed only once: concurrent
+     * requests of the same result wait for the single in-flight crawling outside of the results map, so the requests
+     * of the results with other parameters never block each other.
+     */
+    private Set<String> getCrawlingResult(int crawlers, Duration delay)
+    {
+        String key = crawlers + FORWARD_SLASH + delay;
+        CompletableFuture<Set<String>> crawling = new CompletableFuture<>();
+        CompletableFuture<Set<String>> existingCrawling = crawlingResults.putIfAbsent(key, crawling);
+        if (existingCrawling != null)
+        {
+            try
+            {
+                return existingCrawling.join();
+            }
+            catch (CompletionException e)
+            {
+                // The in-flight crawling has failed and has been evicted, so it must be repeated
+                return getCrawlingResult(crawlers, delay);
+            }
+        }
+        try
+        {
+            Set<String> urls = crawl(crawlers, delay);
+            crawling.complete(urls);
+            return urls;
+        }
+        catch (RuntimeException e)
+        {
+            crawlingResults.remove(key, crawling);
+            crawling.completeExceptionally(e);
+            throw e;
+        }
     }
 
     public void setCrawlControllerFactory(ICrawlControllerFactory crawlControllerFactory)
@@ -80,8 +192,28 @@ public class HeadlessCrawlerTableTransformer extends AbstractFetchingUrlsTableTr
         this.crawlControllerFactory = crawlControllerFactory;
     }
 
+    public void setCrawledPagesStore(CrawledPagesStore crawledPagesStore)
+    {
+        this.crawledPagesStore = crawledPagesStore;
+    }
+
+    public void setPageChangeDetector(PageChangeDetector pageChangeDetector)
+    {
+        this.pageChangeDetector = pageChangeDetector;
+    }
+
     public void setSeedRelativeUrls(Set<String> seedRelativeUrls)
     {
         this.seedRelativeUrls = seedRelativeUrls;
     }
+
+    public void setNumberOfCrawlers(int numberOfCrawlers)
+    {
+        this.numberOfCrawlers = numberOfCrawlers;
+    }
+
+    public void setPolitenessDelay(Duration politenessDelay)
+    {
+        this.politenessDelay = politenessDelay;
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.crawler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CrawledPagesStoreTests
+{
+    private static final String URL = "https://vividus.org/";
+
+    @Test
+    void shouldSaveAndLoadCrawledPages(@TempDir Path tempDir)
+    {
+        CrawledPagesStore store = new CrawledPagesStore(tempDir.resolve("state/pages.json").toString());
+        assertTrue(store.isEnabled());
+        assertEquals(Map.of(), store.load());
+        CrawledPage crawledPage = new CrawledPage();
+        crawledPage.setUrl(URL);
+        crawledPage.setETag("\"etag\"");
+        crawledPage.setLinks(Set.of(URL + "about"));
+        store.save(List.of(crawledPage));
+        Map<String, CrawledPage> crawledPages = store.load();
+        assertEquals(Set.of(URL), crawledPages.keySet());
+        CrawledPage loadedPage = crawledPages.get(URL);
+        assertEquals(crawledPage.getETag(), loadedPage.getETag());
+        assertNull(loadedPage.getLastModified());
+        assertEquals(crawledPage.getLinks(), loadedPage.getLinks());
+    }
+
+    @Test
+    void shouldNotStorePagesIfLocationIsNotSet()
+    {
+        CrawledPagesStore store = new CrawledPagesStore("");
+        assertFalse(store.isEnabled());
+        store.save(List.of(new CrawledPage()));
+        assertEquals(Map.of(), store.load());
+    }
+}
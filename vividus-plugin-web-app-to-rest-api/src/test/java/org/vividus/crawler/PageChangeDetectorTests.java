@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.crawler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.message.BasicHeader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.http.client.HttpResponse;
+import org.vividus.http.client.IHttpClient;
+
+@ExtendWith(MockitoExtension.class)
+class PageChangeDetectorTests
+{
+    private static final String ETAG = "\"etag\"";
+    private static final String LAST_MODIFIED = "Wed, 21 Oct 2015 07:28:00 GMT";
+    private static final String NOT_MODIFIED_URL = "https://vividus.org/not-modified";
+    private static final String SAME_ETAG_URL = "https://vividus.org/same-etag";
+    private static final String MODIFIED_URL = "https://vividus.org/modified";
+    private static final String FAILED_URL = "https://vividus.org/failed";
+
+    @Mock private IHttpClient httpClient;
+    @InjectMocks private PageChangeDetector pageChangeDetector;
+
+    @Test
+    void shouldFindUnchangedPages() throws IOException
+    {
+        mockResponse(NOT_MODIFIED_URL, HttpStatus.SC_NOT_MODIFIED);
+        mockResponse(SAME_ETAG_URL, HttpStatus.SC_OK, new BasicHeader(HttpHeaders.ETAG, ETAG));
+        mockResponse(MODIFIED_URL, HttpStatus.SC_OK, new BasicHeader(HttpHeaders.ETAG, "\"new-etag\""));
+        when(httpClient.execute(argThat(request -> isRequestTo(request, FAILED_URL)))).thenThrow(new IOException());
+        List<CrawledPage> crawledPages = List.of(
+                createCrawledPage(NOT_MODIFIED_URL, null, LAST_MODIFIED),
+                createCrawledPage(SAME_ETAG_URL, ETAG, null),
+                createCrawledPage(MODIFIED_URL, ETAG, null),
+                createCrawledPage(FAILED_URL, ETAG, LAST_MODIFIED),
+                createCrawledPage("https://vividus.org/no-validators", null, null));
+        assertEquals(Set.of(NOT_MODIFIED_URL, SAME_ETAG_URL), pageChangeDetector.findUnchangedPages(crawledPages, 2));
+    }
+
+    private void mockResponse(String url, int statusCode, BasicHeader... headers) throws IOException
+    {
+        HttpResponse response = new HttpResponse();
+        response.setStatusCode(statusCode);
+        response.setResponseHeaders(headers);
+        when(httpClient.execute(argThat(request -> isRequestTo(request, url)))).thenReturn(response);
+    }
+
+    private static boolean isRequestTo(HttpUriRequest request, String url)
+    {
+        return request != null && url.equals(request.getURI().toString());
+    }
+
+    private static CrawledPage createCrawledPage(String url, String eTag, String lastModified)
+    {
+        CrawledPage crawledPage = new CrawledPage();
+        crawledPage.setUrl(url);
+        crawledPage.setETag(eTag);
+        crawledPage.setLastModified(lastModified);
+        return crawledPage;
+    }
+}
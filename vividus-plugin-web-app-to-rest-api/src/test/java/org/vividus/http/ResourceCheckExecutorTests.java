@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.vividus.testcontext.ContextCopyingExecutor;
+import org.vividus.testcontext.TestContext;
+import org.vividus.testcontext.ThreadedTestContext;
+import org.vividus.util.Sleeper;
+
+class ResourceCheckExecutorTests
+{
+    private static final int THREADS = 8;
+    private static final int MAX_REQUESTS_PER_HOST = 2;
+    private static final String CONTEXT_VALUE = "contextValue";
+
+    private final TestContext testContext = new ThreadedTestContext();
+    private ResourceCheckExecutor executor;
+
+    @AfterEach
+    void afterEach()
+    {
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldLimitConcurrentRequestsPerHostAndKeepResultsOrder() throws InterruptedException, ExecutionException
+    {
+        executor = createExecutor(0);
+        List<URI> uris = IntStream.range(0, 12)
+                .mapToObj(i -> URI.create("https://host" + i % 3 + ".org/resource" + i))
+                .collect(Collectors.toList());
+        Map<String, AtomicInteger> concurrentRequests = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> maxConcurrentRequests = new ConcurrentHashMap<>();
+        List<String> results = executor.execute(uris, Function.identity(), uri -> {
+            AtomicInteger counter = concurrentRequests.computeIfAbsent(uri.getHost(), h -> new AtomicInteger());
+            int current = counter.incrementAndGet();
+            maxConcurrentRequests.computeIfAbsent(uri.getHost(), h -> new AtomicInteger())
+                    .accumulateAndGet(current, Math::max);
+            Sleeper.sleep(20, TimeUnit.MILLISECONDS);
+            counter.decrementAndGet();
+            return uri.getPath();
+        }, ResourceCheckExecutorTests::failOnException);
+        assertEquals(uris.stream().map(URI::getPath).collect(Collectors.toList()), results);
+        assertEquals(3, maxConcurrentRequests.size());
+        maxConcurrentRequests.values().forEach(max -> assertTrue(max.get() <= MAX_REQUESTS_PER_HOST));
+    }
+
+    @Test
+    void shouldPropagateTestContextToPoolThreads() throws InterruptedException, ExecutionException
+    {
+        executor = createExecutor(0);
+        testContext.put(ResourceCheckExecutorTests.class, CONTEXT_VALUE);
+        List<Object> results = executor.execute(List.of(URI.create("https://vividus.org"), URI.create("/relative")),
+                Function.identity(), uri -> testContext.get(ResourceCheckExecutorTests.class),
+                ResourceCheckExecutorTests::failOnException);
+        assertEquals(List.of(CONTEXT_VALUE, CONTEXT_VALUE), results);
+    }
+
+    @Test
+    void shouldLimitRequestsRate() throws InterruptedException, ExecutionException
+    {
+        int maxRequestsPerSecond = 50;
+        executor = createExecutor(maxRequestsPerSecond);
+        List<URI> uris = IntStream.range(0, 11)
+                .mapToObj(i -> URI.create("https://host" + i + ".org"))
+                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        executor.execute(uris, Function.identity(), Function.identity(), ResourceCheckExecutorTests::failOnException);
+        long minDuration = TimeUnit.SECONDS.toNanos(uris.size() - 1) / maxRequestsPerSecond;
+        assertTrue(System.nanoTime() - start >= minDuration);
+    }
+
+    @Test
+    void shouldReportActionFailureAndProcessRestItems() throws InterruptedException, ExecutionException
+    {
+        executor = createExecutor(0);
+        IllegalStateException exception = new IllegalStateException();
+        URI failingUri = URI.create("https://vividus.org/failing");
+        URI uri = URI.create("https://vividus.org/resource");
+        List<Throwable> reported = new CopyOnWriteArrayList<>();
+        List<URI> results = executor.execute(List.of(failingUri, uri), Function.identity(), u -> {
+            if (failingUri.equals(u))
+            {
+                throw exception;
+            }
+            return u;
+        }, (thread, throwable) -> reported.add(throwable));
+        assertEquals(List.of(uri), results);
+        assertEquals(List.of(exception), reported);
+    }
+
+    private static void failOnException(Thread thread, Throwable throwable)
+    {
+        throw new AssertionError(throwable);
+    }
+
+    private ResourceCheckExecutor createExecutor(int maxRequestsPerSecond)
+    {
+        return new ResourceCheckExecutor(new ContextCopyingExecutor(testContext), THREADS, MAX_REQUESTS_PER_HOST,
+                maxRequestsPerSecond);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,9 +22,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
@@ -33,13 +33,17 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.lang.Thread.UncaughtExceptionHandler;
 import java.net.URI;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.jbehave.core.model.ExamplesTable;
 import org.junit.jupiter.api.Assertions;
@@ -51,12 +55,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.http.HttpMethod;
 import org.vividus.http.HttpRequestExecutor;
 import org.vividus.http.HttpTestContext;
+import org.vividus.http.ResourceCheckExecutor;
 import org.vividus.http.client.HttpResponse;
 import org.vividus.http.validation.ResourceValidator;
 import org.vividus.http.validation.model.CheckStatus;
 import org.vividus.reporter.event.AttachmentPublisher;
 import org.vividus.softassert.SoftAssert;
-import org.vividus.testcontext.ContextCopyingExecutor;
 import org.vividus.ui.web.configuration.WebApplicationConfiguration;
 import org.vividus.util.Sleeper;
 import org.vividus.validator.model.WebPageResourceValidation;
@@ -155,7 +159,7 @@ class ResourceCheckStepsTests
     @Mock
     private WebApplicationConfiguration webApplicationConfiguration;
     @Mock
-    private ContextCopyingExecutor executor;
+    private ResourceCheckExecutor executor;
 
     @InjectMocks
     private ResourceCheckSteps resourceCheckSteps;
@@ -375,14 +379,14 @@ class ResourceCheckStepsTests
     void shouldReportExceptionOccurredInExecutingThread() throws InterruptedException, ExecutionException
     {
         InterruptedException interruptedException = new InterruptedException();
-        doNothing().when(executor).execute(argThat(r -> true), argThat(v -> {
-            v.uncaughtException(new Thread("Interrupted-0"), interruptedException);
-            return true;
-        }));
+        when(executor.execute(anyList(), any(), any(), any())).thenAnswer(invocation -> {
+            UncaughtExceptionHandler handler = invocation.getArgument(3);
+            handler.uncaughtException(new Thread("Interrupted-0"), interruptedException);
+            return List.of();
+        });
         resourceCheckSteps.checkResources(LINK_SELECTOR, FIRST_PAGE_TABLE);
         verify(softAssert).recordFailedAssertion("Exception occured in thread with name: Interrupted-0",
                 interruptedException);
-        verifyNoInteractions(httpTestContext, attachmentPublisher, resourceValidator);
     }
 
     private void mockResourceValidator()
@@ -426,10 +430,11 @@ class ResourceCheckStepsTests
 
     private void runExecutor() throws InterruptedException, ExecutionException
     {
-        doNothing().when(executor).execute(argThat(r -> {
-            r.run();
-            return true;
-        }), any());
+        when(executor.execute(anyList(), any(), any(), any())).thenAnswer(invocation -> {
+            List<Object> items = invocation.getArgument(0);
+            Function<Object, Object> action = invocation.getArgument(2);
+            return items.stream().map(action).collect(Collectors.toList());
+        });
     }
 
     private void validate(Iterator<WebPageResourceValidation> toValidate, URI uri, String selector,
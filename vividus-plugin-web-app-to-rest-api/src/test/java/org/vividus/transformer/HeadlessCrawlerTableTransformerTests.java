@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
@@ -29,13 +30,17 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -46,6 +51,7 @@ import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
 import org.jbehave.core.configuration.Keywords;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.steps.ParameterConverters;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -55,9 +61,12 @@ import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.crawler.CrawledPage;
+import org.vividus.crawler.CrawledPagesStore;
 import org.vividus.crawler.ICrawlControllerFactory;
 import org.vividus.crawler.LinkCrawler;
 import org.vividus.crawler.LinkCrawlerFactory;
+import org.vividus.crawler.PageChangeDetector;
 import org.vividus.http.HttpRedirectsProvider;
 import org.vividus.ui.web.configuration.WebApplicationConfiguration;
 import org.vividus.util.UriUtils;
@@ -83,17 +92,27 @@ class HeadlessCrawlerTableTransformerTests
     private static final String CRAWLING_RELATIVE_URL = "/page";
 
     private static final String OUTGOING_ABSOLUT_URL = "http://some.url/path";
+    private static final int NUMBER_OF_CRAWLERS = 50;
 
     private final TestLogger logger = TestLoggerFactory.getTestLogger(HeadlessCrawlerTableTransformer.class);
 
     @Mock private ICrawlControllerFactory crawlControllerFactory;
     @Mock private WebApplicationConfiguration webApplicationConfiguration;
     @Mock private HttpRedirectsProvider redirectsProvider;
+    @Mock private CrawledPagesStore crawledPagesStore;
+    @Mock private PageChangeDetector pageChangeDetector;
     @InjectMocks private HeadlessCrawlerTableTransformer transformer;
 
     private final Keywords keywords = new Keywords();
     private final ParameterConverters parameterConverters =  new ParameterConverters();
 
+    @BeforeEach
+    void beforeEach()
+    {
+        transformer.setNumberOfCrawlers(NUMBER_OF_CRAWLERS);
+        transformer.setPolitenessDelay(Duration.ZERO);
+    }
+
     static Stream<Arguments> dataProviderOfFetchingUrls()
     {
         // @formatter:off
@@ -186,6 +205,22 @@ class HeadlessCrawlerTableTransformerTests
         verifyNoInteractions(redirectsProvider);
     }
 
+    @Test
+    void shouldRepeatFailedCrawling()
+    {
+        URI mainPageUri = URI.create(MAIN_APP_PAGE);
+        CrawlController crawlController = mock(CrawlController.class);
+        when(webApplicationConfiguration.getMainApplicationPageUrl()).thenReturn(mainPageUri);
+        IllegalStateException exception = new IllegalStateException();
+        when(crawlControllerFactory.createCrawlController(mainPageUri, Duration.ZERO)).thenThrow(exception)
+                .thenReturn(crawlController);
+        TableProperties tableProperties = buildTableProperties();
+        assertSame(exception, assertThrows(IllegalStateException.class,
+                () -> transformer.fetchUrls(tableProperties)));
+        assertThat(transformer.fetchUrls(tableProperties), equalTo(Set.of()));
+        verify(crawlController).start(any(LinkCrawlerFactory.class), eq(NUMBER_OF_CRAWLERS));
+    }
+
     @Test
     void testFetchUrlsWhenSeedRelativeUrlsAreSetViaConfiguration()
     {
@@ -196,6 +231,69 @@ class HeadlessCrawlerTableTransformerTests
         verifyNoInteractions(redirectsProvider);
     }
 
+    @Test
+    void shouldUseCrawlingParametersFromTableProperties()
+    {
+        URI mainPageUri = URI.create(MAIN_APP_PAGE);
+        Duration politenessDelay = Duration.ofSeconds(1);
+        CrawlController crawlController = mock(CrawlController.class);
+        when(webApplicationConfiguration.getMainApplicationPageUrl()).thenReturn(mainPageUri);
+        when(crawlControllerFactory.createCrawlController(mainPageUri, politenessDelay)).thenReturn(crawlController);
+        TableProperties tableProperties = new TableProperties("crawlers=5, politenessDelay=PT1S", keywords,
+                parameterConverters);
+        assertThat(transformer.fetchUrls(tableProperties), equalTo(Set.of()));
+        verify(crawlController).addSeed(MAIN_APP_PAGE);
+        verify(crawlController).start(any(LinkCrawlerFactory.class), eq(5));
+    }
+
+    @Test
+    void shouldCrawlOnlyChangedPagesAndReuseLinksOfUnchangedPages()
+    {
+        String unchangedPageUrl = buildAppPageUrl("/unchanged");
+        String changedPageUrl = buildAppPageUrl("/changed");
+        String newPageUrl = buildAppPageUrl("/new");
+        String notCrawledPageUrl = buildAppPageUrl("/query?a=b");
+        CrawledPage mainPage = createCrawledPage(MAIN_APP_PAGE, unchangedPageUrl, changedPageUrl);
+        CrawledPage unchangedPage = createCrawledPage(unchangedPageUrl, notCrawledPageUrl);
+        CrawledPage changedPage = createCrawledPage(changedPageUrl);
+        Map<String, CrawledPage> previousPages = Map.of(MAIN_APP_PAGE, mainPage, unchangedPageUrl, unchangedPage,
+                changedPageUrl, changedPage);
+        when(crawledPagesStore.load()).thenReturn(previousPages);
+        when(pageChangeDetector.findUnchangedPages(previousPages.values(), NUMBER_OF_CRAWLERS)).thenReturn(
+                Set.of(MAIN_APP_PAGE, unchangedPageUrl));
+        CrawlController crawlController = mockCrawlerControllerFactory(MAIN_APP_PAGE);
+        doNothing().when(crawlController).start((WebCrawlerFactory<?>) argThat(factory ->
+        {
+            LinkCrawler linkCrawler = ((LinkCrawlerFactory) factory).newInstance();
+            WebURL changedPageWebUrl = createWebUrl(changedPageUrl);
+            Page page = new Page(changedPageWebUrl);
+            HtmlParseData htmlParseData = new HtmlParseData();
+            htmlParseData.setOutgoingUrls(Set.of(createWebUrl(newPageUrl)));
+            page.setParseData(htmlParseData);
+            assertThat(linkCrawler.shouldVisit(page, createWebUrl(unchangedPageUrl)), is(false));
+            linkCrawler.visit(page);
+            return true;
+        }), eq(NUMBER_OF_CRAWLERS));
+
+        Set<String> urls = transformer.fetchUrls(buildTableProperties());
+
+        assertThat(urls, equalTo(Set.of(unchangedPageUrl, changedPageUrl, buildAppPageUrl("/query"), newPageUrl)));
+        verify(crawlController).addSeed(changedPageUrl);
+        verify(crawlController).addSeed(notCrawledPageUrl);
+        verify(crawlController).start(any(LinkCrawlerFactory.class), eq(NUMBER_OF_CRAWLERS));
+        verifyNoMoreInteractions(crawlController);
+        verify(crawledPagesStore).save(argThat(pages -> pages.size() == 3 && pages.contains(mainPage)
+                && pages.contains(unchangedPage) && !pages.contains(changedPage)));
+    }
+
+    private static CrawledPage createCrawledPage(String url, String... links)
+    {
+        CrawledPage crawledPage = new CrawledPage();
+        crawledPage.setUrl(url);
+        crawledPage.setLinks(new LinkedHashSet<>(List.of(links)));
+        return crawledPage;
+    }
+
     private Set<String> testFetchUrls(String mainAppPageRelativeUrl, List<String> expectedSeedRelativeUrls)
     {
         String mainAppPage = buildAppPageUrl(mainAppPageRelativeUrl);
@@ -236,13 +334,13 @@ class HeadlessCrawlerTableTransformerTests
                 return true;
             }
             return false;
-        }), eq(50));
+        }), eq(NUMBER_OF_CRAWLERS));
         Set<String> urls = transformer.fetchUrls(tableProperties);
-        ordered.verify(crawlControllerFactory).createCrawlController(mainAppPageUri);
+        ordered.verify(crawlControllerFactory).createCrawlController(mainAppPageUri, Duration.ZERO);
         Stream.concat(Stream.of(mainAppPage),
                 expectedSeedRelativeUrls.stream().map(HeadlessCrawlerTableTransformerTests::buildAppPageUrl))
                 .forEach(url -> ordered.verify(crawlController).addSeed(url));
-        ordered.verify(crawlController).start(any(LinkCrawlerFactory.class), eq(50));
+        ordered.verify(crawlController).start(any(LinkCrawlerFactory.class), eq(NUMBER_OF_CRAWLERS));
         verifyNoMoreInteractions(crawlController);
         return urls;
     }
@@ -257,7 +355,7 @@ class HeadlessCrawlerTableTransformerTests
         CrawlController crawlController = mock(CrawlController.class);
         URI mainPageURI = URI.create(mainAppPage);
         when(webApplicationConfiguration.getMainApplicationPageUrl()).thenReturn(mainPageURI);
-        when(crawlControllerFactory.createCrawlController(mainPageURI))
+        when(crawlControllerFactory.createCrawlController(mainPageURI, Duration.ZERO))
                 .thenReturn(crawlController);
         return crawlController;
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.vividus.crawler;
 
 import java.net.MalformedURLException;
 import java.net.URI;
+import java.time.Duration;
 
 import org.vividus.util.UriUtils;
 import org.vividus.util.UriUtils.UserInfo;
@@ -36,9 +37,9 @@ public class CrawlControllerFactory implements ICrawlControllerFactory
     private String crawlStorageFolder;
 
     @Override
-    public CrawlController createCrawlController(URI mainApplicationPage)
+    public CrawlController createCrawlController(URI mainApplicationPage, Duration politenessDelay)
     {
-        CrawlConfig crawlConfig = createCrawlConfig(mainApplicationPage);
+        CrawlConfig crawlConfig = createCrawlConfig(mainApplicationPage, politenessDelay);
 
         RobotstxtConfig robotstxtConfig = new RobotstxtConfig();
         robotstxtConfig.setEnabled(false);
@@ -55,11 +56,11 @@ public class CrawlControllerFactory implements ICrawlControllerFactory
         }
     }
 
-    private CrawlConfig createCrawlConfig(URI mainApplicationPage)
+    private CrawlConfig createCrawlConfig(URI mainApplicationPage, Duration politenessDelay)
     {
         CrawlConfig crawlConfig = new CrawlConfig();
         crawlConfig.setCrawlStorageFolder(crawlStorageFolder);
-        crawlConfig.setPolitenessDelay(0);
+        crawlConfig.setPolitenessDelay(Math.toIntExact(politenessDelay.toMillis()));
         crawlConfig.setSocketTimeout(SOCKET_TIMEOUT);
         crawlConfig.setRespectNoFollow(false);
         crawlConfig.setRespectNoIndex(false);
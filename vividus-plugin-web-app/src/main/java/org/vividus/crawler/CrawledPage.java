@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.crawler;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public class CrawledPage
+{
+    private String url;
+    private String eTag;
+    private String lastModified;
+    private Set<String> links = new LinkedHashSet<>();
+
+    public String getUrl()
+    {
+        return url;
+    }
+
+    public void setUrl(String url)
+    {
+        this.url = url;
+    }
+
+    public String getETag()
+    {
+        return eTag;
+    }
+
+    public void setETag(String eTag)
+    {
+        this.eTag = eTag;
+    }
+
+    public String getLastModified()
+    {
+        return lastModified;
+    }
+
+    public void setLastModified(String lastModified)
+    {
+        this.lastModified = lastModified;
+    }
+
+    public Set<String> getLinks()
+    {
+        return links;
+    }
+
+    public void setLinks(Set<String> links)
+    {
+        this.links = links;
+    }
+}
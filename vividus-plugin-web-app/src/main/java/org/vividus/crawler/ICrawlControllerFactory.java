@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,10 +17,11 @@
 package org.vividus.crawler;
 
 import java.net.URI;
+import java.time.Duration;
 
 import edu.uci.ics.crawler4j.crawler.CrawlController;
 
 public interface ICrawlControllerFactory
 {
-    CrawlController createCrawlController(URI mainApplicationPage);
+    CrawlController createCrawlController(URI mainApplicationPage, Duration politenessDelay);
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,9 +17,15 @@
 package org.vividus.crawler;
 
 import java.net.URI;
+import java.util.LinkedHashSet;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vividus.util.UriUtils;
@@ -46,7 +52,7 @@ public class LinkCrawler extends WebCrawler
     @Override
     public boolean shouldVisit(Page referringPage, WebURL url)
     {
-        return isAllowedUrl(referringPage, url);
+        return isAllowedUrl(referringPage, url) && !linkCrawlerData.getExcludedUrls().contains(url.getURL());
     }
 
     @Override
@@ -55,18 +61,42 @@ public class LinkCrawler extends WebCrawler
         String url = page.getWebURL().getURL();
         LOGGER.info("Crawled: {}", url);
 
+        CrawledPage crawledPage = new CrawledPage();
+        crawledPage.setUrl(url);
+        crawledPage.setETag(getHeaderValue(page, HttpHeaders.ETAG));
+        crawledPage.setLastModified(getHeaderValue(page, HttpHeaders.LAST_MODIFIED));
         if (page.getParseData() instanceof HtmlParseData)
         {
-            Set<String> absoluteUrls = linkCrawlerData.getAbsoluteUrls();
-            page.getParseData().getOutgoingUrls()
+            crawledPage.setLinks(page.getParseData().getOutgoingUrls()
                     .stream()
                     .filter(u -> isAllowedUrl(page, u))
                     .map(WebURL::getURL)
-                    .map(UriUtils::createUri)
-                    .map(UriUtils::removeQuery)
-                    .map(URI::toString)
-                    .forEach(absoluteUrls::add);
+                    .collect(Collectors.toCollection(LinkedHashSet::new)));
+            Set<String> absoluteUrls = linkCrawlerData.getAbsoluteUrls();
+            crawledPage.getLinks().stream().map(LinkCrawler::toAbsoluteUrl).forEach(absoluteUrls::add);
         }
+        linkCrawlerData.getCrawledPages().put(url, crawledPage);
+    }
+
+    /**
+     * Converts the URL of the link found on the crawled page to the URL included into the crawling results
+     *
+     * @param linkUrl the URL of the link
+     * @return the URL without query
+     */
+    public static String toAbsoluteUrl(String linkUrl)
+    {
+        return UriUtils.removeQuery(UriUtils.createUri(linkUrl)).toString();
+    }
+
+    private static String getHeaderValue(Page page, String headerName)
+    {
+        return Optional.ofNullable(page.getFetchResponseHeaders())
+                .flatMap(headers -> Stream.of(headers)
+                        .filter(h -> headerName.equalsIgnoreCase(h.getName()))
+                        .map(Header::getValue)
+                        .findFirst())
+                .orElse(null);
     }
 
     private static boolean isAllowedUrl(Page referringPage, WebURL url)
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,14 +18,42 @@ package org.vividus.crawler;
 
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class LinkCrawlerData
 {
     private final Set<String> absoluteUrls = Collections.synchronizedSet(new LinkedHashSet<>());
+    private final Map<String, CrawledPage> crawledPages = new ConcurrentHashMap<>();
+    private final Set<String> excludedUrls;
+
+    public LinkCrawlerData()
+    {
+        this(Set.of());
+    }
+
+    /**
+     * @param excludedUrls the URLs of the pages which must not be visited, e.g. the pages known to be unchanged since
+     *                     the previous crawling
+     */
+    public LinkCrawlerData(Set<String> excludedUrls)
+    {
+        this.excludedUrls = excludedUrls;
+    }
 
     public Set<String> getAbsoluteUrls()
     {
         return absoluteUrls;
     }
+
+    public Map<String, CrawledPage> getCrawledPages()
+    {
+        return crawledPages;
+    }
+
+    public Set<String> getExcludedUrls()
+    {
+        return excludedUrls;
+    }
 }
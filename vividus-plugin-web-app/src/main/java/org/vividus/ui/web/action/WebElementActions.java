@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,24 +16,35 @@
 
 package org.vividus.ui.web.action;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 import javax.inject.Inject;
 
+import com.google.common.base.Suppliers;
+
 import org.apache.commons.lang3.StringUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.remote.Browser;
+import org.openqa.selenium.remote.RemoteWebElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vividus.selenium.manager.IWebDriverManager;
 import org.vividus.ui.web.util.FormatUtil;
+import org.vividus.util.ResourceUtils;
 
 public class WebElementActions implements IWebElementActions
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(WebElementActions.class);
     private static final char APOSTROPHE = '\'';
     private static final char QUOTE = '"';
+    private static final String IS_DISPLAYED_ATOM = "/org/openqa/selenium/remote/isDisplayed.js";
+
+    private final Supplier<Optional<String>> elementsVisibilityScript = Suppliers.memoize(
+            WebElementActions::loadElementsVisibilityScript);
 
     @Inject private WebJavascriptActions javascriptActions;
     @Inject private IWebDriverManager webDriverManager;
@@ -131,6 +142,35 @@ public class WebElementActions implements IWebElementActions
         return isElementVisible(element, false);
     }
 
+    @Override
+    public Optional<List<Boolean>> areElementsVisible(List<WebElement> elements)
+    {
+        return elementsVisibilityScript.get().map(script -> {
+            String bitmap = javascriptActions.executeScript(script, elements);
+            List<Boolean> visibilities = new ArrayList<>(bitmap.length());
+            for (int index = 0; index < bitmap.length(); index++)
+            {
+                visibilities.add(bitmap.charAt(index) == '1');
+            }
+            return visibilities;
+        });
+    }
+
+    private static Optional<String> loadElementsVisibilityScript()
+    {
+        try
+        {
+            String isDisplayedAtom = ResourceUtils.loadResource(RemoteWebElement.class, IS_DISPLAYED_ATOM);
+            return Optional.of("var isDisplayed = " + isDisplayedAtom + ";\n"
+                    + ResourceUtils.loadResource(WebElementActions.class, "get-elements-visibility.js"));
+        }
+        catch (IllegalArgumentException e)
+        {
+            LOGGER.warn("The bulk check of the elements visibility is disabled", e);
+            return Optional.empty();
+        }
+    }
+
     private boolean isElementVisible(WebElement element, boolean scrolled)
     {
         if (!element.isDisplayed())
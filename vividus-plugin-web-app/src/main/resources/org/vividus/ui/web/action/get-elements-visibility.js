@@ -0,0 +1,13 @@
+// The function 'isDisplayed' is defined by the WebDriver 'isDisplayed' atom prepended to this script
+var elements = arguments[0];
+var bitmap = '';
+for (var i = 0; i < elements.length; i++) {
+    var element = elements[i];
+    var visible = isDisplayed(element);
+    if (!visible) {
+        element.scrollIntoView(true);
+        visible = isDisplayed(element);
+    }
+    bitmap += visible ? '1' : '0';
+}
+return bitmap;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,8 @@ import static com.github.valfirst.slf4jtest.LoggingEvent.info;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
@@ -30,6 +32,8 @@ import com.github.valfirst.slf4jtest.TestLogger;
 import com.github.valfirst.slf4jtest.TestLoggerFactory;
 import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
 
+import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -100,6 +104,34 @@ class LinkCrawlerTests
         assertThat(logger.getLoggingEvents(), is(List.of(info(CRAWLED_LOG_MESSAGE, PAGE_URL))));
     }
 
+    @Test
+    void shouldNotVisitExcludedUrl()
+    {
+        LinkCrawler crawler = new LinkCrawler(new LinkCrawlerData(Set.of(ABSOLUTE_RESOURCE_URL)));
+        assertFalse(crawler.shouldVisit(new Page(createWebUrl(PAGE_URL)), createWebUrl(ABSOLUTE_RESOURCE_URL)));
+    }
+
+    @Test
+    void shouldRecordCrawledPage()
+    {
+        LinkCrawlerData linkCrawlerData = new LinkCrawlerData();
+        LinkCrawler crawler = new LinkCrawler(linkCrawlerData);
+        Page page = new Page(createWebUrl(PAGE_URL));
+        String eTag = "\"33a64df5\"";
+        page.setFetchResponseHeaders(new Header[] { new BasicHeader("etag", eTag) });
+        HtmlParseData htmlParseData = new HtmlParseData();
+        String linkUrl = ABSOLUTE_RESOURCE_URL + "?query=value";
+        htmlParseData.setOutgoingUrls(Set.of(createWebUrl(linkUrl), createWebUrl("http://another.url")));
+        page.setParseData(htmlParseData);
+        crawler.visit(page);
+        CrawledPage crawledPage = linkCrawlerData.getCrawledPages().get(PAGE_URL);
+        assertEquals(PAGE_URL, crawledPage.getUrl());
+        assertEquals(eTag, crawledPage.getETag());
+        assertNull(crawledPage.getLastModified());
+        assertEquals(Set.of(linkUrl), crawledPage.getLinks());
+        assertEquals(Set.of(ABSOLUTE_RESOURCE_URL), linkCrawlerData.getAbsoluteUrls());
+    }
+
     @Test
     void testVisitTextPage()
     {
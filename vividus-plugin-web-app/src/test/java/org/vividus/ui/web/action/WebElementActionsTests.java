@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -28,6 +30,7 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -284,6 +287,17 @@ class WebElementActionsTests
         verifyNoMoreInteractions(javascriptActions);
     }
 
+    @Test
+    void shouldCheckVisibilityOfElementsInBulk()
+    {
+        List<WebElement> elements = List.of(webElement, webElement, webElement);
+        when(javascriptActions.<String>executeScript(
+                argThat(script -> script.startsWith("var isDisplayed = ") && script.contains("scrollIntoView(true)")),
+                eq(elements))).thenReturn("101");
+
+        assertEquals(Optional.of(List.of(true, false, true)), webElementActions.areElementsVisible(elements));
+    }
+
     private void verifyRichTextNotEditable()
     {
         verify(javascriptActions).executeScript(
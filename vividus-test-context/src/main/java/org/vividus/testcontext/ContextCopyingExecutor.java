@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ package org.vividus.testcontext;
 import java.lang.Thread.UncaughtExceptionHandler;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
@@ -42,6 +43,37 @@ public class ContextCopyingExecutor
                 new ContextAwareForkJoinThreadsFactory(runContextData), handler, false).submit(toRun).get();
     }
 
+    /**
+     * Wraps the task to run it with the copy of the test context of the current thread. The copy is taken at the
+     * moment of wrapping, the context of the thread executing the task is cleared after the task completion, so the
+     * wrapped tasks can be safely submitted to the reusable thread pools.
+     *
+     * @param <T>    the type of the task result
+     * @param toCall the task to wrap
+     * @return the task running with the copy of the current test context
+     */
+    public <T> Callable<T> wrap(Callable<T> toCall)
+    {
+        Map<Object, Object> runContextData = new HashMap<>();
+        testContext.copyAllTo(runContextData);
+        Thread callerThread = Thread.currentThread();
+        return () -> {
+            if (Thread.currentThread() == callerThread)
+            {
+                return toCall.call();
+            }
+            testContext.putAll(runContextData);
+            try
+            {
+                return toCall.call();
+            }
+            finally
+            {
+                testContext.clear();
+            }
+        };
+    }
+
     private final class ContextAwareForkJoinThreadsFactory implements ForkJoinWorkerThreadFactory
     {
         private final Map<Object, Object> runContextData;
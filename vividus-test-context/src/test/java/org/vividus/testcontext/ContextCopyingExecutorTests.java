@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,8 +17,12 @@
 package org.vividus.testcontext;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.jupiter.api.Test;
 
@@ -36,4 +40,25 @@ class ContextCopyingExecutorTests
             assertEquals(CONTEXT_VALUE, testContext.get(ContextCopyingExecutorTests.class));
         }, (t, e) -> { });
     }
+
+    @Test
+    void shouldCopyContextToReusableThreadAndClearItAfterExecution() throws Exception
+    {
+        TestContext testContext = new ThreadedTestContext();
+        testContext.put(ContextCopyingExecutorTests.class, CONTEXT_VALUE);
+        ContextCopyingExecutor contextCopyingExecutor = new ContextCopyingExecutor(testContext);
+        Callable<Object> contextReader = () -> testContext.get(ContextCopyingExecutorTests.class);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try
+        {
+            assertEquals(CONTEXT_VALUE, executorService.submit(contextCopyingExecutor.wrap(contextReader)).get());
+            assertNull(executorService.submit(contextReader).get());
+            assertEquals(CONTEXT_VALUE, contextCopyingExecutor.wrap(contextReader).call());
+            assertEquals(CONTEXT_VALUE, testContext.get(ContextCopyingExecutorTests.class));
+        }
+        finally
+        {
+            executorService.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.util;
+
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Tracks the resources used by the current thread within the opened tracking scopes. The scopes may be nested: the
+ * resource used within the inner scope is recorded to all the outer scopes as well. The resources used outside of any
+ * scope are not tracked.
+ */
+public final class ResourceDependencyTracker
+{
+    // The deque is created only while there are opened scopes, so the threads not tracking anything allocate nothing
+    private static final ThreadLocal<Deque<Scope>> SCOPES = new ThreadLocal<>();
+
+    private ResourceDependencyTracker()
+    {
+    }
+
+    /**
+     * Opens the tracking scope for the current thread, the scope must be closed by the caller
+     *
+     * @return the opened scope
+     */
+    public static Scope startTracking()
+    {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes == null)
+        {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        Scope scope = new Scope();
+        scopes.push(scope);
+        return scope;
+    }
+
+    /**
+     * Records the usage of the resource to all the opened scopes of the current thread
+     *
+     * @param resource the URL of the used resource
+     */
+    public static void recordUsage(URL resource)
+    {
+        if (SCOPES.get() != null)
+        {
+            recordUsage(resource.toExternalForm());
+        }
+    }
+
+    /**
+     * Records the usage of the resource to all the opened scopes of the current thread
+     *
+     * @param resource the URL of the used resource in the external form
+     */
+    public static void recordUsage(String resource)
+    {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes != null)
+        {
+            scopes.forEach(scope -> scope.resources.add(resource));
+        }
+    }
+
+    public static final class Scope implements AutoCloseable
+    {
+        private final Set<String> resources = new LinkedHashSet<>();
+
+        private Scope()
+        {
+        }
+
+        /**
+         * Gets the URLs of the resources used within the scope
+         *
+         * @return the URLs of the used resources in the external form
+         */
+        public Set<String> getResources()
+        {
+            return Collections.unmodifiableSet(resources);
+        }
+
+        @Override
+        public void close()
+        {
+            Deque<Scope> scopes = SCOPES.get();
+            if (scopes != null)
+            {
+                scopes.remove(this);
+                if (scopes.isEmpty())
+                {
+                    SCOPES.remove();
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -92,12 +92,14 @@ public final class ResourceUtils
         URL resource = ResourceUtils.class.getResource(resourcePath);
         if (resource != null)
         {
+            ResourceDependencyTracker.recordUsage(resource);
             return IOUtils.toByteArray(resource);
         }
         Path path = Paths.get(resourceNameOrFilePath);
         File file = path.toFile();
         if (file.exists() && file.isFile())
         {
+            ResourceDependencyTracker.recordUsage(path.toUri().toURL());
             return Files.readAllBytes(path);
         }
         throw new IllegalArgumentException(
@@ -116,6 +118,7 @@ public final class ResourceUtils
         URL resource = clazz.getResource(resourceName);
         if (resource != null)
         {
+            ResourceDependencyTracker.recordUsage(resource);
             return resource;
         }
         throw new IllegalArgumentException("Resource with name " + resourceName + " for " + clazz + " is not found");
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.vividus.util.ResourceDependencyTracker.Scope;
+
+class ResourceDependencyTrackerTests
+{
+    private static final String OUTER_RESOURCE = "file:/outer.table";
+    private static final String INNER_RESOURCE = "file:/inner.csv";
+
+    @Test
+    void shouldRecordResourcesToAllOpenedScopes()
+    {
+        ResourceDependencyTracker.recordUsage("file:/untracked.table");
+        try (Scope outerScope = ResourceDependencyTracker.startTracking())
+        {
+            ResourceDependencyTracker.recordUsage(OUTER_RESOURCE);
+            try (Scope innerScope = ResourceDependencyTracker.startTracking())
+            {
+                ResourceDependencyTracker.recordUsage(INNER_RESOURCE);
+                assertEquals(Set.of(INNER_RESOURCE), innerScope.getResources());
+            }
+            ResourceDependencyTracker.recordUsage(OUTER_RESOURCE);
+            assertEquals(Set.of(OUTER_RESOURCE, INNER_RESOURCE), outerScope.getResources());
+        }
+    }
+
+    @Test
+    void shouldRecordFoundResource()
+    {
+        try (Scope scope = ResourceDependencyTracker.startTracking())
+        {
+            var resource = ResourceUtils.findResource(getClass(), "ResourceDependencyTrackerTests.class");
+            assertEquals(Set.of(resource.toExternalForm()), scope.getResources());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+
+import org.jbehave.core.configuration.Keywords;
+import org.jbehave.core.model.ExamplesTable;
+import org.jbehave.core.model.ExamplesTable.TableProperties;
+import org.jbehave.core.model.TableParsers;
+import org.jbehave.core.steps.ParameterConverters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vividus.model.ColumnarTable;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CartesianProductBenchmark
+{
+    @Param({ "3", "4" })
+    private int tablesCount;
+
+    @Param("30")
+    private int rowsCount;
+
+    private List<ExamplesTable> tables;
+    private List<ColumnarTable> columnarTables;
+    private TableProperties properties;
+    private CartesianProductTableTransformer transformer;
+
+    @Setup
+    public void setUp()
+    {
+        tables = IntStream.range(0, tablesCount)
+                .mapToObj(this::createTable)
+                .collect(Collectors.toList());
+        columnarTables = tables.stream()
+                .map(AbstractTableLoadingTransformer::toColumnarTable)
+                .collect(Collectors.toList());
+        properties = new TableProperties("", new Keywords(), new ParameterConverters());
+        transformer = new CartesianProductTableTransformer()
+        {
+            @Override
+            protected List<ColumnarTable> loadColumnarTables(String tableAsString, TableParsers tableParsers,
+                    TableProperties tableProperties)
+            {
+                return columnarTables;
+            }
+        };
+    }
+
+    private ExamplesTable createTable(int tableIndex)
+    {
+        List<Map<String, String>> rows = new ArrayList<>(rowsCount);
+        for (int rowIndex = 0; rowIndex < rowsCount; rowIndex++)
+        {
+            Map<String, String> row = new LinkedHashMap<>();
+            for (int columnIndex = 0; columnIndex < 2; columnIndex++)
+            {
+                row.put("column" + tableIndex + '-' + columnIndex, "value" + rowIndex + '-' + columnIndex);
+            }
+            rows.add(row);
+        }
+        return ExamplesTable.empty().withRows(rows);
+    }
+
+    @Benchmark
+    public String pairwiseMaterializedProduct()
+    {
+        return tables.stream()
+                .reduce(CartesianProductBenchmark::cartesianProduct)
+                .map(ExamplesTable::asString)
+                .get();
+    }
+
+    @Benchmark
+    public String lazyProduct()
+    {
+        return transformer.transform("", null, properties);
+    }
+
+    private static ExamplesTable cartesianProduct(ExamplesTable left, ExamplesTable right)
+    {
+        List<String> headers = new ArrayList<>(left.getHeaders());
+        headers.addAll(right.getHeaders());
+
+        int counter = headers.size();
+        List<Map<String, String>> examplesTableRows = new ArrayList<>(left.getRowCount() * right.getRowCount());
+
+        Lists.cartesianProduct(List.of(getRows(left), getRows(right)))
+             .stream()
+             .map(Iterables::concat)
+             .map(Lists::newArrayList)
+             .forEach(row ->
+             {
+                 Map<String, String> tableRow = new LinkedHashMap<>(counter);
+                 IntStream.range(0, counter).forEach(index -> tableRow.put(headers.get(index), row.get(index)));
+                 examplesTableRows.add(tableRow);
+             });
+
+        return ExamplesTable.empty().withRows(examplesTableRows);
+    }
+
+    private static List<List<String>> getRows(ExamplesTable table)
+    {
+        return table.getRows().stream()
+                .map(Map::values)
+                .map(ArrayList::new)
+                .collect(Collectors.toList());
+    }
+}
@@ -18,6 +18,7 @@ package org.vividus.expression;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -51,6 +52,12 @@ public class EvalExpressionProcessor extends AbstractExpressionProcessor<String>
         this.variableContext = variableContext;
     }
 
+    @Override
+    public Set<String> getFunctionNames()
+    {
+        return Set.of("eval");
+    }
+
     @Override
     protected String evaluateExpression(Matcher expressionMatcher)
     {
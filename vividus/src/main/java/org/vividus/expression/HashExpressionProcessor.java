@@ -18,6 +18,7 @@ package org.vividus.expression;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -44,6 +45,12 @@ public class HashExpressionProcessor extends AbstractExpressionProcessor<String>
         this.fluentTrimmedEnumConverter = fluentTrimmedEnumConverter;
     }
 
+    @Override
+    public Set<String> getFunctionNames()
+    {
+        return Set.of("calculateHash", "calculateFileHash");
+    }
+
     @Override
     protected String evaluateExpression(Matcher expressionMatcher)
     {
@@ -16,6 +16,7 @@
 
 package org.vividus.expression;
 
+import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -34,6 +35,12 @@ public class RandomIntExpressionProcessor extends AbstractExpressionProcessor<In
         super(RANDOM_VALUE_PATTERN);
     }
 
+    @Override
+    public Set<String> getFunctionNames()
+    {
+        return Set.of("randomInt");
+    }
+
     @Override
     protected Integer evaluateExpression(Matcher expressionMatcher)
     {
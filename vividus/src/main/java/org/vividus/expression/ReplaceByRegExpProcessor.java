@@ -21,6 +21,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -47,6 +48,12 @@ public class ReplaceByRegExpProcessor implements IExpressionProcessor<String>
                 Pattern.DOTALL);
     }
 
+    @Override
+    public Set<String> getFunctionNames()
+    {
+        return Set.of("replaceFirstByRegExp", "replaceAllByRegExp");
+    }
+
     @Override
     public Optional<String> execute(String expression)
     {
@@ -18,6 +18,7 @@ package org.vividus.expression;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -53,6 +54,12 @@ public class RoundExpressionProcessor extends AbstractExpressionProcessor<String
         this.fluentEnumConverter = fluentEnumConverter;
     }
 
+    @Override
+    public Set<String> getFunctionNames()
+    {
+        return Set.of("round");
+    }
+
     @Override
     protected String evaluateExpression(Matcher expressionMatcher)
     {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,8 @@ import static org.apache.commons.lang3.Validate.isTrue;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -32,6 +34,9 @@ import org.jbehave.core.configuration.Configuration;
 import org.jbehave.core.model.ExamplesTable;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.model.ExamplesTableFactory;
+import org.jbehave.core.model.TableParsers;
+import org.vividus.model.ColumnarTable;
+import org.vividus.util.ExamplesTableProcessor;
 
 public abstract class AbstractTableLoadingTransformer implements ExtendedTableTransformer
 {
@@ -45,6 +50,34 @@ public abstract class AbstractTableLoadingTransformer implements ExtendedTableTr
     }
 
     protected List<ExamplesTable> loadTables(String tableAsString, TableProperties tableProperties)
+    {
+        ExamplesTableFactory factory = configuration.examplesTableFactory();
+        return loadTables(tableAsString, tableProperties, factory::createExamplesTable, factory::createExamplesTable,
+                ExamplesTable::getRowCount);
+    }
+
+    /**
+     * Loads the tables as in-memory columnar tables. The input table is taken as is if it is built by the previous
+     * transformer in the chain, otherwise it is parsed using the transformer properties. The tables referenced by
+     * the paths are created by {@link ExamplesTableFactory}, since they may have own properties and transformers,
+     * and then they are converted to the columnar tables once.
+     *
+     * @param tableAsString   the input table
+     * @param tableParsers    the table parsers
+     * @param tableProperties the transformer properties
+     * @return the loaded tables, the tables referenced by the paths go first
+     */
+    protected List<ColumnarTable> loadColumnarTables(String tableAsString, TableParsers tableParsers,
+            TableProperties tableProperties)
+    {
+        ExamplesTableFactory factory = configuration.examplesTableFactory();
+        return loadTables(tableAsString, tableProperties,
+                table -> ExamplesTableProcessor.parseExamplesTable(table, tableParsers, tableProperties),
+                path -> toColumnarTable(factory.createExamplesTable(path)), ColumnarTable::getRowCount);
+    }
+
+    private <T> List<T> loadTables(String tableAsString, TableProperties tableProperties,
+            Function<String, T> inputTableLoader, Function<String, T> tableLoader, ToIntFunction<T> rowCounter)
     {
         List<String> tables = Optional.ofNullable(tableProperties.getProperties().getProperty("tables"))
                 .stream()
@@ -55,9 +88,7 @@ public abstract class AbstractTableLoadingTransformer implements ExtendedTableTr
                 .filter(not(String::isBlank))
                 .collect(Collectors.toList());
 
-        ExamplesTableFactory factory = configuration.examplesTableFactory();
-
-        List<DescriptiveTable> descriptiveTables = new ArrayList<>();
+        List<DescriptiveTable<T>> descriptiveTables = new ArrayList<>();
         if (tableAsString.isBlank())
         {
             isTrue(tables.size() > 1, "Please, specify more than one unique table paths");
@@ -65,19 +96,19 @@ public abstract class AbstractTableLoadingTransformer implements ExtendedTableTr
         else
         {
             isTrue(!tables.isEmpty(), "Please, specify at least one table path");
-            descriptiveTables.add(new DescriptiveTable("input table", factory.createExamplesTable(tableAsString)));
+            descriptiveTables.add(new DescriptiveTable<>("input table", inputTableLoader.apply(tableAsString)));
         }
 
-        List<DescriptiveTable> pathTables = IntStream.range(0, tables.size())
-                 .mapToObj(index -> new DescriptiveTable(String.format("table at index %d", index + 1),
-                        factory.createExamplesTable(tables.get(index))))
+        List<DescriptiveTable<T>> pathTables = IntStream.range(0, tables.size())
+                 .mapToObj(index -> new DescriptiveTable<>(String.format("table at index %d", index + 1),
+                        tableLoader.apply(tables.get(index))))
                  .collect(Collectors.toList());
 
         descriptiveTables.addAll(0, pathTables);
 
         if (forbidEmptyTables)
         {
-            checkEmptyTables(descriptiveTables);
+            checkEmptyTables(descriptiveTables, rowCounter);
         }
 
         return descriptiveTables.stream()
@@ -85,10 +116,21 @@ public abstract class AbstractTableLoadingTransformer implements ExtendedTableTr
                                 .collect(Collectors.toList());
     }
 
-    private void checkEmptyTables(List<DescriptiveTable> tables)
+    /**
+     * Converts the table created by {@link ExamplesTableFactory} to the in-memory columnar table
+     *
+     * @param table the table to convert
+     * @return the columnar table
+     */
+    protected static ColumnarTable toColumnarTable(ExamplesTable table)
+    {
+        return ColumnarTable.fromRows(table.getHeaders(), table.getRows());
+    }
+
+    private <T> void checkEmptyTables(List<DescriptiveTable<T>> tables, ToIntFunction<T> rowCounter)
     {
         List<String> emptyTables = tables.stream()
-                                         .filter(w -> w.getTable().getRowCount() == 0)
+                                         .filter(w -> rowCounter.applyAsInt(w.getTable()) == 0)
                                          .map(DescriptiveTable::getDescription)
                                          .collect(Collectors.toList());
 
@@ -100,12 +142,12 @@ public abstract class AbstractTableLoadingTransformer implements ExtendedTableTr
         return configuration;
     }
 
-    private static final class DescriptiveTable
+    private static final class DescriptiveTable<T>
     {
         private final String description;
-        private final ExamplesTable table;
+        private final T table;
 
-        DescriptiveTable(String description, ExamplesTable table)
+        DescriptiveTable(String description, T table)
         {
             this.description = description;
             this.table = table;
@@ -116,7 +158,7 @@ public abstract class AbstractTableLoadingTransformer implements ExtendedTableTr
             return description;
         }
 
-        ExamplesTable getTable()
+        T getTable()
         {
             return table;
         }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,23 +18,23 @@ package org.vividus.transformer;
 
 import static org.apache.commons.lang3.Validate.isTrue;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import javax.inject.Named;
 
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
+import com.google.common.math.LongMath;
 
-import org.jbehave.core.model.ExamplesTable;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.model.TableParsers;
+import org.vividus.model.ColumnarTable;
+import org.vividus.util.ExamplesTableProcessor;
 
 @Named("CARTESIAN_PRODUCT")
 public class CartesianProductTableTransformer extends AbstractTableLoadingTransformer
@@ -47,10 +47,10 @@ public class CartesianProductTableTransformer extends AbstractTableLoadingTransf
     @Override
     public String transform(String tableAsString, TableParsers tableParsers, TableProperties properties)
     {
-        List<ExamplesTable> tables = loadTables(tableAsString, properties);
+        List<ColumnarTable> tables = loadColumnarTables(tableAsString, tableParsers, properties);
 
         Set<String> repeatingKeys = tables.stream()
-                                          .map(ExamplesTable::getHeaders)
+                                          .map(ColumnarTable::getHeaders)
                                           .flatMap(List::stream)
                                           .collect(Collectors.collectingAndThen(
                                               Collectors.groupingBy(Function.identity(),
@@ -63,39 +63,67 @@ public class CartesianProductTableTransformer extends AbstractTableLoadingTransf
         isTrue(repeatingKeys.isEmpty(), "Tables must contain different keys, but found the same keys: %s",
                 repeatingKeys);
 
-        return tables.stream()
-                     .reduce(CartesianProductTableTransformer::cartesianProduct)
-                     .map(ExamplesTable::asString)
-                     .get();
+        long rowCount = tables.stream().mapToLong(ColumnarTable::getRowCount).reduce(1, LongMath::saturatedMultiply);
+        int maxProductRows = Optional.ofNullable(properties.getProperties().getProperty("maxProductRows"))
+                .map(Integer::parseInt)
+                .orElse(Integer.MAX_VALUE);
+        isTrue(rowCount <= maxProductRows,
+                "The cartesian product contains %d rows, but the max allowed number of rows is %d", rowCount,
+                maxProductRows);
+
+        if (rowCount == 0)
+        {
+            List<String> headers = tables.stream()
+                                         .map(ColumnarTable::getHeaders)
+                                         .flatMap(List::stream)
+                                         .collect(Collectors.toList());
+            return ExamplesTableProcessor.buildExamplesTable(ColumnarTable.fromRowValues(headers, List.of()),
+                    properties);
+        }
+
+        List<String> headers = new ArrayList<>();
+        List<List<String>> columns = new ArrayList<>();
+        int rowsPerValue = (int) rowCount;
+        for (ColumnarTable factor : tables)
+        {
+            rowsPerValue /= factor.getRowCount();
+            for (int columnIndex = 0; columnIndex < factor.getHeaders().size(); columnIndex++)
+            {
+                headers.add(factor.getHeaders().get(columnIndex));
+                columns.add(new ProductColumn(factor.getColumn(columnIndex), rowsPerValue, (int) rowCount));
+            }
+        }
+        return ExamplesTableProcessor.buildExamplesTable(ColumnarTable.fromColumns(headers, columns), properties);
     }
 
-    private static ExamplesTable cartesianProduct(ExamplesTable left, ExamplesTable right)
+    /**
+     * The column of the cartesian product computing its values on demand: each value of the factor column is
+     * repeated <code>rowsPerValue</code> times, and the whole sequence is repeated till the end of the product.
+     */
+    private static final class ProductColumn extends AbstractList<String>
     {
-        List<String> headers = new ArrayList<>(left.getHeaders());
-        headers.addAll(right.getHeaders());
-
-        int counter = headers.size();
-        List<Map<String, String>> examplesTableRows = new ArrayList<>(left.getRowCount() * right.getRowCount());
-
-        Lists.cartesianProduct(List.of(getRows(left), getRows(right)))
-             .stream()
-             .map(Iterables::concat)
-             .map(Lists::newArrayList)
-             .forEach(row ->
-             {
-                 Map<String, String> tableRow = new LinkedHashMap<>(counter);
-                 IntStream.range(0, counter).forEach(index -> tableRow.put(headers.get(index), row.get(index)));
-                 examplesTableRows.add(tableRow);
-             });
-
-        return ExamplesTable.empty().withRows(examplesTableRows);
-    }
-
-    private static List<List<String>> getRows(ExamplesTable table)
-    {
-        return table.getRows().stream()
-                              .map(Map::values)
-                              .map(ArrayList::new)
-                              .collect(Collectors.toList());
+        private final List<String> factorColumn;
+        private final int rowsPerValue;
+        private final int size;
+
+        ProductColumn(List<String> factorColumn, int rowsPerValue, int size)
+        {
+            this.factorColumn = factorColumn;
+            this.rowsPerValue = rowsPerValue;
+            this.size = size;
+        }
+
+        @Override
+        public String get(int index)
+        {
+            Objects.checkIndex(index, size);
+            return factorColumn.get(index / rowsPerValue % factorColumn.size());
+        }
+
+        @Override
+        public int size()
+        {
+            return size;
+        }
     }
 }
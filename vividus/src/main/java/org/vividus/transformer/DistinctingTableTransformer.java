@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,19 +16,17 @@
 
 package org.vividus.transformer;
 
-import java.util.Collection;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 import javax.inject.Named;
 
 import org.jbehave.core.model.ExamplesTable.TableProperties;
-import org.jbehave.core.model.ExamplesTable.TableRows;
 import org.jbehave.core.model.TableParsers;
+import org.vividus.model.ColumnarTable;
 import org.vividus.util.ExamplesTableProcessor;
 
 @Named("DISTINCTING")
@@ -38,15 +36,27 @@ public class DistinctingTableTransformer extends AbstractFilteringTableTransform
     public String transform(String tableAsString, TableParsers tableParsers, TableProperties tableProperties)
     {
         String byColumnNames = tableProperties.getMandatoryNonBlankProperty(BY_COLUMNS_NAMES_PROPERTY, String.class);
-        TableRows tableRows = tableParsers.parseRows(tableAsString, tableProperties);
-        List<String> filteredColumnNames = filterColumnNames(tableRows.getHeaders(), byColumnNames);
-        List<Map<String, String>> rows = tableRows.getRows();
-        filterRowsByColumnNames(rows, filteredColumnNames);
+        ColumnarTable table = ExamplesTableProcessor.parseExamplesTable(tableAsString, tableParsers,
+                tableProperties);
+        List<String> filteredColumnNames = filterColumnNames(table.getHeaders(), byColumnNames);
+        ColumnarTable filteredTable = table.selectColumns(filteredColumnNames);
 
-        Collection<Map<String, String>> distinctRows = rows.stream().collect(
-                Collectors.toMap(row -> Objects.hash(row.values().toArray()), Function.identity(), (v1, v2) -> v1,
-                        LinkedHashMap::new)).values();
+        Set<List<String>> distinctRows = new HashSet<>();
+        int[] distinctRowIndexes = IntStream.range(0, filteredTable.getRowCount())
+                .filter(rowIndex -> distinctRows.add(getRowValues(filteredTable, rowIndex)))
+                .toArray();
 
-        return ExamplesTableProcessor.buildExamplesTable(filteredColumnNames, distinctRows, tableProperties);
+        return ExamplesTableProcessor.buildExamplesTable(filteredTable.selectRows(distinctRowIndexes),
+                tableProperties);
+    }
+
+    private static List<String> getRowValues(ColumnarTable table, int rowIndex)
+    {
+        List<String> rowValues = new ArrayList<>(table.getHeaders().size());
+        for (int columnIndex = 0; columnIndex < table.getHeaders().size(); columnIndex++)
+        {
+            rowValues.add(table.getValue(rowIndex, columnIndex));
+        }
+        return rowValues;
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.vividus.transformer;
 
+import static java.util.Map.entry;
 import static org.apache.commons.lang3.ObjectUtils.allNull;
 import static org.apache.commons.lang3.ObjectUtils.anyNotNull;
 import static org.apache.commons.lang3.ObjectUtils.anyNull;
@@ -23,6 +24,7 @@ import static org.apache.commons.lang3.Validate.isTrue;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
@@ -30,14 +32,15 @@ import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import javax.inject.Named;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
-import org.jbehave.core.model.ExamplesTable.TableRows;
 import org.jbehave.core.model.TableParsers;
+import org.vividus.model.ColumnarTable;
 import org.vividus.util.ExamplesTableProcessor;
 
 @Named("FILTERING")
@@ -71,7 +74,8 @@ public class FilteringTableTransformer extends AbstractFilteringTableTransformer
                 BY_MAX_COLUMNS_PROPERTY, BY_MAX_ROWS_PROPERTY, BY_COLUMNS_NAMES_PROPERTY, REGEX_FILTER_DECLARATION,
                 BY_ROW_INDEXES_PROPERTY, BY_RANDOM_ROWS_PROPERTY);
 
-        TableRows tableRows = tableParsers.parseRows(tableAsString, tableProperties);
+        ColumnarTable table = ExamplesTableProcessor.parseExamplesTable(tableAsString, tableParsers,
+                tableProperties);
         if (!columnFilters.isEmpty())
         {
             isTrue(allNull(byMaxColumns, byColumnNames, byMaxRows, byRowIndexes, byRandomRows),
@@ -80,8 +84,8 @@ public class FilteringTableTransformer extends AbstractFilteringTableTransformer
                     BY_MAX_COLUMNS_PROPERTY, BY_COLUMNS_NAMES_PROPERTY, BY_MAX_ROWS_PROPERTY, BY_ROW_INDEXES_PROPERTY,
                     BY_RANDOM_ROWS_PROPERTY);
 
-            return ExamplesTableProcessor.buildExamplesTable(tableRows.getHeaders(),
-                    filterRows(columnFilters, tableRows.getRows(), properties), tableProperties);
+            return ExamplesTableProcessor.buildExamplesTable(
+                    table.selectRows(filterRows(columnFilters, table, properties)), tableProperties);
         }
 
         isTrue(anyNull(byMaxColumns, byColumnNames), CONFLICTING_PROPERTIES_MESSAGE,
@@ -96,42 +100,39 @@ public class FilteringTableTransformer extends AbstractFilteringTableTransformer
         isTrue(anyNull(byRandomRows, byMaxRows), CONFLICTING_PROPERTIES_MESSAGE,
                 BY_RANDOM_ROWS_PROPERTY, BY_MAX_ROWS_PROPERTY);
 
-        List<String> filteredColumnNames = filterColumnNames(byMaxColumns, byColumnNames, tableRows.getHeaders());
-        List<Map<String, String>> filteredRows = filterRows(byMaxRows, byRowIndexes, byRandomRows, tableRows.getRows());
-        filterRowsByColumnNames(filteredRows, filteredColumnNames);
+        List<String> filteredColumnNames = filterColumnNames(byMaxColumns, byColumnNames, table.getHeaders());
+        int[] filteredRowIndexes = filterRows(byMaxRows, byRowIndexes, byRandomRows, table.getRowCount());
 
-        return ExamplesTableProcessor.buildExamplesTable(filteredColumnNames, filteredRows, tableProperties);
+        return ExamplesTableProcessor.buildExamplesTable(
+                table.selectColumns(filteredColumnNames).selectRows(filteredRowIndexes), tableProperties);
     }
 
-    private List<Map<String, String>> filterRows(String byMaxRows, String byRowIndexes, String byRandomRows,
-            List<Map<String, String>> rows)
+    private int[] filterRows(String byMaxRows, String byRowIndexes, String byRandomRows, int rowCount)
     {
         if (byRowIndexes == null && byRandomRows == null)
         {
-            return Optional.ofNullable(byMaxRows)
+            int maxRows = Optional.ofNullable(byMaxRows)
                     .map(Integer::parseInt)
-                    .filter(m -> m < rows.size())
-                    .map(m -> rows.subList(0, m))
-                    .orElse(rows);
+                    .filter(m -> m < rowCount)
+                    .orElse(rowCount);
+            return IntStream.range(0, maxRows).toArray();
         }
         else if (byRandomRows != null)
         {
             int randomRowsCount = Integer.parseInt(byRandomRows);
-            isTrue(randomRowsCount <= rows.size(),
+            isTrue(randomRowsCount <= rowCount,
                     "'byRandomRows' must be less than or equal to the number of table rows");
             return ThreadLocalRandom.current()
-                    .ints(0, rows.size())
+                    .ints(0, rowCount)
                     .distinct()
                     .limit(randomRowsCount)
-                    .mapToObj(rows::get)
-                    .collect(Collectors.toList());
+                    .toArray();
         }
         else
         {
             return Stream.of(StringUtils.split(byRowIndexes, ';'))
                     .mapToInt(Integer::parseInt)
-                    .mapToObj(rows::get)
-                    .collect(Collectors.toList());
+                    .toArray();
         }
     }
 
@@ -158,12 +159,21 @@ public class FilteringTableTransformer extends AbstractFilteringTableTransformer
                 .collect(Collectors.toSet());
     }
 
-    private List<Map<String, String>> filterRows(Set<String> columnFilters, List<Map<String, String>> rows,
-            Properties properties)
+    private int[] filterRows(Set<String> columnFilters, ColumnarTable table, Properties properties)
     {
-        return columnFilters.stream().collect(
-                Collectors.collectingAndThen(Collectors.toMap(k -> StringUtils.substringAfter(k, COLUMN_PREFIX),
-                        k -> createFilter(properties.getProperty(k))), filters -> filterRows(rows, filters)));
+        List<String> headers = table.getHeaders();
+        List<Entry<List<String>, Predicate<String>>> filtersByColumns = columnFilters.stream()
+                .map(k -> entry(StringUtils.substringAfter(k, COLUMN_PREFIX), createFilter(properties.getProperty(k))))
+                .filter(filter -> headers.contains(filter.getKey()))
+                .map(filter -> entry(table.getColumn(filter.getKey()), filter.getValue()))
+                .collect(Collectors.toList());
+        return IntStream.range(0, table.getRowCount())
+                .filter(rowIndex -> filtersByColumns.stream().allMatch(filter ->
+                {
+                    String value = filter.getKey().get(rowIndex);
+                    return value == null || filter.getValue().test(value);
+                }))
+                .toArray();
     }
 
     private static Predicate<String> createFilter(String regex)
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.vividus.model.ColumnarTable;
+
+/**
+ * Joins two tables by the values of the key columns. The index is built on the smaller table, while the rows of the
+ * result always follow the order of the left table rows and, for the same left row, the order of the right table
+ * rows. The cells of the result are not copied: the result columns refer to the cells of the joined tables by the row
+ * indexes.
+ */
+final class HashJoin
+{
+    private static final int NO_ROW = -1;
+
+    private HashJoin()
+    {
+    }
+
+    enum JoinType
+    {
+        INNER(false, false),
+        LEFT(true, false),
+        OUTER(true, true);
+
+        private final boolean keepUnmatchedLeftRows;
+        private final boolean keepUnmatchedRightRows;
+
+        JoinType(boolean keepUnmatchedLeftRows, boolean keepUnmatchedRightRows)
+        {
+            this.keepUnmatchedLeftRows = keepUnmatchedLeftRows;
+            this.keepUnmatchedRightRows = keepUnmatchedRightRows;
+        }
+    }
+
+    static ColumnarTable join(ColumnarTable left, ColumnarTable right, List<String> keyColumns, JoinType joinType,
+            String fillerValue)
+    {
+        validateKeyColumns(left, keyColumns, "left");
+        validateKeyColumns(right, keyColumns, "right");
+        List<String> rightValueHeaders = new ArrayList<>(right.getHeaders());
+        rightValueHeaders.removeAll(keyColumns);
+        List<String> conflictingHeaders = rightValueHeaders.stream()
+                .filter(left.getHeaders()::contains)
+                .collect(Collectors.toList());
+        isTrue(conflictingHeaders.isEmpty(),
+                "Tables must contain different non-key columns, but found the same columns: %s", conflictingHeaders);
+
+        RowPairs rowPairs = right.getRowCount() <= left.getRowCount()
+                ? joinByRightIndex(left, right, keyColumns, joinType)
+                : joinByLeftIndex(left, right, keyColumns, joinType);
+        int[] leftRows = rowPairs.leftRows.build().toArray();
+        int[] rightRows = rowPairs.rightRows.build().toArray();
+
+        List<String> headers = new ArrayList<>(left.getHeaders());
+        headers.addAll(rightValueHeaders);
+        List<List<String>> columns = new ArrayList<>(headers.size());
+        for (String header : left.getHeaders())
+        {
+            List<String> fallbackColumn = keyColumns.contains(header) ? right.getColumn(header) : null;
+            columns.add(new JoinedColumn(left.getColumn(header), leftRows, fallbackColumn, rightRows, fillerValue));
+        }
+        for (String header : rightValueHeaders)
+        {
+            columns.add(new JoinedColumn(right.getColumn(header), rightRows, null, leftRows, fillerValue));
+        }
+        return ColumnarTable.fromColumns(headers, columns);
+    }
+
+    private static void validateKeyColumns(ColumnarTable table, List<String> keyColumns, String side)
+    {
+        List<String> missingKeyColumns = keyColumns.stream()
+                .filter(keyColumn -> !table.getHeaders().contains(keyColumn))
+                .collect(Collectors.toList());
+        isTrue(missingKeyColumns.isEmpty(), "The %s table doesn't contain key columns: %s", side, missingKeyColumns);
+    }
+
+    private static RowPairs joinByRightIndex(ColumnarTable left, ColumnarTable right, List<String> keyColumns,
+            JoinType joinType)
+    {
+        Map<Object, int[]> rightIndex = buildIndex(right, keyColumns);
+        boolean[] matchedRightRows = new boolean[right.getRowCount()];
+        RowPairs rowPairs = new RowPairs();
+        List<List<String>> leftKeyColumns = getColumns(left, keyColumns);
+        for (int leftRow = 0; leftRow < left.getRowCount(); leftRow++)
+        {
+            int[] matchingRightRows = rightIndex.get(getKey(leftKeyColumns, leftRow));
+            if (matchingRightRows != null)
+            {
+                for (int rightRow : matchingRightRows)
+                {
+                    rowPairs.add(leftRow, rightRow);
+                    matchedRightRows[rightRow] = true;
+                }
+            }
+            else if (joinType.keepUnmatchedLeftRows)
+            {
+                rowPairs.add(leftRow, NO_ROW);
+            }
+        }
+        addUnmatchedRightRows(rowPairs, matchedRightRows, joinType);
+        return rowPairs;
+    }
+
+    private static RowPairs joinByLeftIndex(ColumnarTable left, ColumnarTable right, List<String> keyColumns,
+            JoinType joinType)
+    {
+        Map<Object, int[]> leftIndex = buildIndex(left, keyColumns);
+        boolean[] matchedRightRows = new boolean[right.getRowCount()];
+        IntStream.Builder[] matchingRightRowsByLeftRow = new IntStream.Builder[left.getRowCount()];
+        List<List<String>> rightKeyColumns = getColumns(right, keyColumns);
+        for (int rightRow = 0; rightRow < right.getRowCount(); rightRow++)
+        {
+            int[] matchingLeftRows = leftIndex.get(getKey(rightKeyColumns, rightRow));
+            if (matchingLeftRows != null)
+            {
+                for (int leftRow : matchingLeftRows)
+                {
+                    if (matchingRightRowsByLeftRow[leftRow] == null)
+                    {
+                        matchingRightRowsByLeftRow[leftRow] = IntStream.builder();
+                    }
+                    matchingRightRowsByLeftRow[leftRow].add(rightRow);
+                }
+                matchedRightRows[rightRow] = true;
+            }
+        }
+        RowPairs rowPairs = new RowPairs();
+        for (int leftRow = 0; leftRow < left.getRowCount(); leftRow++)
+        {
+            IntStream.Builder matchingRightRows = matchingRightRowsByLeftRow[leftRow];
+            if (matchingRightRows != null)
+            {
+                int currentLeftRow = leftRow;
+                matchingRightRows.build().forEach(rightRow -> rowPairs.add(currentLeftRow, rightRow));
+            }
+            else if (joinType.keepUnmatchedLeftRows)
+            {
+                rowPairs.add(leftRow, NO_ROW);
+            }
+        }
+        addUnmatchedRightRows(rowPairs, matchedRightRows, joinType);
+        return rowPairs;
+    }
+
+    private static void addUnmatchedRightRows(RowPairs rowPairs, boolean[] matchedRightRows, JoinType joinType)
+    {
+        if (joinType.keepUnmatchedRightRows)
+        {
+            for (int rightRow = 0; rightRow < matchedRightRows.length; rightRow++)
+            {
+                if (!matchedRightRows[rightRow])
+                {
+                    rowPairs.add(NO_ROW, rightRow);
+                }
+            }
+        }
+    }
+
+    private static Map<Object, int[]> buildIndex(ColumnarTable table, List<String> keyColumns)
+    {
+        List<List<String>> columns = getColumns(table, keyColumns);
+        Map<Object, IntStream.Builder> index = new HashMap<>();
+        for (int row = 0; row < table.getRowCount(); row++)
+        {
+            index.computeIfAbsent(getKey(columns, row), k -> IntStream.builder()).add(row);
+        }
+        Map<Object, int[]> builtIndex = new HashMap<>(index.size() * 4 / 3 + 1);
+        index.forEach((key, rows) -> builtIndex.put(key, rows.build().toArray()));
+        return builtIndex;
+    }
+
+    private static List<List<String>> getColumns(ColumnarTable table, List<String> headers)
+    {
+        return headers.stream().map(table::getColumn).collect(Collectors.toList());
+    }
+
+    private static Object getKey(List<List<String>> keyColumns, int row)
+    {
+        if (keyColumns.size() == 1)
+        {
+            return keyColumns.get(0).get(row);
+        }
+        String[] key = new String[keyColumns.size()];
+        for (int keyIndex = 0; keyIndex < key.length; keyIndex++)
+        {
+            key[keyIndex] = keyColumns.get(keyIndex).get(row);
+        }
+        return Arrays.asList(key);
+    }
+
+    private static final class RowPairs
+    {
+        private final IntStream.Builder leftRows = IntStream.builder();
+        private final IntStream.Builder rightRows = IntStream.builder();
+
+        void add(int leftRow, int rightRow)
+        {
+            leftRows.add(leftRow);
+            rightRows.add(rightRow);
+        }
+    }
+
+    /**
+     * The column of the joined table: the value is taken from the primary column by the row index, if the row is
+     * missing, the value is taken from the fallback column (if any) or the filler value is used.
+     */
+    private static final class JoinedColumn extends AbstractList<String>
+    {
+        private final List<String> primaryColumn;
+        private final int[] primaryRows;
+        private final List<String> fallbackColumn;
+        private final int[] fallbackRows;
+        private final String fillerValue;
+
+        JoinedColumn(List<String> primaryColumn, int[] primaryRows, List<String> fallbackColumn, int[] fallbackRows,
+                String fillerValue)
+        {
+            this.primaryColumn = primaryColumn;
+            this.primaryRows = primaryRows;
+            this.fallbackColumn = fallbackColumn;
+            this.fallbackRows = fallbackRows;
+            this.fillerValue = fillerValue;
+        }
+
+        @Override
+        public String get(int index)
+        {
+            int primaryRow = primaryRows[index];
+            if (primaryRow != NO_ROW)
+            {
+                return primaryColumn.get(primaryRow);
+            }
+            return fallbackColumn != null ? fallbackColumn.get(fallbackRows[index]) : fillerValue;
+        }
+
+        @Override
+        public int size()
+        {
+            return primaryRows.length;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,24 +16,21 @@
 
 package org.vividus.transformer;
 
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.mapping;
-
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-import org.jbehave.core.model.ExamplesTable;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
-import org.jbehave.core.steps.Parameters;
+import org.vividus.model.ColumnarTable;
+import org.vividus.transformer.HashJoin.JoinType;
 import org.vividus.util.ExamplesTableProcessor;
 
 public enum JoinMode
@@ -41,15 +38,20 @@ public enum JoinMode
     ROWS
     {
         @Override
-        protected String join(ExamplesTable table, TableProperties properties)
+        protected String join(List<ColumnarTable> tables, TableProperties properties)
         {
-            Map<String, String> tableMap = table.getRowsAsParameters(true).stream()
-                    .map(Parameters::values)
-                    .map(Map::entrySet)
-                    .flatMap(Set::stream)
-                    .collect(groupingBy(Entry::getKey, LinkedHashMap::new,
-                            mapping(Entry::getValue, Collectors.joining(DELIMITER)))
-                    );
+            ColumnarTable table = tables.get(0);
+            Map<String, String> tableMap = new LinkedHashMap<>();
+            for (String header : table.getHeaders())
+            {
+                List<String> values = table.getColumn(header).stream()
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList());
+                if (!values.isEmpty())
+                {
+                    tableMap.put(header, String.join(DELIMITER, values));
+                }
+            }
             List<List<String>> tableData = tableMap.values().stream().map(List::of).collect(Collectors.toList());
 
             return ExamplesTableProcessor.buildExamplesTableFromColumns(tableMap.keySet(), tableData, properties);
@@ -58,12 +60,12 @@ public enum JoinMode
     COLUMNS
     {
         @Override
-        protected String join(ExamplesTable table, TableProperties properties)
+        protected String join(List<ColumnarTable> tables, TableProperties properties)
         {
+            ColumnarTable table = tables.get(0);
             String joinedColumn = properties.getMandatoryNonBlankProperty("joinedColumn", String.class);
             Set<String> columnsToJoin = getColumnsToJoin(table, properties);
 
-            List<Map<String, String>> rows = table.getRows();
             List<String> headers = new ArrayList<>();
             List<List<String>> columns = new ArrayList<>();
             for (String header : table.getHeaders())
@@ -71,20 +73,19 @@ public enum JoinMode
                 if (!columnsToJoin.contains(header))
                 {
                     headers.add(header);
-                    columns.add(buildColumn(rows, row -> row.get(header)));
+                    columns.add(table.getColumn(header));
                 }
                 else if (!headers.contains(joinedColumn))
                 {
                     headers.add(joinedColumn);
-                    columns.add(buildColumn(rows,
-                        row -> columnsToJoin.stream().map(row::get).collect(Collectors.joining(DELIMITER))));
+                    columns.add(buildJoinedColumn(table, columnsToJoin));
                 }
             }
 
             return ExamplesTableProcessor.buildExamplesTableFromColumns(headers, columns, properties);
         }
 
-        private Set<String> getColumnsToJoin(ExamplesTable table, TableProperties properties)
+        private Set<String> getColumnsToJoin(ColumnarTable table, TableProperties properties)
         {
             return Optional.ofNullable(properties.getProperties().getProperty("columnsToJoin"))
                     .map(columnsToJoin ->
@@ -94,15 +95,81 @@ public enum JoinMode
                     .orElseGet(() -> table.getHeaders().stream())
                     .collect(Collectors.toCollection(LinkedHashSet::new));
         }
+
+        private List<String> buildJoinedColumn(ColumnarTable table, Set<String> columnsToJoin)
+        {
+            List<String> headers = table.getHeaders();
+            int[] columnIndexes = columnsToJoin.stream().mapToInt(headers::indexOf).toArray();
+            return IntStream.range(0, table.getRowCount())
+                    .mapToObj(rowIndex -> IntStream.of(columnIndexes)
+                            .mapToObj(columnIndex -> columnIndex >= 0 ? table.getValue(rowIndex, columnIndex) : null)
+                            .map(String::valueOf)
+                            .collect(Collectors.joining(DELIMITER)))
+                    .collect(Collectors.toList());
+        }
+    },
+    INNER(true)
+    {
+        @Override
+        protected String join(List<ColumnarTable> tables, TableProperties properties)
+        {
+            return joinTables(tables, properties, JoinType.INNER);
+        }
+    },
+    LEFT(true)
+    {
+        @Override
+        protected String join(List<ColumnarTable> tables, TableProperties properties)
+        {
+            return joinTables(tables, properties, JoinType.LEFT);
+        }
+    },
+    OUTER(true)
+    {
+        @Override
+        protected String join(List<ColumnarTable> tables, TableProperties properties)
+        {
+            return joinTables(tables, properties, JoinType.OUTER);
+        }
     };
 
     private static final String DELIMITER = " ";
 
-    private static List<String> buildColumn(List<Map<String, String>> rows,
-            Function<Map<String, String>, String> cellBuilder)
+    private final boolean joiningTables;
+
+    JoinMode()
+    {
+        this(false);
+    }
+
+    JoinMode(boolean joiningTables)
+    {
+        this.joiningTables = joiningTables;
+    }
+
+    /**
+     * Whether the mode joins several tables by the key columns or joins the values of the single table
+     *
+     * @return <code>true</code> if the mode joins several tables
+     */
+    public boolean isJoiningTables()
+    {
+        return joiningTables;
+    }
+
+    private static String joinTables(List<ColumnarTable> tables, TableProperties properties, JoinType joinType)
     {
-        return rows.stream().map(cellBuilder).collect(Collectors.toList());
+        List<String> keyColumns = Stream.of(properties.getMandatoryNonBlankProperty("keyColumns", String.class)
+                        .split("(?<!\\\\);"))
+                .map(column -> column.replace("\\;", ";"))
+                .map(String::trim)
+                .collect(Collectors.toList());
+        String fillerValue = properties.getProperties().getProperty("fillerValue", "");
+        ColumnarTable joinedTable = tables.stream()
+                .reduce((left, right) -> HashJoin.join(left, right, keyColumns, joinType, fillerValue))
+                .get();
+        return ExamplesTableProcessor.buildExamplesTable(joinedTable, properties);
     }
 
-    protected abstract String join(ExamplesTable table, TableProperties properties);
+    protected abstract String join(List<ColumnarTable> tables, TableProperties properties);
 }
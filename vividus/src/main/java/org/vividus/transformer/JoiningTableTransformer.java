@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,24 +16,32 @@
 
 package org.vividus.transformer;
 
-import javax.inject.Inject;
+import java.util.List;
+
 import javax.inject.Named;
 
-import org.jbehave.core.configuration.Configuration;
 import org.jbehave.core.model.ExamplesTable;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.model.TableParsers;
 
 @Named("JOINING")
-public class JoiningTableTransformer implements ExtendedTableTransformer
+public class JoiningTableTransformer extends AbstractTableLoadingTransformer
 {
-    @Inject private Configuration configuration;
+    public JoiningTableTransformer()
+    {
+        super(false);
+    }
 
     @Override
     public String transform(String tableAsString, TableParsers tableParsers, TableProperties properties)
     {
         JoinMode joinMode = properties.getMandatoryNonBlankProperty("joinMode", JoinMode.class);
-        ExamplesTable examplesTable = configuration.examplesTableFactory().createExamplesTable(tableAsString);
-        return joinMode.join(examplesTable, properties);
+        if (joinMode.isJoiningTables())
+        {
+            return joinMode.join(loadColumnarTables(tableAsString, tableParsers, properties), properties);
+        }
+        // The single table to join values in may be referenced by the path, so it is created by the factory
+        ExamplesTable table = getConfiguration().examplesTableFactory().createExamplesTable(tableAsString);
+        return joinMode.join(List.of(toColumnarTable(table)), properties);
     }
 }
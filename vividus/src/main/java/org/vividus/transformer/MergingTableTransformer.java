@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,11 @@ import org.jbehave.core.model.ExamplesTable;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.model.TableParsers;
 
+/**
+ * Merges the tables by rows or by columns. Unlike the other table loading transformers, the merging works on
+ * {@link ExamplesTable}-s, since the alignment of the tables relies on their own properties, so the input table is
+ * always parsed even if it is built by the previous transformer in the chain.
+ */
 @Named("MERGING")
 public class MergingTableTransformer extends AbstractTableLoadingTransformer
 {
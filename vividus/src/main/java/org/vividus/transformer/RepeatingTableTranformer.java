@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,15 +16,13 @@
 
 package org.vividus.transformer;
 
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
+import java.util.stream.IntStream;
 
 import javax.inject.Named;
 
 import org.jbehave.core.model.ExamplesTable.TableProperties;
-import org.jbehave.core.model.ExamplesTable.TableRows;
 import org.jbehave.core.model.TableParsers;
+import org.vividus.model.ColumnarTable;
 import org.vividus.util.ExamplesTableProcessor;
 
 @Named("REPEATING")
@@ -33,20 +31,14 @@ public class RepeatingTableTranformer implements ExtendedTableTransformer
     @Override
     public String transform(String tableAsString, TableParsers tableParsers, TableProperties properties)
     {
-        TableRows tableRows = tableParsers.parseRows(tableAsString, properties);
+        ColumnarTable table = ExamplesTableProcessor.parseExamplesTable(tableAsString, tableParsers, properties);
         int times = properties.getMandatoryNonBlankProperty("times", int.class);
-        List<Map<String, String>> rows = nCopies(times, tableRows);
-        return ExamplesTableProcessor.buildExamplesTable(tableRows.getHeaders(), rows, properties);
+        return ExamplesTableProcessor.buildExamplesTable(table.selectRows(nCopies(times, table)), properties);
     }
 
-    private List<Map<String, String>> nCopies(int times, TableRows tableRows)
+    private int[] nCopies(int times, ColumnarTable table)
     {
-        List<Map<String, String>> examplesTableRows = tableRows.getRows();
-        List<Map<String, String>> rows = new LinkedList<>();
-        for (int i = 0; i < times; i++)
-        {
-            rows.addAll(examplesTableRows);
-        }
-        return rows;
+        int rowCount = table.getRowCount();
+        return IntStream.range(0, Math.max(times, 0) * rowCount).map(index -> index % rowCount).toArray();
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,8 +22,8 @@ import java.util.Map;
 import javax.inject.Named;
 
 import org.jbehave.core.model.ExamplesTable.TableProperties;
-import org.jbehave.core.model.ExamplesTable.TableRows;
 import org.jbehave.core.model.TableParsers;
+import org.vividus.model.ColumnarTable;
 import org.vividus.steps.ExpressionAdaptor;
 import org.vividus.util.ExamplesTableProcessor;
 
@@ -40,10 +40,10 @@ public class ResolvingExpressionsEagerlyTransformer implements ExtendedTableTran
     @Override
     public String transform(String tableAsString, TableParsers tableParsers, TableProperties properties)
     {
-        TableRows tableRows = tableParsers.parseRows(tableAsString, properties);
-        List<Map<String, String>> rows = tableRows.getRows();
+        ColumnarTable table = ExamplesTableProcessor.parseExamplesTable(tableAsString, tableParsers, properties);
+        List<Map<String, String>> rows = table.getRows();
         resolveExpressions(rows);
-        return ExamplesTableProcessor.buildExamplesTable(tableRows.getHeaders(), rows, properties);
+        return ExamplesTableProcessor.buildExamplesTable(table.getHeaders(), rows, properties);
     }
 
     private void resolveExpressions(List<Map<String, String>> list)
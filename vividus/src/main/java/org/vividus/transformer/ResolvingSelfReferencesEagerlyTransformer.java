@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,9 +28,9 @@ import javax.inject.Named;
 
 import org.apache.commons.lang3.Validate;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
-import org.jbehave.core.model.ExamplesTable.TableRows;
 import org.jbehave.core.model.TableParsers;
 import org.jbehave.core.steps.ParameterControls;
+import org.vividus.model.ColumnarTable;
 import org.vividus.util.ExamplesTableProcessor;
 
 @Named("RESOLVING_SELF_REFERENCES_EAGERLY")
@@ -49,8 +49,8 @@ public class ResolvingSelfReferencesEagerlyTransformer implements ExtendedTableT
     @Override
     public String transform(String tableAsString, TableParsers tableParsers, TableProperties properties)
     {
-        TableRows tableRows = tableParsers.parseRows(tableAsString, properties);
-        return ExamplesTableProcessor.buildExamplesTable(tableRows.getHeaders(), resolveRows(tableRows.getRows()),
+        ColumnarTable table = ExamplesTableProcessor.parseExamplesTable(tableAsString, tableParsers, properties);
+        return ExamplesTableProcessor.buildExamplesTable(table.getHeaders(), resolveRows(table.getRows()),
                 properties, true);
     }
 
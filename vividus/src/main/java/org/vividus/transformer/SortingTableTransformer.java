@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,18 +16,17 @@
 
 package org.vividus.transformer;
 
-import java.util.Iterator;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import javax.inject.Named;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
-import org.jbehave.core.model.ExamplesTable.TableRows;
 import org.jbehave.core.model.TableParsers;
+import org.vividus.model.ColumnarTable;
 import org.vividus.util.ExamplesTableProcessor;
 
 @Named("SORTING")
@@ -36,28 +35,21 @@ public class SortingTableTransformer implements ExtendedTableTransformer
     @Override
     public String transform(String tableAsString, TableParsers tableParsers, TableProperties properties)
     {
-        TableRows tableRows = tableParsers.parseRows(tableAsString, properties);
+        ColumnarTable table = ExamplesTableProcessor.parseExamplesTable(tableAsString, tableParsers, properties);
         String byColumns = properties.getMandatoryNonBlankProperty("byColumns", String.class);
-        List<String> headerValues = tableRows.getHeaders();
-        List<String> columnsToCompare = Stream.of(StringUtils.split(byColumns, '|'))
+        List<String> headerValues = table.getHeaders();
+        Comparator<Integer> rowComparator = Stream.of(StringUtils.split(byColumns, '|'))
                 .map(String::trim)
-                .collect(Collectors.toList());
-        List<Map<String, String>> rows = tableRows.getRows().stream()
-                .sorted((r1, r2) ->
-                {
-                    int result = 0;
-                    Iterator<String> columnIterator = columnsToCompare.iterator();
-                    while (result == 0 && columnIterator.hasNext())
-                    {
-                        String column = columnIterator.next();
-                        if (headerValues.contains(column))
-                        {
-                            result = r1.get(column).compareTo(r2.get(column));
-                        }
-                    }
-                    return result;
-                })
-                .collect(Collectors.toList());
-        return ExamplesTableProcessor.buildExamplesTable(headerValues, rows, properties);
+                .filter(headerValues::contains)
+                .map(table::getColumn)
+                .map(column -> Comparator.comparing((Integer rowIndex) -> column.get(rowIndex)))
+                .reduce(Comparator::thenComparing)
+                .orElse((r1, r2) -> 0);
+        int[] sortedRowIndexes = IntStream.range(0, table.getRowCount())
+                .boxed()
+                .sorted(rowComparator)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        return ExamplesTableProcessor.buildExamplesTable(table.selectRows(sortedRowIndexes), properties);
     }
 }
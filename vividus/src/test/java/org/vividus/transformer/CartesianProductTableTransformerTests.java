@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,43 +23,35 @@ import static org.mockito.Mockito.doReturn;
 import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
-import org.jbehave.core.model.ExamplesTable;
+import org.jbehave.core.configuration.Keywords;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
+import org.jbehave.core.steps.ParameterConverters;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.model.ColumnarTable;
 
 @ExtendWith(MockitoExtension.class)
 class CartesianProductTableTransformerTests
 {
-    private static final ExamplesTable TABLE = new ExamplesTable(
-            "|name   |planet  |\n"
-          + "|Junit  |Jupiter |\n"
-          + "|Freddie|Mercury |\n"
-    );
+    private static final ColumnarTable TABLE = ColumnarTable.fromRowValues(List.of("name", "planet"),
+            List.of(List.of("Junit", "Jupiter"), List.of("Freddie", "Mercury")));
 
-    @Mock private TableProperties properties;
+    private static final ColumnarTable SECOND_TABLE = ColumnarTable.fromRowValues(List.of("col1", "col2"),
+            List.of(List.of("row11", "row12"), List.of("row21", "row22"), List.of("row31", "row32")));
+
+    private static final ColumnarTable THIRD_TABLE = ColumnarTable.fromRowValues(List.of("number"),
+            List.of(List.of("911")));
+
+    private final TableProperties properties = createProperties("");
     @Spy private CartesianProductTableTransformer transformer;
 
     @Test
     void shouldTransform()
     {
-        ExamplesTable secondTable = new ExamplesTable(
-                "|col1 |col2 |\n"
-              + "|row11|row12|\n"
-              + "|row21|row22|\n"
-              + "|row31|row32|"
-        );
-
-        ExamplesTable thirdTable = new ExamplesTable(
-                "|number|\n"
-              + "|911   |"
-        );
-
-        doReturn(List.of(TABLE, secondTable, thirdTable)).when(transformer).loadTables(StringUtils.EMPTY,
-                properties);
+        doReturn(List.of(TABLE, SECOND_TABLE, THIRD_TABLE)).when(transformer).loadColumnarTables(StringUtils.EMPTY,
+                null, properties);
 
         String tableAsString = transformer.transform(StringUtils.EMPTY, null, properties);
         String expectedTable = "|name|planet|col1|col2|number|\n"
@@ -68,18 +60,47 @@ class CartesianProductTableTransformerTests
                              + "|Junit|Jupiter|row31|row32|911|\n"
                              + "|Freddie|Mercury|row11|row12|911|\n"
                              + "|Freddie|Mercury|row21|row22|911|\n"
-                             + "|Freddie|Mercury|row31|row32|911|\n";
+                             + "|Freddie|Mercury|row31|row32|911|";
         assertEquals(expectedTable, tableAsString);
     }
 
+    @Test
+    void shouldFailIfProductExceedsMaxProductRows()
+    {
+        TableProperties tableProperties = createProperties("maxProductRows=5");
+        doReturn(List.of(TABLE, SECOND_TABLE, THIRD_TABLE)).when(transformer).loadColumnarTables(StringUtils.EMPTY,
+                null, tableProperties);
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> transformer.transform(StringUtils.EMPTY, null, tableProperties));
+        assertEquals("The cartesian product contains 6 rows, but the max allowed number of rows is 5",
+                thrown.getMessage());
+    }
+
+    @Test
+    void shouldReturnTableWithHeadersOnlyIfAnyTableIsEmpty()
+    {
+        ColumnarTable emptyTable = ColumnarTable.fromRowValues(List.of("empty"), List.of());
+        doReturn(List.of(TABLE, emptyTable, THIRD_TABLE)).when(transformer).loadColumnarTables(StringUtils.EMPTY,
+                null, properties);
+
+        assertEquals("|name|planet|empty|number|", transformer.transform(StringUtils.EMPTY, null, properties));
+    }
+
     @Test
     void shouldFailIfTablesContainEqualHeaders()
     {
-        doReturn(List.of(TABLE, TABLE)).when(transformer).loadTables(StringUtils.EMPTY, properties);
+        doReturn(List.of(TABLE, TABLE)).when(transformer).loadColumnarTables(StringUtils.EMPTY, null,
+                properties);
 
         IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
                 () -> transformer.transform(StringUtils.EMPTY, null, properties));
         assertEquals("Tables must contain different keys, but found the same keys: [planet, name]",
                 thrown.getMessage());
     }
+
+    private static TableProperties createProperties(String propertiesAsString)
+    {
+        return new TableProperties(propertiesAsString, new Keywords(), new ParameterConverters());
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,9 @@ import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -40,6 +43,8 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.model.ColumnarTable;
+import org.vividus.util.ExamplesTableProcessor;
 
 @ExtendWith(MockitoExtension.class)
 class FilteringTableTransformerTests
@@ -74,6 +79,20 @@ class FilteringTableTransformerTests
         assertEquals(expectedTable, transformer.transform(TABLE, tableParsers, tableProperties));
     }
 
+    @Test
+    void shouldBuildTableTakenByNextTransformerWithoutParsing()
+    {
+        var tableParsers = spy(this.tableParsers);
+        var tableProperties = new TableProperties("byMaxRows=2", keywords, parameterConverters);
+        String filteredTable = transformer.transform(TABLE, tableParsers, tableProperties);
+        ColumnarTable table = ExamplesTableProcessor.parseExamplesTable(filteredTable, tableParsers,
+                new TableProperties("", keywords, parameterConverters));
+        assertEquals(List.of("key1", "key2", "key3"), table.getHeaders());
+        assertEquals(2, table.getRowCount());
+        verify(tableParsers).parseRows(TABLE, tableProperties);
+        verifyNoMoreInteractions(tableParsers);
+    }
+
     @Test
     void testTransformUnorderedHeader()
     {
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.vividus.model.ColumnarTable;
+import org.vividus.transformer.HashJoin.JoinType;
+
+class HashJoinTests
+{
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String CITY = "city";
+    private static final List<String> KEY = List.of(ID);
+
+    private static final ColumnarTable PEOPLE = ColumnarTable.fromRowValues(List.of(ID, NAME), List.of(
+            List.of("1", "Ann"),
+            List.of("2", "Bob"),
+            List.of("3", "Eve")
+    ));
+
+    private static final ColumnarTable ADDRESSES = ColumnarTable.fromRowValues(List.of(ID, CITY), List.of(
+            List.of("3", "Oslo"),
+            List.of("1", "Rome"),
+            List.of("4", "Riga"),
+            List.of("1", "Kyiv")
+    ));
+
+    @ParameterizedTest
+    @CsvSource({
+        "INNER, '1 Ann Rome; 1 Ann Kyiv; 3 Eve Oslo'",
+        "LEFT,  '1 Ann Rome; 1 Ann Kyiv; 2 Bob -; 3 Eve Oslo'",
+        "OUTER, '1 Ann Rome; 1 Ann Kyiv; 2 Bob -; 3 Eve Oslo; 4 - Riga'"
+    })
+    void shouldJoinUsingIndexOfLeftTable(JoinType joinType, String expectedRows)
+    {
+        assertEquals(expectedRows, asString(HashJoin.join(PEOPLE, ADDRESSES, KEY, joinType, "-")));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "INNER, '3 Oslo Eve; 1 Rome Ann; 1 Kyiv Ann'",
+        "LEFT,  '3 Oslo Eve; 1 Rome Ann; 4 Riga -; 1 Kyiv Ann'",
+        "OUTER, '3 Oslo Eve; 1 Rome Ann; 4 Riga -; 1 Kyiv Ann; 2 - Bob'"
+    })
+    void shouldJoinUsingIndexOfRightTable(JoinType joinType, String expectedRows)
+    {
+        assertEquals(expectedRows, asString(HashJoin.join(ADDRESSES, PEOPLE, KEY, joinType, "-")));
+    }
+
+    @Test
+    void shouldJoinByMultipleKeyColumns()
+    {
+        ColumnarTable left = ColumnarTable.fromRowValues(List.of(ID, NAME, CITY), List.of(
+                List.of("1", "Ann", "Rome"),
+                List.of("1", "Ann", "Oslo")
+        ));
+        ColumnarTable right = ColumnarTable.fromRowValues(List.of(CITY, ID, "age"), List.of(
+                List.of("Oslo", "1", "30")
+        ));
+        ColumnarTable joined = HashJoin.join(left, right, List.of(ID, CITY), JoinType.INNER, "");
+        assertEquals(List.of(ID, NAME, CITY, "age"), joined.getHeaders());
+        assertEquals("1 Ann Oslo 30", asString(joined));
+    }
+
+    @Test
+    void shouldFailIfKeyColumnIsMissing()
+    {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> HashJoin.join(PEOPLE, ADDRESSES, List.of(NAME), JoinType.INNER, ""));
+        assertEquals("The right table doesn't contain key columns: [name]", exception.getMessage());
+    }
+
+    @Test
+    void shouldFailIfTablesContainSameNonKeyColumns()
+    {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> HashJoin.join(PEOPLE, PEOPLE, KEY, JoinType.INNER, ""));
+        assertEquals("Tables must contain different non-key columns, but found the same columns: [name]",
+                exception.getMessage());
+    }
+
+    private static String asString(ColumnarTable table)
+    {
+        StringBuilder rows = new StringBuilder();
+        for (int rowIndex = 0; rowIndex < table.getRowCount(); rowIndex++)
+        {
+            if (rowIndex > 0)
+            {
+                rows.append("; ");
+            }
+            for (int columnIndex = 0; columnIndex < table.getHeaders().size(); columnIndex++)
+            {
+                rows.append(columnIndex > 0 ? " " : "").append(table.getValue(rowIndex, columnIndex));
+            }
+        }
+        return rows.toString();
+    }
+}
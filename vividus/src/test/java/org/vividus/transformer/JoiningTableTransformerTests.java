@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,8 +19,11 @@ package org.vividus.transformer;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.stream.Stream;
 
 import org.jbehave.core.configuration.Configuration;
@@ -28,6 +31,7 @@ import org.jbehave.core.configuration.Keywords;
 import org.jbehave.core.model.ExamplesTable;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.model.ExamplesTableFactory;
+import org.jbehave.core.model.TableParsers;
 import org.jbehave.core.steps.ParameterConverters;
 import org.jbehave.core.steps.ParameterConverters.FluentEnumConverter;
 import org.junit.jupiter.api.Test;
@@ -38,6 +42,8 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.model.ColumnarTable;
+import org.vividus.util.ExamplesTableProcessor;
 
 @ExtendWith(MockitoExtension.class)
 class JoiningTableTransformerTests
@@ -90,4 +96,31 @@ class JoiningTableTransformerTests
         var tableProperties = new TableProperties(propertiesAsString, keywords, parameterConverters);
         assertEquals(expected, joiningTableTransformer.transform(path, null, tableProperties));
     }
+
+    @Test
+    void shouldJoinTablesByKeyColumns()
+    {
+        when(configuration.examplesTableFactory()).thenReturn(factory);
+        when(factory.createExamplesTable(PATH)).thenReturn(new ExamplesTable("|id|name|\n|1|Ann|\n|2|Bob|"));
+        String table = "|id|city|\n|2|Rome|\n|3|Oslo|";
+        var tableProperties = new TableProperties("joinMode=outer, keyColumns=id, fillerValue=n/a, tables=" + PATH,
+                keywords, parameterConverters);
+        assertEquals("|id|name|city|\n|1|Ann|n/a|\n|2|Bob|Rome|\n|3|n/a|Oslo|",
+                joiningTableTransformer.transform(table, new TableParsers(parameterConverters), tableProperties));
+    }
+
+    @Test
+    void shouldJoinTableBuiltByPreviousTransformerWithoutParsing()
+    {
+        when(configuration.examplesTableFactory()).thenReturn(factory);
+        when(factory.createExamplesTable(PATH)).thenReturn(new ExamplesTable("|id|name|\n|1|Ann|\n|2|Bob|"));
+        var tableParsers = spy(new TableParsers(parameterConverters));
+        var tableProperties = new TableProperties("joinMode=inner, keyColumns=id, tables=" + PATH, keywords,
+                parameterConverters);
+        String table = ExamplesTableProcessor.buildExamplesTable(
+                ColumnarTable.fromRowValues(List.of("id", "city"), List.of(List.of("2", "Rome"))), tableProperties);
+        assertEquals("|id|name|city|\n|2|Bob|Rome|", joiningTableTransformer.transform(table, tableParsers,
+                tableProperties));
+        verifyNoInteractions(tableParsers);
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,11 +19,15 @@ package org.vividus.transformer;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Field;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -40,6 +44,8 @@ import org.junit.platform.commons.util.ReflectionUtils;
 import org.junit.platform.commons.util.ReflectionUtils.HierarchyTraversalMode;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.model.ColumnarTable;
+import org.vividus.util.ExamplesTableProcessor;
 
 @ExtendWith(MockitoExtension.class)
 class TableLoadingTransformerTests
@@ -109,6 +115,30 @@ class TableLoadingTransformerTests
         assertThat(tables, hasSize(2));
     }
 
+    @Test
+    void shouldLoadColumnarTables() throws IllegalAccessException
+    {
+        Properties properties = createProperties(PATH);
+        when(tableProperties.getProperties()).thenReturn(properties);
+        when(tableProperties.getHeaderSeparator()).thenReturn("|");
+        when(tableProperties.getValueSeparator()).thenReturn("|");
+        when(tableProperties.getRowSeparator()).thenReturn("\n");
+        when(tableProperties.isTrim()).thenReturn(true);
+        when(factory.createExamplesTable(PATH)).thenReturn(new ExamplesTable("|col1|\n|val1|"));
+        ColumnarTable inputTable = ColumnarTable.fromRowValues(List.of("col2"), List.of(List.of("val2")));
+        String inputTableAsString = ExamplesTableProcessor.buildExamplesTable(inputTable, tableProperties);
+        TableParsers tableParsers = mock(TableParsers.class);
+
+        TestTableLoadingTransformer transformer = createTransformer(true);
+
+        List<ColumnarTable> tables = transformer.loadColumnarTables(inputTableAsString, tableParsers,
+                tableProperties);
+        assertThat(tables, hasSize(2));
+        assertEquals(List.of(Map.of("col1", "val1")), tables.get(0).getRows());
+        assertSame(inputTable, tables.get(1));
+        verifyNoInteractions(tableParsers);
+    }
+
     private TestTableLoadingTransformer createTransformer(boolean allowEmptyTables) throws IllegalAccessException
     {
         TestTableLoadingTransformer transformer = new TestTableLoadingTransformer(allowEmptyTables);